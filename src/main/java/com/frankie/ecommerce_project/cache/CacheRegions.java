@@ -0,0 +1,40 @@
+package com.frankie.ecommerce_project.cache;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions. Reference data (roles, permissions, categories and
+ * brands) is small, read on almost every request and rarely written, so it is cached per entity, together with
+ * the role permission collections and the role lookup queries.
+ */
+public final class CacheRegions {
+    public static final String ROLE = "reference.role";
+    public static final String ROLE_PERMISSIONS = "reference.role.permissions";
+    public static final String PERMISSION = "reference.permission";
+    public static final String CATEGORY = "reference.category";
+    public static final String BRAND = "reference.brand";
+    public static final String REFERENCE_QUERIES = "reference.queries";
+
+    /**
+     * Hibernate's default region for query results without an explicit region.
+     */
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+
+    /**
+     * Hibernate's region holding the last update time of every table, used to invalidate cached query results.
+     */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    /**
+     * Entity and collection regions.
+     */
+    public static final List<String> ENTITY_REGIONS = List.of(ROLE, ROLE_PERMISSIONS, PERMISSION, CATEGORY, BRAND);
+
+    /**
+     * Query result regions.
+     */
+    public static final List<String> QUERY_REGIONS = List.of(REFERENCE_QUERIES, DEFAULT_QUERY_RESULTS);
+
+    private CacheRegions() {
+    }
+}
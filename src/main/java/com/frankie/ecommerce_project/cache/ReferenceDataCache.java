@@ -0,0 +1,136 @@
+package com.frankie.ecommerce_project.cache;
+
+import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.model.Role;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Eviction and hit/miss statistics for the reference data regions of the Hibernate second-level cache.
+ * <p>
+ * Writes made through the persistence context keep the cache up to date on their own. The role and permission
+ * services still evict explicitly, like they do for {@link com.frankie.ecommerce_project.security.authority.RoleAuthorityCache},
+ * so that changes made by statements that bypass the persistence context (bulk JPQL or SQL on the join table)
+ * cannot leave stale role permissions cached. Evictions run immediately and again after commit.
+ */
+@Component
+@Slf4j
+public class ReferenceDataCache {
+    private static final String ROLE_PERMISSIONS_ROLE = Role.class.getName() + ".permissions";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructs ReferenceDataCache with the entity manager factory owning the cache.
+     *
+     * @param entityManagerFactory Entity manager factory whose second-level cache is managed
+     */
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts roles with their permission collections, and the cached role queries.
+     *
+     * @param roleIds IDs of the changed roles
+     */
+    public void evictRoles(Collection<String> roleIds) {
+        List<String> ids = List.copyOf(roleIds);
+        evict(cache -> {
+            for (String roleId : ids) {
+                cache.evictEntityData(Role.class, roleId);
+                cache.evictCollectionData(ROLE_PERMISSIONS_ROLE, roleId);
+            }
+            cache.evictQueryRegion(CacheRegions.REFERENCE_QUERIES);
+        });
+    }
+
+    /**
+     * Evicts a permission, the permission collections of the roles holding it, and the cached role queries.
+     *
+     * @param permissionId ID of the changed permission
+     * @param roleIds      IDs of the roles holding the permission
+     */
+    public void evictPermission(String permissionId, Collection<String> roleIds) {
+        evict(cache -> cache.evictEntityData(Permission.class, permissionId));
+        evictRoles(roleIds);
+    }
+
+    /**
+     * Returns the statistics of every reference data region.
+     *
+     * @return Statistics keyed by region name, in {@link CacheRegions} order
+     */
+    public Map<String, RegionStatistics> statistics() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        List<String> regions = new ArrayList<>(CacheRegions.ENTITY_REGIONS);
+        regions.add(CacheRegions.REFERENCE_QUERIES);
+        Map<String, RegionStatistics> statistics = new LinkedHashMap<>();
+        for (String region : regions) {
+            Set<ObjectName> names = server.queryNames(statisticsName(region), null);
+            if (names.isEmpty()) continue;
+            CacheStatisticsMXBean bean = JMX.newMXBeanProxy(server, names.iterator().next(), CacheStatisticsMXBean.class);
+            statistics.put(region, new RegionStatistics(bean.getCacheHits(), bean.getCacheMisses(),
+                    bean.getCachePuts(), bean.getCacheEvictions(), bean.getCacheHitPercentage()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Logs the statistics of every reference data region.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.hibernate.statisticsLogMinutes:15}",
+            initialDelayString = "${app.cache.hibernate.statisticsLogMinutes:15}", timeUnit = TimeUnit.MINUTES)
+    public void logStatistics() {
+        statistics().forEach((region, stats) -> log.info("Cache region {}: {} hits, {} misses ({}% hits), {} puts, {} evictions",
+                region, stats.hits(), stats.misses(), Math.round(stats.hitPercentage()), stats.puts(), stats.evictions()));
+    }
+
+    private void evict(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+
+    private static ObjectName statisticsName(String region) {
+        try {
+            return new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*");
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException("Invalid cache region name " + region, e);
+        }
+    }
+
+    /**
+     * Hit/miss counters of one cache region since startup.
+     */
+    public record RegionStatistics(long hits, long misses, long puts, long evictions, float hitPercentage) {
+    }
+}
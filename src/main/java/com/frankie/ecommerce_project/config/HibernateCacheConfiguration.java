@@ -0,0 +1,91 @@
+package com.frankie.ecommerce_project.config;
+
+import com.frankie.ecommerce_project.cache.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Enables the Hibernate second-level and query caches on an embedded Caffeine JCache provider.
+ * <p>
+ * Every region in {@link CacheRegions} is created up front with its own bounds, and Hibernate is told to fail
+ * on any other region, so a cached entity without a configured region is caught at startup. Entity and query
+ * regions are bounded by size and expire after a TTL, which also bounds staleness when several instances write
+ * to the same database. The update timestamps region is never evicted, as Hibernate requires.
+ * Statistics are enabled on every region, see {@link com.frankie.ecommerce_project.cache.ReferenceDataCache}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.hibernate.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfiguration {
+    private static final URI CACHE_MANAGER_URI = URI.create("hibernate-second-level-cache");
+
+    /**
+     * Creates the JCache manager holding the second-level cache regions.
+     *
+     * @param entityMaximumSize Maximum number of entries per entity or collection region
+     * @param entityTtlMinutes  Time in minutes after which an entity or collection entry expires
+     * @param queryMaximumSize  Maximum number of cached query results per query region
+     * @param queryTtlMinutes   Time in minutes after which a cached query result expires
+     * @return Cache manager with every region created
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.hibernate.entityMaximumSize:10000}") long entityMaximumSize,
+            @Value("${app.cache.hibernate.entityTtlMinutes:60}") long entityTtlMinutes,
+            @Value("${app.cache.hibernate.queryMaximumSize:1000}") long queryMaximumSize,
+            @Value("${app.cache.hibernate.queryTtlMinutes:10}") long queryTtlMinutes) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(CACHE_MANAGER_URI, getClass().getClassLoader());
+        for (String region : CacheRegions.ENTITY_REGIONS) {
+            createRegion(cacheManager, region, OptionalLong.of(entityMaximumSize), ttl(entityTtlMinutes));
+        }
+        for (String region : CacheRegions.QUERY_REGIONS) {
+            createRegion(cacheManager, region, OptionalLong.of(queryMaximumSize), ttl(queryTtlMinutes));
+        }
+        createRegion(cacheManager, CacheRegions.UPDATE_TIMESTAMPS, OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    /**
+     * Points Hibernate at the JCache manager and enables the second-level and query caches.
+     *
+     * @param hibernateCacheManager Cache manager holding the regions
+     * @return Customizer adding the cache settings to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region,
+                                     OptionalLong maximumSize, OptionalLong expireAfterWriteNanos) {
+        if (cacheManager.getCache(region) != null) return;
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+
+    private static OptionalLong ttl(long minutes) {
+        return OptionalLong.of(Duration.ofMinutes(minutes).toNanos());
+    }
+}
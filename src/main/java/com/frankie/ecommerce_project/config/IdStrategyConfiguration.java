@@ -0,0 +1,25 @@
+package com.frankie.ecommerce_project.config;
+
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.IdStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Installs the ID generation strategy configured with {@code app.id.strategy} (UUID_V7 by default).
+ */
+@Configuration
+@Slf4j
+public class IdStrategyConfiguration {
+
+    /**
+     * Constructs IdStrategyConfiguration and installs the configured generator.
+     *
+     * @param strategy ID generation strategy for new entities
+     */
+    public IdStrategyConfiguration(@Value("${app.id.strategy:UUID_V7}") IdStrategy strategy) {
+        EntityIds.use(strategy.newGenerator());
+        log.info("Generating entity IDs with {}", strategy);
+    }
+}
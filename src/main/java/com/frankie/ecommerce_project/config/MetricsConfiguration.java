@@ -0,0 +1,50 @@
+package com.frankie.ecommerce_project.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import java.util.List;
+
+/**
+ * Latency metrics of the request hot paths: HTTP requests, repository calls and the {@code app.*} timers
+ * (password hashing, JWT signing and verification, email provider calls). These timers publish percentile
+ * histograms, for aggregation across instances from {@code /actuator/prometheus}, and the configured
+ * percentiles, readable per instance from {@code /actuator/metrics/<name>}.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfiguration {
+    private static final List<String> LATENCY_METRIC_PREFIXES =
+            List.of("app.", "http.server.requests", "spring.data.repository.invocations");
+
+    /**
+     * Enables percentile histograms and client-side percentiles on the hot-path timers.
+     *
+     * @param percentiles Percentiles published by every hot-path timer
+     * @return Meter filter
+     */
+    @Bean
+    public MeterFilter latencyHistogramMeterFilter(
+            @Value("${app.metrics.percentiles:0.5,0.95,0.99}") double[] percentiles) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !isLatencyMetric(id.getName())) return config;
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(percentiles)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    private static boolean isLatencyMetric(String name) {
+        return LATENCY_METRIC_PREFIXES.stream().anyMatch(name::startsWith);
+    }
+}
@@ -0,0 +1,12 @@
+package com.frankie.ecommerce_project.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as the email outbox dispatcher.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,169 @@
+package com.frankie.ecommerce_project.config;
+
+import com.frankie.ecommerce_project.monitoring.tracing.DispatchSpanFilter;
+import com.frankie.ecommerce_project.monitoring.tracing.ForcedTraceAuthorizationFilter;
+import com.frankie.ecommerce_project.monitoring.tracing.RequestTracing;
+import com.frankie.ecommerce_project.monitoring.tracing.RequestTracingFilter;
+import com.frankie.ecommerce_project.monitoring.tracing.Span;
+import com.frankie.ecommerce_project.monitoring.tracing.TraceStore;
+import com.frankie.ecommerce_project.monitoring.tracing.TracingJackson2HttpMessageConverter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process request tracing. A sampled request records spans for the filters, the security token checks,
+ * controller and service calls, repository calls and JSON serialization; finished traces are kept in the
+ * {@link TraceStore} ring buffer and read through {@code /api/v1/admin/traces}. Unsampled requests pay one
+ * thread-local lookup per instrumented call.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfiguration {
+    private static final List<String> EXCLUDED_PATHS = List.of("/api/v1/admin/traces", "/actuator");
+
+    /**
+     * Outermost filter sampling requests and storing their traces.
+     *
+     * @param traceStore Store for the finished traces
+     * @param sampleRate Probability between 0 and 1 that a request is traced
+     * @param maxSpans   Maximum number of spans recorded per request
+     * @return Filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RequestTracingFilter> requestTracingFilter(
+            TraceStore traceStore,
+            @Value("${app.tracing.sampleRate:0.01}") double sampleRate,
+            @Value("${app.tracing.maxSpans:256}") int maxSpans) {
+        FilterRegistrationBean<RequestTracingFilter> registration = new FilterRegistrationBean<>(
+                new RequestTracingFilter(traceStore, sampleRate, maxSpans, EXCLUDED_PATHS));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Filter granting traces forced with {@code X-Trace: true} to authenticated callers with the admin
+     * authority, once the Spring Security filter chain has authenticated the request.
+     *
+     * @param adminAuthority Authority a caller needs to force a trace
+     * @return Filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ForcedTraceAuthorizationFilter> forcedTraceAuthorizationFilter(
+            @Value("${app.security.adminAuthority:ADMIN}") String adminAuthority) {
+        FilterRegistrationBean<ForcedTraceAuthorizationFilter> registration =
+                new FilterRegistrationBean<>(new ForcedTraceAuthorizationFilter(adminAuthority));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    /**
+     * Filter opening the {@code mvc} span right after the Spring Security filter chain.
+     *
+     * @return Filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<DispatchSpanFilter> dispatchSpanFilter() {
+        FilterRegistrationBean<DispatchSpanFilter> registration =
+                new FilterRegistrationBean<>(new DispatchSpanFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor controllerTracingAdvisor() {
+        return tracingAdvisor(RestController.class, "controller");
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTracingAdvisor() {
+        return tracingAdvisor(Service.class, "service");
+    }
+
+    /**
+     * Records every repository call as a span, from the invocation listener Spring Data notifies with the
+     * duration of each call.
+     *
+     * @return Post-processor registering the listener on every repository factory
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addInvocationListener(invocation -> {
+                                if (!RequestTracing.isActive()) return;
+                                RequestTracing.recordCompleted("repository "
+                                                + invocation.getRepositoryInterface().getSimpleName() + "."
+                                                + invocation.getMethod().getName(),
+                                        invocation.getDuration(TimeUnit.NANOSECONDS));
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Replaces the JSON message converters with ones recording the {@code serialization} span.
+     *
+     * @return MVC configurer
+     */
+    @Bean
+    public WebMvcConfigurer tracingMessageConverterConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter jackson
+                        && !(converter instanceof TracingJackson2HttpMessageConverter)
+                        ? new TracingJackson2HttpMessageConverter(jackson.getObjectMapper())
+                        : converter);
+            }
+        };
+    }
+
+    /**
+     * Builds an advisor recording every call to beans annotated with {@code annotation} as a span, ahead of
+     * the other advisors so that the span includes transaction handling.
+     */
+    private static Advisor tracingAdvisor(Class<? extends Annotation> annotation, String kind) {
+        MethodInterceptor interceptor = invocation -> {
+            if (!RequestTracing.isActive()) return invocation.proceed();
+            String name = kind + " " + AopUtils.getTargetClass(invocation.getThis()).getSimpleName() + "."
+                    + invocation.getMethod().getName();
+            try (Span span = RequestTracing.span(name)) {
+                return invocation.proceed();
+            }
+        };
+        DefaultPointcutAdvisor advisor =
+                new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(annotation), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,56 @@
+package com.frankie.ecommerce_project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Connection pool settings for virtual-thread mode ({@code spring.threads.virtual.enabled=true} on Java 21).
+ * <p>
+ * Spring Boot already runs Tomcat requests, {@code @Async} methods and scheduled jobs on virtual threads in this
+ * mode. What changes is where requests wait: with platform threads the Tomcat pool (200 threads) caps how many
+ * requests run at once, with virtual threads nothing does, and every request waiting on MySQL queues on the
+ * Hikari pool instead. The pool size therefore becomes the database concurrency limit and should be sized for
+ * the database, roughly {@code 2 * database cores + disks}, not raised to match request concurrency; a larger
+ * pool only moves the queue into MySQL. The connection timeout becomes the load-shedding knob: a request that
+ * cannot get a connection within it fails fast instead of holding memory in an ever-growing queue.
+ * <p>
+ * Both can be set for this mode only with {@code app.datasource.virtualThreads.maximumPoolSize} and
+ * {@code app.datasource.virtualThreads.connectionTimeoutMs}; unset, the {@code spring.datasource.hikari.*}
+ * values apply unchanged. The effective values are logged at startup.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfiguration {
+
+    /**
+     * Applies the virtual-thread pool settings to the Hikari data source.
+     *
+     * @param environment Environment holding the pool settings
+     * @return Post-processor adjusting the Hikari data source
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadPoolSizing(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource dataSource)) return bean;
+                Integer maximumPoolSize = environment.getProperty(
+                        "app.datasource.virtualThreads.maximumPoolSize", Integer.class);
+                Long connectionTimeoutMs = environment.getProperty(
+                        "app.datasource.virtualThreads.connectionTimeoutMs", Long.class);
+                if (maximumPoolSize != null) dataSource.setMaximumPoolSize(maximumPoolSize);
+                if (connectionTimeoutMs != null) dataSource.setConnectionTimeout(connectionTimeoutMs);
+                log.info("Virtual threads enabled: at most {} concurrent database calls, waiting up to {} ms for a connection",
+                        dataSource.getMaximumPoolSize(), dataSource.getConnectionTimeout());
+                return bean;
+            }
+        };
+    }
+}
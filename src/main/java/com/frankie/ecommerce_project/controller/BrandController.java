@@ -30,8 +30,9 @@ public class BrandController {
             @RequestParam(value = "pageNo", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER,required = false) Integer pageNo,
             @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE,required = false) Integer pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY,required = false) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION,required = false) String sortDir) {
-        return ResponseEntity.status(HttpStatus.OK).body(brandService.getAllBrand(pageNo, pageSize, sortBy, sortDir));
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION,required = false) String sortDir,
+            @RequestParam(value = "after", required = false) String after) {
+        return ResponseEntity.status(HttpStatus.OK).body(brandService.getAllBrand(pageNo, pageSize, sortBy, sortDir, after));
     }
 
     @GetMapping("/{id}")
@@ -62,7 +63,8 @@ public class BrandController {
             @RequestParam(value = "pageNo", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER,required = false) Integer pageNo,
             @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE,required = false) Integer pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY,required = false) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION,required = false) String sortDir) {
-        return ResponseEntity.status(HttpStatus.OK).body(brandService.searchBrandByName(brandName, pageNo, pageSize, sortBy, sortDir));
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION,required = false) String sortDir,
+            @RequestParam(value = "after", required = false) String after) {
+        return ResponseEntity.status(HttpStatus.OK).body(brandService.searchBrandByName(brandName, pageNo, pageSize, sortBy, sortDir, after));
     }
 }
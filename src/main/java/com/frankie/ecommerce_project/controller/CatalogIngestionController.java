@@ -0,0 +1,76 @@
+package com.frankie.ecommerce_project.controller;
+
+import com.frankie.ecommerce_project.dto.product.request.StartCatalogIngestionDto;
+import com.frankie.ecommerce_project.dto.product.response.CatalogIngestionResponse;
+import com.frankie.ecommerce_project.service.CatalogIngestionService;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller starting and monitoring supplier catalog ingestions, restricted to callers with the admin
+ * authority. Catalog files are read from the server's ingestion directory; the job runs in the background and
+ * is polled by ID.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/catalog-ingestions")
+public class CatalogIngestionController {
+
+    private final CatalogIngestionService catalogIngestionService;
+
+    /**
+     * Constructs CatalogIngestionController with the ingestion service.
+     *
+     * @param catalogIngestionService Service running the ingestions
+     */
+    public CatalogIngestionController(CatalogIngestionService catalogIngestionService) {
+        this.catalogIngestionService = catalogIngestionService;
+    }
+
+    /**
+     * Queues the ingestion of a catalog file.
+     *
+     * @param request Path of the file and its format
+     * @return ResponseEntity with ApiResponse containing the queued ingestion
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<CatalogIngestionResponse>> startIngestion(
+            @RequestBody StartCatalogIngestionDto request) {
+        return buildResponse(catalogIngestionService.startIngestion(request));
+    }
+
+    /**
+     * Queues an interrupted or failed ingestion again, continuing after its last checkpoint.
+     *
+     * @param ingestionId Ingestion ID
+     * @return ResponseEntity with ApiResponse containing the queued ingestion
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ApiResponse<CatalogIngestionResponse>> resumeIngestion(
+            @PathVariable("id") String ingestionId) {
+        return buildResponse(catalogIngestionService.resumeIngestion(ingestionId));
+    }
+
+    /**
+     * Retrieves the progress of an ingestion.
+     *
+     * @param ingestionId Ingestion ID
+     * @return ResponseEntity with ApiResponse containing the ingestion
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<CatalogIngestionResponse>> getIngestionById(
+            @PathVariable("id") String ingestionId) {
+        return buildResponse(catalogIngestionService.getIngestionById(ingestionId));
+    }
+
+    /**
+     * Builds a ResponseEntity from an ApiResponse.
+     *
+     * @param apiResponse ApiResponse to wrap
+     * @param <T>         Type of the response data
+     * @return ResponseEntity with the status of the ApiResponse
+     */
+    private <T> ResponseEntity<ApiResponse<T>> buildResponse(ApiResponse<T> apiResponse) {
+        return ResponseEntity.status(apiResponse.getStatusCode()).body(apiResponse);
+    }
+}
@@ -36,8 +36,10 @@ public class CategoryController {
             @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY,
                     required = false) String sortBy,
             @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION,
-                    required = false) String sortDir) {
-        ApiResponse<CategoryListResponse> allCategories = categoryService.getALlCategories(pageNo, pageSize, sortBy, sortDir);
+                    required = false) String sortDir,
+            @RequestParam(value = "after", required = false) String after) {
+        ApiResponse<CategoryListResponse> allCategories = categoryService.getALlCategories(pageNo, pageSize, sortBy,
+                sortDir, after);
         return ResponseEntity.status(HttpStatus.OK).body(allCategories);
     }
 
@@ -76,9 +78,10 @@ public class CategoryController {
             @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY,
                     required = false) String sortBy,
             @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION,
-                    required = false) String sortDir) {
+                    required = false) String sortDir,
+            @RequestParam(value = "after", required = false) String after) {
         ApiResponse<CategoryListResponse> searchByName = categoryService.searchCategoryByName(
-                categoryName, pageNo, pageSize, sortBy, sortDir);
+                categoryName, pageNo, pageSize, sortBy, sortDir, after);
         return ResponseEntity.status(HttpStatus.OK).body(searchByName);
     }
 }
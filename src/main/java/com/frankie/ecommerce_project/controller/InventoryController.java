@@ -0,0 +1,40 @@
+package com.frankie.ecommerce_project.controller;
+
+import com.frankie.ecommerce_project.dto.inventory.request.ReserveStockDto;
+import com.frankie.ecommerce_project.dto.inventory.response.ReservationResponse;
+import com.frankie.ecommerce_project.dto.inventory.response.StockLevelResponse;
+import com.frankie.ecommerce_project.service.InventoryService;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/inventory")
+public class InventoryController {
+    private final InventoryService inventoryService;
+
+    public InventoryController(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    @PostMapping("/reservations")
+    public ResponseEntity<ApiResponse<ReservationResponse>> reserveStock(@RequestBody ReserveStockDto reserveStockDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(inventoryService.reserveStock(reserveStockDto));
+    }
+
+    @PostMapping("/reservations/{id}/commit")
+    public ResponseEntity<ApiResponse<ReservationResponse>> commitReservation(@PathVariable("id") String reservationId) {
+        return ResponseEntity.status(HttpStatus.OK).body(inventoryService.commitReservation(reservationId));
+    }
+
+    @DeleteMapping("/reservations/{id}")
+    public ResponseEntity<ApiResponse<ReservationResponse>> releaseReservation(@PathVariable("id") String reservationId) {
+        return ResponseEntity.status(HttpStatus.OK).body(inventoryService.releaseReservation(reservationId));
+    }
+
+    @GetMapping("/{skuNo}")
+    public ResponseEntity<ApiResponse<StockLevelResponse>> getStockLevel(@PathVariable("skuNo") String skuNo) {
+        return ResponseEntity.status(HttpStatus.OK).body(inventoryService.getStockLevel(skuNo));
+    }
+}
@@ -60,8 +60,9 @@ public class PermissionController {
             @RequestParam(value = "pageNo", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER, required = false) int pageNo,
             @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY, required = false) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION, required = false) String sortDir) {
-        return ResponseEntity.status(HttpStatus.OK).body(permissionService.getAllPermissions(pageNo, pageSize, sortBy, sortDir));
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION, required = false) String sortDir,
+            @RequestParam(value = "after", required = false) String after) {
+        return ResponseEntity.status(HttpStatus.OK).body(permissionService.getAllPermissions(pageNo, pageSize, sortBy, sortDir, after));
     }
 
 
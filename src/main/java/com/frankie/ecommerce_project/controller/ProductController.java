@@ -0,0 +1,40 @@
+package com.frankie.ecommerce_project.controller;
+
+import com.frankie.ecommerce_project.dto.product.request.CreateProductDto;
+import com.frankie.ecommerce_project.dto.product.response.CreateProductResponse;
+import com.frankie.ecommerce_project.dto.product.response.ProductSearchResponse;
+import com.frankie.ecommerce_project.service.ProductService;
+import com.frankie.ecommerce_project.utils.AppConstants;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/products")
+public class ProductController {
+    private final ProductService productService;
+
+    public ProductController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<CreateProductResponse>> createProduct(@RequestBody CreateProductDto createProductDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(productService.createProduct(createProductDto));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ProductSearchResponse>> searchProducts(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "filter", required = false) List<String> filters,
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(value = "pageNo", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER, required = false) Integer pageNo,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) Integer pageSize) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(productService.searchProducts(query, filters, minPrice, maxPrice, pageNo, pageSize));
+    }
+}
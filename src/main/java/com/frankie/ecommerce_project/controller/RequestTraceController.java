@@ -0,0 +1,78 @@
+package com.frankie.ecommerce_project.controller;
+
+import com.frankie.ecommerce_project.monitoring.tracing.RequestTrace;
+import com.frankie.ecommerce_project.service.RequestTraceService;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller exposing the sampled request traces kept in memory, to callers with the admin authority. Such a
+ * caller can also trace a request on demand by sending it with {@code X-Trace: true} and looking up the
+ * {@code X-Trace-Id} it returns.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/traces")
+public class RequestTraceController {
+
+    private final RequestTraceService requestTraceService;
+
+    /**
+     * Constructs RequestTraceController with the trace service.
+     *
+     * @param requestTraceService Service reading the trace store
+     */
+    public RequestTraceController(RequestTraceService requestTraceService) {
+        this.requestTraceService = requestTraceService;
+    }
+
+    /**
+     * Retrieves the most recent traces, newest first.
+     *
+     * @param limit         Maximum number of traces (default: 50)
+     * @param minDurationMs Only traces of requests that took at least this long (default: 0)
+     * @return ResponseEntity with ApiResponse containing the traces
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RequestTrace>>> getRecentTraces(
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "minDurationMs", defaultValue = "0") double minDurationMs) {
+        return buildResponse(requestTraceService.getRecentTraces(limit, minDurationMs));
+    }
+
+    /**
+     * Retrieves the slowest traces still in memory, slowest first.
+     *
+     * @param limit Maximum number of traces (default: 20)
+     * @return ResponseEntity with ApiResponse containing the traces
+     */
+    @GetMapping("/slowest")
+    public ResponseEntity<ApiResponse<List<RequestTrace>>> getSlowestTraces(
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return buildResponse(requestTraceService.getSlowestTraces(limit));
+    }
+
+    /**
+     * Retrieves one trace by its ID.
+     *
+     * @param traceId Trace ID from the {@code X-Trace-Id} response header
+     * @return ResponseEntity with ApiResponse containing the trace
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<RequestTrace>> getTraceById(@PathVariable("id") String traceId) {
+        return buildResponse(requestTraceService.getTraceById(traceId));
+    }
+
+    /**
+     * Builds a ResponseEntity from an ApiResponse.
+     *
+     * @param apiResponse ApiResponse to wrap
+     * @param <T>         Type of the response data
+     * @return ResponseEntity with the status of the ApiResponse
+     */
+    private <T> ResponseEntity<ApiResponse<T>> buildResponse(ApiResponse<T> apiResponse) {
+        return ResponseEntity.status(apiResponse.getStatusCode()).body(apiResponse);
+    }
+}
@@ -50,6 +50,7 @@ public class RoleController {
      * @param pageSize Number of roles per page (default: 10)
      * @param sortBy   Field to sort by (default: id)
      * @param sortDir  Sort direction (default: asc)
+     * @param after    Cursor from the previous page's nextCursor; pass it empty to start cursor paging
      * @return ResponseEntity with ApiResponse containing RoleListResponse
      */
     @GetMapping
@@ -57,8 +58,9 @@ public class RoleController {
             @RequestParam(value = "pageNo", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir) {
-        return buildResponse(roleService.getAllRoles(pageNo, pageSize, sortBy, sortDir));
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(value = "after", required = false) String after) {
+        return buildResponse(roleService.getAllRoles(pageNo, pageSize, sortBy, sortDir, after));
     }
 
     /**
@@ -4,11 +4,19 @@ import com.frankie.ecommerce_project.dto.user.common.UserInfo;
 import com.frankie.ecommerce_project.dto.user.request.CreateUserDto;
 import com.frankie.ecommerce_project.dto.user.request.UpdateUserDto;
 import com.frankie.ecommerce_project.dto.user.response.*;
+import com.frankie.ecommerce_project.service.UserBulkService;
 import com.frankie.ecommerce_project.service.UserService;
 import com.frankie.ecommerce_project.utils.AppConstants;
+import com.frankie.ecommerce_project.utils.BulkFormat;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Controller for handling user management requests, including creating, updating, and retrieving user information.
@@ -18,14 +26,17 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserBulkService userBulkService;
 
     /**
-     * Constructs UserController with the user service.
+     * Constructs UserController with the user services.
      *
-     * @param userService Service for handling user-related logic
+     * @param userService     Service for handling user-related logic
+     * @param userBulkService Service for bulk import and export
      */
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserBulkService userBulkService) {
         this.userService = userService;
+        this.userBulkService = userBulkService;
     }
 
     @PostMapping
@@ -41,6 +52,7 @@ public class UserController {
      * @param pageSize Number of users per page (default: 10)
      * @param sortBy   Field to sort by (default: id)
      * @param sortDir  Sort direction (default: asc)
+     * @param after    Cursor from the previous page's nextCursor; pass it empty to start cursor paging
      * @return ResponseEntity with ApiResponse containing UserListResponse
      */
     @GetMapping
@@ -48,8 +60,9 @@ public class UserController {
             @RequestParam(value = "pageNo", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int pageNo,
             @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir) {
-        return buildResponse(userService.getAllUsers(pageNo, pageSize, sortBy, sortDir));
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(value = "after", required = false) String after) {
+        return buildResponse(userService.getAllUsers(pageNo, pageSize, sortBy, sortDir, after));
     }
 
     /**
@@ -98,6 +111,7 @@ public class UserController {
      * @param sortBy   Field to sort by (default: id)
      * @param sortDir  Sort direction (default: asc)
      * @param email    Email to search for (optional)
+     * @param after    Cursor from the previous page's nextCursor; pass it empty to start cursor paging
      * @return ResponseEntity with ApiResponse containing UserListResponse
      */
     @GetMapping("/search")
@@ -106,8 +120,9 @@ public class UserController {
             @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int pageSize,
             @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY) String sortBy,
             @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir,
-            @RequestParam(value = "email", required = false) String email) {
-        return buildResponse(userService.searchUserByEmail(pageNo, pageSize, sortBy, sortDir, email));
+            @RequestParam(value = "email", required = false) String email,
+            @RequestParam(value = "after", required = false) String after) {
+        return buildResponse(userService.searchUserByEmail(pageNo, pageSize, sortBy, sortDir, email, after));
     }
 
     /**
@@ -122,6 +137,42 @@ public class UserController {
         return buildResponse(userService.reactivateUserAccount(userId));
     }
 
+    /**
+     * Imports users from a CSV ({@code text/csv}) or NDJSON ({@code application/x-ndjson}) request body, which is
+     * read as a stream. Rows that cannot be imported are listed in the response with their row number. Restricted
+     * to callers with the admin authority.
+     *
+     * @param contentType Content type of the body, selecting the format
+     * @param body        Request body
+     * @return ResponseEntity with ApiResponse containing UserImportResponse
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<UserImportResponse>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        return buildResponse(userBulkService.importUsers(body, BulkFormat.fromContentType(contentType)));
+    }
+
+    /**
+     * Streams all users as a CSV or NDJSON download, without loading them all into memory. Restricted to callers
+     * with the admin authority.
+     *
+     * @param format Output format, csv or ndjson (default: csv)
+     * @return ResponseEntity streaming the users
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(value = "format", defaultValue = "csv") String format) {
+        BulkFormat bulkFormat = BulkFormat.fromName(format);
+        return ResponseEntity.ok()
+                .contentType(bulkFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + bulkFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(output -> userBulkService.exportUsers(output, bulkFormat));
+    }
+
     /**
      * Builds a ResponseEntity from an ApiResponse.
      *
@@ -0,0 +1,15 @@
+package com.frankie.ecommerce_project.dto.email;
+
+import com.frankie.ecommerce_project.utils.VerificationType;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OtpEmailMessage {
+    private String to;
+    private String otp;
+    private VerificationType type;
+}
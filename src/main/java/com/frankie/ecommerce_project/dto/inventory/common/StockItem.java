@@ -0,0 +1,15 @@
+package com.frankie.ecommerce_project.dto.inventory.common;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockItem implements Serializable {
+    private String skuNo;
+    private Integer quantity;
+}
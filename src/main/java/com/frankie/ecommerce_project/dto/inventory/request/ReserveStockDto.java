@@ -0,0 +1,17 @@
+package com.frankie.ecommerce_project.dto.inventory.request;
+
+import com.frankie.ecommerce_project.dto.inventory.common.StockItem;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReserveStockDto {
+    @Builder.Default
+    private List<StockItem> items = new ArrayList<>();
+}
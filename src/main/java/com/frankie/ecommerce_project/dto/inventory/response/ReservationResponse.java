@@ -0,0 +1,25 @@
+package com.frankie.ecommerce_project.dto.inventory.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.frankie.ecommerce_project.dto.inventory.common.StockItem;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservationResponse implements Serializable {
+    private String id;
+
+    @Builder.Default
+    private List<StockItem> items = new ArrayList<>();
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss a", timezone = "GMT+7")
+    private Instant expiresAt;
+}
@@ -0,0 +1,16 @@
+package com.frankie.ecommerce_project.dto.inventory.response;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockLevelResponse implements Serializable {
+    private String skuNo;
+    private long available;
+    private long reserved;
+}
@@ -0,0 +1,15 @@
+package com.frankie.ecommerce_project.dto.product.common;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FacetCount implements Serializable {
+    private String value;
+    private long count;
+}
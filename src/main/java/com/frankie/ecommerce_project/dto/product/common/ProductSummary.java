@@ -0,0 +1,18 @@
+package com.frankie.ecommerce_project.dto.product.common;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSummary implements Serializable {
+    private String id;
+    private String productName;
+    private Double minPrice;
+    private Double maxPrice;
+    private int skuCount;
+}
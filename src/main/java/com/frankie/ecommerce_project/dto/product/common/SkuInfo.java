@@ -0,0 +1,22 @@
+package com.frankie.ecommerce_project.dto.product.common;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SkuInfo implements Serializable {
+    private String id;
+    private String skuNo;
+    private String skuName;
+    private String skuDescription;
+    private Integer skuStock;
+    private Double skuPrice;
+    @JsonRawValue
+    private String skuAttrs;
+}
@@ -0,0 +1,36 @@
+package com.frankie.ecommerce_project.dto.product.request;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * One record of a supplier catalog: a SKU and the product it belongs to. Products are matched by name.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CatalogRecordDto {
+
+    private String productName;
+
+    private String productDesc;
+
+    private Integer productStatus;
+
+    private Map<String, Object> productAttrs;
+
+    private String skuNo;
+
+    private String skuName;
+
+    private String skuDescription;
+
+    private Integer skuStock;
+
+    private Double skuPrice;
+
+    private Map<String, Object> skuAttrs;
+}
@@ -3,6 +3,10 @@ package com.frankie.ecommerce_project.dto.product.request;
 
 import lombok.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -12,19 +16,14 @@ public class CreateProductDto {
 
     private String id;
 
-    private String name;
-
-    private Long originalPrice;
-
-    private Long discountPrice;
-
-    private int rating;
+    private String productName;
 
-    private String description;
+    private String productDesc;
 
-    private int quantity;
+    private Integer productStatus;
 
-    private Boolean isActive;
+    private Map<String, Object> productAttrs;
 
-    private Boolean isDeleted;
+    @Builder.Default
+    private List<CreateSkuDto> skus = new ArrayList<>();
 }
@@ -0,0 +1,25 @@
+package com.frankie.ecommerce_project.dto.product.request;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CreateSkuDto {
+
+    private String skuNo;
+
+    private String skuName;
+
+    private String skuDescription;
+
+    private Integer skuStock;
+
+    private Double skuPrice;
+
+    private Map<String, Object> skuAttrs;
+}
@@ -0,0 +1,21 @@
+package com.frankie.ecommerce_project.dto.product.request;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StartCatalogIngestionDto {
+
+    /**
+     * Path of the catalog file, relative to the configured ingestion directory.
+     */
+    private String path;
+
+    /**
+     * {@code csv} or {@code ndjson}; derived from the file extension when omitted.
+     */
+    private String format;
+}
@@ -0,0 +1,48 @@
+package com.frankie.ecommerce_project.dto.product.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.frankie.ecommerce_project.utils.BulkFormat;
+import com.frankie.ecommerce_project.utils.CatalogIngestionStatus;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CatalogIngestionResponse implements Serializable {
+
+    private String id;
+
+    private String sourcePath;
+
+    private BulkFormat format;
+
+    private CatalogIngestionStatus status;
+
+    private Long recordsCommitted;
+
+    private Long skusInserted;
+
+    private Long skusUpdated;
+
+    private Long failedRecords;
+
+    private Double rowsPerSecond;
+
+    private String lastError;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss a", timezone = "GMT+7")
+    private Instant createdAt;
+
+    private String createdBy;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss a", timezone = "GMT+7")
+    private Instant checkpointAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss a", timezone = "GMT+7")
+    private Instant finishedAt;
+}
@@ -1,32 +1,40 @@
 package com.frankie.ecommerce_project.dto.product.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import jakarta.persistence.Column;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.frankie.ecommerce_project.dto.product.common.SkuInfo;
+import lombok.*;
 
+import java.io.Serializable;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
-public class CreateProductResponse {
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CreateProductResponse implements Serializable {
 
     private String id;
 
-    private String name;
+    private String productName;
 
-    private Long originalPrice;
+    private String productDesc;
 
-    private Long discountPrice;
+    private Integer productStatus;
 
-    private int rating;
+    @JsonRawValue
+    private String productAttrs;
 
-    private String description;
-
-    private int quantity;
+    @Builder.Default
+    private List<SkuInfo> skus = new ArrayList<>();
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss a", timezone = "GMT+7")
     private Instant createdAt;
 
     private String createdBy;
 
-    private Boolean isActive;
-
     private Boolean isDeleted;
 }
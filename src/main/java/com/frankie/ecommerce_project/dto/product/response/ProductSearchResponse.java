@@ -0,0 +1,21 @@
+package com.frankie.ecommerce_project.dto.product.response;
+
+import com.frankie.ecommerce_project.dto.product.common.FacetCount;
+import com.frankie.ecommerce_project.dto.product.common.ProductSummary;
+import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSearchResponse implements Serializable {
+    private MetaData meta;
+    private List<ProductSummary> data;
+    private Map<String, List<FacetCount>> facets;
+}
@@ -0,0 +1,16 @@
+package com.frankie.ecommerce_project.dto.user.common;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserImportError implements Serializable {
+    private long row;
+    private String email;
+    private String message;
+}
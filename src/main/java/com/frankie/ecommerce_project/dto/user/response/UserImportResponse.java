@@ -0,0 +1,22 @@
+package com.frankie.ecommerce_project.dto.user.response;
+
+import com.frankie.ecommerce_project.dto.user.common.UserImportError;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserImportResponse implements Serializable {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    @Builder.Default
+    private List<UserImportError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+}
@@ -48,6 +48,17 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiResponse);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<ErrorDetails>> handleServiceUnavailableException(ServiceUnavailableException exception, WebRequest request) {
+        ErrorDetails errorDetails = ErrorDetails.builder()
+                .message(exception.getMessage())
+                .timestamp(Instant.now())
+                .details(request.getDescription(false))
+                .build();
+        ApiResponse<ErrorDetails> apiResponse = ApiResponse.error("Service temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE, errorDetails);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(apiResponse);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiResponse<ErrorDetails>> handleIllegalStateException(IllegalStateException exception, WebRequest request) {
         ErrorDetails errorDetails = ErrorDetails.builder()
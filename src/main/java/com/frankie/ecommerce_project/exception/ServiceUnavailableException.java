@@ -0,0 +1,17 @@
+package com.frankie.ecommerce_project.exception;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ServiceUnavailableException extends RuntimeException {
+    private String serviceName;
+    private String reason;
+
+    public ServiceUnavailableException(String serviceName, String reason) {
+        super(String.format("%s is unavailable: %s", serviceName, reason));
+        this.serviceName = serviceName;
+        this.reason = reason;
+    }
+}
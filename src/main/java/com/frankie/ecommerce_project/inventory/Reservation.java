@@ -0,0 +1,15 @@
+package com.frankie.ecommerce_project.inventory;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Stock held for one checkout until it is committed, released or expires.
+ *
+ * @param id        Reservation ID
+ * @param items     Reserved quantities by SKU number
+ * @param expiresAt Time after which the stock is returned if the reservation is still open
+ * @param owner     Login of the user who made the reservation
+ */
+public record Reservation(String id, Map<String, Integer> items, Instant expiresAt, String owner) {
+}
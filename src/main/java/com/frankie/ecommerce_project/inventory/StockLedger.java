@@ -0,0 +1,349 @@
+package com.frankie.ecommerce_project.inventory;
+
+import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stock ledger per SKU number, the source of truth for checkout reservations.
+ * <p>
+ * Each SKU holds its available and reserved quantities in atomics: a reservation takes stock with a
+ * compare-and-set loop that never lets the available quantity drop below zero, so concurrent checkouts cannot
+ * oversell and never wait on a row lock. A reservation ends exactly once, by whichever of commit, release or
+ * expiry removes it from the reservation map first. Committing turns the reserved quantity into a sale and hands
+ * the stock change to {@link StockWriteBehind}; releases and expiries only return stock to the ledger, since
+ * reservations are never written to the database.
+ * <p>
+ * A SKU is loaded from the database on first use, together with its buffered deltas. From then on, changes to
+ * its stock must go through the ledger, or be followed by {@link #evict}, which reloads the stock on hand in place
+ * and keeps the open reservations. At most {@code maxCachedSkus} SKUs are kept; beyond that, idle entries are
+ * dropped as they are found. Dropping retires an entry, which makes later reservations load the SKU again instead
+ * of taking stock from it, and is only possible while no reservation on it is open.
+ * <p>
+ * The ledger lives in the memory of one application instance and assumes it is the only one selling from the
+ * database: instances running side by side each hold their own stock and oversell against each other.
+ */
+@Component
+@Slf4j
+public class StockLedger {
+    private final ConcurrentHashMap<String, SkuStock> stocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OpenReservation> reservations = new ConcurrentHashMap<>();
+    private final StockWriteBehind stockWriteBehind;
+    private final Duration reservationTtl;
+    private final int maxCachedSkus;
+
+    /**
+     * Constructs StockLedger with required dependencies and configuration.
+     *
+     * @param stockWriteBehind Buffer loading the stock of a SKU and writing committed stock changes
+     * @param reservationTtl   Time after which an open reservation expires
+     * @param maxCachedSkus    Number of SKUs kept in the ledger before idle ones are dropped
+     */
+    public StockLedger(StockWriteBehind stockWriteBehind,
+                       @Value("${app.inventory.reservationTtl:PT15M}") Duration reservationTtl,
+                       @Value("${app.inventory.maxCachedSkus:100000}") int maxCachedSkus) {
+        this.stockWriteBehind = stockWriteBehind;
+        this.reservationTtl = reservationTtl;
+        this.maxCachedSkus = maxCachedSkus;
+    }
+
+    /**
+     * Reserves stock for all items, or for none of them.
+     *
+     * @param items Quantities by SKU number
+     * @param owner Login of the user the reservation belongs to
+     * @return Open reservation
+     * @throws IllegalArgumentException  if there are no items or a quantity is not positive
+     * @throws ResourceNotFoundException if a SKU does not exist
+     * @throws IllegalStateException     if a SKU does not have enough stock available
+     */
+    public Reservation reserve(Map<String, Integer> items, String owner) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("A reservation needs at least one item");
+        }
+        Map<String, Integer> sorted = new TreeMap<>(items);
+        for (Map.Entry<String, Integer> item : sorted.entrySet()) {
+            if (item.getValue() == null || item.getValue() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for SKU " + item.getKey());
+            }
+        }
+
+        List<Map.Entry<SkuStock, Integer>> taken = new ArrayList<>(sorted.size());
+        for (Map.Entry<String, Integer> item : sorted.entrySet()) {
+            SkuStock stock;
+            boolean reserved;
+            try {
+                // An entry retired after the lookup takes no stock; the SKU is loaded again.
+                do {
+                    stock = stockOf(item.getKey());
+                    reserved = stock.tryReserve(item.getValue());
+                } while (!reserved && stock.isRetired());
+            } catch (ResourceNotFoundException e) {
+                taken.forEach(entry -> entry.getKey().release(entry.getValue()));
+                throw e;
+            }
+            if (!reserved) {
+                taken.forEach(entry -> entry.getKey().release(entry.getValue()));
+                throw new IllegalStateException("Insufficient stock for SKU " + item.getKey());
+            }
+            taken.add(Map.entry(stock, item.getValue()));
+        }
+
+        Reservation reservation = new Reservation(EntityIds.next(), Map.copyOf(sorted),
+                Instant.now().plus(reservationTtl), owner);
+        reservations.put(reservation.id(), new OpenReservation(reservation, taken));
+        return reservation;
+    }
+
+    /**
+     * Turns a reservation into a sale and queues the stock change for the database.
+     *
+     * @param reservationId Reservation ID
+     * @return Committed reservation
+     * @throws ResourceNotFoundException if the reservation does not exist or has already ended
+     */
+    public Reservation commit(String reservationId) {
+        OpenReservation open = end(reservationId);
+        open.stocks().forEach(entry -> {
+            SkuStock stock = entry.getKey();
+            // The delta is buffered before the reserved quantity goes, so a reload never misses the sale.
+            synchronized (stock) {
+                stockWriteBehind.add(stock.skuNo, -entry.getValue());
+                stock.commit(entry.getValue());
+            }
+        });
+        return open.reservation();
+    }
+
+    /**
+     * Cancels a reservation and returns its stock.
+     *
+     * @param reservationId Reservation ID
+     * @return Released reservation
+     * @throws ResourceNotFoundException if the reservation does not exist or has already ended
+     */
+    public Reservation release(String reservationId) {
+        OpenReservation open = end(reservationId);
+        open.stocks().forEach(entry -> entry.getKey().release(entry.getValue()));
+        return open.reservation();
+    }
+
+    /**
+     * Returns an open reservation.
+     *
+     * @param reservationId Reservation ID
+     * @return Open reservation
+     * @throws ResourceNotFoundException if the reservation does not exist or has already ended
+     */
+    public Reservation getReservation(String reservationId) {
+        OpenReservation open = reservations.get(reservationId);
+        if (open == null) throw new ResourceNotFoundException("Reservation", "id", reservationId);
+        return open.reservation();
+    }
+
+    /**
+     * Returns the stock of the reservations whose time is up.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.expiryIntervalMs:1000}")
+    public void expireReservations() {
+        int expired = expireReservations(Instant.now());
+        if (expired > 0) log.info("Expired {} stock reservations", expired);
+    }
+
+    /**
+     * Returns the stock of the reservations that expire before a given time.
+     *
+     * @param now Current time
+     * @return Number of reservations expired
+     */
+    int expireReservations(Instant now) {
+        int expired = 0;
+        for (OpenReservation open : reservations.values()) {
+            Reservation reservation = open.reservation();
+            if (reservation.expiresAt().isBefore(now) && reservations.remove(reservation.id(), open)) {
+                open.stocks().forEach(entry -> entry.getKey().release(entry.getValue()));
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the stock level of a SKU, loading it if needed.
+     *
+     * @param skuNo SKU number
+     * @return Available and reserved quantities
+     * @throws ResourceNotFoundException if the SKU does not exist
+     */
+    public StockLevel getStockLevel(String skuNo) {
+        long state = stockOf(skuNo).state.get();
+        if (state == SkuStock.RETIRED) return new StockLevel(skuNo, 0, 0);
+        return new StockLevel(skuNo, SkuStock.available(state), SkuStock.reserved(state));
+    }
+
+    /**
+     * Reloads the stock on hand of cached SKUs after it was changed outside the ledger. Open reservations keep
+     * their quantities, and the rest of the reloaded stock becomes available at once, also on SKUs that are never
+     * idle.
+     *
+     * @param skuNos SKU numbers
+     */
+    public void evict(Collection<String> skuNos) {
+        for (String skuNo : skuNos) {
+            SkuStock stock = stocks.get(skuNo);
+            if (stock == null) continue;
+            // No sale can be committed in between, so the reloaded stock and the reserved quantity agree.
+            synchronized (stock) {
+                Optional<Long> onHand = stockWriteBehind.loadStock(skuNo);
+                if (onHand.isEmpty() || !stock.rebase(onHand.get())) stocks.remove(skuNo, stock);
+            }
+        }
+    }
+
+    private OpenReservation end(String reservationId) {
+        OpenReservation open = reservations.remove(reservationId);
+        if (open == null) throw new ResourceNotFoundException("Reservation", "id", reservationId);
+        return open;
+    }
+
+    private SkuStock stockOf(String skuNo) {
+        SkuStock stock = stocks.get(skuNo);
+        if (stock != null && !stock.isRetired()) return stock;
+        if (stock != null) stocks.remove(skuNo, stock);
+        // Loaded outside the map so the query does not block other SKUs; the first copy stored wins.
+        long onHand = stockWriteBehind.loadStock(skuNo)
+                .orElseThrow(() -> new ResourceNotFoundException("SKU", "skuNo", skuNo));
+        SkuStock loaded = new SkuStock(skuNo, onHand);
+        SkuStock existing = stocks.putIfAbsent(skuNo, loaded);
+        if (existing != null) return existing;
+        if (stocks.size() > maxCachedSkus) trim(loaded);
+        return loaded;
+    }
+
+    /**
+     * Drops idle entries until the ledger is back within {@code maxCachedSkus}.
+     *
+     * @param keep Entry just loaded, which is not dropped
+     */
+    private void trim(SkuStock keep) {
+        Iterator<SkuStock> cached = stocks.values().iterator();
+        while (stocks.size() > maxCachedSkus && cached.hasNext()) {
+            SkuStock stock = cached.next();
+            if (stock != keep && stock.retire()) stocks.remove(stock.skuNo, stock);
+        }
+    }
+
+    /**
+     * Stock of one SKU as seen by the ledger.
+     *
+     * @param skuNo     SKU number
+     * @param available Quantity that can be reserved
+     * @param reserved  Quantity held by open reservations
+     */
+    public record StockLevel(String skuNo, long available, long reserved) {
+    }
+
+    /**
+     * Open reservation with the ledger entries it holds stock in.
+     *
+     * @param reservation Reservation
+     * @param stocks      Ledger entries and the quantities reserved in them
+     */
+    private record OpenReservation(Reservation reservation, List<Map.Entry<SkuStock, Integer>> stocks) {
+    }
+
+    /**
+     * Available and reserved quantities of one SKU. The stock on hand is their sum.
+     * <p>
+     * Both quantities share one word, available in the high and reserved in the low 32 bits, so every change is a
+     * single compare-and-set and their sum is never seen half updated. An entry can be retired, by swapping the
+     * word for {@link #RETIRED}, only while nothing is reserved.
+     */
+    private static final class SkuStock {
+        private static final long RETIRED = -1L;
+
+        private final String skuNo;
+        private final AtomicLong state;
+
+        private SkuStock(String skuNo, long onHand) {
+            this.skuNo = skuNo;
+            this.state = new AtomicLong(pack(onHand, 0));
+        }
+
+        private boolean tryReserve(int quantity) {
+            long current;
+            do {
+                current = state.get();
+                if (current == RETIRED || available(current) < quantity) return false;
+            } while (!state.compareAndSet(current, pack(available(current) - quantity,
+                    reserved(current) + quantity)));
+            return true;
+        }
+
+        private void release(int quantity) {
+            long current;
+            do {
+                current = state.get();
+            } while (!state.compareAndSet(current, pack(available(current) + quantity,
+                    reserved(current) - quantity)));
+        }
+
+        private void commit(int quantity) {
+            long current;
+            do {
+                current = state.get();
+            } while (!state.compareAndSet(current, pack(available(current), reserved(current) - quantity)));
+        }
+
+        /**
+         * Sets the stock on hand, keeping the reserved quantity.
+         *
+         * @param onHand Stock on hand
+         * @return False if the entry is retired
+         */
+        private boolean rebase(long onHand) {
+            long current;
+            do {
+                current = state.get();
+                if (current == RETIRED) return false;
+            } while (!state.compareAndSet(current, pack(onHand - reserved(current), reserved(current))));
+            return true;
+        }
+
+        private boolean retire() {
+            long current = state.get();
+            return current != RETIRED && reserved(current) == 0 && state.compareAndSet(current, RETIRED);
+        }
+
+        private boolean isRetired() {
+            return state.get() == RETIRED;
+        }
+
+        private static long available(long state) {
+            return state >>> 32;
+        }
+
+        private static long reserved(long state) {
+            return state & 0xFFFFFFFFL;
+        }
+
+        private static long pack(long available, long reserved) {
+            return Math.min(Math.max(0, available), Integer.MAX_VALUE) << 32 | reserved;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.frankie.ecommerce_project.inventory;
+
+import com.frankie.ecommerce_project.repository.InventoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for the stock changes of the {@link StockLedger}.
+ * <p>
+ * Committed reservations add their deltas here without touching the database. A scheduled flush drains the
+ * buffer and applies the net delta per SKU with one batch, so a burst of checkouts on a hot SKU becomes a single
+ * row update instead of one locked update per order. If the flush fails, the deltas go back into the buffer and
+ * are retried on the next flush. Deltas still buffered when the process dies are lost; the flush interval bounds
+ * how many.
+ * <p>
+ * A flush takes its deltas out of the buffer before the database has them. Stock is therefore only read through
+ * {@link #loadStock}, which does not overlap a flush, so every delta is counted exactly once.
+ */
+@Component
+@Slf4j
+public class StockWriteBehind {
+    private final ConcurrentHashMap<String, Long> pending = new ConcurrentHashMap<>();
+    private final InventoryRepository inventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs StockWriteBehind with the repository and transaction template.
+     *
+     * @param inventoryRepository Repository applying the deltas
+     * @param transactionTemplate Transaction template wrapping each flush
+     */
+    public StockWriteBehind(InventoryRepository inventoryRepository, TransactionTemplate transactionTemplate) {
+        this.inventoryRepository = inventoryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Buffers a stock change.
+     *
+     * @param skuNo SKU number
+     * @param delta Change of the stock, negative for a sale
+     */
+    public void add(String skuNo, long delta) {
+        pending.merge(skuNo, delta, Long::sum);
+    }
+
+    /**
+     * Returns the buffered delta of a SKU.
+     *
+     * @param skuNo SKU number
+     * @return Delta not yet written to the database
+     */
+    public long pendingDelta(String skuNo) {
+        return pending.getOrDefault(skuNo, 0L);
+    }
+
+    /**
+     * Reads the stock on hand of a SKU: the stock in the database plus the buffered delta. Waits for a running
+     * flush to commit or fail first.
+     *
+     * @param skuNo SKU number
+     * @return Stock on hand, or empty if there is no such SKU
+     */
+    public synchronized Optional<Long> loadStock(String skuNo) {
+        return inventoryRepository.findStock(skuNo).map(stock -> stock + pendingDelta(skuNo));
+    }
+
+    /**
+     * Writes the buffered deltas to the database. Flushes do not overlap each other or {@link #loadStock}.
+     *
+     * @return Number of SKUs updated
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.flushIntervalMs:500}")
+    public synchronized int flush() {
+        Map<String, Long> batch = new HashMap<>();
+        for (String skuNo : pending.keySet()) {
+            Long delta = pending.remove(skuNo);
+            if (delta != null && delta != 0) batch.put(skuNo, delta);
+        }
+        if (batch.isEmpty()) return 0;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> inventoryRepository.applyStockDeltas(batch));
+            return batch.size();
+        } catch (RuntimeException e) {
+            batch.forEach(this::add);
+            log.warn("Failed to write stock changes of {} SKUs, retrying on the next flush: {}", batch.size(),
+                    e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Writes the remaining deltas before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -1,8 +1,13 @@
 package com.frankie.ecommerce_project.mapper;
 
+import com.frankie.ecommerce_project.dto.product.common.SkuInfo;
+import com.frankie.ecommerce_project.dto.product.response.CatalogIngestionResponse;
 import com.frankie.ecommerce_project.dto.product.response.CreateProductResponse;
+import com.frankie.ecommerce_project.model.CatalogIngestion;
 import com.frankie.ecommerce_project.model.Product;
+import com.frankie.ecommerce_project.model.SkuProduct;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -11,4 +16,9 @@ public interface ProductMapper {
     ProductMapper INSTANCE = Mappers.getMapper(ProductMapper.class);
 
     CreateProductResponse toCreateProductResponse(Product product);
+
+    @Mapping(source = "skuAttr.skuAttrs", target = "skuAttrs")
+    SkuInfo toSkuInfo(SkuProduct sku);
+
+    CatalogIngestionResponse toCatalogIngestionResponse(CatalogIngestion ingestion);
 }
@@ -0,0 +1,135 @@
+package com.frankie.ecommerce_project.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One-time MySQL schema migration from {@code VARCHAR(36)} UUID keys to {@code BINARY(16)}.
+ * <p>
+ * Every table whose {@code id} primary key is a character column is converted, together with every character
+ * foreign key column referencing such a key (join tables included); integer keys are left alone. The foreign keys
+ * of the converted columns are dropped first, each column is widened to {@code VARBINARY(36)}, rewritten with
+ * {@code UNHEX(REPLACE(col, '-', ''))} and narrowed to {@code BINARY(16)}, and the foreign keys are then recreated
+ * with their original rules. DDL is not transactional in MySQL, so the migration is written to be re-run after a
+ * failure: columns already holding 16-byte values are skipped, columns left at {@code VARBINARY(36)} are picked up
+ * again, and only 36-byte values are rewritten.
+ * <p>
+ * The application maps its keys to {@code BINARY(16)}, so the migration must finish before it starts. It is not
+ * part of the application; run it once with {@link BinaryIdMigrationCommand} during a maintenance window.
+ */
+@Slf4j
+public class BinaryIdMigration {
+    /**
+     * Column types a UUID key can have: text before the migration, {@code VARBINARY(36)} after an interrupted one.
+     */
+    private static final String UUID_COLUMN_TYPES = "(c.DATA_TYPE IN ('char', 'varchar') "
+            + "OR (c.DATA_TYPE = 'varbinary' AND c.CHARACTER_MAXIMUM_LENGTH = 36))";
+    private static final String SELECT_KEY_COLUMNS =
+            "SELECT c.TABLE_NAME, c.COLUMN_NAME, c.DATA_TYPE, c.CHARACTER_MAXIMUM_LENGTH, c.IS_NULLABLE "
+                    + "FROM information_schema.COLUMNS c "
+                    + "WHERE c.TABLE_SCHEMA = DATABASE() AND c.COLUMN_NAME = 'id' AND c.COLUMN_KEY = 'PRI' "
+                    + "AND " + UUID_COLUMN_TYPES + " "
+                    + "UNION "
+                    + "SELECT c.TABLE_NAME, c.COLUMN_NAME, c.DATA_TYPE, c.CHARACTER_MAXIMUM_LENGTH, c.IS_NULLABLE "
+                    + "FROM information_schema.COLUMNS c "
+                    + "JOIN information_schema.KEY_COLUMN_USAGE k ON k.TABLE_SCHEMA = c.TABLE_SCHEMA "
+                    + "AND k.TABLE_NAME = c.TABLE_NAME AND k.COLUMN_NAME = c.COLUMN_NAME "
+                    + "WHERE c.TABLE_SCHEMA = DATABASE() AND k.REFERENCED_COLUMN_NAME = 'id' "
+                    + "AND " + UUID_COLUMN_TYPES;
+    private static final String SELECT_FOREIGN_KEYS =
+            "SELECT k.CONSTRAINT_NAME, k.TABLE_NAME, k.COLUMN_NAME, k.REFERENCED_TABLE_NAME, "
+                    + "r.UPDATE_RULE, r.DELETE_RULE "
+                    + "FROM information_schema.KEY_COLUMN_USAGE k "
+                    + "JOIN information_schema.REFERENTIAL_CONSTRAINTS r ON r.CONSTRAINT_SCHEMA = k.TABLE_SCHEMA "
+                    + "AND r.CONSTRAINT_NAME = k.CONSTRAINT_NAME AND r.TABLE_NAME = k.TABLE_NAME "
+                    + "WHERE k.TABLE_SCHEMA = DATABASE() AND k.REFERENCED_COLUMN_NAME = 'id'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean dryRun;
+
+    /**
+     * Constructs BinaryIdMigration with required dependencies and configuration.
+     *
+     * @param jdbcTemplate JDBC template for the migration statements
+     * @param dryRun       Whether the statements are only logged instead of executed
+     */
+    public BinaryIdMigration(JdbcTemplate jdbcTemplate, boolean dryRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Converts every UUID key column that is not yet {@code BINARY(16)}.
+     *
+     * @return Statements run, or that would be run in dry-run mode
+     */
+    public List<String> migrate() {
+        List<KeyColumn> columns = jdbcTemplate.query(SELECT_KEY_COLUMNS, (rs, rowNum) -> new KeyColumn(
+                rs.getString("TABLE_NAME"), rs.getString("COLUMN_NAME"), rs.getString("DATA_TYPE"),
+                rs.getLong("CHARACTER_MAXIMUM_LENGTH"), "YES".equals(rs.getString("IS_NULLABLE"))));
+        List<KeyColumn> pending = columns.stream().filter(column -> !column.isConverted()).toList();
+        if (pending.isEmpty()) {
+            log.info("All UUID key columns are already BINARY(16)");
+            return List.of();
+        }
+
+        Set<String> pendingColumns = pending.stream().map(column -> column.table() + "." + column.name())
+                .collect(Collectors.toSet());
+        Map<String, ForeignKey> foreignKeys = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_FOREIGN_KEYS, rs -> {
+            if (!pendingColumns.contains(rs.getString("TABLE_NAME") + "." + rs.getString("COLUMN_NAME"))) return;
+            foreignKeys.put(rs.getString("TABLE_NAME") + "." + rs.getString("CONSTRAINT_NAME"), new ForeignKey(
+                    rs.getString("CONSTRAINT_NAME"), rs.getString("TABLE_NAME"), rs.getString("COLUMN_NAME"),
+                    rs.getString("REFERENCED_TABLE_NAME"), rs.getString("UPDATE_RULE"), rs.getString("DELETE_RULE")));
+        });
+
+        List<String> statements = new ArrayList<>();
+        for (ForeignKey foreignKey : foreignKeys.values()) {
+            statements.add("ALTER TABLE `" + foreignKey.table() + "` DROP FOREIGN KEY `" + foreignKey.name() + "`");
+        }
+        for (KeyColumn column : pending) {
+            String table = "`" + column.table() + "`";
+            String name = "`" + column.name() + "`";
+            String nullability = column.nullable() ? " NULL" : " NOT NULL";
+            statements.add("ALTER TABLE " + table + " MODIFY " + name + " VARBINARY(36)" + nullability);
+            statements.add("UPDATE " + table + " SET " + name + " = UNHEX(REPLACE(" + name + ", '-', '')) "
+                    + "WHERE LENGTH(" + name + ") = 36");
+            statements.add("ALTER TABLE " + table + " MODIFY " + name + " BINARY(16)" + nullability);
+        }
+        for (ForeignKey foreignKey : foreignKeys.values()) {
+            statements.add("ALTER TABLE `" + foreignKey.table() + "` ADD CONSTRAINT `" + foreignKey.name()
+                    + "` FOREIGN KEY (`" + foreignKey.column() + "`) REFERENCES `" + foreignKey.referencedTable()
+                    + "` (`id`) ON UPDATE " + foreignKey.updateRule() + " ON DELETE " + foreignKey.deleteRule());
+        }
+
+        for (String statement : statements) {
+            log.info("{}{}", dryRun ? "[dry run] " : "", statement);
+            if (!dryRun) jdbcTemplate.execute(statement);
+        }
+        log.info("{} {} UUID key columns to BINARY(16)", dryRun ? "Would convert" : "Converted", pending.size());
+        return statements;
+    }
+
+    /**
+     * Primary or foreign key column holding UUIDs.
+     */
+    private record KeyColumn(String table, String name, String dataType, long length, boolean nullable) {
+        private boolean isConverted() {
+            return "binary".equalsIgnoreCase(dataType) && length == 16;
+        }
+    }
+
+    /**
+     * Foreign key referencing an {@code id} column, with the rules needed to recreate it.
+     */
+    private record ForeignKey(String name, String table, String column, String referencedTable,
+                              String updateRule, String deleteRule) {
+    }
+}
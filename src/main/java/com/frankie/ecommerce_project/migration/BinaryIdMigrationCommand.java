@@ -0,0 +1,31 @@
+package com.frankie.ecommerce_project.migration;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Standalone command running {@link BinaryIdMigration} and exiting, for the maintenance window before the
+ * application is started on the converted schema. It reads the application configuration but only starts the
+ * data source, so no web server, entity mapping or startup task touches the tables while they are converted.
+ * <p>
+ * Run it with {@code mvn spring-boot:run} and {@code spring-boot.run.main-class} set to this class. It only logs
+ * the statements it would run until {@code --app.id.binaryMigration.dryRun=false} is passed.
+ */
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+public class BinaryIdMigrationCommand {
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BinaryIdMigrationCommand.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        boolean dryRun = context.getEnvironment().getProperty("app.id.binaryMigration.dryRun", Boolean.class, true);
+        new BinaryIdMigration(context.getBean(JdbcTemplate.class), dryRun).migrate();
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,97 @@
+package com.frankie.ecommerce_project.migration;
+
+import com.frankie.ecommerce_project.security.token.TokenDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves refresh tokens stored in plain text in the legacy {@code refresh_tokens.token} column to the
+ * {@code token_hash} digest column, clearing the plain text. Runs once the application is ready, in batches,
+ * and is idempotent: rows that already have a digest are skipped, and on a schema without the legacy column
+ * it does nothing. Once it has run everywhere the {@code token} column can be dropped.
+ */
+@Component
+@Slf4j
+public class RefreshTokenDigestMigration {
+    private static final String SELECT_LEGACY_TOKENS =
+            "SELECT id, token FROM refresh_tokens WHERE token_hash IS NULL AND token IS NOT NULL LIMIT ?";
+    private static final String UPDATE_TOKEN_HASH = "UPDATE refresh_tokens SET token_hash = ?, token = NULL WHERE id = ?";
+    private static final String DELETE_TOKEN = "DELETE FROM refresh_tokens WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    /**
+     * Constructs RefreshTokenDigestMigration with required dependencies and configuration.
+     *
+     * @param jdbcTemplate JDBC template for the migration statements
+     * @param enabled      Whether the migration runs at startup
+     * @param batchSize    Number of rows migrated per batch
+     */
+    public RefreshTokenDigestMigration(JdbcTemplate jdbcTemplate,
+                                       @Value("${app.refreshToken.migrateLegacyTokens:true}") boolean enabled,
+                                       @Value("${app.refreshToken.migrationBatchSize:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Migrates all legacy refresh tokens.
+     *
+     * @return Number of rows migrated
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int migrate() {
+        if (!enabled) return 0;
+        int migrated = 0;
+        try {
+            List<Map.Entry<Object, String>> batch;
+            do {
+                batch = jdbcTemplate.query(SELECT_LEGACY_TOKENS,
+                        (rs, rowNum) -> Map.entry(rs.getObject("id"), rs.getString("token")), batchSize);
+                migrateBatch(batch);
+                migrated += batch.size();
+            } while (batch.size() == batchSize);
+        } catch (BadSqlGrammarException e) {
+            log.debug("No legacy refresh token column to migrate: {}", e.getMessage());
+            return 0;
+        }
+        if (migrated > 0) log.info("Migrated {} refresh tokens to digests", migrated);
+        return migrated;
+    }
+
+    /**
+     * Writes the digests of one batch. If the batch hits the unique index (the same token was stored twice),
+     * the batch is retried row by row and the duplicate rows are deleted, which signs those sessions out.
+     *
+     * @param batch Pairs of row ID, as stored, and plain-text token
+     */
+    private void migrateBatch(List<Map.Entry<Object, String>> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_TOKEN_HASH, batch, batch.size(), (ps, row) -> {
+                ps.setBytes(1, TokenDigest.sha256(row.getValue()));
+                ps.setObject(2, row.getKey());
+            });
+        } catch (DataIntegrityViolationException e) {
+            for (Map.Entry<Object, String> row : batch) {
+                try {
+                    jdbcTemplate.update(UPDATE_TOKEN_HASH, TokenDigest.sha256(row.getValue()), row.getKey());
+                } catch (DataIntegrityViolationException duplicate) {
+                    jdbcTemplate.update(DELETE_TOKEN, row.getKey());
+                }
+            }
+        }
+    }
+}
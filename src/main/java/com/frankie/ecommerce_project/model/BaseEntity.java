@@ -1,7 +1,10 @@
 package com.frankie.ecommerce_project.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
 import com.frankie.ecommerce_project.security.SecurityUtil;
+import jakarta.persistence.Column;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
@@ -11,9 +14,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
-import java.util.UUID;
 
 @Getter
 @Setter
@@ -23,6 +28,9 @@ import java.util.UUID;
 @MappedSuperclass
 public abstract class BaseEntity {
     @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
     private String id;
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss a", timezone = "GMT+7")
@@ -60,7 +68,7 @@ public abstract class BaseEntity {
 
 
     private String generateId() {
-        return UUID.randomUUID().toString();
+        return EntityIds.next();
     }
 
 }
@@ -1,10 +1,13 @@
 package com.frankie.ecommerce_project.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.frankie.ecommerce_project.cache.CacheRegions;
 import com.frankie.ecommerce_project.security.SecurityUtil;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -15,6 +18,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @SuperBuilder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BRAND)
 @Table(name = "brands")
 public class Brand extends BaseEntity{
 
@@ -0,0 +1,74 @@
+package com.frankie.ecommerce_project.model;
+
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import com.frankie.ecommerce_project.utils.BulkFormat;
+import com.frankie.ecommerce_project.utils.CatalogIngestionStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * Supplier catalog file being loaded into the product tables. The counters form the checkpoint: they are updated
+ * in the same transaction as each chunk of SKUs, so an interrupted run resumes after the last committed record.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Builder
+@Table(name = "catalog_ingestions")
+public class CatalogIngestion {
+
+    @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
+    private String id;
+
+    private String sourcePath;
+
+    @Enumerated(EnumType.STRING)
+    private BulkFormat format;
+
+    @Enumerated(EnumType.STRING)
+    private CatalogIngestionStatus status;
+
+    /**
+     * Number of data records, counted from the start of the file, whose changes are committed.
+     */
+    private Long recordsCommitted = 0L;
+
+    private Long skusInserted = 0L;
+
+    private Long skusUpdated = 0L;
+
+    private Long failedRecords = 0L;
+
+    private Double rowsPerSecond;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    private String createdBy;
+
+    private Instant checkpointAt;
+
+    private Instant finishedAt;
+
+    @PrePersist
+    private void handleCreate() {
+        this.id = generateId();
+        this.createdAt = Instant.now();
+    }
+
+    private String generateId() {
+        return EntityIds.next();
+    }
+}
@@ -1,10 +1,13 @@
 package com.frankie.ecommerce_project.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.frankie.ecommerce_project.cache.CacheRegions;
 import com.frankie.ecommerce_project.security.SecurityUtil;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -16,6 +19,8 @@ import java.util.UUID;
 @SuperBuilder
 @Table(name = "categories")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CATEGORY)
 public class Category extends BaseEntity {
 
     private String name;
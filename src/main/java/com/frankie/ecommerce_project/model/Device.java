@@ -1,11 +1,15 @@
 package com.frankie.ecommerce_project.model;
 
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
 import com.frankie.ecommerce_project.security.SecurityUtil;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
-import java.util.UUID;
 
 @Getter
 @Setter
@@ -16,6 +20,9 @@ import java.util.UUID;
 @Entity
 public class Device {
     @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
     private String id;
 
     @ManyToOne
@@ -40,6 +47,6 @@ public class Device {
     }
 
     private String generateId() {
-        return UUID.randomUUID().toString();
+        return EntityIds.next();
     }
 }
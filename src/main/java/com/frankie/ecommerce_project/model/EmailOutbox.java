@@ -0,0 +1,62 @@
+package com.frankie.ecommerce_project.model;
+
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import com.frankie.ecommerce_project.utils.EmailOutboxStatus;
+import com.frankie.ecommerce_project.utils.VerificationType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * Email waiting to be delivered, written in the same transaction as the business change that triggers it.
+ * Rows are deleted once the provider accepts the email.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Builder
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_status_next_attempt",
+        columnList = "status, nextAttemptAt"))
+public class EmailOutbox {
+
+    @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
+    private String id;
+
+    private String recipient;
+
+    @Enumerated(EnumType.STRING)
+    private VerificationType type;
+
+    private String otp;
+
+    @Enumerated(EnumType.STRING)
+    private EmailOutboxStatus status;
+
+    private Integer attempts = 0;
+
+    private Instant nextAttemptAt;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    @PrePersist
+    private void handleCreate() {
+        this.id = generateId();
+        this.createdAt = Instant.now();
+    }
+
+    private String generateId() {
+        return EntityIds.next();
+    }
+}
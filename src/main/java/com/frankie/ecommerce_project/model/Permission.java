@@ -1,11 +1,15 @@
 package com.frankie.ecommerce_project.model;
 
+import com.frankie.ecommerce_project.cache.CacheRegions;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -16,6 +20,8 @@ import java.util.Set;
 @NoArgsConstructor
 @SuperBuilder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERMISSION)
 @Table(name = "permissions")
 public class Permission extends BaseEntity {
 
@@ -0,0 +1,54 @@
+package com.frankie.ecommerce_project.model;
+
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * One indexed value of a product or SKU attribute, extracted from the {@code product_attrs} and
+ * {@code sku_attrs} JSON columns so that attribute filters can use B-tree indexes instead of parsing JSON per row.
+ * Keys and text values are stored lower-case; numbers go to {@code valueNumber} for range filters. SKU values
+ * carry the ID of their product, so a product filter matches attributes of its SKUs too.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Builder
+@Table(name = "product_attribute_values", indexes = {
+        @Index(name = "idx_product_attribute_values_key_string", columnList = "attrKey, valueString, productId"),
+        @Index(name = "idx_product_attribute_values_key_number", columnList = "attrKey, valueNumber, productId"),
+        @Index(name = "idx_product_attribute_values_product", columnList = "productId"),
+        @Index(name = "idx_product_attribute_values_sku", columnList = "skuId")})
+public class ProductAttributeValue {
+
+    @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
+    private String id;
+
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private String productId;
+
+    /**
+     * SKU the value belongs to, or null for a product attribute.
+     */
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
+    private String skuId;
+
+    @Column(length = 64, nullable = false)
+    private String attrKey;
+
+    private String valueString;
+
+    private Double valueNumber;
+}
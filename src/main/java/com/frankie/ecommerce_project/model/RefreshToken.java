@@ -1,11 +1,15 @@
 package com.frankie.ecommerce_project.model;
 
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
 import com.frankie.ecommerce_project.security.SecurityUtil;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
-import java.util.UUID;
 
 @Getter
 @Setter
@@ -16,6 +20,9 @@ import java.util.UUID;
 @Table(name = "refresh_tokens")
 public class RefreshToken {
     @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
     private String id;
 
     @ManyToOne
@@ -26,7 +33,8 @@ public class RefreshToken {
     @JoinColumn(name = "device_id")
     private Device device;
 
-    private String token;
+    @Column(name = "token_hash", columnDefinition = "BINARY(32)", unique = true)
+    private byte[] tokenHash;
 
     private Instant expiredAt;
 
@@ -39,6 +47,6 @@ public class RefreshToken {
     }
 
     private String generateId() {
-        return UUID.randomUUID().toString();
+        return EntityIds.next();
     }
 }
@@ -1,10 +1,13 @@
 package com.frankie.ecommerce_project.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.frankie.ecommerce_project.cache.CacheRegions;
 import com.frankie.ecommerce_project.security.SecurityUtil;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -17,6 +20,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE)
 @Table(name = "roles")
 @SuperBuilder
 public class Role extends BaseEntity{
@@ -27,6 +32,7 @@ public class Role extends BaseEntity{
     private Set<User> user = new HashSet<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE_PERMISSIONS)
     @JoinTable(
             name = "role_permissions",
             joinColumns = @JoinColumn(name = "role_id"),
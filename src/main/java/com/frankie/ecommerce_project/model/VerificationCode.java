@@ -1,10 +1,12 @@
 package com.frankie.ecommerce_project.model;
 
 import java.time.Instant;
-import java.util.UUID;
 
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
 import com.frankie.ecommerce_project.utils.VerificationType;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -14,6 +16,9 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Getter
 @Setter
@@ -25,6 +30,9 @@ import lombok.*;
 public class VerificationCode {
 
     @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
     private String id;
 
     @ManyToOne
@@ -48,6 +56,6 @@ public class VerificationCode {
     }
 
     private String generateId() {
-        return UUID.randomUUID().toString();
+        return EntityIds.next();
     }
 }
@@ -0,0 +1,30 @@
+package com.frankie.ecommerce_project.model.id;
+
+/**
+ * Source of primary keys for the entities' {@code @PrePersist} callbacks. Entities are not Spring beans, so the
+ * configured generator is installed here once at startup by {@link com.frankie.ecommerce_project.config.IdStrategyConfiguration}.
+ */
+public final class EntityIds {
+    private static volatile IdGenerator generator = IdStrategy.UUID_V7.newGenerator();
+
+    private EntityIds() {
+    }
+
+    /**
+     * Generates the ID of a new entity.
+     *
+     * @return Canonical UUID string
+     */
+    public static String next() {
+        return generator.generate();
+    }
+
+    /**
+     * Replaces the generator used for new entities.
+     *
+     * @param idGenerator Generator to use
+     */
+    public static void use(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+}
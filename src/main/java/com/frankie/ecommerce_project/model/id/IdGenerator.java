@@ -0,0 +1,15 @@
+package com.frankie.ecommerce_project.model.id;
+
+/**
+ * Generates primary keys for new entities.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Generates a new ID.
+     *
+     * @return Canonical UUID string
+     */
+    String generate();
+}
@@ -0,0 +1,33 @@
+package com.frankie.ecommerce_project.model.id;
+
+import java.util.function.Supplier;
+
+/**
+ * ID generation strategies selectable with {@code app.id.strategy}.
+ */
+public enum IdStrategy {
+    /**
+     * Random UUIDs, the original behaviour.
+     */
+    UUID_V4(RandomUuidGenerator::new),
+
+    /**
+     * Time-ordered UUIDs, which keep primary key inserts sequential.
+     */
+    UUID_V7(UuidV7Generator::new);
+
+    private final Supplier<IdGenerator> factory;
+
+    IdStrategy(Supplier<IdGenerator> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a generator for this strategy.
+     *
+     * @return New generator
+     */
+    public IdGenerator newGenerator() {
+        return factory.get();
+    }
+}
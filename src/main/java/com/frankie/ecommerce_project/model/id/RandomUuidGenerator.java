@@ -0,0 +1,14 @@
+package com.frankie.ecommerce_project.model.id;
+
+import java.util.UUID;
+
+/**
+ * Generates random (version 4) UUIDs. Consecutive IDs land on random pages of the primary key index.
+ */
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public String generate() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.frankie.ecommerce_project.model.id;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Maps a UUID string ID to a {@code BINARY(16)} column, so entities and the API keep working with the
+ * canonical 36-character form while primary and foreign keys are 16 bytes.
+ * <p>
+ * This is a Hibernate Java type rather than a JPA {@code AttributeConverter} because converters are not
+ * applied to {@code @Id} attributes. Use it together with {@code @JdbcTypeCode(SqlTypes.BINARY)}.
+ */
+public class UuidBinaryJavaType extends StringJavaType {
+    /**
+     * Nil UUID, the smallest ID in the binary key order, for starting keyset scans at the beginning of a table.
+     */
+    public static final String MIN_ID = "00000000-0000-0000-0000-000000000000";
+    private static final int UUID_BYTES = 16;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value != null && byte[].class.equals(type)) return (X) toBytes(value);
+        return super.unwrap(value, type, options);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value instanceof byte[]) return fromBytes((byte[]) value);
+        return super.wrap(value, options);
+    }
+
+    /**
+     * Converts a UUID string to its 16-byte form.
+     *
+     * @param id UUID string
+     * @return 16 bytes in big-endian order
+     * @throws IllegalArgumentException If the ID is not a UUID
+     */
+    public static byte[] toBytes(String id) {
+        UUID uuid = UUID.fromString(id);
+        return ByteBuffer.allocate(UUID_BYTES)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * Converts 16 stored bytes back to the UUID string.
+     *
+     * @param bytes Stored bytes
+     * @return Lower-case UUID string
+     * @throws IllegalArgumentException If the value is not 16 bytes long
+     */
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != UUID_BYTES) {
+            throw new IllegalArgumentException("Expected a 16-byte UUID but got " + bytes.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.frankie.ecommerce_project.model.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered (version 7, RFC 9562) UUIDs: a 48-bit Unix millisecond timestamp followed by a
+ * 12-bit counter and 62 random bits. IDs generated by one instance are strictly increasing, so inserts append
+ * to the right-most page of the primary key index instead of splitting random pages.
+ * <p>
+ * The counter starts at a random value in the lower half of its range every millisecond and is incremented
+ * for each further ID in that millisecond; if it overflows, the timestamp part is advanced by one, which keeps
+ * the order at the cost of running slightly ahead of the clock under extreme load.
+ */
+public class UuidV7Generator implements IdGenerator {
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    /**
+     * Timestamp and counter of the last ID, packed as {@code millis << 12 | counter}.
+     */
+    private final AtomicLong last = new AtomicLong();
+
+    @Override
+    public String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long current;
+        long next;
+        do {
+            current = last.get();
+            long start = System.currentTimeMillis() << COUNTER_BITS;
+            next = start > current ? start | random.nextLong(COUNTER_MASK >> 1) : current + 1;
+        } while (!last.compareAndSet(current, next));
+
+        long millis = next >>> COUNTER_BITS;
+        long mostSigBits = (millis << 16) | VERSION | (next & COUNTER_MASK);
+        long leastSigBits = VARIANT | (random.nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
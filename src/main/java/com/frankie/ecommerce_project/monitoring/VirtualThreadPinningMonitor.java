@@ -0,0 +1,117 @@
+package com.frankie.ecommerce_project.monitoring;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, which happens when a virtual thread blocks inside
+ * a {@code synchronized} block or a native frame (JDBC drivers before Connector/J 9, for example). A pinned
+ * thread holds one of the few carrier threads for the whole wait and can stall every other request.
+ * <p>
+ * Active only in virtual-thread mode ({@code spring.threads.virtual.enabled=true} on Java 21). Listens to the
+ * JFR {@code jdk.VirtualThreadPinned} event in-process, counts pinnings per site (the first frame outside the
+ * JDK) and logs the first pinning of each site with its duration.
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String UNKNOWN_SITE = "unknown";
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinningsBySite = new ConcurrentHashMap<>();
+    private volatile RecordingStream recording;
+
+    /**
+     * Constructs VirtualThreadPinningMonitor with its configuration.
+     *
+     * @param environment Environment used to detect virtual-thread mode
+     * @param enabled     Whether pinnings are recorded in virtual-thread mode
+     * @param thresholdMs Minimum pinning duration in milliseconds to record
+     */
+    public VirtualThreadPinningMonitor(Environment environment,
+                                       @Value("${app.threads.pinning.enabled:true}") boolean enabled,
+                                       @Value("${app.threads.pinning.thresholdMs:20}") long thresholdMs) {
+        this.enabled = enabled && Threading.VIRTUAL.isActive(environment);
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    /**
+     * Starts listening to pinning events.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        recording = stream;
+        log.info("Recording virtual thread pinnings longer than {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Stops listening to pinning events.
+     */
+    @PreDestroy
+    public void stop() {
+        RecordingStream stream = recording;
+        if (stream != null) stream.close();
+    }
+
+    /**
+     * Returns the number of pinnings recorded per site since startup.
+     *
+     * @return Pinning counts keyed by site, sorted by site
+     */
+    public Map<String, Long> pinningCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        pinningsBySite.forEach((site, count) -> counts.put(site, count.sum()));
+        return counts;
+    }
+
+    private void record(RecordedEvent event) {
+        String site = pinningSite(event.getStackTrace());
+        LongAdder count = pinningsBySite.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    /**
+     * Finds the frame responsible for a pinning: the first frame outside the JDK, or the top frame.
+     *
+     * @param stackTrace Stack trace of the pinned thread
+     * @return Site as {@code Class.method:line}
+     */
+    private static String pinningSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) return UNKNOWN_SITE;
+        RecordedFrame site = stackTrace.getFrames().get(0);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                site = frame;
+                break;
+            }
+        }
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    }
+}
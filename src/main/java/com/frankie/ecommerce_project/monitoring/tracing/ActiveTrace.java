@@ -0,0 +1,113 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spans of the request being traced on the current thread. Spans are kept in parallel arrays in start order,
+ * each with the index of its parent, and only ever touched by the request thread.
+ */
+final class ActiveTrace {
+    private static final int INITIAL_CAPACITY = 32;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String id;
+    private final Instant startedAt = Instant.now();
+    private final int maxSpans;
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private int size;
+    private int current = -1;
+    private int dropped;
+
+    ActiveTrace(String id, int maxSpans) {
+        this.id = id;
+        this.maxSpans = maxSpans;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Starts a span as a child of the innermost open span.
+     *
+     * @param name Span name
+     * @return Span to close when the section ends
+     */
+    Span open(String name) {
+        int index = add(name, current, System.nanoTime(), -1);
+        if (index < 0) return Span.NOOP;
+        current = index;
+        return () -> {
+            ends[index] = System.nanoTime();
+            current = parents[index];
+        };
+    }
+
+    /**
+     * Adds a span that has just finished, as a child of the innermost open span.
+     *
+     * @param name          Span name
+     * @param durationNanos Duration of the span, ending now
+     */
+    void addCompleted(String name, long durationNanos) {
+        long end = System.nanoTime();
+        add(name, current, end - durationNanos, end);
+    }
+
+    /**
+     * Closes every span still open and converts the trace.
+     *
+     * @param method HTTP method
+     * @param path   Request path
+     * @param status Response status
+     * @return Finished trace
+     */
+    RequestTrace finish(String method, String path, int status) {
+        long now = System.nanoTime();
+        int[] depths = new int[size];
+        long[] childNanos = new long[size];
+        for (int i = 0; i < size; i++) {
+            if (ends[i] < 0) ends[i] = now;
+            int parent = parents[i];
+            if (parent >= 0) {
+                depths[i] = depths[parent] + 1;
+                childNanos[parent] += ends[i] - starts[i];
+            }
+        }
+        long origin = size > 0 ? starts[0] : now;
+        List<TraceSpan> spans = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long duration = ends[i] - starts[i];
+            spans.add(new TraceSpan(names[i], depths[i], (starts[i] - origin) / NANOS_PER_MILLI,
+                    duration / NANOS_PER_MILLI, Math.max(0, duration - childNanos[i]) / NANOS_PER_MILLI));
+        }
+        double durationMs = spans.isEmpty() ? 0 : spans.get(0).durationMs();
+        return new RequestTrace(id, method, path, status, startedAt, durationMs, spans, dropped);
+    }
+
+    private int add(String name, int parent, long start, long end) {
+        if (size == maxSpans) {
+            dropped++;
+            return -1;
+        }
+        if (size == names.length) {
+            int capacity = Math.min(maxSpans, size * 2);
+            names = Arrays.copyOf(names, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        int index = size++;
+        names[index] = name;
+        parents[index] = parent;
+        starts[index] = start;
+        ends[index] = end;
+        return index;
+    }
+}
@@ -0,0 +1,25 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filter placed right after the Spring Security filter chain, opening the {@code mvc} span around the rest of
+ * the request. The self time of the root span is then the time spent in the filters before it, mostly bearer
+ * token authentication.
+ */
+public class DispatchSpanFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (Span span = RequestTracing.span("mvc")) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filter placed after the Spring Security filter chain, granting a trace forced with {@code X-Trace: true}
+ * when the caller is authenticated with the given authority. A granted trace is stored by
+ * {@link RequestTracingFilter} and its ID returned in the {@code X-Trace-Id} response header; any other forced
+ * trace is dropped when the request completes.
+ */
+public class ForcedTraceAuthorizationFilter extends OncePerRequestFilter {
+
+    private final String authority;
+
+    /**
+     * Constructs ForcedTraceAuthorizationFilter.
+     *
+     * @param authority Authority a caller needs to force a trace
+     */
+    public ForcedTraceAuthorizationFilter(String authority) {
+        this.authority = authority;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Object traceId = request.getAttribute(RequestTracingFilter.FORCED_TRACE_ID_ATTRIBUTE);
+        if (traceId != null && hasAuthority(SecurityContextHolder.getContext().getAuthentication())) {
+            request.setAttribute(RequestTracingFilter.FORCED_TRACE_GRANTED_ATTRIBUTE, Boolean.TRUE);
+            response.setHeader(RequestTracingFilter.TRACE_ID_HEADER, traceId.toString());
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean hasAuthority(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream()
+                .anyMatch(granted -> authority.equals(granted.getAuthority()));
+    }
+}
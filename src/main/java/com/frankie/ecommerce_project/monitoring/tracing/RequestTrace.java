@@ -0,0 +1,20 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Finished trace of one sampled request.
+ *
+ * @param id           Trace ID, also returned to the client in the {@code X-Trace-Id} header
+ * @param method       HTTP method
+ * @param path         Request path
+ * @param status       Response status
+ * @param startedAt    Time the request started
+ * @param durationMs   Total duration of the request
+ * @param spans        Spans in start order; the first one is the request itself
+ * @param droppedSpans Number of spans not recorded because the trace was full
+ */
+public record RequestTrace(String id, String method, String path, int status, Instant startedAt, double durationMs,
+                           List<TraceSpan> spans, int droppedSpans) {
+}
@@ -0,0 +1,77 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+/**
+ * Entry point for recording spans of the request traced on the current thread. When the current request is
+ * not sampled every call returns immediately, so spans can be opened on hot paths without a sampling check.
+ * <pre>
+ * try (Span span = RequestTracing.span("security.authorities")) {
+ *     ...
+ * }
+ * </pre>
+ * Only the request thread is traced; work handed to other threads does not appear in the trace.
+ */
+public final class RequestTracing {
+    private static final ThreadLocal<ActiveTrace> CURRENT = new ThreadLocal<>();
+
+    private RequestTracing() {
+    }
+
+    /**
+     * Indicates whether the current thread is serving a sampled request.
+     *
+     * @return True if spans are recorded
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Starts a span in the current trace.
+     *
+     * @param name Span name
+     * @return Span to close when the section ends; {@link Span#NOOP} if the request is not traced
+     */
+    public static Span span(String name) {
+        ActiveTrace trace = CURRENT.get();
+        return trace == null ? Span.NOOP : trace.open(name);
+    }
+
+    /**
+     * Records a section that has just finished, for callers that are only told the duration afterwards.
+     *
+     * @param name          Span name
+     * @param durationNanos Duration of the section, ending now
+     */
+    public static void recordCompleted(String name, long durationNanos) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace != null) trace.addCompleted(name, durationNanos);
+    }
+
+    /**
+     * Starts tracing the request on the current thread, with a root span covering the whole request.
+     *
+     * @param id       Trace ID
+     * @param rootName Name of the root span
+     * @param maxSpans Maximum number of spans recorded
+     */
+    static void begin(String id, String rootName, int maxSpans) {
+        ActiveTrace trace = new ActiveTrace(id, maxSpans);
+        trace.open(rootName);
+        CURRENT.set(trace);
+    }
+
+    /**
+     * Stops tracing the request on the current thread.
+     *
+     * @param method HTTP method
+     * @param path   Request path
+     * @param status Response status
+     * @return Finished trace, or null if no trace was active
+     */
+    static RequestTrace end(String method, String path, int status) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace == null) return null;
+        CURRENT.remove();
+        return trace.finish(method, path, status);
+    }
+}
@@ -0,0 +1,89 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Outermost filter deciding whether a request is traced. A request is sampled with the configured
+ * probability; a sampled request gets its trace ID in the {@code X-Trace-Id} response header, and its trace is
+ * stored once the response is complete.
+ * <p>
+ * A request carrying {@code X-Trace: true} is traced as well, but this filter runs before authentication, so
+ * such a trace is only stored if {@link ForcedTraceAuthorizationFilter} grants it after the security filter
+ * chain. Anonymous callers can therefore not push real traces out of the store.
+ */
+public class RequestTracingFilter extends OncePerRequestFilter {
+    public static final String TRACE_REQUEST_HEADER = "X-Trace";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    /**
+     * Request attribute holding the ID of a trace forced by the caller, until it is granted.
+     */
+    static final String FORCED_TRACE_ID_ATTRIBUTE = RequestTracingFilter.class.getName() + ".forcedTraceId";
+    /**
+     * Request attribute set to true once the caller is allowed to force the trace.
+     */
+    static final String FORCED_TRACE_GRANTED_ATTRIBUTE = RequestTracingFilter.class.getName() + ".forcedTraceGranted";
+
+    private final TraceStore traceStore;
+    private final double sampleRate;
+    private final int maxSpans;
+    private final List<String> excludedPathPrefixes;
+
+    /**
+     * Constructs RequestTracingFilter.
+     *
+     * @param traceStore           Store the finished traces are added to
+     * @param sampleRate           Probability between 0 and 1 that a request is traced
+     * @param maxSpans             Maximum number of spans recorded per request
+     * @param excludedPathPrefixes Paths never traced, such as the trace endpoint itself
+     */
+    public RequestTracingFilter(TraceStore traceStore, double sampleRate, int maxSpans,
+                                List<String> excludedPathPrefixes) {
+        this.traceStore = traceStore;
+        this.sampleRate = sampleRate;
+        this.maxSpans = maxSpans;
+        this.excludedPathPrefixes = List.copyOf(excludedPathPrefixes);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        boolean sampled = !isExcluded(path) && sampleRate > 0
+                && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        boolean forced = !sampled && !isExcluded(path)
+                && "true".equalsIgnoreCase(request.getHeader(TRACE_REQUEST_HEADER));
+        if (!sampled && !forced) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String traceId = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+        if (forced) {
+            request.setAttribute(FORCED_TRACE_ID_ATTRIBUTE, traceId);
+        } else {
+            response.setHeader(TRACE_ID_HEADER, traceId);
+        }
+        RequestTracing.begin(traceId, "request " + request.getMethod() + " " + path, maxSpans);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace trace = RequestTracing.end(request.getMethod(), path, response.getStatus());
+            boolean granted = !forced || Boolean.TRUE.equals(request.getAttribute(FORCED_TRACE_GRANTED_ATTRIBUTE));
+            if (trace != null && granted) traceStore.add(trace);
+        }
+    }
+
+    private boolean isExcluded(String path) {
+        for (String prefix : excludedPathPrefixes) {
+            if (path.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,19 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+/**
+ * A timed section of a traced request, closed with try-with-resources.
+ */
+@FunctionalInterface
+public interface Span extends AutoCloseable {
+    /**
+     * Span returned when the current request is not traced; closing it does nothing.
+     */
+    Span NOOP = () -> {
+    };
+
+    /**
+     * Ends the span.
+     */
+    @Override
+    void close();
+}
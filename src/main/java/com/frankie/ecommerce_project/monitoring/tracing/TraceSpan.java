@@ -0,0 +1,13 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+/**
+ * One finished span of a request trace.
+ *
+ * @param name       Span name, for example {@code service UserServiceImpl.getAllUsers}
+ * @param depth      Nesting depth, 0 for the request itself
+ * @param startMs    Start of the span relative to the start of the request
+ * @param durationMs Duration of the span
+ * @param selfMs     Duration of the span minus the duration of its direct children
+ */
+public record TraceSpan(String name, int depth, double startMs, double durationMs, double selfMs) {
+}
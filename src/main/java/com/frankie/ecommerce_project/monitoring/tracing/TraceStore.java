@@ -0,0 +1,94 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring buffer of the most recent request traces. Writers claim a slot with a single atomic
+ * increment and overwrite the oldest trace, so recording never blocks a request; readers copy a snapshot.
+ */
+@Component
+public class TraceStore {
+    private final AtomicReferenceArray<RequestTrace> buffer;
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * Constructs TraceStore with its capacity.
+     *
+     * @param capacity Number of traces kept
+     */
+    public TraceStore(@Value("${app.tracing.bufferSize:500}") int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Trace buffer size must be at least 1");
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Stores a trace, replacing the oldest one once the buffer is full.
+     *
+     * @param trace Finished trace
+     */
+    public void add(RequestTrace trace) {
+        long slot = written.getAndIncrement();
+        buffer.set((int) (slot % buffer.length()), trace);
+    }
+
+    /**
+     * Returns the most recent traces, newest first.
+     *
+     * @param limit         Maximum number of traces
+     * @param minDurationMs Minimum request duration
+     * @return Matching traces
+     */
+    public List<RequestTrace> recent(int limit, double minDurationMs) {
+        List<RequestTrace> traces = new ArrayList<>(Math.min(limit, buffer.length()));
+        for (RequestTrace trace : snapshot()) {
+            if (traces.size() == limit) break;
+            if (trace.durationMs() >= minDurationMs) traces.add(trace);
+        }
+        return traces;
+    }
+
+    /**
+     * Returns the slowest traces in the buffer, slowest first.
+     *
+     * @param limit Maximum number of traces
+     * @return Slowest traces
+     */
+    public List<RequestTrace> slowest(int limit) {
+        return snapshot().stream()
+                .sorted(Comparator.comparingDouble(RequestTrace::durationMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Finds a trace that is still in the buffer.
+     *
+     * @param id Trace ID
+     * @return Trace, or empty if unknown or already overwritten
+     */
+    public Optional<RequestTrace> find(String id) {
+        return snapshot().stream().filter(trace -> trace.id().equals(id)).findFirst();
+    }
+
+    /**
+     * Copies the buffered traces, newest first.
+     */
+    private List<RequestTrace> snapshot() {
+        long end = written.get();
+        long start = Math.max(0, end - buffer.length());
+        List<RequestTrace> traces = new ArrayList<>((int) (end - start));
+        for (long slot = end - 1; slot >= start; slot--) {
+            RequestTrace trace = buffer.get((int) (slot % buffer.length()));
+            if (trace != null) traces.add(trace);
+        }
+        return traces;
+    }
+}
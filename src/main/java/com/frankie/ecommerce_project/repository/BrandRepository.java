@@ -1,16 +1,24 @@
 package com.frankie.ecommerce_project.repository;
 
 import com.frankie.ecommerce_project.model.Brand;
+import com.frankie.ecommerce_project.search.SearchDocument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface BrandRepository extends JpaRepository<Brand, String> {
+public interface BrandRepository extends JpaRepository<Brand, String>, JpaSpecificationExecutor<Brand> {
     Optional<Brand> findByName(String name);
 
     @Query("SELECT b FROM Brand b WHERE :name IS NULL OR b.name LIKE CONCAT('%', :name, '%')")
     Page<Brand> searchBrandByName(String name, Pageable pageable);
+
+    @Query("SELECT new com.frankie.ecommerce_project.search.SearchDocument(b.id, b.name) FROM Brand b "
+            + "WHERE b.id > :afterId ORDER BY b.id")
+    List<SearchDocument> findSearchDocuments(String afterId, Limit limit);
 }
@@ -0,0 +1,46 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.CatalogIngestion;
+import com.frankie.ecommerce_project.utils.CatalogIngestionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+
+public interface CatalogIngestionRepository extends JpaRepository<CatalogIngestion, String> {
+
+    /**
+     * Records the progress of an ingestion. Called in the transaction writing the chunk it counts.
+     *
+     * @param id               Ingestion ID
+     * @param recordsCommitted Records committed from the start of the file
+     * @param skusInserted     SKUs inserted so far
+     * @param skusUpdated      SKUs updated so far
+     * @param failedRecords    Records rejected so far
+     * @param rowsPerSecond    Throughput of the current run
+     * @param lastError        Most recent record error, or null
+     * @param checkpointAt     Checkpoint time
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE CatalogIngestion c SET c.recordsCommitted = :recordsCommitted, c.skusInserted = :skusInserted, "
+            + "c.skusUpdated = :skusUpdated, c.failedRecords = :failedRecords, c.rowsPerSecond = :rowsPerSecond, "
+            + "c.lastError = :lastError, c.checkpointAt = :checkpointAt WHERE c.id = :id")
+    int checkpoint(String id, long recordsCommitted, long skusInserted, long skusUpdated, long failedRecords,
+                   double rowsPerSecond, String lastError, Instant checkpointAt);
+
+    /**
+     * Sets the status of an ingestion.
+     *
+     * @param id         Ingestion ID
+     * @param status     New status
+     * @param lastError  Error that stopped the run, or null to keep the current one
+     * @param finishedAt End time, or null while the ingestion can still run
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE CatalogIngestion c SET c.status = :status, c.lastError = COALESCE(:lastError, c.lastError), "
+            + "c.finishedAt = :finishedAt WHERE c.id = :id")
+    int updateStatus(String id, CatalogIngestionStatus status, String lastError, Instant finishedAt);
+}
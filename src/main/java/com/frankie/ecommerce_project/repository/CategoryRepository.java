@@ -1,16 +1,24 @@
 package com.frankie.ecommerce_project.repository;
 
 import com.frankie.ecommerce_project.model.Category;
+import com.frankie.ecommerce_project.search.SearchDocument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface CategoryRepository extends JpaRepository<Category, String> {
+public interface CategoryRepository extends JpaRepository<Category, String>, JpaSpecificationExecutor<Category> {
     Optional<Category> findByName(String name);
 
     @Query("SELECT c FROM Category c WHERE :name IS NULL OR c.name LIKE CONCAT('%', :name, '%')")
     Page<Category> searchByName(String name, Pageable pageable);
+
+    @Query("SELECT new com.frankie.ecommerce_project.search.SearchDocument(c.id, c.name) FROM Category c "
+            + "WHERE c.id > :afterId ORDER BY c.id")
+    List<SearchDocument> findSearchDocuments(String afterId, Limit limit);
 }
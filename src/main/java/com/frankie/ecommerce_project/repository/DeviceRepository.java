@@ -1,5 +1,6 @@
 package com.frankie.ecommerce_project.repository;
 
+import com.frankie.ecommerce_project.dto.authentication.response.DeviceInfoResponse;
 import com.frankie.ecommerce_project.model.Device;
 import com.frankie.ecommerce_project.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -30,6 +31,19 @@ public interface DeviceRepository extends JpaRepository<Device, String> {
      */
     List<Device> findByUserAndIsActiveTrue(User user);
 
+    /**
+     * Retrieves the active devices of a user together with the expiry of each device's refresh token,
+     * in a single query.
+     *
+     * @param email Email of the user whose devices are retrieved
+     * @return List of active devices
+     */
+    @Query("SELECT new com.frankie.ecommerce_project.dto.authentication.response.DeviceInfoResponse("
+            + "d.userAgent, d.ip, d.lastActive, d.isActive, d.createdAt, rt.expiredAt) "
+            + "FROM Device d LEFT JOIN RefreshToken rt ON rt.device = d "
+            + "WHERE d.user.email = :email AND d.isActive = true")
+    List<DeviceInfoResponse> findActiveDeviceInfoByEmail(@Param("email") String email);
+
     @Modifying(clearAutomatically = true)
     @Query("UPDATE Device d SET d.isActive = false WHERE d.user = :user")
     void deactivateDevicesByUser(@Param("user") User user);
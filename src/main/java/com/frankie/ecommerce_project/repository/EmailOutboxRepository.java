@@ -0,0 +1,30 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.EmailOutbox;
+import com.frankie.ecommerce_project.utils.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, String> {
+
+    /**
+     * Locks the emails that are due for delivery, skipping rows already locked by another dispatcher.
+     *
+     * @param statuses Statuses eligible for delivery
+     * @param now      Current time
+     * @param pageable Maximum number of rows to lock
+     * @return List of locked emails ordered by due time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM EmailOutbox o WHERE o.status IN :statuses AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt")
+    List<EmailOutbox> findDueForUpdate(List<EmailOutboxStatus> statuses, Instant now, Pageable pageable);
+}
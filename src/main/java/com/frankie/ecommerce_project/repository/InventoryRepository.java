@@ -0,0 +1,61 @@
+package com.frankie.ecommerce_project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads and adjusts SKU stock by SKU number, for the inventory ledger.
+ * <p>
+ * Stock changes are written as relative deltas ({@code sku_stock = sku_stock + ?}) so that they compose with any
+ * other change made to the same rows, and both copies of the stock, on {@code sku_products} and
+ * {@code sku_attributes}, are kept equal.
+ */
+@Repository
+public class InventoryRepository {
+    private static final String SELECT_STOCK = "SELECT sku_stock FROM sku_products WHERE sku_no = ?";
+    private static final String UPDATE_SKU_STOCK = "UPDATE sku_products SET sku_stock = sku_stock + ? WHERE sku_no = ?";
+    private static final String UPDATE_ATTRIBUTE_STOCK = "UPDATE sku_attributes SET sku_stock = sku_stock + ? "
+            + "WHERE sku_no = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs InventoryRepository with the JDBC template.
+     *
+     * @param jdbcTemplate JDBC template
+     */
+    public InventoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads the stock of a SKU.
+     *
+     * @param skuNo SKU number
+     * @return Stock, 0 when the column is null, or empty if there is no such SKU
+     */
+    public Optional<Integer> findStock(String skuNo) {
+        List<Integer> stock = jdbcTemplate.query(SELECT_STOCK, (rs, rowNum) -> rs.getInt(1), skuNo);
+        return stock.stream().findFirst();
+    }
+
+    /**
+     * Adds deltas to the stock of SKUs with one batch per table. Runs in the caller's transaction.
+     *
+     * @param deltas Stock deltas by SKU number
+     */
+    public void applyStockDeltas(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) return;
+        List<Map.Entry<String, Long>> entries = List.copyOf(deltas.entrySet());
+        for (String sql : List.of(UPDATE_SKU_STOCK, UPDATE_ATTRIBUTE_STOCK)) {
+            jdbcTemplate.batchUpdate(sql, entries, entries.size(), (ps, entry) -> {
+                ps.setLong(1, entry.getValue());
+                ps.setString(2, entry.getKey());
+            });
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based writes to the {@code role_permissions} and {@code user_roles} join tables.
+ * <p>
+ * Replacing a mapped collection makes Hibernate delete every join row and insert the new ones one by one, and
+ * removing an entity from the inverse side of a many-to-many means loading every owner. These statements change
+ * only the rows that differ, or delete all rows of one key with a single statement, without loading any entity.
+ * They bypass the persistence context: callers evict the second-level cache of the affected roles, and must not
+ * modify the same collections through managed entities in the same transaction.
+ */
+@Repository
+public class JoinTableRepository {
+    private static final String SELECT_ROLE_PERMISSION_IDS = "SELECT permission_id FROM role_permissions WHERE role_id = ?";
+    private static final String SELECT_PERMISSION_ROLE_IDS = "SELECT role_id FROM role_permissions WHERE permission_id = ?";
+    private static final String INSERT_ROLE_PERMISSION = "INSERT INTO role_permissions (role_id, permission_id) VALUES (?, ?)";
+    private static final String DELETE_ROLE_PERMISSIONS = "DELETE FROM role_permissions "
+            + "WHERE role_id = :roleId AND permission_id IN (:permissionIds)";
+    private static final String DELETE_PERMISSION_FROM_ROLES = "DELETE FROM role_permissions WHERE permission_id = ?";
+    private static final String DELETE_ROLE_FROM_USERS = "DELETE FROM user_roles WHERE role_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Constructs JoinTableRepository with the JDBC templates.
+     *
+     * @param jdbcTemplate               JDBC template for single-key statements and batches
+     * @param namedParameterJdbcTemplate JDBC template for statements with an IN list
+     */
+    public JoinTableRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Returns the IDs of the roles holding a permission.
+     *
+     * @param permissionId Permission ID
+     * @return Role IDs
+     */
+    public List<String> findRoleIdsByPermissionId(String permissionId) {
+        return jdbcTemplate.query(SELECT_PERMISSION_ROLE_IDS,
+                (rs, rowNum) -> UuidBinaryJavaType.fromBytes(rs.getBytes(1)), UuidBinaryJavaType.toBytes(permissionId));
+    }
+
+    /**
+     * Sets the permissions of a role, deleting the rows that are no longer wanted with one statement and inserting
+     * the missing rows with one batch. Rows present on both sides are left alone.
+     *
+     * @param roleId        Role ID
+     * @param permissionIds IDs of the permissions the role must hold
+     * @return Number of rows inserted and deleted
+     */
+    public Diff replaceRolePermissions(String roleId, Collection<String> permissionIds) {
+        byte[] role = UuidBinaryJavaType.toBytes(roleId);
+        Set<String> current = new HashSet<>(jdbcTemplate.query(SELECT_ROLE_PERMISSION_IDS,
+                (rs, rowNum) -> UuidBinaryJavaType.fromBytes(rs.getBytes(1)), role));
+        Set<String> wanted = new HashSet<>(permissionIds);
+
+        List<byte[]> removed = new ArrayList<>();
+        for (String permissionId : current) {
+            if (!wanted.contains(permissionId)) removed.add(UuidBinaryJavaType.toBytes(permissionId));
+        }
+        List<byte[]> added = new ArrayList<>();
+        for (String permissionId : wanted) {
+            if (!current.contains(permissionId)) added.add(UuidBinaryJavaType.toBytes(permissionId));
+        }
+
+        int deleted = removed.isEmpty() ? 0 : namedParameterJdbcTemplate.update(DELETE_ROLE_PERMISSIONS,
+                Map.of("roleId", role, "permissionIds", removed));
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLE_PERMISSION, added, added.size(), (ps, permission) -> {
+                ps.setBytes(1, role);
+                ps.setBytes(2, permission);
+            });
+        }
+        return new Diff(added.size(), deleted);
+    }
+
+    /**
+     * Removes a permission from every role holding it.
+     *
+     * @param permissionId Permission ID
+     * @return Number of rows deleted
+     */
+    public int deletePermissionFromRoles(String permissionId) {
+        return jdbcTemplate.update(DELETE_PERMISSION_FROM_ROLES, UuidBinaryJavaType.toBytes(permissionId));
+    }
+
+    /**
+     * Removes a role from every user holding it.
+     *
+     * @param roleId Role ID
+     * @return Number of rows deleted
+     */
+    public int deleteRoleFromUsers(String roleId) {
+        return jdbcTemplate.update(DELETE_ROLE_FROM_USERS, UuidBinaryJavaType.toBytes(roleId));
+    }
+
+    /**
+     * Rows changed by a join table update.
+     *
+     * @param inserted Number of rows inserted
+     * @param deleted  Number of rows deleted
+     */
+    public record Diff(int inserted, int deleted) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.ProductAttributeValue;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched writes to the {@code product_attribute_values} side table. Values are replaced per owner: all rows of
+ * the products or SKUs being indexed are deleted with one statement and the new ones inserted with one batch.
+ */
+@Repository
+public class ProductAttributeIndexRepository {
+    private static final String INSERT_VALUE = "INSERT INTO product_attribute_values (id, product_id, sku_id, "
+            + "attr_key, value_string, value_number) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_PRODUCT_VALUES = "DELETE FROM product_attribute_values "
+            + "WHERE product_id IN (:productIds) AND sku_id IS NULL";
+    private static final String DELETE_SKU_VALUES = "DELETE FROM product_attribute_values WHERE sku_id IN (:skuIds)";
+    private static final String DELETE_ALL_VALUES = "DELETE FROM product_attribute_values";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Constructs ProductAttributeIndexRepository with the JDBC templates.
+     *
+     * @param jdbcTemplate               JDBC template for batches
+     * @param namedParameterJdbcTemplate JDBC template for statements with an IN list
+     */
+    public ProductAttributeIndexRepository(JdbcTemplate jdbcTemplate,
+                                           NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Deletes the product-level values of products, leaving the values of their SKUs.
+     *
+     * @param productIds Product IDs
+     */
+    public void deleteProductValues(Collection<String> productIds) {
+        if (productIds.isEmpty()) return;
+        namedParameterJdbcTemplate.update(DELETE_PRODUCT_VALUES, Map.of("productIds", toBytes(productIds)));
+    }
+
+    /**
+     * Deletes the values of SKUs.
+     *
+     * @param skuIds SKU IDs
+     */
+    public void deleteSkuValues(Collection<String> skuIds) {
+        if (skuIds.isEmpty()) return;
+        namedParameterJdbcTemplate.update(DELETE_SKU_VALUES, Map.of("skuIds", toBytes(skuIds)));
+    }
+
+    /**
+     * Deletes every value, before a full rebuild.
+     */
+    public void deleteAll() {
+        jdbcTemplate.update(DELETE_ALL_VALUES);
+    }
+
+    /**
+     * Inserts values with one batch.
+     *
+     * @param values Values with their IDs set
+     */
+    public void insert(List<ProductAttributeValue> values) {
+        if (values.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_VALUE, values, values.size(), (ps, value) -> {
+            ps.setBytes(1, UuidBinaryJavaType.toBytes(value.getId()));
+            ps.setBytes(2, UuidBinaryJavaType.toBytes(value.getProductId()));
+            ps.setBytes(3, value.getSkuId() != null ? UuidBinaryJavaType.toBytes(value.getSkuId()) : null);
+            ps.setString(4, value.getAttrKey());
+            ps.setString(5, value.getValueString());
+            if (value.getValueNumber() != null) {
+                ps.setDouble(6, value.getValueNumber());
+            } else {
+                ps.setNull(6, Types.DOUBLE);
+            }
+        });
+    }
+
+    private static List<byte[]> toBytes(Collection<String> ids) {
+        return ids.stream().map(UuidBinaryJavaType::toBytes).toList();
+    }
+}
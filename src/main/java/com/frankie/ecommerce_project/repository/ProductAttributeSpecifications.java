@@ -0,0 +1,61 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.Product;
+import com.frankie.ecommerce_project.model.ProductAttributeValue;
+import com.frankie.ecommerce_project.search.ProductAttributeIndex;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Attribute filters on products as specifications, each an {@code IN} subquery on the indexed side table, so
+ * that several filters can be combined with {@link Specification#and}.
+ */
+public final class ProductAttributeSpecifications {
+
+    private ProductAttributeSpecifications() {
+    }
+
+    /**
+     * Matches products having an attribute with one of the given values, ignoring case.
+     *
+     * @param key    Attribute key
+     * @param values Accepted values
+     * @return Specification with an attribute restriction
+     */
+    public static Specification<Product> hasAttribute(String key, Collection<String> values) {
+        String normalizedKey = ProductAttributeIndex.normalize(key);
+        Collection<String> normalizedValues = values.stream().map(ProductAttributeIndex::normalize).toList();
+        return (root, query, criteriaBuilder) -> {
+            Subquery<String> productIds = query.subquery(String.class);
+            Root<ProductAttributeValue> value = productIds.from(ProductAttributeValue.class);
+            productIds.select(value.get("productId")).where(
+                    criteriaBuilder.equal(value.get("attrKey"), normalizedKey),
+                    value.get("valueString").in(normalizedValues));
+            return root.get("id").in(productIds);
+        };
+    }
+
+    /**
+     * Matches products having a numeric attribute within a range. A null bound leaves that side open.
+     *
+     * @param key Attribute key
+     * @param min Lower bound, inclusive, or null
+     * @param max Upper bound, inclusive, or null
+     * @return Specification with an attribute range restriction
+     */
+    public static Specification<Product> hasNumericAttributeBetween(String key, Double min, Double max) {
+        String normalizedKey = ProductAttributeIndex.normalize(key);
+        return (root, query, criteriaBuilder) -> {
+            Subquery<String> productIds = query.subquery(String.class);
+            Root<ProductAttributeValue> value = productIds.from(ProductAttributeValue.class);
+            productIds.select(value.get("productId")).where(
+                    criteriaBuilder.equal(value.get("attrKey"), normalizedKey),
+                    min != null ? criteriaBuilder.ge(value.get("valueNumber"), min) : criteriaBuilder.conjunction(),
+                    max != null ? criteriaBuilder.le(value.get("valueNumber"), max) : criteriaBuilder.conjunction());
+            return root.get("id").in(productIds);
+        };
+    }
+}
@@ -0,0 +1,253 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.Product;
+import com.frankie.ecommerce_project.model.SkuAttribute;
+import com.frankie.ecommerce_project.model.SkuProduct;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Batched writes of products and their SKUs.
+ * <p>
+ * Saving the entity graph through JPA issues one insert per SKU, one per SKU attribute row and one per join row,
+ * each a separate round trip. These statements write each table with JDBC batches instead. IDs, creation time and
+ * creator must already be set on the entities, since the JPA lifecycle callbacks do not run.
+ */
+@Repository
+public class ProductBatchRepository {
+    private static final String INSERT_PRODUCT = "INSERT INTO products (id, product_name, product_desc, product_status, "
+            + "product_attrs, created_at, created_by, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SKU = "INSERT INTO sku_products (id, sku_no, sku_name, sku_description, "
+            + "sku_stock, sku_price, created_at, created_by, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SKU_ATTRIBUTE = "INSERT INTO sku_attributes (id, sku_no, sku_stock, sku_price, "
+            + "sku_attrs, sku_id, created_at, created_by, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SPU_TO_SKU = "INSERT INTO spu_to_sku (product_id, sku_id) VALUES (?, ?)";
+    private static final String UPDATE_SKU = "UPDATE sku_products SET sku_name = COALESCE(?, sku_name), "
+            + "sku_description = COALESCE(?, sku_description), sku_stock = COALESCE(?, sku_stock), "
+            + "sku_price = COALESCE(?, sku_price), updated_at = ?, updated_by = ? WHERE id = ?";
+    private static final String UPDATE_SKU_ATTRIBUTE = "UPDATE sku_attributes SET "
+            + "sku_stock = COALESCE(?, sku_stock), sku_price = COALESCE(?, sku_price), "
+            + "sku_attrs = COALESCE(?, sku_attrs), updated_at = ?, updated_by = ? WHERE id = ?";
+    private static final String SELECT_SKU_REFS = "SELECT s.sku_no, s.id, a.id, "
+            + "(SELECT MIN(j.product_id) FROM spu_to_sku j WHERE j.sku_id = s.id) FROM sku_products s "
+            + "LEFT JOIN sku_attributes a ON a.sku_id = s.id WHERE s.sku_no IN (:skuNos)";
+    private static final String SELECT_PRODUCT_IDS_BY_NAME = "SELECT product_name, id FROM products "
+            + "WHERE product_name IN (:names) ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int batchSize;
+
+    /**
+     * Constructs ProductBatchRepository with the JDBC templates and batch size.
+     *
+     * @param jdbcTemplate               JDBC template for single statements and batches
+     * @param namedParameterJdbcTemplate JDBC template for lookups with an IN list
+     * @param batchSize                  Maximum number of rows sent in one JDBC batch
+     */
+    public ProductBatchRepository(JdbcTemplate jdbcTemplate,
+                                  NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                  @Value("${app.product.insertBatchSize:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts a product, its SKUs, their attribute rows and the product-SKU join rows. Runs in the caller's
+     * transaction.
+     *
+     * @param product Product with its SKUs; each SKU may carry an attribute row
+     */
+    public void insertProduct(Product product) {
+        insertProducts(List.of(product));
+        insertSkus(product.getSkus());
+    }
+
+    /**
+     * Inserts products without their SKUs.
+     *
+     * @param products Products to insert
+     */
+    public void insertProducts(List<Product> products) {
+        if (products.isEmpty()) return;
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, batchSize, (ps, product) -> {
+            ps.setBytes(1, UuidBinaryJavaType.toBytes(product.getId()));
+            ps.setString(2, product.getProductName());
+            ps.setString(3, product.getProductDesc());
+            ps.setObject(4, product.getProductStatus());
+            ps.setString(5, product.getProductAttrs());
+            setAudit(ps, 6, product.getCreatedAt(), product.getCreatedBy(), utc);
+        });
+    }
+
+    /**
+     * Inserts SKUs, their attribute rows and one join row per product listed in {@link SkuProduct#getProducts()}.
+     * The products must already exist.
+     *
+     * @param skus SKUs to insert; each SKU may carry an attribute row
+     */
+    public void insertSkus(List<SkuProduct> skus) {
+        if (skus.isEmpty()) return;
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(INSERT_SKU, skus, batchSize, (ps, sku) -> {
+            ps.setBytes(1, UuidBinaryJavaType.toBytes(sku.getId()));
+            ps.setString(2, sku.getSkuNo());
+            ps.setString(3, sku.getSkuName());
+            ps.setString(4, sku.getSkuDescription());
+            ps.setObject(5, sku.getSkuStock());
+            ps.setObject(6, sku.getSkuPrice());
+            setAudit(ps, 7, sku.getCreatedAt(), sku.getCreatedBy(), utc);
+        });
+
+        List<SkuAttribute> attributes = new ArrayList<>(skus.size());
+        for (SkuProduct sku : skus) {
+            if (sku.getSkuAttr() != null) attributes.add(sku.getSkuAttr());
+        }
+        insertSkuAttributes(attributes);
+
+        List<byte[][]> joinRows = new ArrayList<>(skus.size());
+        for (SkuProduct sku : skus) {
+            if (sku.getProducts() == null) continue;
+            for (Product product : sku.getProducts()) {
+                joinRows.add(new byte[][]{UuidBinaryJavaType.toBytes(product.getId()),
+                        UuidBinaryJavaType.toBytes(sku.getId())});
+            }
+        }
+        if (!joinRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SPU_TO_SKU, joinRows, batchSize, (ps, join) -> {
+                ps.setBytes(1, join[0]);
+                ps.setBytes(2, join[1]);
+            });
+        }
+    }
+
+    /**
+     * Inserts SKU attribute rows for SKUs that already exist.
+     *
+     * @param attributes Attribute rows, each referencing its SKU
+     */
+    public void insertSkuAttributes(List<SkuAttribute> attributes) {
+        if (attributes.isEmpty()) return;
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(INSERT_SKU_ATTRIBUTE, attributes, batchSize, (ps, attribute) -> {
+            ps.setBytes(1, UuidBinaryJavaType.toBytes(attribute.getId()));
+            ps.setString(2, attribute.getSkuNo());
+            ps.setObject(3, attribute.getSkuStock());
+            ps.setObject(4, attribute.getSkuPrice());
+            ps.setString(5, attribute.getSkuAttrs());
+            ps.setBytes(6, UuidBinaryJavaType.toBytes(attribute.getSku().getId()));
+            setAudit(ps, 7, attribute.getCreatedAt(), attribute.getCreatedBy(), utc);
+        });
+    }
+
+    /**
+     * Updates the name, description, stock and price of existing SKUs by ID. Null values keep the stored ones.
+     *
+     * @param skus SKUs carrying their ID, new values, update time and updater
+     */
+    public void updateSkus(List<SkuProduct> skus) {
+        if (skus.isEmpty()) return;
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(UPDATE_SKU, skus, batchSize, (ps, sku) -> {
+            ps.setString(1, sku.getSkuName());
+            ps.setString(2, sku.getSkuDescription());
+            ps.setObject(3, sku.getSkuStock());
+            ps.setObject(4, sku.getSkuPrice());
+            ps.setTimestamp(5, Timestamp.from(sku.getUpdatedAt()), utc);
+            ps.setString(6, sku.getUpdatedBy());
+            ps.setBytes(7, UuidBinaryJavaType.toBytes(sku.getId()));
+        });
+    }
+
+    /**
+     * Updates the stock, price and attributes of existing SKU attribute rows by ID. Null values keep the stored
+     * ones.
+     *
+     * @param attributes Attribute rows carrying their ID, new values, update time and updater
+     */
+    public void updateSkuAttributes(List<SkuAttribute> attributes) {
+        if (attributes.isEmpty()) return;
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(UPDATE_SKU_ATTRIBUTE, attributes, batchSize, (ps, attribute) -> {
+            ps.setObject(1, attribute.getSkuStock());
+            ps.setObject(2, attribute.getSkuPrice());
+            ps.setString(3, attribute.getSkuAttrs());
+            ps.setTimestamp(4, Timestamp.from(attribute.getUpdatedAt()), utc);
+            ps.setString(5, attribute.getUpdatedBy());
+            ps.setBytes(6, UuidBinaryJavaType.toBytes(attribute.getId()));
+        });
+    }
+
+    /**
+     * Looks up existing SKUs, their attribute rows and products by SKU number with one query.
+     *
+     * @param skuNos SKU numbers
+     * @return References of the SKUs that exist, by SKU number
+     */
+    public Map<String, SkuRef> findSkuRefs(Collection<String> skuNos) {
+        Map<String, SkuRef> refs = new HashMap<>();
+        if (skuNos.isEmpty()) return refs;
+        namedParameterJdbcTemplate.query(SELECT_SKU_REFS, Map.of("skuNos", skuNos), (RowCallbackHandler) rs -> {
+            byte[] attributeId = rs.getBytes(3);
+            byte[] productId = rs.getBytes(4);
+            refs.put(rs.getString(1), new SkuRef(UuidBinaryJavaType.fromBytes(rs.getBytes(2)),
+                    attributeId != null ? UuidBinaryJavaType.fromBytes(attributeId) : null,
+                    productId != null ? UuidBinaryJavaType.fromBytes(productId) : null));
+        });
+        return refs;
+    }
+
+    /**
+     * Looks up products by name with one query. Names are not unique; the product with the smallest ID wins.
+     *
+     * @param names Product names
+     * @return Product IDs by name, for the names that exist
+     */
+    public Map<String, String> findProductIdsByName(Collection<String> names) {
+        Map<String, String> ids = new HashMap<>();
+        if (names.isEmpty()) return ids;
+        namedParameterJdbcTemplate.query(SELECT_PRODUCT_IDS_BY_NAME, Map.of("names", names), (RowCallbackHandler) rs ->
+                ids.putIfAbsent(rs.getString(1), UuidBinaryJavaType.fromBytes(rs.getBytes(2))));
+        return ids;
+    }
+
+    private static void setAudit(PreparedStatement ps, int index, Instant createdAt, String createdBy, Calendar utc)
+            throws SQLException {
+        ps.setTimestamp(index, Timestamp.from(createdAt), utc);
+        ps.setString(index + 1, createdBy);
+        ps.setBoolean(index + 2, false);
+    }
+
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+    }
+
+    /**
+     * IDs of an existing SKU.
+     *
+     * @param skuId       SKU ID
+     * @param attributeId ID of its attribute row, or null if it has none
+     * @param productId   ID of its product, the smallest if it has several, or null if it has none
+     */
+    public record SkuRef(String skuId, String attributeId, String productId) {
+    }
+}
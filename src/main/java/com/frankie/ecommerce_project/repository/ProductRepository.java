@@ -1,13 +1,60 @@
 package com.frankie.ecommerce_project.repository;
 
 import com.frankie.ecommerce_project.model.Product;
+import com.frankie.ecommerce_project.search.ProductAttributeIndex;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
-public interface ProductRepository extends JpaRepository<Product, String> {
+/**
+ * Repository for products. The attribute filters read the {@code product_attribute_values} side table maintained
+ * by {@link ProductAttributeIndex}, so they only see the declared attribute keys, and match a product when the
+ * product itself or one of its SKUs has the value. Combine several filters with
+ * {@link ProductAttributeSpecifications} and {@code findAll(Specification, Pageable)}.
+ */
+public interface ProductRepository extends JpaRepository<Product, String>, JpaSpecificationExecutor<Product> {
 
-//    Optional<Product> findByName(String productName);
+    /**
+     * Finds products having an attribute with one of the given values. Key and values must be normalized with
+     * {@link ProductAttributeIndex#normalize}; {@link #findByAttribute} does it for a single value.
+     *
+     * @param key      Normalized attribute key
+     * @param values   Normalized attribute values
+     * @param pageable Page request
+     * @return Page of matching products
+     */
+    @Query("SELECT p FROM Product p WHERE p.id IN (SELECT v.productId FROM ProductAttributeValue v "
+            + "WHERE v.attrKey = :key AND v.valueString IN :values)")
+    Page<Product> findByAttributeValues(String key, Collection<String> values, Pageable pageable);
 
-    
+    /**
+     * Finds products having a numeric attribute within a range.
+     *
+     * @param key      Normalized attribute key
+     * @param min      Lower bound, inclusive
+     * @param max      Upper bound, inclusive
+     * @param pageable Page request
+     * @return Page of matching products
+     */
+    @Query("SELECT p FROM Product p WHERE p.id IN (SELECT v.productId FROM ProductAttributeValue v "
+            + "WHERE v.attrKey = :key AND v.valueNumber BETWEEN :min AND :max)")
+    Page<Product> findByNumericAttributeBetween(String key, double min, double max, Pageable pageable);
+
+    /**
+     * Finds products having an attribute with a value, ignoring case.
+     *
+     * @param key      Attribute key
+     * @param value    Attribute value
+     * @param pageable Page request
+     * @return Page of matching products
+     */
+    default Page<Product> findByAttribute(String key, String value, Pageable pageable) {
+        return findByAttributeValues(ProductAttributeIndex.normalize(key),
+                List.of(ProductAttributeIndex.normalize(value)), pageable);
+    }
 }
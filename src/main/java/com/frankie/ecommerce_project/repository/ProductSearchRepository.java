@@ -0,0 +1,114 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads products with the price and attributes of their SKUs for the product search index. A page of products is
+ * read with one query and the SKUs of the whole page with a second one. Deleted products and SKUs are skipped.
+ */
+@Repository
+public class ProductSearchRepository {
+    private static final String PRODUCT_COLUMNS = "SELECT id, product_name, product_desc, product_attrs FROM products ";
+    private static final String NOT_DELETED = "COALESCE(is_deleted, FALSE) = FALSE";
+    private static final String SELECT_PRODUCT_PAGE = PRODUCT_COLUMNS + "WHERE id > ? AND " + NOT_DELETED
+            + " ORDER BY id LIMIT ?";
+    private static final String SELECT_PRODUCTS = PRODUCT_COLUMNS + "WHERE id IN (:productIds) AND " + NOT_DELETED;
+    private static final String SELECT_SKUS = "SELECT j.product_id, s.sku_price, a.sku_attrs FROM spu_to_sku j "
+            + "JOIN sku_products s ON s.id = j.sku_id LEFT JOIN sku_attributes a ON a.sku_id = s.id "
+            + "WHERE j.product_id IN (:productIds) AND COALESCE(s.is_deleted, FALSE) = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Constructs ProductSearchRepository with the JDBC templates.
+     *
+     * @param jdbcTemplate               JDBC template for the keyset pages
+     * @param namedParameterJdbcTemplate JDBC template for lookups with an IN list
+     */
+    public ProductSearchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Reads one page of products in ID order.
+     *
+     * @param afterId ID of the last product of the previous page, or the nil UUID for the first page
+     * @param limit   Maximum number of products to read
+     * @return Products with an ID greater than {@code afterId}, in ID order
+     */
+    public List<ProductRow> findPage(String afterId, int limit) {
+        Map<String, ProductRow> rows = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_PRODUCT_PAGE, (RowCallbackHandler) rs -> addRow(rows, rs),
+                UuidBinaryJavaType.toBytes(afterId), limit);
+        return withSkus(rows);
+    }
+
+    /**
+     * Reads products by ID.
+     *
+     * @param productIds Product IDs
+     * @return Products that exist and are not deleted, in any order
+     */
+    public List<ProductRow> findByIds(Collection<String> productIds) {
+        if (productIds.isEmpty()) return List.of();
+        Map<String, ProductRow> rows = new LinkedHashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_PRODUCTS, Map.of("productIds", toBytes(productIds)),
+                (RowCallbackHandler) rs -> addRow(rows, rs));
+        return withSkus(rows);
+    }
+
+    private List<ProductRow> withSkus(Map<String, ProductRow> rows) {
+        if (rows.isEmpty()) return List.of();
+        namedParameterJdbcTemplate.query(SELECT_SKUS, Map.of("productIds", toBytes(rows.keySet())),
+                (RowCallbackHandler) rs -> {
+                    double price = rs.getDouble(2);
+                    rows.get(UuidBinaryJavaType.fromBytes(rs.getBytes(1))).skus()
+                            .add(new SkuRow(rs.wasNull() ? null : price, rs.getString(3)));
+                });
+        return new ArrayList<>(rows.values());
+    }
+
+    private static void addRow(Map<String, ProductRow> rows, ResultSet rs) throws SQLException {
+        String id = UuidBinaryJavaType.fromBytes(rs.getBytes(1));
+        rows.put(id, new ProductRow(id, rs.getString(2), rs.getString(3), rs.getString(4), new ArrayList<>()));
+    }
+
+    private static List<byte[]> toBytes(Collection<String> ids) {
+        return ids.stream().map(UuidBinaryJavaType::toBytes).toList();
+    }
+
+    /**
+     * Product columns read by the search index.
+     *
+     * @param id          Product ID
+     * @param name        Product name
+     * @param description Product description
+     * @param attributes  Product attribute JSON
+     * @param skus        SKUs of the product
+     */
+    public record ProductRow(String id, String name, String description, String attributes, List<SkuRow> skus) {
+    }
+
+    /**
+     * SKU columns read by the search index.
+     *
+     * @param price      SKU price, or null if it has none
+     * @param attributes SKU attribute JSON, or null if it has no attribute row
+     */
+    public record SkuRow(Double price, String attributes) {
+    }
+}
@@ -9,18 +9,36 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
 
     /**
-     * Finds a refresh token by its value.
+     * Finds a refresh token by the SHA-256 digest of its value.
      *
-     * @param token Refresh token value
+     * @param tokenHash Digest of the refresh token value
      * @return Optional containing the RefreshToken, if found
      */
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Replaces a refresh token in place, provided it still holds the presented token. A token that was
+     * already rotated by a concurrent request matches no row.
+     *
+     * @param id           ID of the refresh token row
+     * @param currentHash  Digest of the presented refresh token
+     * @param newHash      Digest of the new refresh token
+     * @param expiredAt    Expiry of the new refresh token
+     * @param createdAt    Issue time of the new refresh token
+     * @return Number of rows updated (0 or 1)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RefreshToken rt SET rt.tokenHash = :newHash, rt.expiredAt = :expiredAt, rt.createdAt = :createdAt "
+            + "WHERE rt.id = :id AND rt.tokenHash = :currentHash")
+    int rotate(@Param("id") String id, @Param("currentHash") byte[] currentHash, @Param("newHash") byte[] newHash,
+               @Param("expiredAt") Instant expiredAt, @Param("createdAt") Instant createdAt);
 
     /**
      * Retrieves all refresh tokens for a user.
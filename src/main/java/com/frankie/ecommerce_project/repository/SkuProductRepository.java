@@ -0,0 +1,14 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.SkuProduct;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SkuProductRepository extends JpaRepository<SkuProduct, String> {
+
+    @Query("SELECT s.skuNo FROM SkuProduct s WHERE s.skuNo IN :skuNos")
+    List<String> findExistingSkuNos(Collection<String> skuNos);
+}
@@ -1,26 +1,43 @@
 package com.frankie.ecommerce_project.repository;
 
 import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.search.SearchDocument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.NonNullApi;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, String>, JpaSpecificationExecutor<User> {
     @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
     Optional<User> findByEmailWithRoles(String email);
 
-    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE :email IS NULL OR u.email LIKE CONCAT('%', :email, '%')")
-    Page<User> findUserByEmailWithRoles(String email, Pageable pageable);
+    boolean existsByEmail(String email);
 
-    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles")
-    Page<User> findAllWithRoles(Pageable pageable);
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Query(value = "SELECT u.id FROM User u WHERE :email IS NULL OR u.email LIKE CONCAT('%', :email, '%')",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE :email IS NULL OR u.email LIKE CONCAT('%', :email, '%')")
+    Page<String> findUserIdsByEmail(String email, Pageable pageable);
+
+    @Query(value = "SELECT u.id FROM User u", countQuery = "SELECT COUNT(u) FROM User u")
+    Page<String> findUserIds(Pageable pageable);
 
     @Query("SELECT DISTINCT u FROM User  u LEFT JOIN FETCH u.roles WHERE u.id = :userId")
     Optional<User> findByIdWithRoles(String userId);
 
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :userIds")
+    List<User> findAllWithRolesByIdIn(List<String> userIds);
+
+    @Query("SELECT new com.frankie.ecommerce_project.search.SearchDocument(u.id, u.email) FROM User u "
+            + "WHERE u.id > :afterId ORDER BY u.id")
+    List<SearchDocument> findSearchDocuments(String afterId, Limit limit);
 }
@@ -0,0 +1,47 @@
+package com.frankie.ecommerce_project.search;
+
+import com.frankie.ecommerce_project.model.Brand;
+import com.frankie.ecommerce_project.repository.BrandRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search index over brand names.
+ */
+@Component
+public class BrandSearchIndex extends EntitySearchIndex<Brand> {
+
+    private final BrandRepository brandRepository;
+
+    /**
+     * Constructs BrandSearchIndex with required dependencies and load configuration.
+     *
+     * @param brandRepository Repository the index is loaded from
+     * @param enabled         Whether searches use the index
+     * @param loadBatchSize   Number of rows read per query during the initial load
+     */
+    public BrandSearchIndex(BrandRepository brandRepository,
+                            @Value("${app.search.enabled:true}") boolean enabled,
+                            @Value("${app.search.loadBatchSize:10000}") int loadBatchSize) {
+        super(enabled, loadBatchSize);
+        this.brandRepository = brandRepository;
+    }
+
+    @Override
+    protected List<SearchDocument> loadBatch(String afterId, Limit limit) {
+        return brandRepository.findSearchDocuments(afterId, limit);
+    }
+
+    @Override
+    protected String idOf(Brand brand) {
+        return brand.getId();
+    }
+
+    @Override
+    protected String textOf(Brand brand) {
+        return brand.getName();
+    }
+}
@@ -0,0 +1,47 @@
+package com.frankie.ecommerce_project.search;
+
+import com.frankie.ecommerce_project.model.Category;
+import com.frankie.ecommerce_project.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search index over category names.
+ */
+@Component
+public class CategorySearchIndex extends EntitySearchIndex<Category> {
+
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * Constructs CategorySearchIndex with required dependencies and load configuration.
+     *
+     * @param categoryRepository Repository the index is loaded from
+     * @param enabled            Whether searches use the index
+     * @param loadBatchSize      Number of rows read per query during the initial load
+     */
+    public CategorySearchIndex(CategoryRepository categoryRepository,
+                               @Value("${app.search.enabled:true}") boolean enabled,
+                               @Value("${app.search.loadBatchSize:10000}") int loadBatchSize) {
+        super(enabled, loadBatchSize);
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    protected List<SearchDocument> loadBatch(String afterId, Limit limit) {
+        return categoryRepository.findSearchDocuments(afterId, limit);
+    }
+
+    @Override
+    protected String idOf(Category category) {
+        return category.getId();
+    }
+
+    @Override
+    protected String textOf(Category category) {
+        return category.getName();
+    }
+}
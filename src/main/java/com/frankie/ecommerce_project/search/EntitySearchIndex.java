@@ -0,0 +1,154 @@
+package com.frankie.ecommerce_project.search;
+
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Search index over one text column of an entity, replacing {@code LIKE '%name%'} scans.
+ * <p>
+ * The index is loaded in the background once the application is ready and is then kept up to date by the
+ * service create/update paths through {@link #index}. Until the load has finished, {@link #search} returns
+ * an empty Optional and callers fall back to the database query. Soft-deleted entities stay indexed, as the
+ * database query lists them too so that they can be found and reactivated.
+ *
+ * @param <T> Entity type
+ */
+@Slf4j
+public abstract class EntitySearchIndex<T> {
+
+    private final NgramIndex ngramIndex = new NgramIndex();
+    private final boolean enabled;
+    private final int loadBatchSize;
+    private volatile boolean ready;
+
+    /**
+     * Constructs EntitySearchIndex with its load configuration.
+     *
+     * @param enabled       Whether searches use the index
+     * @param loadBatchSize Number of rows read per query during the initial load
+     */
+    protected EntitySearchIndex(boolean enabled, int loadBatchSize) {
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    /**
+     * Reads one batch of rows for the initial load, ordered by ID.
+     *
+     * @param afterId ID of the last row of the previous batch, or the nil UUID for the first batch
+     * @param limit   Maximum number of rows to read
+     * @return Rows with an ID greater than {@code afterId}
+     */
+    protected abstract List<SearchDocument> loadBatch(String afterId, Limit limit);
+
+    /**
+     * Returns the ID of an entity.
+     *
+     * @param entity Entity
+     * @return Entity ID
+     */
+    protected abstract String idOf(T entity);
+
+    /**
+     * Returns the indexed text of an entity.
+     *
+     * @param entity Entity
+     * @return Searchable text
+     */
+    protected abstract String textOf(T entity);
+
+    /**
+     * Starts loading the index in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        if (!enabled) return;
+        Thread loader = new Thread(this::load, "search-index-" + getClass().getSimpleName());
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Loads every row into the index in ID order, one batch at a time.
+     */
+    public void load() {
+        long startedAt = System.nanoTime();
+        try {
+            String afterId = UuidBinaryJavaType.MIN_ID;
+            List<SearchDocument> batch;
+            do {
+                batch = loadBatch(afterId, Limit.of(loadBatchSize));
+                for (SearchDocument document : batch) {
+                    if (document.getText() != null) ngramIndex.putIfAbsent(document.getId(), document.getText());
+                }
+                if (!batch.isEmpty()) afterId = batch.get(batch.size() - 1).getId();
+            } while (batch.size() == loadBatchSize);
+            ready = true;
+            log.info("{} loaded {} documents in {} ms", getClass().getSimpleName(), ngramIndex.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("{} failed to load, searches fall back to the database", getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Returns whether the initial load has finished, so that searches are answered by the index.
+     *
+     * @return True once the index is loaded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes a created or updated entity once the surrounding transaction commits.
+     *
+     * @param entity Entity to index
+     */
+    public void index(T entity) {
+        String id = idOf(entity);
+        String text = textOf(entity);
+        afterCommit(() -> ngramIndex.put(id, text));
+    }
+
+    /**
+     * Searches the index, most relevant matches first.
+     *
+     * @param query    Text to search for
+     * @param pageable Page to return; its sort is ignored in favour of relevance
+     * @return Page of matching IDs, or empty if the index cannot answer (disabled, still loading or blank query)
+     */
+    public Optional<SearchResult> search(String query, Pageable pageable) {
+        if (!ready || query == null || query.isBlank()) return Optional.empty();
+        long offset = pageable.getOffset();
+        if (offset > Integer.MAX_VALUE - pageable.getPageSize()) return Optional.empty();
+        return Optional.of(ngramIndex.search(query, (int) offset, pageable.getPageSize()));
+    }
+
+    /**
+     * Runs an index update after the surrounding transaction commits, or immediately without a transaction.
+     *
+     * @param action Index update
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,429 @@
+package com.frankie.ecommerce_project.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory faceted search over products: words in the name and description, facet filters and counts, and a
+ * range on the SKU prices.
+ * <p>
+ * Like {@link NgramIndex}, every product gets an ordinal in insertion order, so each posting list is append-only
+ * and sorted. A posting list is a sorted int array while it is sparse and becomes a bitmap once it holds more than
+ * one ordinal in 32, whichever is smaller. A query builds a bitmap of the live products matching the words and the
+ * price range, intersects it with each filtered facet (the values of one facet are OR-ed), and counts the facet
+ * values against the result. The counts of a filtered facet ignore its own filter, so they show what choosing
+ * another value of it would match.
+ * <p>
+ * Prices are bucketed on a log scale, eight buckets per power of two cents. Buckets inside the range are taken
+ * whole; products in the two edge buckets are checked against their SKU prices.
+ * <p>
+ * Updates and removals leave a tombstone at the old ordinal; the index is compacted once tombstones outnumber
+ * live products. Reads share a read lock, writes take the write lock.
+ */
+public class FacetedProductIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int PRICE_BUCKETS = 1 + 64 * 8;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxFacetValues;
+    private final Map<String, Integer> ordinalsById = new HashMap<>();
+    private final NavigableMap<String, Postings> words = new TreeMap<>();
+    private final Map<String, Map<String, Postings>> facets = new HashMap<>();
+    private final Postings[] priceBuckets = new Postings[PRICE_BUCKETS];
+    private ProductSearchDocument[] documents = new ProductSearchDocument[INITIAL_CAPACITY];
+    private long[] live = new long[INITIAL_CAPACITY / Long.SIZE];
+    private int nextOrdinal;
+    private int tombstones;
+
+    /**
+     * Constructs FacetedProductIndex.
+     *
+     * @param maxFacetValues Maximum number of values counted per facet in a result
+     */
+    public FacetedProductIndex(int maxFacetValues) {
+        this.maxFacetValues = maxFacetValues;
+    }
+
+    /**
+     * Adds a product or replaces it.
+     *
+     * @param document Product to index
+     */
+    public void put(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            putLocked(document, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a product unless it is already indexed. Used by the initial load, so that a product updated while the
+     * load was running keeps its newer document.
+     *
+     * @param document Product to index
+     */
+    public void putIfAbsent(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            putLocked(document, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product.
+     *
+     * @param id Product ID
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return Number of live products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the products matching a query, in insertion order, with the facet counts of all matches.
+     *
+     * @param query Query
+     * @return Requested page of matches, total number of matches and facet counts
+     */
+    public ProductSearchResult search(ProductSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            int length = wordCount(nextOrdinal);
+            long[] base = Arrays.copyOf(live, length);
+            List<String> queryWords = tokenize(query.getText());
+            for (int i = 0; i < queryWords.size(); i++) {
+                boolean last = i == queryWords.size() - 1;
+                and(base, last ? prefixMask(queryWords.get(i), length) : wordMask(queryWords.get(i), length));
+            }
+            if (query.getMinPrice() != null || query.getMaxPrice() != null) {
+                and(base, priceMask(query.getMinPrice(), query.getMaxPrice(), length));
+            }
+
+            Map<String, long[]> filterMasks = new HashMap<>();
+            if (query.getFilters() != null) {
+                query.getFilters().forEach((key, values) -> {
+                    if (!values.isEmpty()) filterMasks.put(key, facetMask(key, values, length));
+                });
+            }
+            long[] result = base.clone();
+            filterMasks.values().forEach(mask -> and(result, mask));
+
+            Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+            if (query.getFacetKeys() != null) {
+                for (String key : query.getFacetKeys()) {
+                    long[] mask = result;
+                    if (filterMasks.containsKey(key)) {
+                        mask = base.clone();
+                        for (Map.Entry<String, long[]> filter : filterMasks.entrySet()) {
+                            if (!filter.getKey().equals(key)) and(mask, filter.getValue());
+                        }
+                    }
+                    facetCounts.put(key, countValues(key, mask));
+                }
+            }
+            return page(result, query.getOffset(), query.getLimit(), facetCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into folded words, in order.
+     *
+     * @param text Text to split, or null
+     * @return Words; empty for null or blank text
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String token : WORD_SEPARATOR.split(NgramIndex.normalize(text))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    /**
+     * Maps a price to its bucket. Buckets grow with the price, eight per power of two cents.
+     *
+     * @param cents Price in cents
+     * @return Bucket index
+     */
+    static int priceBucket(long cents) {
+        if (cents <= 0) return 0;
+        int exponent = 63 - Long.numberOfLeadingZeros(cents);
+        long mantissa = exponent >= 3 ? cents >>> (exponent - 3) : cents << (3 - exponent);
+        return 1 + (exponent << 3) + (int) (mantissa & 7);
+    }
+
+    private void putLocked(ProductSearchDocument document, boolean replace) {
+        Integer existing = ordinalsById.get(document.getId());
+        if (existing != null) {
+            if (!replace) return;
+            removeLocked(document.getId());
+        }
+        append(document);
+        compactIfNeeded();
+    }
+
+    private void append(ProductSearchDocument document) {
+        if (nextOrdinal == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+            live = Arrays.copyOf(live, wordCount(documents.length));
+        }
+        int ordinal = nextOrdinal++;
+        documents[ordinal] = document;
+        live[ordinal >>> 6] |= 1L << ordinal;
+        ordinalsById.put(document.getId(), ordinal);
+
+        Set<String> documentWords = new HashSet<>(tokenize(document.getName()));
+        documentWords.addAll(tokenize(document.getDescription()));
+        for (String word : documentWords) {
+            words.computeIfAbsent(word, key -> new Postings()).add(ordinal);
+        }
+        document.getFacets().forEach((key, values) -> {
+            Map<String, Postings> byValue = facets.computeIfAbsent(key, k -> new HashMap<>());
+            for (String value : values) {
+                byValue.computeIfAbsent(value, v -> new Postings()).add(ordinal);
+            }
+        });
+        int previousBucket = -1;
+        for (long price : document.getPrices()) {
+            int bucket = priceBucket(price);
+            if (bucket == previousBucket) continue;
+            if (priceBuckets[bucket] == null) priceBuckets[bucket] = new Postings();
+            priceBuckets[bucket].add(ordinal);
+            previousBucket = bucket;
+        }
+    }
+
+    private void removeLocked(String id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) return;
+        documents[ordinal] = null;
+        live[ordinal >>> 6] &= ~(1L << ordinal);
+        tombstones++;
+    }
+
+    /**
+     * Rebuilds the index without tombstones once they outnumber the live products.
+     */
+    private void compactIfNeeded() {
+        if (tombstones < INITIAL_CAPACITY || tombstones < ordinalsById.size()) return;
+        ProductSearchDocument[] oldDocuments = documents;
+        int oldSize = nextOrdinal;
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, ordinalsById.size())) * 2);
+        documents = new ProductSearchDocument[capacity];
+        live = new long[wordCount(capacity)];
+        nextOrdinal = 0;
+        tombstones = 0;
+        ordinalsById.clear();
+        words.clear();
+        facets.clear();
+        Arrays.fill(priceBuckets, null);
+        for (int ordinal = 0; ordinal < oldSize; ordinal++) {
+            if (oldDocuments[ordinal] != null) append(oldDocuments[ordinal]);
+        }
+    }
+
+    private long[] wordMask(String word, int length) {
+        long[] mask = new long[length];
+        Postings postings = words.get(word);
+        if (postings != null) postings.orInto(mask);
+        return mask;
+    }
+
+    private long[] prefixMask(String prefix, int length) {
+        long[] mask = new long[length];
+        for (Postings postings : words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            postings.orInto(mask);
+        }
+        return mask;
+    }
+
+    private long[] facetMask(String key, Set<String> values, int length) {
+        long[] mask = new long[length];
+        Map<String, Postings> byValue = facets.getOrDefault(key, Map.of());
+        for (String value : values) {
+            Postings postings = byValue.get(value);
+            if (postings != null) postings.orInto(mask);
+        }
+        return mask;
+    }
+
+    private long[] priceMask(Long min, Long max, int length) {
+        long[] mask = new long[length];
+        if (min != null && max != null && min > max) return mask;
+        int low = min == null ? 0 : priceBucket(min);
+        int high = max == null ? PRICE_BUCKETS - 1 : priceBucket(max);
+        for (int bucket = low; bucket <= high; bucket++) {
+            Postings postings = priceBuckets[bucket];
+            if (postings == null) continue;
+            boolean whole = (bucket > low || min == null) && (bucket < high || max == null);
+            if (whole) {
+                postings.orInto(mask);
+            } else {
+                postings.forEach(ordinal -> {
+                    ProductSearchDocument document = documents[ordinal];
+                    if (document != null && document.hasPriceBetween(min, max)) mask[ordinal >>> 6] |= 1L << ordinal;
+                });
+            }
+        }
+        return mask;
+    }
+
+    private Map<String, Long> countValues(String key, long[] mask) {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        facets.getOrDefault(key, Map.of()).forEach((value, postings) -> {
+            long count = postings.countIn(mask);
+            if (count > 0) counts.add(Map.entry(value, count));
+        });
+        counts.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(maxFacetValues, counts.size()); i++) {
+            top.put(counts.get(i).getKey(), counts.get(i).getValue());
+        }
+        return top;
+    }
+
+    private ProductSearchResult page(long[] result, int offset, int limit, Map<String, Map<String, Long>> facetCounts) {
+        List<ProductSearchDocument> page = new ArrayList<>(Math.min(limit, 100));
+        long total = 0;
+        long skip = offset;
+        for (int i = 0; i < result.length; i++) {
+            long word = result[i];
+            int bits = Long.bitCount(word);
+            total += bits;
+            if (page.size() == limit || word == 0) continue;
+            if (skip >= bits) {
+                skip -= bits;
+                continue;
+            }
+            while (word != 0 && page.size() < limit) {
+                int ordinal = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    page.add(documents[ordinal]);
+                }
+            }
+        }
+        return new ProductSearchResult(page, total, facetCounts);
+    }
+
+    private static void and(long[] target, long[] mask) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] &= mask[i];
+        }
+    }
+
+    private static int wordCount(int ordinals) {
+        return (ordinals + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * Posting list of ascending ordinals: a sorted int array while sparse, a bitmap once denser than one in 32.
+     */
+    private static final class Postings {
+        private static final int MIN_BITMAP_SIZE = 64;
+
+        private int[] values = new int[4];
+        private long[] bitmap;
+        private int size;
+
+        private void add(int ordinal) {
+            if (bitmap != null) {
+                int word = ordinal >>> 6;
+                if (word >= bitmap.length) bitmap = Arrays.copyOf(bitmap, Math.max(word + 1, bitmap.length * 2));
+                bitmap[word] |= 1L << ordinal;
+                return;
+            }
+            if (size == values.length) {
+                if (size >= MIN_BITMAP_SIZE && size > ordinal >>> 5) {
+                    toBitmap(ordinal);
+                    add(ordinal);
+                    return;
+                }
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = ordinal;
+        }
+
+        private void toBitmap(int nextOrdinal) {
+            bitmap = new long[wordCount(nextOrdinal + 1)];
+            for (int i = 0; i < size; i++) {
+                bitmap[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+            size = 0;
+        }
+
+        private void orInto(long[] mask) {
+            if (bitmap != null) {
+                for (int i = 0; i < Math.min(bitmap.length, mask.length); i++) {
+                    mask[i] |= bitmap[i];
+                }
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                mask[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+
+        private long countIn(long[] mask) {
+            long count = 0;
+            if (bitmap != null) {
+                for (int i = 0; i < Math.min(bitmap.length, mask.length); i++) {
+                    count += Long.bitCount(bitmap[i] & mask[i]);
+                }
+                return count;
+            }
+            for (int i = 0; i < size; i++) {
+                if ((mask[values[i] >>> 6] & 1L << values[i]) != 0) count++;
+            }
+            return count;
+        }
+
+        private void forEach(IntConsumer action) {
+            if (bitmap != null) {
+                for (int i = 0; i < bitmap.length; i++) {
+                    long word = bitmap[i];
+                    while (word != 0) {
+                        action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                action.accept(values[i]);
+            }
+        }
+    }
+}
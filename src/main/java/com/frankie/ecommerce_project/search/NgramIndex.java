@@ -0,0 +1,317 @@
+package com.frankie.ecommerce_project.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram inverted index answering substring ("contains") queries with relevance ordering.
+ * <p>
+ * Every document gets an ordinal in insertion order, so each posting list is an append-only sorted int array.
+ * A query is answered by intersecting the posting lists of its trigrams and verifying the candidates with
+ * {@link String#contains}, which gives exactly the matches of {@code LIKE '%query%'}. Queries shorter than a
+ * trigram scan the stored texts. Text is folded like MySQL's {@code utf8mb4_0900_ai_ci} collation: lower case
+ * with accents removed.
+ * <p>
+ * Updates and removals leave a tombstone at the old ordinal; the index is compacted once tombstones outnumber
+ * live documents. Reads share a read lock, writes take the write lock.
+ */
+public class NgramIndex {
+    private static final int GRAM_SIZE = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_START = 2;
+    private static final int INFIX = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinalsById = new HashMap<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private int nextOrdinal;
+    private int tombstones;
+
+    /**
+     * Adds a document or replaces its text.
+     *
+     * @param id   Document ID
+     * @param text Searchable text; a null text removes the document
+     */
+    public void put(String id, String text) {
+        lock.writeLock().lock();
+        try {
+            putLocked(id, text, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a document unless it is already indexed. Used by the initial load, so that a document
+     * updated while the load was running keeps its newer text.
+     *
+     * @param id   Document ID
+     * @param text Searchable text
+     */
+    public void putIfAbsent(String id, String text) {
+        lock.writeLock().lock();
+        try {
+            putLocked(id, text, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     *
+     * @return Number of live documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents whose text contains the query, most relevant first: exact matches, then prefix
+     * matches, then matches at the start of a word, then any other match; ties are broken by match position,
+     * text length and insertion order.
+     *
+     * @param query  Text to search for
+     * @param offset Number of matches to skip
+     * @param limit  Maximum number of matches to return
+     * @return IDs of the requested matches and the total number of matches
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        String normalizedQuery = normalize(query);
+        int wanted = offset + limit;
+        TopKeys best = new TopKeys(wanted);
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = findCandidates(normalizedQuery);
+            int count = candidates == null ? nextOrdinal : candidates.length;
+            for (int i = 0; i < count; i++) {
+                int ordinal = candidates == null ? i : candidates[i];
+                String text = texts[ordinal];
+                if (text == null) continue;
+                int position = text.indexOf(normalizedQuery);
+                if (position < 0) continue;
+                total++;
+                best.offer(rankKey(text, normalizedQuery, position, ordinal));
+            }
+
+            long[] keys = best.sorted();
+            List<String> page = new ArrayList<>(Math.max(0, keys.length - offset));
+            for (int i = offset; i < keys.length; i++) {
+                page.add(ids[(int) (keys[i] & Integer.MAX_VALUE)]);
+            }
+            return new SearchResult(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Folds text for indexing and querying: accents removed, lower case.
+     *
+     * @param text Text to fold
+     * @return Folded text
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private void putLocked(String id, String text, boolean replace) {
+        Integer existing = ordinalsById.get(id);
+        if (existing != null && !replace) return;
+        if (text == null) {
+            removeLocked(id);
+            return;
+        }
+        String normalized = normalize(text);
+        if (existing != null) {
+            if (normalized.equals(texts[existing])) return;
+            removeLocked(id);
+        }
+        append(id, normalized);
+        compactIfNeeded();
+    }
+
+    private void append(String id, String normalized) {
+        if (nextOrdinal == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            texts = Arrays.copyOf(texts, texts.length * 2);
+        }
+        int ordinal = nextOrdinal++;
+        ids[ordinal] = id;
+        texts[ordinal] = normalized;
+        ordinalsById.put(id, ordinal);
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, key -> new IntList()).add(ordinal);
+        }
+    }
+
+    private void removeLocked(String id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) return;
+        ids[ordinal] = null;
+        texts[ordinal] = null;
+        tombstones++;
+    }
+
+    /**
+     * Rebuilds the index without tombstones once they outnumber the live documents.
+     */
+    private void compactIfNeeded() {
+        if (tombstones < INITIAL_CAPACITY || tombstones < ordinalsById.size()) return;
+        String[] oldIds = ids;
+        String[] oldTexts = texts;
+        int oldSize = nextOrdinal;
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, ordinalsById.size())) * 2);
+        ids = new String[capacity];
+        texts = new String[capacity];
+        nextOrdinal = 0;
+        tombstones = 0;
+        ordinalsById.clear();
+        postings.clear();
+        for (int ordinal = 0; ordinal < oldSize; ordinal++) {
+            if (oldIds[ordinal] != null) append(oldIds[ordinal], oldTexts[ordinal]);
+        }
+    }
+
+    /**
+     * Intersects the posting lists of the query's trigrams.
+     *
+     * @param normalizedQuery Folded query
+     * @return Sorted candidate ordinals, or null if the query is too short to use the index
+     */
+    private int[] findCandidates(String normalizedQuery) {
+        Set<String> grams = grams(normalizedQuery);
+        if (grams.isEmpty()) return null;
+        List<IntList> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            IntList list = postings.get(gram);
+            if (list == null) return new int[0];
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists.get(0).values, lists.get(0).size);
+        int resultSize = result.length;
+        for (int i = 1; i < lists.size() && resultSize > 0; i++) {
+            resultSize = intersect(result, resultSize, lists.get(i));
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Keeps in {@code result} only the ordinals also present in {@code other}.
+     *
+     * @param result     Sorted ordinals, intersected in place
+     * @param resultSize Number of valid entries in {@code result}
+     * @param other      Sorted posting list
+     * @return Number of valid entries after the intersection
+     */
+    private static int intersect(int[] result, int resultSize, IntList other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < resultSize && j < other.size; i++) {
+            int ordinal = result[i];
+            while (j < other.size && other.values[j] < ordinal) j++;
+            if (j < other.size && other.values[j] == ordinal) result[kept++] = ordinal;
+        }
+        return kept;
+    }
+
+    private static Set<String> grams(String normalized) {
+        if (normalized.length() < GRAM_SIZE) return Collections.emptySet();
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    /**
+     * Packs the relevance of a match into a sortable key, lower is better: match kind (2 bits),
+     * position (14 bits), text length (16 bits) and ordinal (31 bits).
+     */
+    private static long rankKey(String text, String query, int position, int ordinal) {
+        int kind;
+        if (position == 0) {
+            kind = text.length() == query.length() ? EXACT : PREFIX;
+        } else {
+            kind = Character.isLetterOrDigit(text.charAt(position - 1)) ? INFIX : WORD_START;
+        }
+        return ((long) kind << 61)
+                | ((long) Math.min(position, 0x3FFF) << 47)
+                | ((long) Math.min(text.length(), 0xFFFF) << 31)
+                | ordinal;
+    }
+
+    /**
+     * Keeps the {@code k} smallest keys offered, as a binary max-heap over a primitive array.
+     */
+    private static final class TopKeys {
+        private final long[] heap;
+        private int size;
+
+        private TopKeys(int k) {
+            this.heap = new long[k];
+        }
+
+        private void offer(long key) {
+            if (size < heap.length) {
+                int i = size++;
+                while (i > 0 && heap[(i - 1) / 2] < key) {
+                    heap[i] = heap[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                heap[i] = key;
+            } else if (size > 0 && key < heap[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+                    if (heap[child] <= key) break;
+                    heap[i] = heap[child];
+                    i = child;
+                }
+                heap[i] = key;
+            }
+        }
+
+        private long[] sorted() {
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+            return keys;
+        }
+    }
+
+    /**
+     * Growable array of ordinals in ascending order.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.frankie.ecommerce_project.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankie.ecommerce_project.model.Product;
+import com.frankie.ecommerce_project.model.ProductAttributeValue;
+import com.frankie.ecommerce_project.model.SkuProduct;
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import com.frankie.ecommerce_project.repository.ProductAttributeIndexRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Maintains the {@code product_attribute_values} side table, which indexes the declared attribute keys of the
+ * product and SKU JSON columns.
+ * <p>
+ * Only the keys listed in {@code app.product.attributes.indexedKeys} are extracted; other attributes stay in the
+ * JSON columns only. A text or boolean value becomes a lower-case {@code value_string} row, a number becomes a
+ * {@code value_number} row, and each element of an array becomes its own row. Product writes call
+ * {@link #indexProducts} and {@link #indexSkus} in their transaction, so the side table commits with them. After
+ * changing the declared keys, or to index data written before the side table existed, run {@link #rebuild} (set
+ * {@code app.product.attributes.rebuildOnStartup=true} to run it at startup).
+ * <p>
+ * {@code sku_specs} has no link to a product or SKU, so its specifications are not indexed.
+ */
+@Component
+@Slf4j
+public class ProductAttributeIndex {
+    private static final int MAX_VALUE_LENGTH = 255;
+    private static final String SELECT_PRODUCT_PAGE = "SELECT id, product_attrs FROM products WHERE id > ? "
+            + "ORDER BY id LIMIT ?";
+    private static final String SELECT_SKU_PAGE = "SELECT a.sku_id, a.sku_attrs, "
+            + "(SELECT MIN(j.product_id) FROM spu_to_sku j WHERE j.sku_id = a.sku_id) AS product_id "
+            + "FROM sku_attributes a WHERE a.sku_id > ? ORDER BY a.sku_id LIMIT ?";
+
+    private final ProductAttributeIndexRepository productAttributeIndexRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<String> indexedKeys;
+    private final boolean rebuildOnStartup;
+    private final int rebuildBatchSize;
+
+    /**
+     * Constructs ProductAttributeIndex with required dependencies and configuration.
+     *
+     * @param productAttributeIndexRepository Repository writing the side table
+     * @param jdbcTemplate                    JDBC template reading the JSON columns during a rebuild
+     * @param transactionTemplate             Transaction template committing one rebuild page at a time
+     * @param objectMapper                    Mapper parsing the attribute JSON
+     * @param indexedKeys                     Attribute keys to index, case-insensitive
+     * @param rebuildOnStartup                Whether the side table is rebuilt once the application is ready
+     * @param rebuildBatchSize                Number of products or SKUs per rebuild page
+     */
+    public ProductAttributeIndex(ProductAttributeIndexRepository productAttributeIndexRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.product.attributes.indexedKeys:color,size,brand,material,weight}")
+                                 List<String> indexedKeys,
+                                 @Value("${app.product.attributes.rebuildOnStartup:false}") boolean rebuildOnStartup,
+                                 @Value("${app.product.attributes.rebuildBatchSize:1000}") int rebuildBatchSize) {
+        this.productAttributeIndexRepository = productAttributeIndexRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.indexedKeys = new HashSet<>();
+        for (String key : indexedKeys) {
+            if (!key.isBlank()) this.indexedKeys.add(normalize(key));
+        }
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * Normalizes an attribute key or text value the way the side table stores it.
+     *
+     * @param value Key or value
+     * @return Trimmed lower-case value
+     */
+    public static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns whether an attribute key is indexed.
+     *
+     * @param key Attribute key, case-insensitive
+     * @return true if filters on the key can use the side table
+     */
+    public boolean isIndexed(String key) {
+        return indexedKeys.contains(normalize(key));
+    }
+
+    /**
+     * Replaces the product-level values of products. Runs in the caller's transaction.
+     *
+     * @param products Products with their ID and attribute JSON
+     */
+    public void indexProducts(Collection<Product> products) {
+        if (products.isEmpty()) return;
+        List<ProductAttributeValue> values = new ArrayList<>();
+        for (Product product : products) {
+            values.addAll(extract(product.getId(), null, product.getProductAttrs()));
+        }
+        productAttributeIndexRepository.deleteProductValues(products.stream().map(Product::getId).toList());
+        productAttributeIndexRepository.insert(values);
+    }
+
+    /**
+     * Replaces the values of SKUs. Runs in the caller's transaction. A SKU is indexed under the first product in
+     * {@link SkuProduct#getProducts()}; SKUs without a product or attribute row are only cleared.
+     *
+     * @param skus SKUs with their ID, product and attribute row
+     */
+    public void indexSkus(Collection<SkuProduct> skus) {
+        if (skus.isEmpty()) return;
+        List<ProductAttributeValue> values = new ArrayList<>();
+        for (SkuProduct sku : skus) {
+            if (sku.getProducts() == null || sku.getProducts().isEmpty() || sku.getSkuAttr() == null) continue;
+            values.addAll(extract(sku.getProducts().get(0).getId(), sku.getId(), sku.getSkuAttr().getSkuAttrs()));
+        }
+        productAttributeIndexRepository.deleteSkuValues(skus.stream().map(SkuProduct::getId).toList());
+        productAttributeIndexRepository.insert(values);
+    }
+
+    /**
+     * Rebuilds the side table from the JSON columns if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAtStartup() {
+        if (rebuildOnStartup) rebuild();
+    }
+
+    /**
+     * Rebuilds the side table from the JSON columns, one page of products or SKUs per transaction. Filters see
+     * partial results while the rebuild runs.
+     *
+     * @return Number of values indexed
+     */
+    public long rebuild() {
+        long startedAt = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> productAttributeIndexRepository.deleteAll());
+        long indexed = rebuildPages(SELECT_PRODUCT_PAGE, true) + rebuildPages(SELECT_SKU_PAGE, false);
+        log.info("Rebuilt the product attribute index with {} values in {} ms", indexed,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return indexed;
+    }
+
+    private long rebuildPages(String sql, boolean products) {
+        long indexed = 0;
+        byte[] afterId = UuidBinaryJavaType.toBytes(UuidBinaryJavaType.MIN_ID);
+        while (true) {
+            List<byte[]> ids = new ArrayList<>(rebuildBatchSize);
+            List<ProductAttributeValue> values = new ArrayList<>();
+            jdbcTemplate.query(sql, rs -> {
+                ids.add(rs.getBytes(1));
+                String ownerId = UuidBinaryJavaType.fromBytes(rs.getBytes(1));
+                if (products) {
+                    values.addAll(extract(ownerId, null, rs.getString(2)));
+                } else if (rs.getBytes(3) != null) {
+                    values.addAll(extract(UuidBinaryJavaType.fromBytes(rs.getBytes(3)), ownerId, rs.getString(2)));
+                }
+            }, afterId, rebuildBatchSize);
+            if (ids.isEmpty()) return indexed;
+            transactionTemplate.executeWithoutResult(status -> productAttributeIndexRepository.insert(values));
+            indexed += values.size();
+            if (ids.size() < rebuildBatchSize) return indexed;
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Extracts the values of the indexed keys from an attribute JSON object.
+     *
+     * @param productId Product the values belong to
+     * @param skuId     SKU the values belong to, or null for product attributes
+     * @param json      Attribute JSON object; null, malformed or non-object JSON yields no values
+     * @return Values with new IDs
+     */
+    public List<ProductAttributeValue> extract(String productId, String skuId, String json) {
+        JsonNode attributes = parseAttributes(objectMapper, json);
+        if (attributes == null || !attributes.isObject()) return List.of();
+        List<ProductAttributeValue> values = new ArrayList<>();
+        attributes.fields().forEachRemaining(field -> {
+            String key = normalize(field.getKey());
+            if (!indexedKeys.contains(key)) return;
+            if (field.getValue().isArray()) {
+                field.getValue().forEach(element -> addValue(values, productId, skuId, key, element));
+            } else {
+                addValue(values, productId, skuId, key, field.getValue());
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Parses an attribute JSON column. Malformed JSON is logged and skipped rather than failing the caller.
+     *
+     * @param objectMapper Mapper parsing the JSON
+     * @param json         Column value, or null
+     * @return Parsed attributes, or null if the value is empty or malformed
+     */
+    static JsonNode parseAttributes(ObjectMapper objectMapper, String json) {
+        if (json == null || json.isBlank()) return null;
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            // Some drivers return a JSON column written as a string as a quoted JSON string.
+            return node.isTextual() ? objectMapper.readTree(node.textValue()) : node;
+        } catch (JsonProcessingException e) {
+            log.debug("Skipping malformed attribute JSON: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static void addValue(List<ProductAttributeValue> values, String productId, String skuId, String key,
+                                 JsonNode value) {
+        ProductAttributeValue.ProductAttributeValueBuilder row = ProductAttributeValue.builder()
+                .id(EntityIds.next())
+                .productId(productId)
+                .skuId(skuId)
+                .attrKey(key);
+        if (value.isNumber()) {
+            values.add(row.valueNumber(value.doubleValue()).build());
+        } else if (value.isTextual() || value.isBoolean()) {
+            String text = normalize(value.asText());
+            if (text.isEmpty()) return;
+            values.add(row.valueString(text.length() <= MAX_VALUE_LENGTH ? text : text.substring(0, MAX_VALUE_LENGTH))
+                    .build());
+        }
+    }
+}
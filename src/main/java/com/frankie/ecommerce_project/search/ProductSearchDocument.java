@@ -0,0 +1,51 @@
+package com.frankie.ecommerce_project.search;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One product as indexed by {@link FacetedProductIndex}: its searchable text, facet values and SKU prices.
+ */
+@Getter
+public class ProductSearchDocument {
+    private final String id;
+    private final String name;
+    private final String description;
+    private final Map<String, Set<String>> facets;
+    private final long[] prices;
+
+    /**
+     * Constructs a ProductSearchDocument.
+     *
+     * @param id          Product ID
+     * @param name        Product name
+     * @param description Product description, or null
+     * @param facets      Normalized facet values by facet key, from the product and all of its SKUs
+     * @param prices      Prices of its SKUs in cents, in any order
+     */
+    public ProductSearchDocument(String id, String name, String description, Map<String, Set<String>> facets,
+                                 long[] prices) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.facets = facets;
+        this.prices = prices.clone();
+        Arrays.sort(this.prices);
+    }
+
+    /**
+     * Returns whether one of the SKU prices lies within a range.
+     *
+     * @param min Lower bound in cents, inclusive, or null
+     * @param max Upper bound in cents, inclusive, or null
+     * @return true if a SKU price matches
+     */
+    public boolean hasPriceBetween(Long min, Long max) {
+        int from = min == null ? 0 : Arrays.binarySearch(prices, min);
+        if (from < 0) from = -from - 1;
+        return from < prices.length && (max == null || prices[from] <= max);
+    }
+}
@@ -0,0 +1,255 @@
+package com.frankie.ecommerce_project.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import com.frankie.ecommerce_project.repository.ProductSearchRepository;
+import com.frankie.ecommerce_project.utils.Prices;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Faceted search over products, answered by a {@link FacetedProductIndex}.
+ * <p>
+ * The facets are the attribute keys in {@code app.search.products.facetKeys}, read from the product attribute JSON
+ * and the attribute JSON of all its SKUs; brand and category are attribute keys like any other. The index is
+ * loaded in the background once the application is ready, then product writes call {@link #reindex}, which
+ * re-reads the written products after the transaction commits. Until the load has finished, {@link #search}
+ * returns an empty Optional. A failed load is retried, waiting twice as long after each failure up to
+ * {@link #MAX_LOAD_RETRY_DELAY}.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+    private static final String THREAD_NAME_PREFIX = "search-index-";
+    private static final Duration MAX_LOAD_RETRY_DELAY = Duration.ofMinutes(5);
+
+    private final ProductSearchRepository productSearchRepository;
+    private final ObjectMapper objectMapper;
+    private final FacetedProductIndex index;
+    private final boolean enabled;
+    private final List<String> facetKeys;
+    private final int loadBatchSize;
+    private final Duration loadRetryDelay;
+    private final ThreadPoolTaskScheduler loader;
+    private volatile boolean ready;
+
+    /**
+     * Constructs ProductSearchIndex with required dependencies and configuration.
+     *
+     * @param productSearchRepository Repository the products are read from
+     * @param objectMapper            Mapper parsing the attribute JSON
+     * @param enabled                 Whether the index is loaded and searched
+     * @param facetKeys               Attribute keys offered as facets, case-insensitive
+     * @param maxFacetValues          Maximum number of values counted per facet
+     * @param loadBatchSize           Number of products read per batch during the initial load
+     * @param loadRetryDelay          Time to wait before retrying the first failed load
+     */
+    public ProductSearchIndex(ProductSearchRepository productSearchRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${app.search.enabled:true}") boolean enabled,
+                              @Value("${app.search.products.facetKeys:brand,category,color,size,material}")
+                              List<String> facetKeys,
+                              @Value("${app.search.products.maxFacetValues:20}") int maxFacetValues,
+                              @Value("${app.search.products.loadBatchSize:1000}") int loadBatchSize,
+                              @Value("${app.search.products.loadRetryDelay:PT5S}") Duration loadRetryDelay) {
+        this.productSearchRepository = productSearchRepository;
+        this.objectMapper = objectMapper;
+        this.index = new FacetedProductIndex(maxFacetValues);
+        this.enabled = enabled;
+        this.facetKeys = facetKeys.stream().filter(key -> !key.isBlank()).map(ProductAttributeIndex::normalize)
+                .distinct().toList();
+        this.loadBatchSize = loadBatchSize;
+        this.loadRetryDelay = loadRetryDelay;
+        this.loader = createLoader();
+    }
+
+    /**
+     * Starts loading the index in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        if (!enabled) return;
+        loader.execute(() -> loadOrRetry(loadRetryDelay));
+    }
+
+    /**
+     * Stops the loader, cancelling a pending retry.
+     */
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdown();
+    }
+
+    /**
+     * Loads the index, and schedules another attempt if the load fails.
+     *
+     * @param retryDelay Time to wait before the next attempt
+     */
+    private void loadOrRetry(Duration retryDelay) {
+        if (load()) return;
+        Duration nextDelay = retryDelay.multipliedBy(2).compareTo(MAX_LOAD_RETRY_DELAY) < 0
+                ? retryDelay.multipliedBy(2)
+                : MAX_LOAD_RETRY_DELAY;
+        log.warn("Retrying to load {} in {} ms", getClass().getSimpleName(), retryDelay.toMillis());
+        loader.schedule(() -> loadOrRetry(nextDelay), Instant.now().plus(retryDelay));
+    }
+
+    /**
+     * Loads every product into the index in ID order, one batch at a time. Products already indexed are kept, so a
+     * load can be repeated after a failure without undoing updates made since.
+     *
+     * @return True if the index is loaded
+     */
+    public boolean load() {
+        long startedAt = System.nanoTime();
+        try {
+            String afterId = UuidBinaryJavaType.MIN_ID;
+            List<ProductSearchRepository.ProductRow> batch;
+            do {
+                batch = productSearchRepository.findPage(afterId, loadBatchSize);
+                for (ProductSearchRepository.ProductRow row : batch) {
+                    index.putIfAbsent(toDocument(row));
+                }
+                if (!batch.isEmpty()) afterId = batch.get(batch.size() - 1).id();
+            } while (batch.size() == loadBatchSize);
+            ready = true;
+            log.info("{} loaded {} products in {} ms", getClass().getSimpleName(), index.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("{} failed to load, product search is unavailable", getClass().getSimpleName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether the initial load has finished, so that searches are answered.
+     *
+     * @return True once the index is loaded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the attribute keys offered as facets.
+     *
+     * @return Normalized facet keys
+     */
+    public List<String> getFacetKeys() {
+        return facetKeys;
+    }
+
+    /**
+     * Re-reads products and their SKUs into the index once the surrounding transaction commits, or immediately
+     * without a transaction. Products that no longer exist are removed.
+     *
+     * @param productIds IDs of the created, updated or deleted products
+     */
+    public void reindex(Collection<String> productIds) {
+        if (!enabled || productIds.isEmpty()) return;
+        Set<String> ids = new HashSet<>(productIds);
+        afterCommit(() -> {
+            try {
+                Set<String> missing = new HashSet<>(ids);
+                for (ProductSearchRepository.ProductRow row : productSearchRepository.findByIds(ids)) {
+                    index.put(toDocument(row));
+                    missing.remove(row.id());
+                }
+                missing.forEach(index::remove);
+            } catch (RuntimeException e) {
+                log.warn("Could not update {} products in the search index", ids.size(), e);
+            }
+        });
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query Search query
+     * @return Page of matching products with facet counts, or empty if the index is disabled or still loading
+     */
+    public Optional<ProductSearchResult> search(ProductSearchQuery query) {
+        if (!ready) return Optional.empty();
+        return Optional.of(index.search(query));
+    }
+
+    /**
+     * Builds the indexed document of a product: facet values from its attributes and those of its SKUs, and the
+     * SKU prices in cents.
+     *
+     * @param row Product with its SKUs
+     * @return Search document
+     */
+    public ProductSearchDocument toDocument(ProductSearchRepository.ProductRow row) {
+        Map<String, Set<String>> facets = new HashMap<>();
+        addFacetValues(facets, row.attributes());
+        long[] prices = new long[row.skus().size()];
+        int priceCount = 0;
+        for (ProductSearchRepository.SkuRow sku : row.skus()) {
+            addFacetValues(facets, sku.attributes());
+            if (sku.price() != null) prices[priceCount++] = Prices.toCents(sku.price());
+        }
+        return new ProductSearchDocument(row.id(), row.name(), row.description(), facets,
+                Arrays.copyOf(prices, priceCount));
+    }
+
+    private void addFacetValues(Map<String, Set<String>> facets, String json) {
+        JsonNode attributes = ProductAttributeIndex.parseAttributes(objectMapper, json);
+        if (attributes == null || !attributes.isObject()) return;
+        attributes.fields().forEachRemaining(field -> {
+            String key = ProductAttributeIndex.normalize(field.getKey());
+            if (!facetKeys.contains(key)) return;
+            if (field.getValue().isArray()) {
+                field.getValue().forEach(element -> addFacetValue(facets, key, element));
+            } else {
+                addFacetValue(facets, key, field.getValue());
+            }
+        });
+    }
+
+    private static void addFacetValue(Map<String, Set<String>> facets, String key, JsonNode value) {
+        if (!value.isValueNode() || value.isNull()) return;
+        String text = ProductAttributeIndex.normalize(value.asText());
+        if (!text.isEmpty()) facets.computeIfAbsent(key, k -> new HashSet<>()).add(text);
+    }
+
+    private static ThreadPoolTaskScheduler createLoader() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * Runs an index update after the surrounding transaction commits, or immediately without a transaction.
+     *
+     * @param action Index update
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.frankie.ecommerce_project.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Query against {@link FacetedProductIndex}. Every restriction is optional; an empty query matches all products.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class ProductSearchQuery {
+    /**
+     * Words that must all occur in the name or description; the last word also matches as a prefix.
+     */
+    private final String text;
+    /**
+     * Accepted normalized values by facet key. A product must match one value of every key.
+     */
+    private final Map<String, Set<String>> filters;
+    /**
+     * Lower bound of a SKU price in cents, inclusive, or null.
+     */
+    private final Long minPrice;
+    /**
+     * Upper bound of a SKU price in cents, inclusive, or null.
+     */
+    private final Long maxPrice;
+    /**
+     * Facet keys to count values for.
+     */
+    private final List<String> facetKeys;
+    private final int offset;
+    private final int limit;
+}
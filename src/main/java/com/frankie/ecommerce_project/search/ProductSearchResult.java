@@ -0,0 +1,21 @@
+package com.frankie.ecommerce_project.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of product search hits with the total number of matches and the facet counts of all matches.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductSearchResult {
+    private final List<ProductSearchDocument> documents;
+    private final long total;
+    /**
+     * Counts by facet key, then by value, most frequent values first.
+     */
+    private final Map<String, Map<String, Long>> facets;
+}
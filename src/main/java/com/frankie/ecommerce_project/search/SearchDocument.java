@@ -0,0 +1,14 @@
+package com.frankie.ecommerce_project.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * ID and searchable text of one row, as read by the initial index load.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchDocument {
+    private final String id;
+    private final String text;
+}
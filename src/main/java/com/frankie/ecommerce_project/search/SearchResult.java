@@ -0,0 +1,33 @@
+package com.frankie.ecommerce_project.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of search hits: document IDs in relevance order and the total number of matches.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchResult {
+    private final List<String> ids;
+    private final long total;
+
+    /**
+     * Puts entities loaded for this page back into relevance order, skipping IDs that no longer exist.
+     *
+     * @param entities Entities loaded by ID, in any order
+     * @param idOf     Function returning an entity's ID
+     * @param <T>      Entity type
+     * @return Entities in relevance order
+     */
+    public <T> List<T> orderByRelevance(List<T> entities, Function<T, String> idOf) {
+        Map<String, T> entitiesById = entities.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream().map(entitiesById::get).filter(Objects::nonNull).toList();
+    }
+}
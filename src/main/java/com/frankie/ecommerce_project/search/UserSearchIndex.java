@@ -0,0 +1,47 @@
+package com.frankie.ecommerce_project.search;
+
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search index over user emails.
+ */
+@Component
+public class UserSearchIndex extends EntitySearchIndex<User> {
+
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs UserSearchIndex with required dependencies and load configuration.
+     *
+     * @param userRepository Repository the index is loaded from
+     * @param enabled        Whether searches use the index
+     * @param loadBatchSize  Number of rows read per query during the initial load
+     */
+    public UserSearchIndex(UserRepository userRepository,
+                           @Value("${app.search.enabled:true}") boolean enabled,
+                           @Value("${app.search.loadBatchSize:10000}") int loadBatchSize) {
+        super(enabled, loadBatchSize);
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    protected List<SearchDocument> loadBatch(String afterId, Limit limit) {
+        return userRepository.findSearchDocuments(afterId, limit);
+    }
+
+    @Override
+    protected String idOf(User user) {
+        return user.getId();
+    }
+
+    @Override
+    protected String textOf(User user) {
+        return user.getEmail();
+    }
+}
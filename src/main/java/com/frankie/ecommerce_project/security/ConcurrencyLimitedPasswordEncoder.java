@@ -0,0 +1,55 @@
+package com.frankie.ecommerce_project.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Password encoder allowing only a fixed number of hash computations at a time.
+ * <p>
+ * BCrypt is pure CPU work. With platform threads the Tomcat pool bounds how many logins hash at once; with
+ * virtual threads every request gets its own thread, and a burst of logins would occupy all carrier threads
+ * and stall every other request. Callers beyond the limit park cheaply until a permit is free.
+ */
+public class ConcurrencyLimitedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+
+    /**
+     * Constructs ConcurrencyLimitedPasswordEncoder around another encoder.
+     *
+     * @param delegate       Encoder doing the hashing
+     * @param maxConcurrency Maximum number of concurrent hash computations
+     */
+    public ConcurrencyLimitedPasswordEncoder(PasswordEncoder delegate, int maxConcurrency) {
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return withPermit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return withPermit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T withPermit(Supplier<T> hashing) {
+        permits.acquireUninterruptibly();
+        try {
+            return hashing.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
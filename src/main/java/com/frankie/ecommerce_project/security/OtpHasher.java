@@ -0,0 +1,110 @@
+package com.frankie.ecommerce_project.security;
+
+import com.nimbusds.jose.util.Base64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * Hashes one-time passwords with a keyed HMAC-SHA256 instead of the password encoder.
+ * OTPs are short-lived and attempt-limited, so a slow adaptive hash only burns CPU; the server-side
+ * pepper keeps the small code space from being brute-forced offline if the table leaks.
+ * <p>
+ * Hashes are stored as {@code $hmac-sha256$<salt>$<mac>}. Any other stored value is treated as a legacy
+ * password-encoder hash, so codes issued before the switch can still be verified until they expire.
+ */
+@Component
+public class OtpHasher {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String PREFIX = "$hmac-sha256$";
+    private static final int SALT_LENGTH = 16;
+    private static final byte[] DOMAIN = "otp:".getBytes(StandardCharsets.UTF_8);
+    private static final int MIN_PEPPER_LENGTH = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final PasswordEncoder legacyEncoder;
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Constructs OtpHasher with the pepper and the encoder used for legacy hashes.
+     *
+     * @param pepper        Base64 server-side secret of at least 32 bytes, distinct from the token signing keys
+     * @param legacyEncoder Password encoder that produced OTP hashes before HMAC hashing was introduced
+     * @throws IllegalStateException If the pepper is missing or shorter than 32 bytes
+     */
+    public OtpHasher(@Value("${app.otpPepper:}") String pepper,
+                     PasswordEncoder legacyEncoder) {
+        if (pepper == null || pepper.isBlank()) {
+            throw new IllegalStateException("app.otpPepper must be configured");
+        }
+        byte[] pepperBytes = Base64.from(pepper.trim()).decode();
+        if (pepperBytes.length < MIN_PEPPER_LENGTH) {
+            throw new IllegalStateException("app.otpPepper must decode to at least " + MIN_PEPPER_LENGTH + " bytes");
+        }
+        this.legacyEncoder = legacyEncoder;
+        SecretKeySpec key = new SecretKeySpec(pepperBytes, HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize OTP hasher", e);
+            }
+        });
+    }
+
+    /**
+     * Hashes an OTP with a fresh random salt.
+     *
+     * @param otp Plain OTP
+     * @return Encoded hash to store
+     */
+    public String hash(String otp) {
+        byte[] salt = new byte[SALT_LENGTH];
+        secureRandom.nextBytes(salt);
+        return PREFIX + Base64.encode(salt) + "$" + Base64.encode(computeMac(salt, otp));
+    }
+
+    /**
+     * Verifies an OTP against a stored hash in constant time, falling back to the legacy encoder
+     * for hashes that were not produced by this hasher.
+     *
+     * @param otp        Plain OTP submitted by the user
+     * @param storedHash Stored hash
+     * @return True if the OTP matches
+     */
+    public boolean matches(String otp, String storedHash) {
+        if (otp == null || storedHash == null) return false;
+        if (!storedHash.startsWith(PREFIX)) {
+            return legacyEncoder.matches(otp, storedHash);
+        }
+        String[] parts = storedHash.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 2) return false;
+        byte[] expected = new Base64(parts[1]).decode();
+        byte[] actual = computeMac(new Base64(parts[0]).decode(), otp);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    /**
+     * Computes the HMAC of the salt and OTP.
+     *
+     * @param salt Random salt
+     * @param otp  Plain OTP
+     * @return MAC bytes
+     */
+    private byte[] computeMac(byte[] salt, String otp) {
+        Mac instance = mac.get();
+        instance.update(DOMAIN);
+        instance.update(salt);
+        return instance.doFinal(otp.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,53 @@
+package com.frankie.ecommerce_project.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder recording the duration of every hash computation in the {@code app.password.hash} timer,
+ * tagged with the operation ({@code encode} or {@code matches}). Wrapped around the outermost encoder, so the
+ * time includes any wait for a hashing permit.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    public static final String METRIC_NAME = "app.password.hash";
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    /**
+     * Constructs TimedPasswordEncoder around another encoder.
+     *
+     * @param delegate      Encoder doing the hashing
+     * @param meterRegistry Registry the timers are registered in
+     */
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = timer(meterRegistry, "encode");
+        this.matchesTimer = timer(meterRegistry, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(METRIC_NAME)
+                .description("Password hash computations")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,201 @@
+package com.frankie.ecommerce_project.security.authority;
+
+import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.repository.PermissionRepository;
+import com.frankie.ecommerce_project.repository.RoleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Registry assigning every permission a bit index so that the permissions of a token can be carried
+ * as a compact bitmap claim and expanded into authorities without any I/O.
+ * <p>
+ * The registry version is a fingerprint of the permission list and of the role-permission assignments,
+ * so every node computes the same version for the same data. Any role or permission change produces a new
+ * version, and tokens carrying an older version fall back to the role ID lookup.
+ */
+@Component
+public class PermissionBitsetRegistry {
+
+    private final PermissionRepository permissionRepository;
+    private final RoleRepository roleRepository;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    /**
+     * Constructs PermissionBitsetRegistry with required dependencies and configuration.
+     *
+     * @param permissionRepository Repository used to build the permission to bit index mapping
+     * @param roleRepository       Repository used to build the role bitmaps
+     * @param enabled              Whether access tokens carry the permission bitmap claim
+     * @param refreshMinutes       Interval in minutes after which the registry is rebuilt from the database
+     */
+    public PermissionBitsetRegistry(PermissionRepository permissionRepository,
+                                    RoleRepository roleRepository,
+                                    @Value("${app.permissionBitset.enabled:false}") boolean enabled,
+                                    @Value("${app.permissionBitset.refreshMinutes:10}") long refreshMinutes) {
+        this.permissionRepository = permissionRepository;
+        this.roleRepository = roleRepository;
+        this.enabled = enabled;
+        this.refreshInterval = Duration.ofMinutes(refreshMinutes);
+    }
+
+    /**
+     * Indicates whether new access tokens should carry the permission bitmap claim.
+     *
+     * @return True if the bitmap token format is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the current registry version.
+     *
+     * @return Registry version
+     */
+    public String currentVersion() {
+        return getSnapshot().version();
+    }
+
+    /**
+     * Encodes the union of the permissions granted by the given roles as a base64url bitmap.
+     *
+     * @param roleIds IDs of the roles held by the user
+     * @return Encoded bitmap for the current registry version
+     */
+    public String encode(Collection<String> roleIds) {
+        Snapshot current = getSnapshot();
+        BitSet bits = new BitSet(current.authorities().length);
+        roleIds.forEach(roleId -> {
+            BitSet roleBits = current.roleBits().get(roleId);
+            if (roleBits != null) bits.or(roleBits);
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray());
+    }
+
+    /**
+     * Decodes a bitmap claim into authorities if it was issued for the current registry version.
+     *
+     * @param bitmap  Encoded bitmap claim
+     * @param version Registry version carried by the token
+     * @return Authorities for the bitmap, or empty if the claim is missing or its version is outdated
+     */
+    public Optional<List<GrantedAuthority>> decode(String bitmap, String version) {
+        if (bitmap == null || version == null) return Optional.empty();
+        Snapshot current = getSnapshot();
+        if (!current.version().equals(version)) return Optional.empty();
+
+        BitSet bits = BitSet.valueOf(Base64.getUrlDecoder().decode(bitmap));
+        if (bits.length() > current.authorities().length) return Optional.empty();
+        List<GrantedAuthority> authorities = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            authorities.add(current.authorities()[i]);
+        }
+        return Optional.of(Collections.unmodifiableList(authorities));
+    }
+
+    /**
+     * Marks the registry as outdated once the surrounding transaction commits, so that the next access
+     * rebuilds it and bumps the version.
+     */
+    public void invalidate() {
+        stale = true;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the current snapshot, rebuilding it when it is missing, invalidated or too old.
+     *
+     * @return Current registry snapshot
+     */
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !stale && current.builtAt().plus(refreshInterval).isAfter(Instant.now())) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || stale || !current.builtAt().plus(refreshInterval).isAfter(Instant.now())) {
+                stale = false;
+                current = buildSnapshot();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Builds a snapshot from the permission and role tables.
+     *
+     * @return New registry snapshot
+     */
+    private Snapshot buildSnapshot() {
+        List<Permission> permissions = permissionRepository.findAll(Sort.by("id"));
+        Map<String, Integer> bitIndexes = new HashMap<>();
+        GrantedAuthority[] authorities = new GrantedAuthority[permissions.size()];
+        StringBuilder fingerprint = new StringBuilder();
+        for (int i = 0; i < permissions.size(); i++) {
+            Permission permission = permissions.get(i);
+            bitIndexes.put(permission.getId(), i);
+            authorities[i] = new SimpleGrantedAuthority(permission.getName());
+            fingerprint.append(permission.getId()).append('=').append(permission.getName()).append(';');
+        }
+
+        List<Role> roles = new ArrayList<>(roleRepository.findAllWithPermissions());
+        roles.sort(Comparator.comparing(Role::getId));
+        Map<String, BitSet> roleBits = new HashMap<>();
+        for (Role role : roles) {
+            BitSet bits = new BitSet(permissions.size());
+            role.getPermissions().forEach(permission -> {
+                Integer index = bitIndexes.get(permission.getId());
+                if (index != null) bits.set(index);
+            });
+            roleBits.put(role.getId(), bits);
+            fingerprint.append(role.getId()).append(':').append(bits).append(';');
+        }
+        return new Snapshot(fingerprint(fingerprint.toString()), authorities, roleBits, Instant.now());
+    }
+
+    /**
+     * Computes a short, stable version string from the registry content.
+     *
+     * @param content Canonical registry content
+     * @return First 8 bytes of the SHA-256 digest, base64url encoded
+     */
+    private String fingerprint(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Snapshot(String version, GrantedAuthority[] authorities, Map<String, BitSet> roleBits,
+                            Instant builtAt) {
+    }
+}
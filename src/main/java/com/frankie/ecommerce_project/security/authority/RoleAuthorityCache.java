@@ -0,0 +1,122 @@
+package com.frankie.ecommerce_project.security.authority;
+
+import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.repository.RoleRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Bounded cache of role ID to the authorities (permission names) granted by that role.
+ * Used by the JWT authentication converter so that bearer tokens do not hit the database on every request.
+ * Hits, misses and load times are published as the {@code cache.*} meters of the {@code roleAuthorities} cache.
+ */
+@Component
+public class RoleAuthorityCache {
+
+    private final RoleRepository roleRepository;
+    private final Cache<String, List<GrantedAuthority>> cache;
+
+    /**
+     * Constructs RoleAuthorityCache with the role repository and cache bounds.
+     *
+     * @param roleRepository Repository used to load a role with its permissions on a cache miss
+     * @param meterRegistry  Registry the cache statistics are published to
+     * @param maximumSize    Maximum number of roles kept in the cache
+     * @param ttlMinutes     Time in minutes after which a cached entry is reloaded
+     */
+    public RoleAuthorityCache(RoleRepository roleRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.roleAuthorityCache.maximumSize:1000}") long maximumSize,
+                              @Value("${app.roleAuthorityCache.ttlMinutes:10}") long ttlMinutes) {
+        this.roleRepository = roleRepository;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .<String, List<GrantedAuthority>>build(), "roleAuthorities");
+    }
+
+    /**
+     * Resolves the distinct authorities granted by the given roles.
+     *
+     * @param roleIds IDs of the roles carried by the token
+     * @return Immutable list of distinct authorities
+     * @throws ResourceNotFoundException If one of the roles does not exist
+     */
+    public List<GrantedAuthority> resolveAuthorities(Collection<String> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) return Collections.emptyList();
+        if (roleIds.size() == 1) return getAuthorities(roleIds.iterator().next());
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+        roleIds.forEach(roleId -> authorities.addAll(getAuthorities(roleId)));
+        return List.copyOf(authorities);
+    }
+
+    /**
+     * Returns the authorities granted by a single role, loading them on a cache miss.
+     *
+     * @param roleId Role ID
+     * @return Immutable list of authorities
+     * @throws ResourceNotFoundException If the role does not exist
+     */
+    public List<GrantedAuthority> getAuthorities(String roleId) {
+        return cache.get(roleId, this::loadAuthorities);
+    }
+
+    /**
+     * Evicts a role from the cache now and again once the surrounding transaction commits,
+     * so that a concurrent reader cannot re-cache the state being replaced.
+     *
+     * @param roleId Role ID to evict
+     */
+    public void evict(String roleId) {
+        evictAll(List.of(roleId));
+    }
+
+    /**
+     * Evicts several roles from the cache now and again once the surrounding transaction commits.
+     *
+     * @param roleIds Role IDs to evict
+     */
+    public void evictAll(Collection<String> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) return;
+        List<String> keys = List.copyOf(roleIds);
+        cache.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(keys);
+                }
+            });
+        }
+    }
+
+    /**
+     * Loads a role with its permissions and maps them to authorities.
+     *
+     * @param roleId Role ID
+     * @return Immutable list of authorities
+     * @throws ResourceNotFoundException If the role does not exist
+     */
+    private List<GrantedAuthority> loadAuthorities(String roleId) {
+        Role role = roleRepository.findByIdWithPermissions(roleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Role id", "id", roleId));
+        if (role.getPermissions() == null) return Collections.emptyList();
+        return role.getPermissions().stream()
+                .map(permission -> (GrantedAuthority) new SimpleGrantedAuthority(permission.getName()))
+                .distinct()
+                .toList();
+    }
+}
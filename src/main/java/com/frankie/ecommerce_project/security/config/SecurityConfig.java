@@ -1,22 +1,32 @@
 package com.frankie.ecommerce_project.security.config;
 
-import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
-import com.frankie.ecommerce_project.repository.RoleRepository;
+import com.frankie.ecommerce_project.monitoring.tracing.RequestTracing;
+import com.frankie.ecommerce_project.monitoring.tracing.Span;
+import com.frankie.ecommerce_project.security.ConcurrencyLimitedPasswordEncoder;
 import com.frankie.ecommerce_project.security.CustomAuthenticationEntryPoint;
+import com.frankie.ecommerce_project.security.TimedPasswordEncoder;
+import com.frankie.ecommerce_project.security.authority.PermissionBitsetRegistry;
+import com.frankie.ecommerce_project.security.authority.RoleAuthorityCache;
 import com.frankie.ecommerce_project.security.token.JwtTokenProvider;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
@@ -27,19 +37,46 @@ import org.springframework.security.web.SecurityFilterChain;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
 
 @Configuration
+@Slf4j
 @EnableMethodSecurity(securedEnabled = true)
 public class SecurityConfig {
 
     @Value("${app.accessTokenSecret}")
     private String jwtSecret;
 
+    /**
+     * Authority granting access to the operational endpoints and the bulk user and catalog operations.
+     */
+    @Value("${app.security.adminAuthority:ADMIN}")
+    private String adminAuthority;
+
+    /**
+     * Authority granting read access to the actuator endpoints, for scrapers and dashboards.
+     */
+    @Value("${app.security.monitoringAuthority:MONITORING}")
+    private String monitoringAuthority;
+
+    /**
+     * BCrypt password encoder, timed. In virtual-thread mode the number of concurrent hash computations is
+     * limited, by default to the number of processors, so that login bursts cannot occupy every carrier thread.
+     *
+     * @param environment     Environment used to detect virtual-thread mode
+     * @param meterRegistry   Registry for the hashing timers
+     * @param hashConcurrency Maximum number of concurrent hash computations in virtual-thread mode, 0 for the processor count
+     * @return Password encoder
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(Environment environment, MeterRegistry meterRegistry,
+                                           @Value("${app.security.passwordHashConcurrency:0}") int hashConcurrency) {
+        PasswordEncoder encoder = new BCryptPasswordEncoder();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            int permits = hashConcurrency > 0 ? hashConcurrency : Runtime.getRuntime().availableProcessors();
+            encoder = new ConcurrencyLimitedPasswordEncoder(encoder, permits);
+        }
+        return new TimedPasswordEncoder(encoder, meterRegistry);
     }
 
     @Bean
@@ -57,6 +94,12 @@ public class SecurityConfig {
                             "/api/v1/auth/refresh-token",
                             "/api/v1/auth/signout"
                     ).permitAll();
+                    authorize.requestMatchers("/actuator/health").permitAll();
+                    authorize.requestMatchers("/actuator/**").hasAnyAuthority(adminAuthority, monitoringAuthority);
+                    authorize.requestMatchers("/api/v1/admin/traces/**").hasAuthority(adminAuthority);
+                    authorize.requestMatchers("/api/v1/admin/catalog-ingestions/**").hasAuthority(adminAuthority);
+                    authorize.requestMatchers("/api/v1/users/import", "/api/v1/users/export")
+                            .hasAuthority(adminAuthority);
                     authorize.requestMatchers("/api/v1/auth/devices").authenticated();
                     authorize.anyRequest().authenticated();
                 })
@@ -71,45 +114,96 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * JWT encoder, timed by {@code app.jwt.encode}.
+     *
+     * @param meterRegistry Registry for the signing timer
+     * @return JWT encoder
+     */
     @Bean
-    public JwtEncoder jwtEncoder() {
-        return new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
+    public JwtEncoder jwtEncoder(MeterRegistry meterRegistry) {
+        JwtEncoder jwtEncoder = new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
+        Timer timer = Timer.builder("app.jwt.encode").description("JWT signing").register(meterRegistry);
+        return parameters -> timer.record(() -> jwtEncoder.encode(parameters));
     }
 
+    /**
+     * JWT decoder, timed by {@code app.jwt.decode} with the outcome ({@code success} or {@code failure}).
+     *
+     * @param meterRegistry Registry for the verification timers
+     * @return JWT decoder
+     */
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey())
                 .macAlgorithm(JwtTokenProvider.JWT_ALGORITHM).build();
+        Timer success = jwtDecodeTimer(meterRegistry, "success");
+        Timer failure = jwtDecodeTimer(meterRegistry, "failure");
         return token -> {
-            try {
-                return jwtDecoder.decode(token);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try (Span span = RequestTracing.span("security.jwt.decode")) {
+                Jwt jwt = jwtDecoder.decode(token);
+                sample.stop(success);
+                return jwt;
             } catch (Exception e) {
-                System.out.println("JWT Error: " + e.getMessage());
+                sample.stop(failure);
+                log.debug("JWT Error: {}", e.getMessage());
                 throw new RuntimeException(e);
             }
         };
     }
 
+    private static Timer jwtDecodeTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("app.jwt.decode")
+                .description("JWT verification")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private SecretKey getSecretKey() {
         byte[] keyBytes = Base64.from(jwtSecret).decode();
         return new SecretKeySpec(keyBytes, 0, keyBytes.length, JwtTokenProvider.JWT_ALGORITHM.getName());
     }
 
+    /**
+     * Converts a verified token into an authentication. Authorities come from the permission bitmap claim when
+     * it is current, otherwise from the role authority cache; {@code app.authority.resolution} counts each source.
+     *
+     * @param roleAuthorityCache       Cache of role ID to authorities
+     * @param permissionBitsetRegistry Registry expanding the permission bitmap claim
+     * @param meterRegistry            Registry for the resolution counters
+     * @return Authentication converter
+     */
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter(RoleRepository roleRepository) {
+    public JwtAuthenticationConverter jwtAuthenticationConverter(RoleAuthorityCache roleAuthorityCache,
+                                                                 PermissionBitsetRegistry permissionBitsetRegistry,
+                                                                 MeterRegistry meterRegistry) {
+        Counter fromBitmap = authorityResolutionCounter(meterRegistry, "bitmap");
+        Counter fromRoles = authorityResolutionCounter(meterRegistry, "roles");
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
         converter.setJwtGrantedAuthoritiesConverter(token -> {
-            List<String> roleIds = token.getClaim("roleIds");
-            if (roleIds == null || roleIds.isEmpty()) return Collections.emptyList();
-            return roleIds.stream()
-                    .map(roleId -> roleRepository.findByIdWithPermissions(roleId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Role id", "id", roleId)))
-                    .filter(role -> role.getPermissions() != null)
-                    .flatMap(role -> role.getPermissions().stream())
-                    .map(permission -> new SimpleGrantedAuthority(permission.getName()))
-                    .collect(Collectors.collectingAndThen(Collectors.toSet(), ArrayList::new));
-
+            try (Span span = RequestTracing.span("security.authorities")) {
+                return permissionBitsetRegistry
+                        .decode(token.getClaimAsString(JwtTokenProvider.PERMISSIONS_CLAIM),
+                                token.getClaimAsString(JwtTokenProvider.PERMISSIONS_VERSION_CLAIM))
+                        .map(authorities -> {
+                            fromBitmap.increment();
+                            return authorities;
+                        })
+                        .orElseGet(() -> {
+                            fromRoles.increment();
+                            List<String> roleIds = token.getClaim(JwtTokenProvider.ROLE_IDS_CLAIM);
+                            return roleAuthorityCache.resolveAuthorities(roleIds);
+                        });
+            }
         });
         return converter;
     }
+
+    private static Counter authorityResolutionCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("app.authority.resolution")
+                .description("Authority resolutions of bearer tokens")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
 }
@@ -1,10 +1,9 @@
 package com.frankie.ecommerce_project.security.token;
 
-import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
+import com.frankie.ecommerce_project.model.Role;
 import com.frankie.ecommerce_project.model.User;
-import com.frankie.ecommerce_project.repository.UserRepository;
+import com.frankie.ecommerce_project.security.authority.PermissionBitsetRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Service;
@@ -12,6 +11,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 
@@ -19,55 +19,58 @@ import java.util.stream.Collectors;
 public class JwtTokenProvider {
 
     public static final MacAlgorithm JWT_ALGORITHM = MacAlgorithm.HS512;
-    private static final String ROLE_IDS_CLAIM = "roleIds";
+    public static final String ROLE_IDS_CLAIM = "roleIds";
+    public static final String PERMISSIONS_CLAIM = "perms";
+    public static final String PERMISSIONS_VERSION_CLAIM = "permsVer";
 
     private final JwtEncoder jwtEncoder;
-    private final UserRepository userRepository;
+    private final PermissionBitsetRegistry permissionBitsetRegistry;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
     /**
      * Constructs JwtTokenProvider with required dependencies and configuration.
      *
-     * @param jwtEncoder             JWT encoder for token creation
-     * @param userRepository         Repository for user data access
-     * @param accessTokenExpiration  Access token expiration time in minutes
-     * @param refreshTokenExpiration Refresh token expiration time in days
+     * @param jwtEncoder               JWT encoder for token creation
+     * @param permissionBitsetRegistry Registry for encoding the permission bitmap claim
+     * @param accessTokenExpiration    Access token expiration time in minutes
+     * @param refreshTokenExpiration   Refresh token expiration time in days
      */
     public JwtTokenProvider(JwtEncoder jwtEncoder,
-                            UserRepository userRepository,
+                            PermissionBitsetRegistry permissionBitsetRegistry,
                             @Value("${app.accessTokenExpiration}") long accessTokenExpiration,
                             @Value("${app.refreshTokenExpiration}") long refreshTokenExpiration) {
         this.jwtEncoder = jwtEncoder;
-        this.userRepository = userRepository;
+        this.permissionBitsetRegistry = permissionBitsetRegistry;
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
     }
 
     /**
      * Creates an access token (JWT) containing user authentication and role information.
+     * When the permission bitmap format is enabled, the token also carries the user's permissions
+     * as a bitmap together with the registry version it was encoded against.
      *
-     * @param authentication User authentication details
+     * @param user Authenticated user with roles loaded
      * @return Encoded access token as a string
-     * @throws ResourceNotFoundException If the user's email is not found
      */
-    public String createAccessToken(Authentication authentication) {
+    public String createAccessToken(User user) {
         Instant now = Instant.now();
-        Instant expiration = Instant.now().plus(accessTokenExpiration, ChronoUnit.MINUTES);
+        Instant expiration = now.plus(accessTokenExpiration, ChronoUnit.MINUTES);
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmailWithRoles(email).orElseThrow(() -> new ResourceNotFoundException("Email ", "email", email));
+        List<String> roleIds = user.getRoles().stream().map(Role::getId).collect(Collectors.toList());
 
-        List<String> roleIds = user.getRoles().stream().map(role -> role.getId()).collect(Collectors.toList());
-
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-                .subject(authentication.getName())
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+                .subject(user.getEmail())
                 .issuedAt(now)
                 .expiresAt(expiration)
-                .claim(ROLE_IDS_CLAIM, roleIds)
-                .build();
+                .claim(ROLE_IDS_CLAIM, roleIds);
+        if (permissionBitsetRegistry.isEnabled()) {
+            claims.claim(PERMISSIONS_VERSION_CLAIM, permissionBitsetRegistry.currentVersion())
+                    .claim(PERMISSIONS_CLAIM, permissionBitsetRegistry.encode(roleIds));
+        }
 
-        return encodeJwt(claims);
+        return encodeJwt(claims.build());
     }
 
     /**
@@ -81,6 +84,7 @@ public class JwtTokenProvider {
         Instant expiration = Instant.now().plus(refreshTokenExpiration, ChronoUnit.DAYS);
 
         JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .issuedAt(now)
                 .expiresAt(expiration)
@@ -0,0 +1,27 @@
+package com.frankie.ecommerce_project.security.token;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digest of an opaque token, stored and looked up instead of the token itself. Refresh tokens are
+ * long random-looking JWTs, so an unsalted digest is enough to keep them out of the database while giving
+ * a fixed 32-byte key for the unique index.
+ */
+public class TokenDigest {
+
+    /**
+     * Computes the SHA-256 digest of a token.
+     *
+     * @param token Token value
+     * @return 32-byte digest
+     */
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -9,7 +9,7 @@ import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 public interface BrandService {
     ApiResponse<CreateBrandResponse> createBrand(CreateBrandDto createBrandDto);
 
-    ApiResponse<BrandListResponse> getAllBrand(int pageNo, int pageSize, String sortBy, String sortDir);
+    ApiResponse<BrandListResponse> getAllBrand(int pageNo, int pageSize, String sortBy, String sortDir, String after);
 
     ApiResponse<BrandInfo> getBrandById(String brandId);
 
@@ -20,5 +20,5 @@ public interface BrandService {
     ApiResponse<ReactiveBrandResponse> reactiveBrandById(String brandId);
 
     ApiResponse<BrandListResponse> searchBrandByName(String brandName, int pageNo, int pageSize,
-                                                     String sortBy, String sortDir);
+                                                     String sortBy, String sortDir, String after);
 }
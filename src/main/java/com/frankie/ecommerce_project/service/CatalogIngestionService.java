@@ -0,0 +1,13 @@
+package com.frankie.ecommerce_project.service;
+
+import com.frankie.ecommerce_project.dto.product.request.StartCatalogIngestionDto;
+import com.frankie.ecommerce_project.dto.product.response.CatalogIngestionResponse;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+
+public interface CatalogIngestionService {
+    ApiResponse<CatalogIngestionResponse> startIngestion(StartCatalogIngestionDto request);
+
+    ApiResponse<CatalogIngestionResponse> resumeIngestion(String ingestionId);
+
+    ApiResponse<CatalogIngestionResponse> getIngestionById(String ingestionId);
+}
@@ -9,7 +9,8 @@ import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 public interface CategoryService {
     ApiResponse<CreateCategoryResponse> createNewCategory(CreateCategoryDto createCategoryDto);
 
-    ApiResponse<CategoryListResponse> getALlCategories(int pageNo, int pageSize, String sortBy, String sortDir);
+    ApiResponse<CategoryListResponse> getALlCategories(int pageNo, int pageSize, String sortBy, String sortDir,
+                                                       String after);
 
     ApiResponse<CategoryInfo> getCategoryById(String categoryId);
 
@@ -20,5 +21,5 @@ public interface CategoryService {
     ApiResponse<ReactivateCategoryResponse> reactivateCategoryById(String categoryId);
 
     ApiResponse<CategoryListResponse> searchCategoryByName(String categoryName, int pageNo, int pageSize,
-                                                           String sortBy, String sortDir);
+                                                           String sortBy, String sortDir, String after);
 }
@@ -0,0 +1,16 @@
+package com.frankie.ecommerce_project.service;
+
+import com.frankie.ecommerce_project.model.EmailOutbox;
+import com.frankie.ecommerce_project.utils.VerificationType;
+
+import java.util.List;
+
+public interface EmailOutboxService {
+    void enqueueOtpEmail(String to, String otp, VerificationType type);
+
+    List<EmailOutbox> claimDueEmails(int limit);
+
+    void markSent(List<String> outboxIds);
+
+    void markFailed(List<String> outboxIds, String error);
+}
@@ -1,7 +1,14 @@
 package com.frankie.ecommerce_project.service;
 
+import com.frankie.ecommerce_project.dto.email.OtpEmailMessage;
 import com.frankie.ecommerce_project.utils.VerificationType;
 
+import java.util.List;
+
 public interface EmailService {
     void sendOtpEmail(String to, String otp, VerificationType type);
+
+    default void sendOtpEmails(List<OtpEmailMessage> messages) {
+        messages.forEach(message -> sendOtpEmail(message.getTo(), message.getOtp(), message.getType()));
+    }
 }
@@ -0,0 +1,16 @@
+package com.frankie.ecommerce_project.service;
+
+import com.frankie.ecommerce_project.dto.inventory.request.ReserveStockDto;
+import com.frankie.ecommerce_project.dto.inventory.response.ReservationResponse;
+import com.frankie.ecommerce_project.dto.inventory.response.StockLevelResponse;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+
+public interface InventoryService {
+    ApiResponse<ReservationResponse> reserveStock(ReserveStockDto reserveStockDto);
+
+    ApiResponse<ReservationResponse> commitReservation(String reservationId);
+
+    ApiResponse<ReservationResponse> releaseReservation(String reservationId);
+
+    ApiResponse<StockLevelResponse> getStockLevel(String skuNo);
+}
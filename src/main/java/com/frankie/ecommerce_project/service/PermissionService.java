@@ -13,7 +13,8 @@ public interface PermissionService {
 
     ApiResponse<CreatePermissionResponse> createPermission(CreatePermissionDto permission);
 
-    ApiResponse<PermissionListResponse> getAllPermissions(int pageNo, int pageSize, String sortBy, String sortDir);
+    ApiResponse<PermissionListResponse> getAllPermissions(int pageNo, int pageSize, String sortBy, String sortDir,
+                                                              String after);
 
     ApiResponse<PermissionInfo> getPermissionById(String permissionId);
 
@@ -2,10 +2,16 @@ package com.frankie.ecommerce_project.service;
 
 import com.frankie.ecommerce_project.dto.product.request.CreateProductDto;
 import com.frankie.ecommerce_project.dto.product.response.CreateProductResponse;
+import com.frankie.ecommerce_project.dto.product.response.ProductSearchResponse;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 
+import java.util.List;
+
 public interface ProductService {
 
     ApiResponse<CreateProductResponse> createProduct(CreateProductDto product);
 
+    ApiResponse<ProductSearchResponse> searchProducts(String query, List<String> filters, Double minPrice,
+                                                      Double maxPrice, int pageNo, int pageSize);
+
 }
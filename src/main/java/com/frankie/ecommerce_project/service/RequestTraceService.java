@@ -0,0 +1,15 @@
+package com.frankie.ecommerce_project.service;
+
+import com.frankie.ecommerce_project.monitoring.tracing.RequestTrace;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+
+import java.util.List;
+
+public interface RequestTraceService {
+
+    ApiResponse<List<RequestTrace>> getRecentTraces(int limit, double minDurationMs);
+
+    ApiResponse<List<RequestTrace>> getSlowestTraces(int limit);
+
+    ApiResponse<RequestTrace> getTraceById(String traceId);
+}
@@ -10,7 +10,7 @@ public interface RoleService {
 
     ApiResponse<CreateRoleResponse> createNewRole(CreateRoleDto role);
 
-    ApiResponse<RoleListResponse> getAllRoles(int pageNo, int pageSize, String sortBy, String sortDir);
+    ApiResponse<RoleListResponse> getAllRoles(int pageNo, int pageSize, String sortBy, String sortDir, String after);
 
     ApiResponse<RoleInfo> getRoleById(String roleId);
 
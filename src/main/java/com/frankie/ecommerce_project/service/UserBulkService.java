@@ -0,0 +1,15 @@
+package com.frankie.ecommerce_project.service;
+
+import com.frankie.ecommerce_project.dto.user.response.UserImportResponse;
+import com.frankie.ecommerce_project.utils.BulkFormat;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface UserBulkService {
+    ApiResponse<UserImportResponse> importUsers(InputStream body, BulkFormat format) throws IOException;
+
+    void exportUsers(OutputStream output, BulkFormat format) throws IOException;
+}
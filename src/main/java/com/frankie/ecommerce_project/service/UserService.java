@@ -9,7 +9,7 @@ import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 public interface UserService {
     ApiResponse<CreateUserResponse> createNewUser(CreateUserDto createUserDto);
 
-    ApiResponse<UserListResponse> getAllUsers(int pageNo, int pageSize, String sortBy, String sortDir);
+    ApiResponse<UserListResponse> getAllUsers(int pageNo, int pageSize, String sortBy, String sortDir, String after);
 
     ApiResponse<UserInfo> getUserById(String userId);
 
@@ -17,7 +17,8 @@ public interface UserService {
 
     ApiResponse<DeleteUserResponse> softDeleteUserById(String userId);
 
-    ApiResponse<UserListResponse> searchUserByEmail(int pageNo, int pageSize, String sortBy, String sortDir, String userEmail);
+    ApiResponse<UserListResponse> searchUserByEmail(int pageNo, int pageSize, String sortBy, String sortDir, String userEmail,
+                                                    String after);
 
     ApiResponse<ReactivateUserAccount> reactivateUserAccount(String userId);
 }
@@ -5,15 +5,18 @@ import com.frankie.ecommerce_project.dto.authentication.response.*;
 import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
 import com.frankie.ecommerce_project.model.*;
 import com.frankie.ecommerce_project.repository.*;
+import com.frankie.ecommerce_project.search.UserSearchIndex;
+import com.frankie.ecommerce_project.security.OtpHasher;
 import com.frankie.ecommerce_project.security.token.JwtTokenProvider;
+import com.frankie.ecommerce_project.security.token.TokenDigest;
 import com.frankie.ecommerce_project.service.AuthenticationService;
-import com.frankie.ecommerce_project.service.EmailService;
+import com.frankie.ecommerce_project.service.EmailOutboxService;
 import com.frankie.ecommerce_project.utils.VerificationType;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -44,43 +47,55 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private static final String SUCCESS_OTP_SENT = "OTP has been sent to your email";
     private static final String SUCCESS_REGISTRATION = "Registration successful, please check your email for OTP";
 
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private static final SecureRandom OTP_RANDOM = new SecureRandom();
+    private static final String OTP_SENT_METRIC = "app.otp.sent";
+    private static final String OTP_VERIFIED_METRIC = "app.otp.verified";
+    private static final String OTP_FAILED_METRIC = "app.otp.failed";
+
     private final JwtTokenProvider securityUtils;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final OtpHasher otpHasher;
     private final VerificationCodeRepository verificationCodeRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final RoleRepository roleRepository;
     private final DeviceRepository deviceRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Constructs AuthenticationServiceImpl with required dependencies.
      *
-     * @param authenticationManagerBuilder Authentication manager for user verification
      * @param securityUtils                Utility for JWT token creation
      * @param userRepository               Repository for user data access
      * @param passwordEncoder              Encoder for password hashing
+     * @param otpHasher                    Keyed hasher for OTP codes
      * @param verificationCodeRepository   Repository for OTP verification codes
      * @param refreshTokenRepository       Repository for refresh tokens
      * @param deviceRepository             Repository for user devices
-     * @param emailService                 Service for sending emails
+     * @param emailOutboxService           Outbox for emails sent after the transaction commits
      * @param roleRepository               Repository for user roles
+     * @param userSearchIndex              Search index over user emails
+     * @param meterRegistry                Registry for the OTP counters
      */
-    public AuthenticationServiceImpl(AuthenticationManagerBuilder authenticationManagerBuilder,
-            JwtTokenProvider securityUtils,
-            UserRepository userRepository, PasswordEncoder passwordEncoder, EmailService emailService,
+    public AuthenticationServiceImpl(JwtTokenProvider securityUtils,
+            UserRepository userRepository, PasswordEncoder passwordEncoder, OtpHasher otpHasher,
+            EmailOutboxService emailOutboxService,
             VerificationCodeRepository verificationCodeRepository, RoleRepository roleRepository,
-            DeviceRepository deviceRepository, RefreshTokenRepository refreshTokenRepository) {
-        this.authenticationManagerBuilder = authenticationManagerBuilder;
+            DeviceRepository deviceRepository, RefreshTokenRepository refreshTokenRepository,
+            UserSearchIndex userSearchIndex, MeterRegistry meterRegistry) {
         this.securityUtils = securityUtils;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.otpHasher = otpHasher;
         this.verificationCodeRepository = verificationCodeRepository;
         this.roleRepository = roleRepository;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
         this.deviceRepository = deviceRepository;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.userSearchIndex = userSearchIndex;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -99,9 +114,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         if (!user.getIsVerified()) {
             throw new IllegalStateException("Account not verified, please verify OTP via email or request a new OTP");
         }
-        Authentication authentication = authenticateUser(loginDto.getEmail(), loginDto.getPassword());
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(user.getEmail(), null,
+                getRoleAuthorities(user));
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String accessToken = securityUtils.createAccessToken(authentication);
+        String accessToken = securityUtils.createAccessToken(user);
 
         String userAgent = request.getHeader("User-Agent") != null ? request.getHeader("User-Agent") : "Unknown";
         String ipAddress = request.getRemoteAddr() != null ? request.getRemoteAddr() : "Unknown";
@@ -128,7 +144,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         RefreshToken refreshTokenEntity = RefreshToken.builder()
                 .user(user)
                 .device(device)
-                .token(refreshToken)
+                .tokenHash(TokenDigest.sha256(refreshToken))
                 .expiredAt(Instant.now().plusSeconds(REFRESH_TOKEN_EXPIRY_SECONDS))
                 .createdAt(Instant.now())
                 .build();
@@ -152,7 +168,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Transactional
     @Override
     public ApiResponse<RefreshTokenResponse> refreshToken(String refreshToken, HttpServletRequest request) {
-        RefreshToken token = refreshTokenRepository.findByToken(refreshToken)
+        byte[] currentHash = TokenDigest.sha256(refreshToken);
+        RefreshToken token = refreshTokenRepository.findByTokenHash(currentHash)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
         if (token.getExpiredAt().isBefore(Instant.now())) {
             throw new IllegalStateException("Refresh token is expired");
@@ -167,13 +184,15 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         Authentication authentication = new UsernamePasswordAuthenticationToken(user.getEmail(), null,
                 getAuthorities(user));
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String newAccessToken = securityUtils.createAccessToken(authentication);
+        String newAccessToken = securityUtils.createAccessToken(user);
 
         String newRefreshToken = securityUtils.createRefreshToken(user.getEmail());
-        token.setToken(newRefreshToken);
-        token.setExpiredAt(Instant.now().plusSeconds(REFRESH_TOKEN_EXPIRY_SECONDS));
-        token.setCreatedAt(Instant.now());
-        refreshTokenRepository.save(token);
+        Instant now = Instant.now();
+        int rotated = refreshTokenRepository.rotate(token.getId(), currentHash,
+                TokenDigest.sha256(newRefreshToken), now.plusSeconds(REFRESH_TOKEN_EXPIRY_SECONDS), now);
+        if (rotated == 0) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
 
         RefreshTokenResponse response = RefreshTokenResponse.builder().accessToken(newAccessToken)
                 .refreshToken(newRefreshToken).build();
@@ -191,7 +210,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Transactional
     @Override
     public ApiResponse<Void> signout(String refreshToken) {
-        RefreshToken token = refreshTokenRepository.findByToken(refreshToken)
+        RefreshToken token = refreshTokenRepository.findByTokenHash(TokenDigest.sha256(refreshToken))
                 .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
         Device device = token.getDevice();
         device.setIsActive(false);
@@ -210,21 +229,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Transactional(readOnly = true)
     @Override
     public ApiResponse<List<DeviceInfoResponse>> getActiveDevices(String email) {
-         User user = userRepository.findByEmailWithRoles(email)
-                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
-         List<Device> devices = deviceRepository.findByUserAndIsActiveTrue(user);
-         List<DeviceInfoResponse> deviceInfoResponses = devices.stream()
-                 .map(device -> {
-                     Optional<RefreshToken> refreshToken = refreshTokenRepository.findByDevice(device);
-                     return DeviceInfoResponse.builder()
-                             .userAgent(device.getUserAgent())
-                             .ip(device.getIp())
-                             .lastActive(device.getLastActive())
-                             .isActive(device.getIsActive())
-                             .createdAt(device.getCreatedAt())
-                             .tokenExpiry(refreshToken.map(RefreshToken::getExpiredAt).orElse(null))
-                             .build();
-                 }).collect(Collectors.toList());
+        List<DeviceInfoResponse> deviceInfoResponses = deviceRepository.findActiveDeviceInfoByEmail(email);
+        if (deviceInfoResponses.isEmpty() && !userRepository.existsByEmail(email)) {
+            throw new ResourceNotFoundException("User", "email", email);
+        }
         return ApiResponse.success("Active devices retrieved successfully", HttpStatus.OK, deviceInfoResponses);
     }
 
@@ -242,6 +250,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         validatePasswordMatch(registerDto.getPassword(), registerDto.getConfirmPassword());
         User newUser = createNewUser(registerDto);
         userRepository.save(newUser);
+        userSearchIndex.index(newUser);
         RegisterResponse response = RegisterResponse.builder()
                 .email(newUser.getEmail())
                 .fullName(newUser.getFullName())
@@ -268,21 +277,25 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                         () -> new ResourceNotFoundException("OTP not found: ", "OTP", otpVerificationDto.getOtp()));
 
         if (verificationCode.getAttempts() >= MAX_OTP_ATTEMPTS) {
+            countOtp(OTP_FAILED_METRIC, verificationType, "attempts");
             throw new IllegalStateException("Too many OTP attempts");
         }
 
         if (isOtpExpired(verificationCode)) {
+            countOtp(OTP_FAILED_METRIC, verificationType, "expired");
             throw new IllegalStateException("OTP has expired, please request a new OTP");
         }
 
-        if (!passwordEncoder.matches(otpVerificationDto.getOtp(), verificationCode.getHashedCode())) {
+        if (!otpHasher.matches(otpVerificationDto.getOtp(), verificationCode.getHashedCode())) {
             verificationCode.setAttempts(verificationCode.getAttempts() + 1);
             verificationCodeRepository.save(verificationCode);
+            countOtp(OTP_FAILED_METRIC, verificationType, "invalid");
             throw new IllegalStateException("Invalid OTP");
         }
 
         verificationCode.setIsVerified(true);
         verificationCodeRepository.save(verificationCode);
+        countOtp(OTP_VERIFIED_METRIC, verificationType, null);
 
         if (VerificationType.OTP_REGISTER.equals(verificationType)) {
             user.setIsVerified(true);
@@ -395,7 +408,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     }
 
     /**
-     * Creates or updates an OTP for a user and sends it via email.
+     * Creates or updates an OTP for a user and queues it for delivery via email.
      *
      * @param user             User associated with the OTP
      * @param verificationType OTP type (e.g., OTP_REGISTER, OTP_FORGOT_PASSWORD)
@@ -411,7 +424,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         validateUserForOtp(user, verificationType);
 
         String otp = generateOtp();
-        String hashedOtp = passwordEncoder.encode(otp);
+        String hashedOtp = otpHasher.hash(otp);
 
         VerificationCode verificationCode = findVerificationCode(user, verificationType)
                 .orElseGet(() -> VerificationCode.builder()
@@ -424,7 +437,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         verificationCode.setExpirationTime(Instant.now().plusSeconds(OTP_EXPIRATION_SECONDS));
         verificationCodeRepository.save(verificationCode);
 
-        emailService.sendOtpEmail(user.getEmail(), otp, verificationType);
+        emailOutboxService.enqueueOtpEmail(user.getEmail(), otp, verificationType);
+        countOtp(OTP_SENT_METRIC, verificationType, null);
 
         String message = VerificationType.OTP_REGISTER.equals(verificationType) ? SUCCESS_REGISTRATION
                 : SUCCESS_OTP_SENT;
@@ -436,18 +450,33 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     }
 
+    /**
+     * Increments one of the OTP counters, tagged with the OTP type and, for failures, the reason.
+     *
+     * @param metric Counter name
+     * @param type   OTP type
+     * @param reason Failure reason, or null
+     */
+    private void countOtp(String metric, VerificationType type, String reason) {
+        if (reason == null) {
+            meterRegistry.counter(metric, "type", type.name()).increment();
+        } else {
+            meterRegistry.counter(metric, "type", type.name(), "reason", reason).increment();
+        }
+    }
+
     /**
      * Generates a random 6-digit OTP.
      *
      * @return Generated OTP as a string
      */
     private String generateOtp() {
-        SecureRandom random = new SecureRandom();
-        return String.format("%06d", random.nextInt(1000000));
+        return String.format("%06d", OTP_RANDOM.nextInt(1000000));
     }
 
     /**
-     * Validates user credentials.
+     * Validates user credentials. This is the only password hash verification on the login path;
+     * the loaded user is reused for the security context and token creation.
      *
      * @param email    User's email
      * @param password User's password
@@ -470,19 +499,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         return userRepository.findByEmailWithRoles(email);
     }
 
-    /**
-     * Authenticates a user with provided credentials.
-     *
-     * @param email    User's email
-     * @param password User's password
-     * @return Authentication object
-     */
-    private Authentication authenticateUser(String email, String password) {
-        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(email,
-                password);
-        return authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-    }
-
     /**
      * Validates that an email is not already registered.
      *
@@ -599,4 +615,16 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .map(permission -> new SimpleGrantedAuthority(permission.getName()))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Retrieves role-name authorities for a user, as previously produced by the UserDetailsService.
+     *
+     * @param user User to retrieve authorities for
+     * @return Collection of GrantedAuthority objects containing role names
+     */
+    private Collection<? extends GrantedAuthority> getRoleAuthorities(User user) {
+        return user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.getName()))
+                .collect(Collectors.toList());
+    }
 }
@@ -9,26 +9,40 @@ import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
 import com.frankie.ecommerce_project.mapper.BrandMapper;
 import com.frankie.ecommerce_project.model.Brand;
 import com.frankie.ecommerce_project.repository.BrandRepository;
+import com.frankie.ecommerce_project.search.BrandSearchIndex;
+import com.frankie.ecommerce_project.search.SearchResult;
 import com.frankie.ecommerce_project.service.BrandService;
 import com.frankie.ecommerce_project.utils.BuildPageable;
+import com.frankie.ecommerce_project.utils.KeysetPagination;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class BrandServiceImpl implements BrandService {
+    /**
+     * Fields a list may be sorted by: never null, and safe to carry in a cursor.
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "createdAt");
 
     private final BrandRepository brandRepository;
+    private final BrandSearchIndex brandSearchIndex;
 
-    public BrandServiceImpl(BrandRepository brandRepository) {
+    public BrandServiceImpl(BrandRepository brandRepository, BrandSearchIndex brandSearchIndex) {
         this.brandRepository = brandRepository;
+        this.brandSearchIndex = brandSearchIndex;
     }
 
     @Override
@@ -43,15 +57,23 @@ public class BrandServiceImpl implements BrandService {
                 .isDeleted(false)
                 .build();
         brandRepository.save(newBrand);
+        brandSearchIndex.index(newBrand);
         CreateBrandResponse createBrandResponse = BrandMapper.INSTANCE.toCreateBrandResponse(newBrand);
         return ApiResponse.success("Brand created successfully", HttpStatus.CREATED, createBrandResponse);
     }
 
     @Override
-    public ApiResponse<BrandListResponse> getAllBrand(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize, sortBy, sortDir);
+    public ApiResponse<BrandListResponse> getAllBrand(int pageNo, int pageSize, String sortBy, String sortDir,
+                                                      String after) {
+        if (after != null) {
+            BrandListResponse brandListResponse = scrollBrands(KeysetPagination.all(), pageSize, sortBy, sortDir,
+                    after);
+            return ApiResponse.success("Get all brands successfully", HttpStatus.OK, brandListResponse);
+        }
+        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize,
+                KeysetPagination.requireSortable(sortBy, SORTABLE_FIELDS), sortDir);
         Page<Brand> brands = brandRepository.findAll(pageable);
-        List<BrandInfo> brandInfoList = buildBrandInfoList(brands);
+        List<BrandInfo> brandInfoList = buildBrandInfoList(brands.getContent());
         BrandListResponse brandListResponse = buildBrandListResponse(brands, brandInfoList);
         return ApiResponse.success("Get all brands successfully", HttpStatus.OK, brandListResponse);
     }
@@ -73,6 +95,7 @@ public class BrandServiceImpl implements BrandService {
         Brand findBrand = brandRepository.findById(brandId).orElseThrow(() -> new ResourceNotFoundException("Brand id", "id", brandId));
         findBrand.setName(updateBrandDto.getName());
         brandRepository.save(findBrand);
+        brandSearchIndex.index(findBrand);
         UpdateBrandResponse updateBrandResponse = BrandMapper.INSTANCE.toUpdateBrandResponse(findBrand);
         return ApiResponse.success("Update brand successfully", HttpStatus.OK, updateBrandResponse);
     }
@@ -110,10 +133,20 @@ public class BrandServiceImpl implements BrandService {
 
     @Override
     public ApiResponse<BrandListResponse> searchBrandByName(String brandName, int pageNo, int pageSize,
-                                                            String sortBy, String sortDir) {
-        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize, sortBy, sortDir);
-        Page<Brand> brands = brandRepository.searchBrandByName(brandName, pageable);
-        List<BrandInfo> buildBrandInfoList = buildBrandInfoList(brands);
+                                                            String sortBy, String sortDir, String after) {
+        if (after != null) {
+            BrandListResponse brandListResponse = scrollBrands(KeysetPagination.contains("name", brandName),
+                    pageSize, sortBy, sortDir, after);
+            return ApiResponse.success("Search brand by name successfully", HttpStatus.OK, brandListResponse);
+        }
+        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize,
+                KeysetPagination.requireSortable(sortBy, SORTABLE_FIELDS), sortDir);
+        Optional<SearchResult> hits = brandSearchIndex.search(brandName, pageable);
+        Page<Brand> brands = hits.isPresent()
+                ? new PageImpl<>(hits.get().orderByRelevance(brandRepository.findAllById(hits.get().getIds()),
+                        Brand::getId), pageable, hits.get().getTotal())
+                : brandRepository.searchBrandByName(brandName, pageable);
+        List<BrandInfo> buildBrandInfoList = buildBrandInfoList(brands.getContent());
         BrandListResponse buildBrandSearchListResponse = buildBrandListResponse(brands, buildBrandInfoList);
         return ApiResponse.success("Search brand by name successfully", HttpStatus.OK, buildBrandSearchListResponse);
     }
@@ -129,9 +162,16 @@ public class BrandServiceImpl implements BrandService {
         return BrandListResponse.builder().meta(metaData).data(brandInfoList).build();
     }
 
-    private List<BrandInfo> buildBrandInfoList(Page<Brand> brands) {
-        return brands.getContent()
-                .stream()
+    private BrandListResponse scrollBrands(Specification<Brand> specification, int pageSize, String sortBy,
+                                           String sortDir, String after) {
+        Sort sort = KeysetPagination.buildSort(sortBy, sortDir, SORTABLE_FIELDS);
+        Window<Brand> brands = KeysetPagination.scroll(brandRepository, specification, sort, after, pageSize);
+        MetaData metaData = KeysetPagination.buildMetaData(brands, sort);
+        return BrandListResponse.builder().meta(metaData).data(buildBrandInfoList(brands.getContent())).build();
+    }
+
+    private List<BrandInfo> buildBrandInfoList(List<Brand> brands) {
+        return brands.stream()
                 .map(BrandMapper.INSTANCE::toBrandInfo)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,772 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.frankie.ecommerce_project.dto.product.request.CatalogRecordDto;
+import com.frankie.ecommerce_project.dto.product.request.StartCatalogIngestionDto;
+import com.frankie.ecommerce_project.dto.product.response.CatalogIngestionResponse;
+import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
+import com.frankie.ecommerce_project.inventory.StockLedger;
+import com.frankie.ecommerce_project.mapper.ProductMapper;
+import com.frankie.ecommerce_project.model.BaseEntity;
+import com.frankie.ecommerce_project.model.CatalogIngestion;
+import com.frankie.ecommerce_project.model.Product;
+import com.frankie.ecommerce_project.model.SkuAttribute;
+import com.frankie.ecommerce_project.model.SkuProduct;
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.repository.CatalogIngestionRepository;
+import com.frankie.ecommerce_project.repository.ProductBatchRepository;
+import com.frankie.ecommerce_project.search.ProductAttributeIndex;
+import com.frankie.ecommerce_project.search.ProductSearchIndex;
+import com.frankie.ecommerce_project.security.SecurityUtil;
+import com.frankie.ecommerce_project.service.CatalogIngestionService;
+import com.frankie.ecommerce_project.utils.BulkFormat;
+import com.frankie.ecommerce_project.utils.CatalogIngestionStatus;
+import com.frankie.ecommerce_project.utils.CsvReader;
+import com.frankie.ecommerce_project.utils.Prices;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of CatalogIngestionService, loading supplier catalogs of any size into the product tables.
+ * <p>
+ * A run streams the file from disk and cuts it into chunks of {@code batchSize} records. Chunks are parsed and
+ * validated on a worker pool while the run thread writes the previous ones, with at most two chunks per worker
+ * in flight, so memory use does not depend on the size of the file. Each chunk is written in one transaction:
+ * SKUs are upserted by {@code sku_no} with one lookup query and JDBC batches of updates and inserts, new SKUs are
+ * attached to the product of the same name (created when missing), and the checkpoint of the ingestion is
+ * advanced past the chunk. Once the chunk commits, the updated SKUs are evicted from the {@link StockLedger}, since
+ * their stock may have changed. An interrupted run therefore resumes after the last committed chunk, and since the
+ * upsert is idempotent a chunk written twice leaves the same result. Fields a record leaves out keep their stored
+ * values when its SKU already exists, so a partial feed does not clear stock, prices or attributes.
+ * <p>
+ * Records are single SKUs. NDJSON lines have the shape of {@link CatalogRecordDto}; CSV files have a header row
+ * naming the same fields, with {@code productAttrs} and {@code skuAttrs} holding JSON objects. Invalid records
+ * are counted and skipped.
+ */
+@Service
+@Slf4j
+public class CatalogIngestionServiceImpl implements CatalogIngestionService {
+    private static final String SUCCESS_MESSAGE_START = "Catalog ingestion started";
+    private static final String SUCCESS_MESSAGE_RESUME = "Catalog ingestion resumed";
+    private static final String SUCCESS_MESSAGE_GET = "Get catalog ingestion successfully";
+    private static final String PARSE_THREAD_NAME_PREFIX = "catalog-parse-";
+    private static final String RUN_THREAD_NAME_PREFIX = "catalog-ingestion-";
+    private static final String SYSTEM_USER = "system";
+    private static final int MAX_DUPLICATE_RETRIES = 3;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final TypeReference<Map<String, Object>> ATTRIBUTES_TYPE = new TypeReference<>() {
+    };
+
+    private final CatalogIngestionRepository catalogIngestionRepository;
+    private final ProductBatchRepository productBatchRepository;
+    private final ProductAttributeIndex productAttributeIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final StockLedger stockLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader recordReader;
+    private final Path baseDir;
+    private final int batchSize;
+    private final int maxChunksInFlight;
+    private final ThreadPoolTaskExecutor parseExecutor;
+    private final ThreadPoolTaskExecutor runExecutor;
+    private final Set<String> activeIngestions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs CatalogIngestionServiceImpl with required dependencies and configuration.
+     *
+     * @param catalogIngestionRepository Repository holding the ingestions and their checkpoints
+     * @param productBatchRepository     Repository for the batched SKU lookups and writes
+     * @param productAttributeIndex      Index of the declared attribute keys, updated with each chunk
+     * @param productSearchIndex         Faceted search index, refreshed after each chunk commits
+     * @param stockLedger                Stock ledger, told after each chunk commits which SKUs to reload
+     * @param transactionTemplate        Transaction template committing one chunk at a time
+     * @param objectMapper               Mapper for NDJSON records and attribute JSON
+     * @param baseDir                    Directory catalog files are read from
+     * @param batchSize                  Number of records per chunk
+     * @param parseConcurrency           Number of chunks parsed in parallel, 0 for half the processors
+     */
+    public CatalogIngestionServiceImpl(CatalogIngestionRepository catalogIngestionRepository,
+                                       ProductBatchRepository productBatchRepository,
+                                       ProductAttributeIndex productAttributeIndex,
+                                       ProductSearchIndex productSearchIndex,
+                                       StockLedger stockLedger,
+                                       TransactionTemplate transactionTemplate,
+                                       ObjectMapper objectMapper,
+                                       @Value("${app.catalog.ingestion.baseDir:catalog-imports}") String baseDir,
+                                       @Value("${app.catalog.ingestion.batchSize:1000}") int batchSize,
+                                       @Value("${app.catalog.ingestion.parseConcurrency:0}") int parseConcurrency) {
+        this.catalogIngestionRepository = catalogIngestionRepository;
+        this.productBatchRepository = productBatchRepository;
+        this.productAttributeIndex = productAttributeIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.stockLedger = stockLedger;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.recordReader = objectMapper.readerFor(CatalogRecordDto.class);
+        this.baseDir = Paths.get(baseDir).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+        int workers = parseConcurrency > 0
+                ? parseConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.maxChunksInFlight = workers * 2;
+        this.parseExecutor = createExecutor(workers, PARSE_THREAD_NAME_PREFIX);
+        this.runExecutor = createExecutor(1, RUN_THREAD_NAME_PREFIX);
+        // Lets a running ingestion reach its next checkpoint before the parse pool goes away.
+        this.runExecutor.setAwaitTerminationSeconds(SHUTDOWN_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Stops the pools. A running ingestion is interrupted after its current chunk and can be resumed later.
+     */
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdown();
+        parseExecutor.shutdown();
+    }
+
+    /**
+     * Queues the ingestion of a catalog file. Ingestions run one at a time, in the order they were queued.
+     *
+     * @param request Path of the file, relative to the ingestion directory, and its format
+     * @return ApiResponse containing the queued ingestion
+     * @throws IllegalArgumentException if the file is outside the ingestion directory, does not exist or has an
+     *                                  unknown format
+     */
+    @Override
+    public ApiResponse<CatalogIngestionResponse> startIngestion(StartCatalogIngestionDto request) {
+        if (request.getPath() == null || request.getPath().isBlank()) {
+            throw new IllegalArgumentException("Catalog file path is required");
+        }
+        Path file = baseDir.resolve(request.getPath()).normalize();
+        if (!file.startsWith(baseDir)) {
+            throw new IllegalArgumentException("Catalog file must be inside the ingestion directory");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Catalog file not found: " + request.getPath());
+        }
+        BulkFormat format = BulkFormat.fromName(request.getFormat() != null
+                ? request.getFormat()
+                : file.getFileName().toString().substring(file.getFileName().toString().lastIndexOf('.') + 1));
+
+        CatalogIngestion ingestion = catalogIngestionRepository.save(CatalogIngestion.builder()
+                .sourcePath(baseDir.relativize(file).toString())
+                .format(format)
+                .status(CatalogIngestionStatus.QUEUED)
+                .recordsCommitted(0L)
+                .skusInserted(0L)
+                .skusUpdated(0L)
+                .failedRecords(0L)
+                .createdBy(SecurityUtil.getCurrentUserLogin().orElse(SYSTEM_USER))
+                .build());
+        submit(ingestion.getId());
+        return ApiResponse.success(SUCCESS_MESSAGE_START, HttpStatus.ACCEPTED,
+                ProductMapper.INSTANCE.toCatalogIngestionResponse(ingestion));
+    }
+
+    /**
+     * Queues an ingestion again, continuing after its last checkpoint. This also recovers an ingestion left
+     * {@code RUNNING} by a process that stopped.
+     *
+     * @param ingestionId Ingestion ID
+     * @return ApiResponse containing the queued ingestion
+     * @throws ResourceNotFoundException if there is no such ingestion
+     * @throws IllegalStateException     if the ingestion is completed or is still running in this process
+     */
+    @Override
+    public ApiResponse<CatalogIngestionResponse> resumeIngestion(String ingestionId) {
+        CatalogIngestion ingestion = findIngestion(ingestionId);
+        if (ingestion.getStatus() == CatalogIngestionStatus.COMPLETED) {
+            throw new IllegalStateException("Catalog ingestion is already completed");
+        }
+        if (activeIngestions.contains(ingestionId)) {
+            throw new IllegalStateException("Catalog ingestion is already queued or running");
+        }
+        transactionTemplate.executeWithoutResult(status -> catalogIngestionRepository.updateStatus(ingestionId,
+                CatalogIngestionStatus.QUEUED, null, null));
+        ingestion.setStatus(CatalogIngestionStatus.QUEUED);
+        submit(ingestionId);
+        return ApiResponse.success(SUCCESS_MESSAGE_RESUME, HttpStatus.ACCEPTED,
+                ProductMapper.INSTANCE.toCatalogIngestionResponse(ingestion));
+    }
+
+    @Override
+    public ApiResponse<CatalogIngestionResponse> getIngestionById(String ingestionId) {
+        return ApiResponse.success(SUCCESS_MESSAGE_GET, HttpStatus.OK,
+                ProductMapper.INSTANCE.toCatalogIngestionResponse(findIngestion(ingestionId)));
+    }
+
+    private CatalogIngestion findIngestion(String ingestionId) {
+        return catalogIngestionRepository.findById(ingestionId).orElseThrow(
+                () -> new ResourceNotFoundException("Catalog ingestion", "id", ingestionId));
+    }
+
+    private void submit(String ingestionId) {
+        if (!activeIngestions.add(ingestionId)) {
+            throw new IllegalStateException("Catalog ingestion is already queued or running");
+        }
+        try {
+            runExecutor.execute(() -> {
+                try {
+                    run(ingestionId);
+                } finally {
+                    activeIngestions.remove(ingestionId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            activeIngestions.remove(ingestionId);
+            throw new IllegalStateException("Catalog ingestion cannot be queued while the application shuts down", e);
+        }
+    }
+
+    /**
+     * Runs an ingestion from its last checkpoint to the end of the file, on the calling thread.
+     *
+     * @param ingestionId Ingestion ID
+     */
+    void run(String ingestionId) {
+        CatalogIngestion ingestion = findIngestion(ingestionId);
+        transactionTemplate.executeWithoutResult(status -> catalogIngestionRepository.updateStatus(ingestionId,
+                CatalogIngestionStatus.RUNNING, null, null));
+        Progress progress = new Progress(ingestion);
+        log.info("Catalog ingestion {} of {} starting after record {}", ingestionId, ingestion.getSourcePath(),
+                progress.recordsCommitted);
+
+        Path file = baseDir.resolve(ingestion.getSourcePath());
+        try (RecordSource source = ingestion.getFormat() == BulkFormat.CSV
+                ? new CsvRecordSource(Files.newBufferedReader(file, StandardCharsets.UTF_8))
+                : new NdjsonRecordSource(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            source.skip(progress.recordsCommitted);
+            Deque<CompletableFuture<ParsedChunk>> inFlight = new ArrayDeque<>();
+            while (true) {
+                List<RawRecord> records = source.read(batchSize);
+                if (records == null) break;
+                long endRecord = source.position;
+                inFlight.add(CompletableFuture.supplyAsync(() -> parse(source, records, endRecord), parseExecutor));
+                if (inFlight.size() >= maxChunksInFlight) write(ingestionId, inFlight.poll().join(), progress);
+            }
+            while (!inFlight.isEmpty()) write(ingestionId, inFlight.poll().join(), progress);
+
+            transactionTemplate.executeWithoutResult(status -> catalogIngestionRepository.updateStatus(ingestionId,
+                    CatalogIngestionStatus.COMPLETED, null, Instant.now()));
+            log.info("Catalog ingestion {} completed: {} records, {} SKUs inserted, {} updated, {} failed, "
+                            + "{} rows/s", ingestionId, progress.recordsCommitted, progress.skusInserted,
+                    progress.skusUpdated, progress.failedRecords, String.format("%.0f", progress.rowsPerSecond()));
+        } catch (Exception e) {
+            log.error("Catalog ingestion {} stopped after record {}", ingestionId, progress.recordsCommitted, e);
+            String message = e instanceof CancellationException
+                    ? "Interrupted, resume to continue"
+                    : e.getClass().getSimpleName() + ": " + e.getMessage();
+            transactionTemplate.executeWithoutResult(status -> catalogIngestionRepository.updateStatus(ingestionId,
+                    CatalogIngestionStatus.FAILED, truncate(message), null));
+        }
+    }
+
+    /**
+     * Parses and validates one chunk on a worker thread.
+     *
+     * @param source    Source the records were read from, for the CSV header
+     * @param records   Raw records
+     * @param endRecord Position of the source after the last record of the chunk
+     * @return Valid records and the number of rejected ones
+     */
+    private ParsedChunk parse(RecordSource source, List<RawRecord> records, long endRecord) {
+        List<CatalogRecord> parsed = new ArrayList<>(records.size());
+        int failed = 0;
+        String lastError = null;
+        for (RawRecord raw : records) {
+            try {
+                CatalogRecordDto record = source.parse(raw);
+                validate(record);
+                parsed.add(new CatalogRecord(record, toJson(record.getProductAttrs()), toJson(record.getSkuAttrs())));
+            } catch (IllegalArgumentException e) {
+                failed++;
+                lastError = "Record " + raw.number() + ": " + e.getMessage();
+            }
+        }
+        return new ParsedChunk(parsed, failed, lastError, endRecord);
+    }
+
+    private static void validate(CatalogRecordDto record) {
+        if (record.getSkuNo() == null || record.getSkuNo().isBlank()) {
+            throw new IllegalArgumentException("SKU number is required");
+        }
+        if (record.getProductName() == null || record.getProductName().isBlank()) {
+            throw new IllegalArgumentException("Product name is required");
+        }
+        if (record.getSkuStock() != null && record.getSkuStock() < 0) {
+            throw new IllegalArgumentException("SKU stock must not be negative");
+        }
+        if (record.getSkuPrice() != null && record.getSkuPrice() < 0) {
+            throw new IllegalArgumentException("SKU price must not be negative");
+        }
+        record.setSkuNo(record.getSkuNo().trim());
+    }
+
+    /**
+     * Writes one chunk and its checkpoint in one transaction, on the run thread.
+     *
+     * @param ingestionId Ingestion ID
+     * @param chunk       Parsed chunk
+     * @param progress    Counters of the run, advanced once the chunk is committed
+     */
+    private void write(String ingestionId, ParsedChunk chunk, Progress progress) {
+        if (Thread.interrupted()) throw new CancellationException();
+
+        // A SKU listed twice in one chunk is written once, with its last values.
+        Map<String, CatalogRecord> bySkuNo = new LinkedHashMap<>();
+        for (CatalogRecord record : chunk.records()) {
+            bySkuNo.put(record.source().getSkuNo(), record);
+        }
+        String lastError = chunk.lastError() != null ? truncate(chunk.lastError()) : progress.lastError;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                int[] written = transactionTemplate.execute(status -> {
+                    int[] counts = upsert(bySkuNo, progress.user);
+                    catalogIngestionRepository.checkpoint(ingestionId, chunk.endRecord(),
+                            progress.skusInserted + counts[0], progress.skusUpdated + counts[1],
+                            progress.failedRecords + chunk.failed(), progress.rowsPerSecond(chunk.endRecord()),
+                            lastError, Instant.now());
+                    return counts;
+                });
+                progress.advance(chunk, written, lastError);
+                return;
+            } catch (DuplicateKeyException e) {
+                // Another writer inserted one of the new SKU numbers; the next attempt updates it instead.
+                if (attempt == MAX_DUPLICATE_RETRIES) throw e;
+            }
+        }
+    }
+
+    /**
+     * Upserts the SKUs of a chunk by SKU number.
+     *
+     * @param bySkuNo Records by SKU number
+     * @param user    Login recorded as creator or updater
+     * @return Number of SKUs inserted and updated
+     */
+    private int[] upsert(Map<String, CatalogRecord> bySkuNo, String user) {
+        Instant now = Instant.now();
+        Map<String, ProductBatchRepository.SkuRef> existing = productBatchRepository.findSkuRefs(bySkuNo.keySet());
+
+        List<SkuProduct> updatedSkus = new ArrayList<>();
+        List<SkuAttribute> updatedAttributes = new ArrayList<>();
+        List<SkuAttribute> addedAttributes = new ArrayList<>();
+        List<CatalogRecord> added = new ArrayList<>();
+        for (CatalogRecord record : bySkuNo.values()) {
+            ProductBatchRepository.SkuRef ref = existing.get(record.source().getSkuNo());
+            if (ref == null) {
+                added.add(record);
+                continue;
+            }
+            SkuProduct sku = buildSku(record, ref.skuId());
+            sku.setUpdatedAt(now);
+            sku.setUpdatedBy(user);
+            updatedSkus.add(sku);
+            if (ref.productId() != null) sku.setProducts(List.of(productRef(ref.productId())));
+            SkuAttribute attribute = buildAttribute(record, sku, ref.attributeId());
+            sku.setSkuAttr(attribute);
+            if (ref.attributeId() != null) {
+                attribute.setUpdatedAt(now);
+                attribute.setUpdatedBy(user);
+                updatedAttributes.add(attribute);
+            } else {
+                attribute.setId(EntityIds.next());
+                setCreated(attribute, now, user);
+                addedAttributes.add(attribute);
+            }
+        }
+        productBatchRepository.updateSkus(updatedSkus);
+        productBatchRepository.updateSkuAttributes(updatedAttributes);
+        productBatchRepository.insertSkuAttributes(addedAttributes);
+        productAttributeIndex.indexSkus(updatedSkus.stream()
+                .filter(sku -> sku.getSkuAttr().getSkuAttrs() != null).toList());
+        if (!existing.isEmpty()) evictStockAfterCommit(Set.copyOf(existing.keySet()));
+        Set<String> touchedProductIds = new HashSet<>();
+        existing.values().forEach(ref -> {
+            if (ref.productId() != null) touchedProductIds.add(ref.productId());
+        });
+        if (added.isEmpty()) {
+            productSearchIndex.reindex(touchedProductIds);
+            return new int[]{0, updatedSkus.size()};
+        }
+
+        Map<String, Product> productsByName = new HashMap<>();
+        productBatchRepository.findProductIdsByName(added.stream().map(record -> record.source().getProductName())
+                .collect(Collectors.toSet())).forEach((name, id) -> productsByName.put(name, productRef(id)));
+        List<Product> newProducts = new ArrayList<>();
+        List<SkuProduct> newSkus = new ArrayList<>(added.size());
+        for (CatalogRecord record : added) {
+            Product product = productsByName.computeIfAbsent(record.source().getProductName(), name -> {
+                Product created = buildProduct(record);
+                setCreated(created, now, user);
+                newProducts.add(created);
+                return created;
+            });
+            SkuProduct sku = buildSku(record, EntityIds.next());
+            if (sku.getSkuStock() == null) sku.setSkuStock(0);
+            setCreated(sku, now, user);
+            sku.setProducts(List.of(product));
+            SkuAttribute attribute = buildAttribute(record, sku, EntityIds.next());
+            setCreated(attribute, now, user);
+            sku.setSkuAttr(attribute);
+            newSkus.add(sku);
+        }
+        productBatchRepository.insertProducts(newProducts);
+        productBatchRepository.insertSkus(newSkus);
+        productAttributeIndex.indexProducts(newProducts);
+        productAttributeIndex.indexSkus(newSkus);
+        productsByName.values().forEach(product -> touchedProductIds.add(product.getId()));
+        productSearchIndex.reindex(touchedProductIds);
+        return new int[]{newSkus.size(), updatedSkus.size()};
+    }
+
+    /**
+     * Evicts SKUs from the stock ledger once the chunk transaction commits, so the ledger reloads the stock the
+     * chunk wrote instead of selling against the previous quantity.
+     *
+     * @param skuNos Numbers of the updated SKUs
+     */
+    private void evictStockAfterCommit(Set<String> skuNos) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockLedger.evict(skuNos);
+            }
+        });
+    }
+
+    private static Product productRef(String productId) {
+        Product product = new Product();
+        product.setId(productId);
+        return product;
+    }
+
+    private static Product buildProduct(CatalogRecord record) {
+        Product product = new Product();
+        product.setId(EntityIds.next());
+        product.setProductName(record.source().getProductName());
+        product.setProductDesc(record.source().getProductDesc());
+        product.setProductStatus(record.source().getProductStatus() != null ? record.source().getProductStatus() : 0);
+        product.setProductAttrs(record.productAttrs());
+        return product;
+    }
+
+    private static SkuProduct buildSku(CatalogRecord record, String skuId) {
+        SkuProduct sku = new SkuProduct();
+        sku.setId(skuId);
+        sku.setSkuNo(record.source().getSkuNo());
+        sku.setSkuName(record.source().getSkuName());
+        sku.setSkuDescription(record.source().getSkuDescription());
+        sku.setSkuStock(record.source().getSkuStock());
+        sku.setSkuPrice(record.source().getSkuPrice());
+        return sku;
+    }
+
+    /**
+     * Builds the attribute row of a SKU. The price is stored in minor units (cents), as the column is integral.
+     */
+    private static SkuAttribute buildAttribute(CatalogRecord record, SkuProduct sku, String attributeId) {
+        SkuAttribute attribute = new SkuAttribute(sku.getSkuNo(), sku.getSkuStock(),
+                Prices.toCents(sku.getSkuPrice()), record.skuAttrs(), sku);
+        attribute.setId(attributeId);
+        return attribute;
+    }
+
+    private static void setCreated(BaseEntity entity, Instant now, String user) {
+        entity.setCreatedAt(now);
+        entity.setCreatedBy(user);
+        entity.setIsDeleted(false);
+    }
+
+    private String toJson(Map<String, Object> attributes) {
+        if (attributes == null) return null;
+        try {
+            return objectMapper.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Attributes cannot be written as JSON");
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 255 ? message : message.substring(0, 255);
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(int threads, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Record as read from the file, before parsing.
+     *
+     * @param number Record number, starting at 1 after any header
+     * @param line   NDJSON line, or null for CSV
+     * @param fields CSV fields, or null for NDJSON
+     */
+    private record RawRecord(long number, String line, List<String> fields) {
+    }
+
+    /**
+     * Valid record with its attributes serialized.
+     *
+     * @param source       Parsed record
+     * @param productAttrs Product attributes as JSON, or null
+     * @param skuAttrs     SKU attributes as JSON, or null
+     */
+    private record CatalogRecord(CatalogRecordDto source, String productAttrs, String skuAttrs) {
+    }
+
+    /**
+     * Parsed chunk waiting to be written.
+     *
+     * @param records   Valid records in file order
+     * @param failed    Number of rejected records
+     * @param lastError Error of the last rejected record, or null
+     * @param endRecord Checkpoint to store once the chunk is committed
+     */
+    private record ParsedChunk(List<CatalogRecord> records, int failed, String lastError, long endRecord) {
+    }
+
+    /**
+     * Counters of a run, starting from the stored checkpoint.
+     */
+    private static final class Progress {
+        private final long startedAt = System.nanoTime();
+        private final String user;
+        private final long recordsAtStart;
+        private long recordsCommitted;
+        private long skusInserted;
+        private long skusUpdated;
+        private long failedRecords;
+        private String lastError;
+
+        private Progress(CatalogIngestion ingestion) {
+            this.user = ingestion.getCreatedBy() != null ? ingestion.getCreatedBy() : SYSTEM_USER;
+            this.recordsAtStart = ingestion.getRecordsCommitted();
+            this.recordsCommitted = ingestion.getRecordsCommitted();
+            this.skusInserted = ingestion.getSkusInserted();
+            this.skusUpdated = ingestion.getSkusUpdated();
+            this.failedRecords = ingestion.getFailedRecords();
+            this.lastError = ingestion.getLastError();
+        }
+
+        private void advance(ParsedChunk chunk, int[] written, String lastError) {
+            recordsCommitted = chunk.endRecord();
+            skusInserted += written[0];
+            skusUpdated += written[1];
+            failedRecords += chunk.failed();
+            this.lastError = lastError;
+        }
+
+        private double rowsPerSecond() {
+            return rowsPerSecond(recordsCommitted);
+        }
+
+        /**
+         * Throughput of this run, not counting the records skipped on resume.
+         */
+        private double rowsPerSecond(long records) {
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            return seconds > 0 ? (records - recordsAtStart) / seconds : 0;
+        }
+    }
+
+    /**
+     * Reader of raw records that counts its position in data records, blank ones included, so a checkpoint can be
+     * skipped to without parsing.
+     */
+    private abstract static class RecordSource implements Closeable {
+        protected long position;
+
+        /**
+         * Reads up to {@code max} non-blank records.
+         *
+         * @param max Maximum number of records
+         * @return Records, or null at the end of the input
+         * @throws IOException if the input cannot be read
+         */
+        List<RawRecord> read(int max) throws IOException {
+            List<RawRecord> records = new ArrayList<>(max);
+            while (records.size() < max) {
+                RawRecord record = next();
+                if (record == null) break;
+                if (!isBlank(record)) records.add(record);
+            }
+            return records.isEmpty() ? null : records;
+        }
+
+        /**
+         * Skips records up to a checkpoint.
+         *
+         * @param records Number of records to skip from the start of the data
+         * @throws IOException if the input cannot be read
+         */
+        void skip(long records) throws IOException {
+            while (position < records && next() != null) {
+                // Skipped records are committed already.
+            }
+        }
+
+        abstract RawRecord next() throws IOException;
+
+        abstract boolean isBlank(RawRecord record);
+
+        /**
+         * Parses a raw record. Called on the worker threads, so must not touch the reader.
+         *
+         * @throws IllegalArgumentException if the record is malformed
+         */
+        abstract CatalogRecordDto parse(RawRecord record);
+    }
+
+    private final class NdjsonRecordSource extends RecordSource {
+        private final BufferedReader reader;
+
+        private NdjsonRecordSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        RawRecord next() throws IOException {
+            String line = reader.readLine();
+            if (line == null) return null;
+            return new RawRecord(++position, line, null);
+        }
+
+        @Override
+        boolean isBlank(RawRecord record) {
+            return record.line().isBlank();
+        }
+
+        @Override
+        CatalogRecordDto parse(RawRecord record) {
+            try {
+                return recordReader.readValue(record.line());
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private final class CsvRecordSource extends RecordSource {
+        private final CsvReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvRecordSource(BufferedReader input) throws IOException {
+            this.reader = new CsvReader(input);
+            List<String> header = reader.readRecord();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+                }
+            }
+            if (!columns.containsKey("skuNo") || !columns.containsKey("productName")) {
+                throw new IllegalArgumentException("CSV header must contain the columns skuNo and productName");
+            }
+        }
+
+        @Override
+        RawRecord next() throws IOException {
+            List<String> fields = reader.readRecord();
+            if (fields == null) return null;
+            return new RawRecord(++position, null, fields);
+        }
+
+        @Override
+        boolean isBlank(RawRecord record) {
+            return record.fields().size() == 1 && record.fields().get(0).isBlank();
+        }
+
+        @Override
+        CatalogRecordDto parse(RawRecord record) {
+            List<String> fields = record.fields();
+            return CatalogRecordDto.builder()
+                    .productName(field(fields, "productName"))
+                    .productDesc(field(fields, "productDesc"))
+                    .productStatus(parseInteger(field(fields, "productStatus"), "productStatus"))
+                    .productAttrs(parseAttributes(field(fields, "productAttrs"), "productAttrs"))
+                    .skuNo(field(fields, "skuNo"))
+                    .skuName(field(fields, "skuName"))
+                    .skuDescription(field(fields, "skuDescription"))
+                    .skuStock(parseInteger(field(fields, "skuStock"), "skuStock"))
+                    .skuPrice(parseDouble(field(fields, "skuPrice")))
+                    .skuAttrs(parseAttributes(field(fields, "skuAttrs"), "skuAttrs"))
+                    .build();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) return null;
+            return fields.get(index);
+        }
+
+        private static Integer parseInteger(String value, String column) {
+            if (value == null) return null;
+            try {
+                return Integer.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + value);
+            }
+        }
+
+        private static Double parseDouble(String value) {
+            if (value == null) return null;
+            try {
+                return Double.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid skuPrice: " + value);
+            }
+        }
+
+        private Map<String, Object> parseAttributes(String value, String column) {
+            if (value == null) return null;
+            try {
+                return objectMapper.readValue(value, ATTRIBUTES_TYPE);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid " + column + " JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
@@ -9,25 +9,40 @@ import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
 import com.frankie.ecommerce_project.mapper.CategoryMapper;
 import com.frankie.ecommerce_project.model.Category;
 import com.frankie.ecommerce_project.repository.CategoryRepository;
+import com.frankie.ecommerce_project.search.CategorySearchIndex;
+import com.frankie.ecommerce_project.search.SearchResult;
 import com.frankie.ecommerce_project.service.CategoryService;
 import com.frankie.ecommerce_project.utils.BuildPageable;
+import com.frankie.ecommerce_project.utils.KeysetPagination;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
+    /**
+     * Fields a list may be sorted by: never null, and safe to carry in a cursor.
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "createdAt");
+
     private final CategoryRepository categoryRepository;
+    private final CategorySearchIndex categorySearchIndex;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategorySearchIndex categorySearchIndex) {
         this.categoryRepository = categoryRepository;
+        this.categorySearchIndex = categorySearchIndex;
     }
 
     @Override
@@ -43,16 +58,23 @@ public class CategoryServiceImpl implements CategoryService {
                 .isDeleted(false)
                 .build();
         categoryRepository.save(newCategory);
+        categorySearchIndex.index(newCategory);
         CreateCategoryResponse createCategoryResponse = CategoryMapper.INSTANCE.toCreateCategoryResponse(newCategory);
         return ApiResponse.success("Category created successfully", HttpStatus.CREATED, createCategoryResponse);
     }
 
     @Override
     public ApiResponse<CategoryListResponse> getALlCategories(int pageNo, int pageSize, String sortBy,
-            String sortDir) {
-        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize, sortBy, sortDir);
+            String sortDir, String after) {
+        if (after != null) {
+            CategoryListResponse categoryListResponse = scrollCategories(KeysetPagination.all(), pageSize, sortBy,
+                    sortDir, after);
+            return ApiResponse.success("Get all categories successfully", HttpStatus.OK, categoryListResponse);
+        }
+        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize,
+                KeysetPagination.requireSortable(sortBy, SORTABLE_FIELDS), sortDir);
         Page<Category> categories = categoryRepository.findAll(pageable);
-        List<CategoryInfo> categoryInfoList = buildCategoryList(categories);
+        List<CategoryInfo> categoryInfoList = buildCategoryList(categories.getContent());
         CategoryListResponse categoryListResponse = buildCategoryListResponse(categories, categoryInfoList);
         return ApiResponse.success("Get all categories successfully", HttpStatus.OK, categoryListResponse);
     }
@@ -76,6 +98,7 @@ public class CategoryServiceImpl implements CategoryService {
         findCategory.setName(updateCategoryDto.getName());
         findCategory.setDescription(updateCategoryDto.getDescription());
         categoryRepository.save(findCategory);
+        categorySearchIndex.index(findCategory);
         UpdateCategoryResponse updateCategoryResponse = CategoryMapper.INSTANCE.toUpdateCategoryResponse(findCategory);
         return ApiResponse.success("Category updated successfully", HttpStatus.OK, updateCategoryResponse);
     }
@@ -115,10 +138,20 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public ApiResponse<CategoryListResponse> searchCategoryByName(String categoryName, int pageNo, int pageSize,
-            String sortBy, String sortDir) {
-        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize, sortBy, sortDir);
-        Page<Category> categories = categoryRepository.searchByName(categoryName, pageable);
-        List<CategoryInfo> categoryInfoList = buildCategoryList(categories);
+            String sortBy, String sortDir, String after) {
+        if (after != null) {
+            CategoryListResponse categoryListResponse = scrollCategories(
+                    KeysetPagination.contains("name", categoryName), pageSize, sortBy, sortDir, after);
+            return ApiResponse.success("Search category by name successfully", HttpStatus.OK, categoryListResponse);
+        }
+        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize,
+                KeysetPagination.requireSortable(sortBy, SORTABLE_FIELDS), sortDir);
+        Optional<SearchResult> hits = categorySearchIndex.search(categoryName, pageable);
+        Page<Category> categories = hits.isPresent()
+                ? new PageImpl<>(hits.get().orderByRelevance(categoryRepository.findAllById(hits.get().getIds()),
+                        Category::getId), pageable, hits.get().getTotal())
+                : categoryRepository.searchByName(categoryName, pageable);
+        List<CategoryInfo> categoryInfoList = buildCategoryList(categories.getContent());
         CategoryListResponse categoryListResponse = buildCategoryListResponse(categories, categoryInfoList);
         return ApiResponse.success("Search category by name successfully", HttpStatus.OK, categoryListResponse);
     }
@@ -135,8 +168,17 @@ public class CategoryServiceImpl implements CategoryService {
         return CategoryListResponse.builder().meta(metaData).data(categoryInfoList).build();
     }
 
-    private List<CategoryInfo> buildCategoryList(Page<Category> categories) {
-        return categories.getContent().stream()
+    private CategoryListResponse scrollCategories(Specification<Category> specification, int pageSize,
+            String sortBy, String sortDir, String after) {
+        Sort sort = KeysetPagination.buildSort(sortBy, sortDir, SORTABLE_FIELDS);
+        Window<Category> categories = KeysetPagination.scroll(categoryRepository, specification, sort, after,
+                pageSize);
+        MetaData metaData = KeysetPagination.buildMetaData(categories, sort);
+        return CategoryListResponse.builder().meta(metaData).data(buildCategoryList(categories.getContent())).build();
+    }
+
+    private List<CategoryInfo> buildCategoryList(List<Category> categories) {
+        return categories.stream()
                 .map(CategoryMapper.INSTANCE::toCategoryInfo)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,131 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.email.OtpEmailMessage;
+import com.frankie.ecommerce_project.model.EmailOutbox;
+import com.frankie.ecommerce_project.service.EmailOutboxService;
+import com.frankie.ecommerce_project.service.EmailService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Background dispatcher delivering emails from the outbox. Each poll claims up to
+ * {@code batchSize * concurrency} due emails, sends them to the provider in batches of {@code batchSize}
+ * on a bounded executor, and waits for all batches before the next poll. In virtual-thread mode each batch runs
+ * on its own virtual thread, still limited to {@code concurrency} provider calls in flight.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+    private static final String THREAD_NAME_PREFIX = "email-dispatch-";
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+    private final AsyncTaskExecutor emailDispatchExecutor;
+    private final int batchSize;
+    private final int concurrency;
+
+    /**
+     * Constructs EmailOutboxDispatcher with required dependencies and configuration.
+     *
+     * @param emailOutboxService Service for claiming and completing outbox rows
+     * @param emailService       Email provider
+     * @param batchSize          Maximum number of emails per provider call
+     * @param concurrency        Maximum number of provider calls in flight
+     * @param environment        Environment used to detect virtual-thread mode
+     */
+    public EmailOutboxDispatcher(EmailOutboxService emailOutboxService,
+                                 EmailService emailService,
+                                 @Value("${app.email.outbox.batchSize:50}") int batchSize,
+                                 @Value("${app.email.outbox.concurrency:4}") int concurrency,
+                                 Environment environment) {
+        this.emailOutboxService = emailOutboxService;
+        this.emailService = emailService;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.emailDispatchExecutor = Threading.VIRTUAL.isActive(environment)
+                ? createVirtualThreadExecutor(concurrency)
+                : createThreadPoolExecutor(concurrency);
+    }
+
+    /**
+     * Waits for in-flight provider calls and stops the dispatch executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (emailDispatchExecutor instanceof ThreadPoolTaskExecutor threadPool) {
+            threadPool.shutdown();
+        } else if (emailDispatchExecutor instanceof SimpleAsyncTaskExecutor virtualThreads) {
+            virtualThreads.close();
+        }
+    }
+
+    /**
+     * Claims due emails and delivers them.
+     */
+    @Scheduled(fixedDelayString = "${app.email.outbox.pollIntervalMs:1000}")
+    public void dispatch() {
+        List<EmailOutbox> emails = emailOutboxService.claimDueEmails(batchSize * concurrency);
+        if (emails.isEmpty()) return;
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < emails.size(); from += batchSize) {
+            List<EmailOutbox> batch = emails.subList(from, Math.min(from + batchSize, emails.size()));
+            batches.add(CompletableFuture.runAsync(() -> deliver(batch), emailDispatchExecutor));
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static ThreadPoolTaskExecutor createThreadPoolExecutor(int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    private static SimpleAsyncTaskExecutor createVirtualThreadExecutor(int concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrency);
+        executor.setTaskTerminationTimeout(SHUTDOWN_TIMEOUT_MS);
+        return executor;
+    }
+
+    /**
+     * Sends one batch to the provider and records the outcome.
+     *
+     * @param batch Claimed emails to send
+     */
+    private void deliver(List<EmailOutbox> batch) {
+        List<String> ids = batch.stream().map(EmailOutbox::getId).toList();
+        List<OtpEmailMessage> messages = batch.stream()
+                .map(email -> OtpEmailMessage.builder()
+                        .to(email.getRecipient())
+                        .otp(email.getOtp())
+                        .type(email.getType())
+                        .build())
+                .toList();
+        try {
+            emailService.sendOtpEmails(messages);
+            emailOutboxService.markSent(ids);
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver {} outbox emails: {}", ids.size(), e.getMessage());
+            emailOutboxService.markFailed(ids, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.model.EmailOutbox;
+import com.frankie.ecommerce_project.repository.EmailOutboxRepository;
+import com.frankie.ecommerce_project.service.EmailOutboxService;
+import com.frankie.ecommerce_project.utils.EmailOutboxStatus;
+import com.frankie.ecommerce_project.utils.VerificationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Transactional outbox for outgoing emails. Emails are stored in the caller's transaction and delivered
+ * later by {@link EmailOutboxDispatcher}, so a slow or failing provider neither holds the request
+ * transaction open nor rolls it back.
+ */
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final List<EmailOutboxStatus> DELIVERABLE_STATUSES =
+            List.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimLease;
+
+    /**
+     * Constructs EmailOutboxServiceImpl with required dependencies and retry configuration.
+     *
+     * @param emailOutboxRepository Repository for outbox rows
+     * @param maxAttempts           Number of delivery attempts before an email is marked as failed
+     * @param initialBackoffSeconds Delay before the first retry, doubled on each further attempt
+     * @param maxBackoffSeconds     Upper bound for the retry delay
+     * @param claimLeaseSeconds     Time after which a claimed but unfinished email becomes deliverable again
+     */
+    public EmailOutboxServiceImpl(EmailOutboxRepository emailOutboxRepository,
+                                  @Value("${app.email.outbox.maxAttempts:8}") int maxAttempts,
+                                  @Value("${app.email.outbox.initialBackoffSeconds:5}") long initialBackoffSeconds,
+                                  @Value("${app.email.outbox.maxBackoffSeconds:600}") long maxBackoffSeconds,
+                                  @Value("${app.email.outbox.claimLeaseSeconds:60}") long claimLeaseSeconds) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.claimLease = Duration.ofSeconds(claimLeaseSeconds);
+    }
+
+    /**
+     * Stores an OTP email for delivery. Joins the caller's transaction so the email is only sent
+     * if the triggering change commits.
+     *
+     * @param to   Recipient email address
+     * @param otp  Plain OTP to deliver
+     * @param type OTP type
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void enqueueOtpEmail(String to, String otp, VerificationType type) {
+        EmailOutbox email = EmailOutbox.builder()
+                .recipient(to)
+                .otp(otp)
+                .type(type)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+                .build();
+        emailOutboxRepository.save(email);
+    }
+
+    /**
+     * Claims the emails that are due for delivery. Claimed emails are leased to the caller; if the caller
+     * dies before reporting the outcome, they become deliverable again once the lease expires.
+     *
+     * @param limit Maximum number of emails to claim
+     * @return List of claimed emails
+     */
+    @Transactional
+    @Override
+    public List<EmailOutbox> claimDueEmails(int limit) {
+        Instant now = Instant.now();
+        List<EmailOutbox> emails = emailOutboxRepository.findDueForUpdate(DELIVERABLE_STATUSES, now,
+                PageRequest.of(0, limit));
+        emails.forEach(email -> {
+            email.setStatus(EmailOutboxStatus.SENDING);
+            email.setNextAttemptAt(now.plus(claimLease));
+        });
+        return emails;
+    }
+
+    /**
+     * Removes emails that the provider accepted.
+     *
+     * @param outboxIds IDs of the delivered emails
+     */
+    @Transactional
+    @Override
+    public void markSent(List<String> outboxIds) {
+        emailOutboxRepository.deleteAllByIdInBatch(outboxIds);
+    }
+
+    /**
+     * Schedules failed emails for a retry with exponential backoff, or marks them as failed
+     * once the maximum number of attempts is reached.
+     *
+     * @param outboxIds IDs of the emails that failed
+     * @param error     Provider error message
+     */
+    @Transactional
+    @Override
+    public void markFailed(List<String> outboxIds, String error) {
+        Instant now = Instant.now();
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        emailOutboxRepository.findAllById(outboxIds).forEach(email -> {
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setLastError(lastError);
+            if (attempts >= maxAttempts) {
+                email.setStatus(EmailOutboxStatus.FAILED);
+                email.setOtp(null);
+            } else {
+                email.setStatus(EmailOutboxStatus.PENDING);
+                email.setNextAttemptAt(now.plus(computeBackoff(attempts)));
+            }
+        });
+    }
+
+    /**
+     * Computes the retry delay for the given attempt count.
+     *
+     * @param attempts Number of attempts made so far
+     * @return Delay before the next attempt
+     */
+    private Duration computeBackoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -1,52 +1,106 @@
 package com.frankie.ecommerce_project.service.implement;
 
+import com.frankie.ecommerce_project.dto.email.OtpEmailMessage;
 import com.frankie.ecommerce_project.service.EmailService;
+import com.frankie.ecommerce_project.template.EmailTemplateEngine;
 import com.frankie.ecommerce_project.utils.VerificationType;
 import com.resend.Resend;
 import com.resend.core.exception.ResendException;
 import com.resend.services.emails.model.CreateEmailOptions;
-import com.resend.services.emails.model.CreateEmailResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Service
+@ConditionalOnProperty(name = "app.email.provider", havingValue = "resend", matchIfMissing = true)
 public class EmailServiceImpl implements EmailService {
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final String OTP_TEMPLATE = "otp-email";
+    private static final String PROVIDER_METRIC = "app.email.provider";
 
-    @Value("${spring.resend.api-key}")
-    private String resendApiKey;
+    private final Resend resend;
+    private final EmailTemplateEngine emailTemplateEngine;
+    private final String fromEmail;
+    private final MeterRegistry meterRegistry;
 
-    @Value("${spring.resend.from-email}")
-    private String fromEmail;
+    public EmailServiceImpl(EmailTemplateEngine emailTemplateEngine,
+                            MeterRegistry meterRegistry,
+                            @Value("${spring.resend.api-key}") String resendApiKey,
+                            @Value("${spring.resend.from-email}") String fromEmail) {
+        this.resend = new Resend(resendApiKey);
+        this.emailTemplateEngine = emailTemplateEngine;
+        this.meterRegistry = meterRegistry;
+        this.fromEmail = fromEmail;
+    }
 
     @Override
     public void sendOtpEmail(String to, String otp, VerificationType type) {
+        CreateEmailOptions email = buildOtpEmail(to, otp, type);
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            // Đọc file HTML template
-            ClassPathResource resource = new ClassPathResource("templates/otp-email.html");
-
-            String html = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            // Thay thế placeholder
-            html = html.replace("${otp}", otp);
-
-            Resend resend = new Resend(resendApiKey);
-            String subject = type == VerificationType.OTP_REGISTER ? "OTP Registration Code" : "OTP Code Reset Password";
-
-            CreateEmailOptions options = CreateEmailOptions.builder()
-                    .from(fromEmail)
-                    .to(to)
-                    .subject(subject)
-                    .html(html)
-                    .build();
+            resend.emails().send(email);
+            sample.stop(providerTimer("send", "success"));
+        } catch (ResendException e) {
+            sample.stop(providerTimer("send", "failure"));
+            throw new RuntimeException("Lỗi gửi email OTP: " + e.getMessage());
+        }
+    }
 
-            resend.emails().send(options);
-        } catch (ResendException | IOException e) {
+    @Override
+    public void sendOtpEmails(List<OtpEmailMessage> messages) {
+        try {
+            List<CreateEmailOptions> emails = new ArrayList<>(messages.size());
+            for (OtpEmailMessage message : messages) {
+                emails.add(buildOtpEmail(message.getTo(), message.getOtp(), message.getType()));
+            }
+            for (int from = 0; from < emails.size(); from += MAX_BATCH_SIZE) {
+                sendBatch(emails.subList(from, Math.min(from + MAX_BATCH_SIZE, emails.size())));
+            }
+        } catch (ResendException e) {
             throw new RuntimeException("Lỗi gửi email OTP: " + e.getMessage());
         }
     }
 
+    private void sendBatch(List<CreateEmailOptions> emails) throws ResendException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            resend.batch().send(emails);
+            sample.stop(providerTimer("batch", "success"));
+        } catch (ResendException e) {
+            sample.stop(providerTimer("batch", "failure"));
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the timer of calls to the email provider.
+     *
+     * @param operation {@code send} for a single email, {@code batch} for a batch request
+     * @param outcome   {@code success} or {@code failure}
+     * @return Timer
+     */
+    private Timer providerTimer(String operation, String outcome) {
+        return Timer.builder(PROVIDER_METRIC)
+                .description("Requests to the email provider")
+                .tags("operation", operation, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private CreateEmailOptions buildOtpEmail(String to, String otp, VerificationType type) {
+        String html = emailTemplateEngine.render(OTP_TEMPLATE, Map.of("otp", otp));
+        String subject = type == VerificationType.OTP_REGISTER ? "OTP Registration Code" : "OTP Code Reset Password";
+
+        return CreateEmailOptions.builder()
+                .from(fromEmail)
+                .to(to)
+                .subject(subject)
+                .html(html)
+                .build();
+    }
 }
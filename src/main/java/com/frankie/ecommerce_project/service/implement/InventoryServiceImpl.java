@@ -0,0 +1,125 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.inventory.common.StockItem;
+import com.frankie.ecommerce_project.dto.inventory.request.ReserveStockDto;
+import com.frankie.ecommerce_project.dto.inventory.response.ReservationResponse;
+import com.frankie.ecommerce_project.dto.inventory.response.StockLevelResponse;
+import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
+import com.frankie.ecommerce_project.inventory.Reservation;
+import com.frankie.ecommerce_project.inventory.StockLedger;
+import com.frankie.ecommerce_project.security.SecurityUtil;
+import com.frankie.ecommerce_project.service.InventoryService;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implementation of InventoryService on top of the in-memory {@link StockLedger}. A reservation belongs to the user
+ * who made it, and only that user can commit or release it.
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService {
+    private final StockLedger stockLedger;
+
+    /**
+     * Constructs InventoryServiceImpl with the stock ledger.
+     *
+     * @param stockLedger Ledger holding stock and reservations
+     */
+    public InventoryServiceImpl(StockLedger stockLedger) {
+        this.stockLedger = stockLedger;
+    }
+
+    /**
+     * Reserves stock for a checkout. Items naming the same SKU are added up.
+     *
+     * @param reserveStockDto Items to reserve
+     * @return ApiResponse containing the open reservation and its expiry time
+     */
+    @Override
+    public ApiResponse<ReservationResponse> reserveStock(ReserveStockDto reserveStockDto) {
+        Map<String, Integer> items = new HashMap<>();
+        if (reserveStockDto.getItems() != null) {
+            for (StockItem item : reserveStockDto.getItems()) {
+                if (item.getSkuNo() == null || item.getSkuNo().isBlank()) {
+                    throw new IllegalArgumentException("SKU number is required");
+                }
+                if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                    throw new IllegalArgumentException("Quantity must be positive for SKU " + item.getSkuNo());
+                }
+                items.merge(item.getSkuNo(), item.getQuantity(), Math::addExact);
+            }
+        }
+        Reservation reservation = stockLedger.reserve(items, currentUser());
+        return ApiResponse.success("Stock reserved successfully", HttpStatus.CREATED, toResponse(reservation));
+    }
+
+    /**
+     * Commits a reservation of the current user.
+     *
+     * @param reservationId Reservation ID
+     * @return ApiResponse containing the committed reservation
+     * @throws ResourceNotFoundException if the reservation does not exist, has ended or belongs to another user
+     */
+    @Override
+    public ApiResponse<ReservationResponse> commitReservation(String reservationId) {
+        requireOwned(reservationId);
+        Reservation reservation = stockLedger.commit(reservationId);
+        return ApiResponse.success("Reservation committed successfully", HttpStatus.OK, toResponse(reservation));
+    }
+
+    /**
+     * Releases a reservation of the current user.
+     *
+     * @param reservationId Reservation ID
+     * @return ApiResponse containing the released reservation
+     * @throws ResourceNotFoundException if the reservation does not exist, has ended or belongs to another user
+     */
+    @Override
+    public ApiResponse<ReservationResponse> releaseReservation(String reservationId) {
+        requireOwned(reservationId);
+        Reservation reservation = stockLedger.release(reservationId);
+        return ApiResponse.success("Reservation released successfully", HttpStatus.OK, toResponse(reservation));
+    }
+
+    @Override
+    public ApiResponse<StockLevelResponse> getStockLevel(String skuNo) {
+        StockLedger.StockLevel level = stockLedger.getStockLevel(skuNo);
+        StockLevelResponse response = StockLevelResponse.builder()
+                .skuNo(level.skuNo())
+                .available(level.available())
+                .reserved(level.reserved())
+                .build();
+        return ApiResponse.success("Get stock level successfully", HttpStatus.OK, response);
+    }
+
+    /**
+     * Checks that a reservation belongs to the current user. Reservations of other users are reported as missing,
+     * so their IDs cannot be probed.
+     *
+     * @param reservationId Reservation ID
+     */
+    private void requireOwned(String reservationId) {
+        if (!stockLedger.getReservation(reservationId).owner().equals(currentUser())) {
+            throw new ResourceNotFoundException("Reservation", "id", reservationId);
+        }
+    }
+
+    private static String currentUser() {
+        return SecurityUtil.getCurrentUserLogin()
+                .orElseThrow(() -> new IllegalStateException("Reservations require an authenticated user"));
+    }
+
+    private static ReservationResponse toResponse(Reservation reservation) {
+        return ReservationResponse.builder()
+                .id(reservation.id())
+                .items(reservation.items().entrySet().stream()
+                        .map(item -> StockItem.builder().skuNo(item.getKey()).quantity(item.getValue()).build())
+                        .toList())
+                .expiresAt(reservation.expiresAt())
+                .build();
+    }
+}
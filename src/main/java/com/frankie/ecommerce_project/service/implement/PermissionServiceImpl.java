@@ -1,5 +1,6 @@
 package com.frankie.ecommerce_project.service.implement;
 
+import com.frankie.ecommerce_project.cache.ReferenceDataCache;
 import com.frankie.ecommerce_project.dto.permission.common.PermissionInfo;
 import com.frankie.ecommerce_project.dto.permission.request.CreatePermissionDto;
 import com.frankie.ecommerce_project.dto.permission.request.UpdatePermissionDto;
@@ -10,19 +11,26 @@ import com.frankie.ecommerce_project.dto.permission.response.UpdatePermissionRes
 import com.frankie.ecommerce_project.exception.ResourceExistingException;
 import com.frankie.ecommerce_project.mapper.PermissionMapper;
 import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.repository.JoinTableRepository;
 import com.frankie.ecommerce_project.repository.PermissionRepository;
+import com.frankie.ecommerce_project.security.authority.PermissionBitsetRegistry;
+import com.frankie.ecommerce_project.security.authority.RoleAuthorityCache;
 import com.frankie.ecommerce_project.service.PermissionService;
 import com.frankie.ecommerce_project.utils.BuildPageable;
+import com.frankie.ecommerce_project.utils.KeysetPagination;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -35,16 +43,35 @@ public class PermissionServiceImpl implements PermissionService {
     private static final String SUCCESS_MESSAGE_GET_BY_ID = "Get permission by id successfully";
     private static final String SUCCESS_MESSAGE_UPDATE = "Permission updated successfully";
     private static final String SUCCESS_MESSAGE_DELETE = "Permission deleted successfully";
+    /**
+     * Fields a list may be sorted by: never null, and safe to carry in a cursor.
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "createdAt");
 
     private final PermissionRepository permissionRepository;
+    private final JoinTableRepository joinTableRepository;
+    private final RoleAuthorityCache roleAuthorityCache;
+    private final PermissionBitsetRegistry permissionBitsetRegistry;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * Constructs a new PermissionServiceImpl with the specified repositories.
      *
-     * @param permissionRepository The repository for accessing permission data.
+     * @param permissionRepository     The repository for accessing permission data.
+     * @param joinTableRepository      The set-based writes to the role permission join table.
+     * @param roleAuthorityCache       The cache of role authorities to evict on permission changes.
+     * @param permissionBitsetRegistry The permission bitmap registry to invalidate on permission changes.
+     * @param referenceDataCache       The second-level cache of roles and permissions to evict on permission changes.
      */
-    public PermissionServiceImpl(PermissionRepository permissionRepository) {
+    public PermissionServiceImpl(PermissionRepository permissionRepository, JoinTableRepository joinTableRepository,
+                                 RoleAuthorityCache roleAuthorityCache,
+                                 PermissionBitsetRegistry permissionBitsetRegistry,
+                                 ReferenceDataCache referenceDataCache) {
         this.permissionRepository = permissionRepository;
+        this.joinTableRepository = joinTableRepository;
+        this.roleAuthorityCache = roleAuthorityCache;
+        this.permissionBitsetRegistry = permissionBitsetRegistry;
+        this.referenceDataCache = referenceDataCache;
     }
 
     /**
@@ -60,6 +87,7 @@ public class PermissionServiceImpl implements PermissionService {
         checkPermissionExists(createPermissionDto.getName(), null);
         Permission newPermission = createNewPermission(createPermissionDto);
         permissionRepository.save(newPermission);
+        permissionBitsetRegistry.invalidate();
         CreatePermissionResponse response = PermissionMapper.INSTANCE.toCreatePermissionResponse(newPermission);
         return ApiResponse.success(SUCCESS_MESSAGE_CREATE, HttpStatus.CREATED, response);
     }
@@ -71,12 +99,22 @@ public class PermissionServiceImpl implements PermissionService {
      * @param pageSize The number of permissions per page.
      * @param sortBy   The field to sort by.
      * @param sortDir  The sort direction ("asc" or "desc").
+     * @param after    The cursor of the previous page; when present, keyset pagination is used instead of pageNo.
      * @return ApiResponse containing the paginated list of permissions.
      */
     @Transactional(readOnly = true)
     @Override
-    public ApiResponse<PermissionListResponse> getAllPermissions(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize, sortBy, sortDir);
+    public ApiResponse<PermissionListResponse> getAllPermissions(int pageNo, int pageSize, String sortBy, String sortDir,
+                                                                 String after) {
+        if (after != null) {
+            Sort sort = KeysetPagination.buildSort(sortBy, sortDir, SORTABLE_FIELDS);
+            Window<Permission> permissions = KeysetPagination.scroll(permissionRepository, KeysetPagination.all(),
+                    sort, after, pageSize);
+            return buildPermissionListResponse(permissions.getContent(),
+                    KeysetPagination.buildMetaData(permissions, sort));
+        }
+        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize,
+                KeysetPagination.requireSortable(sortBy, SORTABLE_FIELDS), sortDir);
         Page<Permission> permissions = permissionRepository.findAll(pageable);
         return buildPermissionListResponse(permissions);
     }
@@ -111,12 +149,17 @@ public class PermissionServiceImpl implements PermissionService {
         Permission permission = findPermissionById(permissionId);
         updatePermission(permission, updatePermissionDto);
         permissionRepository.save(permission);
+        List<String> roleIds = joinTableRepository.findRoleIdsByPermissionId(permissionId);
+        roleAuthorityCache.evictAll(roleIds);
+        referenceDataCache.evictPermission(permissionId, roleIds);
+        permissionBitsetRegistry.invalidate();
         UpdatePermissionResponse response = PermissionMapper.INSTANCE.toUpdatePermissionResponse(permission);
         return ApiResponse.success(SUCCESS_MESSAGE_UPDATE, HttpStatus.OK, response);
     }
 
     /**
-     * Deletes a permission by its ID and removes it from associated roles.
+     * Deletes a permission by its ID and removes it from associated roles with a single statement, without
+     * loading the roles.
      *
      * @param permissionId The ID of the permission to delete.
      * @return ApiResponse containing the deletion confirmation.
@@ -126,8 +169,12 @@ public class PermissionServiceImpl implements PermissionService {
     @Override
     public ApiResponse<DeletePermissionResponse> deletePermissionById(String permissionId) {
         Permission permission = findPermissionById(permissionId);
-        removePermissionFromRoles(permission);
+        List<String> roleIds = joinTableRepository.findRoleIdsByPermissionId(permissionId);
+        joinTableRepository.deletePermissionFromRoles(permissionId);
         permissionRepository.delete(permission);
+        roleAuthorityCache.evictAll(roleIds);
+        referenceDataCache.evictPermission(permissionId, roleIds);
+        permissionBitsetRegistry.invalidate();
         DeletePermissionResponse response = DeletePermissionResponse.builder()
                 .id(permission.getId())
                 .build();
@@ -141,7 +188,6 @@ public class PermissionServiceImpl implements PermissionService {
      * @return ApiResponse object containing PermissionListResponse data and pagination metadata
      */
     private ApiResponse<PermissionListResponse> buildPermissionListResponse(Page<Permission> permissions) {
-        List<PermissionInfo> permissionInfoList = mapToPermissionInfoList(permissions);
         MetaData meta = MetaData.builder()
                 .pageNo(permissions.getNumber())
                 .pageSize(permissions.getSize())
@@ -149,6 +195,18 @@ public class PermissionServiceImpl implements PermissionService {
                 .totalElements(permissions.getTotalElements())
                 .lastPage(permissions.isLast())
                 .build();
+        return buildPermissionListResponse(permissions.getContent(), meta);
+    }
+
+    /**
+     * Builds an ApiResponse containing a list of permissions and the given metadata.
+     *
+     * @param permissions List of Permission entities
+     * @param meta        Pagination metadata
+     * @return ApiResponse object containing PermissionListResponse data and pagination metadata
+     */
+    private ApiResponse<PermissionListResponse> buildPermissionListResponse(List<Permission> permissions, MetaData meta) {
+        List<PermissionInfo> permissionInfoList = mapToPermissionInfoList(permissions);
         PermissionListResponse response = PermissionListResponse.builder()
                 .meta(meta)
                 .data(permissionInfoList)
@@ -157,13 +215,13 @@ public class PermissionServiceImpl implements PermissionService {
     }
 
     /**
-     * Maps a page of permissions to a list of PermissionInfo DTOs.
+     * Maps permissions to a list of PermissionInfo DTOs.
      *
-     * @param permissions The paginated list of permissions.
+     * @param permissions The list of permissions.
      * @return A list of PermissionInfo DTOs.
      */
-    private List<PermissionInfo> mapToPermissionInfoList(Page<Permission> permissions) {
-        return permissions.getContent().stream()
+    private List<PermissionInfo> mapToPermissionInfoList(List<Permission> permissions) {
+        return permissions.stream()
                 .map(PermissionMapper.INSTANCE::toPermissionInfo)
                 .collect(Collectors.toList());
     }
@@ -224,13 +282,4 @@ public class PermissionServiceImpl implements PermissionService {
         permission.setMethod(updatePermissionDto.getMethod());
         permission.setModule(updatePermissionDto.getModule());
     }
-
-    /**
-     * Removes a permission from all associated roles.
-     *
-     * @param permission The Permission entity to remove from roles.
-     */
-    private void removePermissionFromRoles(Permission permission) {
-        permission.getRoles().forEach(role -> role.getPermissions().remove(permission));
-    }
 }
@@ -1,25 +1,273 @@
 package com.frankie.ecommerce_project.service.implement;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankie.ecommerce_project.dto.product.common.FacetCount;
+import com.frankie.ecommerce_project.dto.product.common.ProductSummary;
 import com.frankie.ecommerce_project.dto.product.request.CreateProductDto;
+import com.frankie.ecommerce_project.dto.product.request.CreateSkuDto;
 import com.frankie.ecommerce_project.dto.product.response.CreateProductResponse;
-import com.frankie.ecommerce_project.repository.ProductRepository;
+import com.frankie.ecommerce_project.dto.product.response.ProductSearchResponse;
+import com.frankie.ecommerce_project.exception.ResourceExistingException;
+import com.frankie.ecommerce_project.exception.ServiceUnavailableException;
+import com.frankie.ecommerce_project.mapper.ProductMapper;
+import com.frankie.ecommerce_project.model.Product;
+import com.frankie.ecommerce_project.model.SkuAttribute;
+import com.frankie.ecommerce_project.model.SkuProduct;
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.repository.ProductBatchRepository;
+import com.frankie.ecommerce_project.repository.SkuProductRepository;
+import com.frankie.ecommerce_project.search.ProductAttributeIndex;
+import com.frankie.ecommerce_project.search.ProductSearchDocument;
+import com.frankie.ecommerce_project.search.ProductSearchIndex;
+import com.frankie.ecommerce_project.search.ProductSearchQuery;
+import com.frankie.ecommerce_project.search.ProductSearchResult;
+import com.frankie.ecommerce_project.security.SecurityUtil;
 import com.frankie.ecommerce_project.service.ProductService;
+import com.frankie.ecommerce_project.utils.Prices;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ProductServiceImpl implements ProductService {
+    private static final String SYSTEM_USER = "system";
+    private static final int MAX_PAGE_SIZE = 100;
 
-    private final ProductRepository productRepository;
+    private final SkuProductRepository skuProductRepository;
+    private final ProductBatchRepository productBatchRepository;
+    private final ProductAttributeIndex productAttributeIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ObjectMapper objectMapper;
 
-    public ProductServiceImpl(ProductRepository productRepository) {
-        this.productRepository = productRepository;
+    /**
+     * Constructs ProductServiceImpl with the required repositories.
+     *
+     * @param skuProductRepository   Repository used to look up existing SKU numbers
+     * @param productBatchRepository Repository writing a product and its SKUs with batched inserts
+     * @param productAttributeIndex  Index of the declared attribute keys
+     * @param productSearchIndex     Faceted search index over products
+     * @param objectMapper           Mapper serializing the attribute maps to JSON
+     */
+    public ProductServiceImpl(SkuProductRepository skuProductRepository,
+                              ProductBatchRepository productBatchRepository,
+                              ProductAttributeIndex productAttributeIndex,
+                              ProductSearchIndex productSearchIndex,
+                              ObjectMapper objectMapper) {
+        this.skuProductRepository = skuProductRepository;
+        this.productBatchRepository = productBatchRepository;
+        this.productAttributeIndex = productAttributeIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.objectMapper = objectMapper;
     }
 
-
+    /**
+     * Creates a product (SPU) together with its SKU variants in one transaction.
+     * <p>
+     * SKU numbers are checked for duplicates within the request and against the database with a single query
+     * before anything is written. The product, SKUs, SKU attribute rows and join rows are then inserted with one
+     * JDBC batch per table, along with the indexed attribute values. The SKU attribute row stores the price in
+     * minor units (cents), as its column is integral. The search index picks the product up once the transaction
+     * commits.
+     *
+     * @param product Product and its SKUs
+     * @return Created product with its SKUs
+     */
     @Override
+    @Transactional
     public ApiResponse<CreateProductResponse> createProduct(CreateProductDto product) {
-        productRepository.save(null);
-        return null;
+        List<CreateSkuDto> skuDtos = validate(product);
+
+        Set<String> skuNos = new LinkedHashSet<>();
+        for (CreateSkuDto sku : skuDtos) {
+            if (!skuNos.add(sku.getSkuNo())) {
+                throw new IllegalArgumentException("SKU number appears more than once: " + sku.getSkuNo());
+            }
+        }
+        List<String> existing = skuProductRepository.findExistingSkuNos(skuNos);
+        if (!existing.isEmpty()) {
+            throw new ResourceExistingException("SKU", "skuNo", String.join(", ", existing));
+        }
+
+        Instant now = Instant.now();
+        String createdBy = SecurityUtil.getCurrentUserLogin().orElse(SYSTEM_USER);
+        Product newProduct = new Product(product.getProductName(), product.getProductDesc(),
+                product.getProductStatus() != null ? product.getProductStatus() : 0,
+                toJson(product.getProductAttrs()), new ArrayList<>(skuDtos.size()));
+        newProduct.setId(EntityIds.next());
+        newProduct.setCreatedAt(now);
+        newProduct.setCreatedBy(createdBy);
+        newProduct.setIsDeleted(false);
+        for (CreateSkuDto skuDto : skuDtos) {
+            newProduct.getSkus().add(buildSku(skuDto, newProduct, now, createdBy));
+        }
+
+        try {
+            productBatchRepository.insertProduct(newProduct);
+            productAttributeIndex.indexProducts(List.of(newProduct));
+            productAttributeIndex.indexSkus(newProduct.getSkus());
+            productSearchIndex.reindex(List.of(newProduct.getId()));
+        } catch (DuplicateKeyException e) {
+            // A concurrent request inserted one of the SKU numbers after the check above.
+            throw new ResourceExistingException("SKU", "skuNo", String.join(", ", skuNos));
+        }
+        CreateProductResponse response = ProductMapper.INSTANCE.toCreateProductResponse(newProduct);
+        return ApiResponse.success("Product created successfully", HttpStatus.CREATED, response);
+    }
+
+    /**
+     * Searches products in the faceted search index. Matches are returned in the order they were indexed, with
+     * the counts of the facet values among all matches.
+     *
+     * @param query    Words that must all occur in the name or description; the last one may be a prefix
+     * @param filters  Facet filters as {@code key:value}; values of the same key are alternatives
+     * @param minPrice Lowest SKU price, inclusive, or null
+     * @param maxPrice Highest SKU price, inclusive, or null
+     * @param pageNo   Page number, starting at 1; 0 is the first page too
+     * @param pageSize Page size, at most 100
+     * @return Page of products with facet counts
+     * @throws ServiceUnavailableException if the search index has not loaded yet
+     */
+    @Override
+    public ApiResponse<ProductSearchResponse> searchProducts(String query, List<String> filters, Double minPrice,
+                                                             Double maxPrice, int pageNo, int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)) {
+            throw new IllegalArgumentException("Prices must not be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("Minimum price must not exceed the maximum price");
+        }
+        PageRequest pageable = PageRequest.of(pageNo > 0 ? pageNo - 1 : 0, pageSize);
+        if (pageable.getOffset() > Integer.MAX_VALUE - pageSize) {
+            throw new IllegalArgumentException("Page number is too large");
+        }
+        ProductSearchQuery searchQuery = ProductSearchQuery.builder()
+                .text(query)
+                .filters(parseFilters(filters))
+                .minPrice(Prices.toCents(minPrice))
+                .maxPrice(Prices.toCents(maxPrice))
+                .facetKeys(productSearchIndex.getFacetKeys())
+                .offset((int) pageable.getOffset())
+                .limit(pageSize)
+                .build();
+        ProductSearchResult result = productSearchIndex.search(searchQuery)
+                .orElseThrow(() -> new ServiceUnavailableException("Product search", "the index has not loaded yet"));
+
+        List<ProductSummary> summaries = result.getDocuments().stream().map(ProductServiceImpl::toSummary).toList();
+        Page<ProductSummary> page = new PageImpl<>(summaries, pageable, result.getTotal());
+        MetaData metaData = MetaData.builder()
+                .pageNo(page.getNumber())
+                .pageSize(page.getSize())
+                .totalPages(page.getTotalPages())
+                .totalElements(page.getTotalElements())
+                .lastPage(page.isLast())
+                .build();
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        result.getFacets().forEach((key, counts) -> facets.put(key, counts.entrySet().stream()
+                .map(count -> FacetCount.builder().value(count.getKey()).count(count.getValue()).build())
+                .toList()));
+        ProductSearchResponse response = ProductSearchResponse.builder()
+                .meta(metaData)
+                .data(summaries)
+                .facets(facets)
+                .build();
+        return ApiResponse.success("Search products successfully", HttpStatus.OK, response);
+    }
+
+    private Map<String, Set<String>> parseFilters(List<String> filters) {
+        Map<String, Set<String>> values = new HashMap<>();
+        if (filters == null) return values;
+        for (String filter : filters) {
+            int separator = filter.indexOf(':');
+            if (separator <= 0 || separator == filter.length() - 1) {
+                throw new IllegalArgumentException("Filter must have the form key:value: " + filter);
+            }
+            String key = ProductAttributeIndex.normalize(filter.substring(0, separator));
+            if (!productSearchIndex.getFacetKeys().contains(key)) {
+                throw new IllegalArgumentException("Products cannot be filtered by " + key);
+            }
+            values.computeIfAbsent(key, k -> new HashSet<>())
+                    .add(ProductAttributeIndex.normalize(filter.substring(separator + 1)));
+        }
+        return values;
+    }
+
+    private static ProductSummary toSummary(ProductSearchDocument document) {
+        long[] prices = document.getPrices();
+        return ProductSummary.builder()
+                .id(document.getId())
+                .productName(document.getName())
+                .minPrice(prices.length > 0 ? Prices.fromCents(prices[0]) : null)
+                .maxPrice(prices.length > 0 ? Prices.fromCents(prices[prices.length - 1]) : null)
+                .skuCount(prices.length)
+                .build();
+    }
+
+    private static List<CreateSkuDto> validate(CreateProductDto product) {
+        if (product.getProductName() == null || product.getProductName().isBlank()) {
+            throw new IllegalArgumentException("Product name is required");
+        }
+        if (product.getSkus() == null || product.getSkus().isEmpty()) {
+            throw new IllegalArgumentException("A product needs at least one SKU");
+        }
+        for (CreateSkuDto sku : product.getSkus()) {
+            if (sku.getSkuNo() == null || sku.getSkuNo().isBlank()) {
+                throw new IllegalArgumentException("SKU number is required");
+            }
+            if (sku.getSkuStock() != null && sku.getSkuStock() < 0) {
+                throw new IllegalArgumentException("SKU stock must not be negative: " + sku.getSkuNo());
+            }
+            if (sku.getSkuPrice() != null && sku.getSkuPrice() < 0) {
+                throw new IllegalArgumentException("SKU price must not be negative: " + sku.getSkuNo());
+            }
+        }
+        return product.getSkus();
+    }
+
+    private SkuProduct buildSku(CreateSkuDto skuDto, Product product, Instant now, String createdBy) {
+        int stock = skuDto.getSkuStock() != null ? skuDto.getSkuStock() : 0;
+        SkuProduct sku = new SkuProduct(skuDto.getSkuNo(), skuDto.getSkuName(), skuDto.getSkuDescription(), stock,
+                skuDto.getSkuPrice(), List.of(product), null);
+        sku.setId(EntityIds.next());
+        sku.setCreatedAt(now);
+        sku.setCreatedBy(createdBy);
+        sku.setIsDeleted(false);
+
+        SkuAttribute attribute = new SkuAttribute(skuDto.getSkuNo(), stock, Prices.toCents(skuDto.getSkuPrice()),
+                toJson(skuDto.getSkuAttrs()), sku);
+        attribute.setId(EntityIds.next());
+        attribute.setCreatedAt(now);
+        attribute.setCreatedBy(createdBy);
+        attribute.setIsDeleted(false);
+        sku.setSkuAttr(attribute);
+        return sku;
+    }
+
+    private String toJson(Map<String, Object> attributes) {
+        if (attributes == null) return null;
+        try {
+            return objectMapper.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Attributes cannot be written as JSON", e);
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
+import com.frankie.ecommerce_project.monitoring.tracing.RequestTrace;
+import com.frankie.ecommerce_project.monitoring.tracing.TraceStore;
+import com.frankie.ecommerce_project.service.RequestTraceService;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class RequestTraceServiceImpl implements RequestTraceService {
+    private static final int MAX_LIMIT = 500;
+
+    private final TraceStore traceStore;
+
+    /**
+     * Constructs RequestTraceServiceImpl with the trace store.
+     *
+     * @param traceStore Ring buffer of recent request traces
+     */
+    public RequestTraceServiceImpl(TraceStore traceStore) {
+        this.traceStore = traceStore;
+    }
+
+    /**
+     * Retrieves the most recent traces, newest first.
+     *
+     * @param limit         Maximum number of traces
+     * @param minDurationMs Minimum request duration in milliseconds
+     * @return ApiResponse containing the traces
+     * @throws IllegalArgumentException If the limit is not between 1 and 500
+     */
+    @Override
+    public ApiResponse<List<RequestTrace>> getRecentTraces(int limit, double minDurationMs) {
+        validateLimit(limit);
+        return ApiResponse.success("Recent traces retrieved successfully", HttpStatus.OK,
+                traceStore.recent(limit, minDurationMs));
+    }
+
+    /**
+     * Retrieves the slowest traces still in the buffer, slowest first.
+     *
+     * @param limit Maximum number of traces
+     * @return ApiResponse containing the traces
+     * @throws IllegalArgumentException If the limit is not between 1 and 500
+     */
+    @Override
+    public ApiResponse<List<RequestTrace>> getSlowestTraces(int limit) {
+        validateLimit(limit);
+        return ApiResponse.success("Slowest traces retrieved successfully", HttpStatus.OK,
+                traceStore.slowest(limit));
+    }
+
+    /**
+     * Retrieves one trace by the ID returned in the {@code X-Trace-Id} response header.
+     *
+     * @param traceId Trace ID
+     * @return ApiResponse containing the trace
+     * @throws ResourceNotFoundException If the trace is unknown or has been overwritten
+     */
+    @Override
+    public ApiResponse<RequestTrace> getTraceById(String traceId) {
+        RequestTrace trace = traceStore.find(traceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trace", "id", traceId));
+        return ApiResponse.success("Trace retrieved successfully", HttpStatus.OK, trace);
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
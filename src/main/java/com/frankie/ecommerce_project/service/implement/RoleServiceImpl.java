@@ -1,5 +1,6 @@
 package com.frankie.ecommerce_project.service.implement;
 
+import com.frankie.ecommerce_project.cache.ReferenceDataCache;
 import com.frankie.ecommerce_project.dto.permission.common.PermissionName;
 import com.frankie.ecommerce_project.dto.role.common.RoleInfo;
 import com.frankie.ecommerce_project.dto.role.request.CreateRoleDto;
@@ -10,23 +11,32 @@ import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
 import com.frankie.ecommerce_project.mapper.RoleMapper;
 import com.frankie.ecommerce_project.model.Permission;
 import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.repository.JoinTableRepository;
 import com.frankie.ecommerce_project.repository.PermissionRepository;
 import com.frankie.ecommerce_project.repository.RoleRepository;
+import com.frankie.ecommerce_project.security.authority.PermissionBitsetRegistry;
+import com.frankie.ecommerce_project.security.authority.RoleAuthorityCache;
 import com.frankie.ecommerce_project.service.RoleService;
 import com.frankie.ecommerce_project.utils.BuildPageable;
+import com.frankie.ecommerce_project.utils.KeysetPagination;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -40,19 +50,37 @@ public class RoleServiceImpl implements RoleService {
     private static final String SUCCESS_MESSAGE_GET_BY_ID = "Get role by id successfully";
     private static final String SUCCESS_MESSAGE_UPDATE = "Update role successfully";
     private static final String SUCCESS_MESSAGE_DELETE = "Role deleted successfully";
+    /**
+     * Fields a list may be sorted by: never null, and safe to carry in a cursor.
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "createdAt");
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final JoinTableRepository joinTableRepository;
+    private final RoleAuthorityCache roleAuthorityCache;
+    private final PermissionBitsetRegistry permissionBitsetRegistry;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * Constructs RoleServiceImpl with required dependencies.
      *
-     * @param roleRepository       Repository for role data access
-     * @param permissionRepository Repository for permission data access
+     * @param roleRepository           Repository for role data access
+     * @param permissionRepository     Repository for permission data access
+     * @param joinTableRepository      Set-based writes to the role join tables
+     * @param roleAuthorityCache       Cache of role authorities to evict on role changes
+     * @param permissionBitsetRegistry Permission bitmap registry to invalidate on role changes
+     * @param referenceDataCache       Second-level cache of roles and permissions to evict on role changes
      */
-    public RoleServiceImpl(RoleRepository roleRepository, PermissionRepository permissionRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, PermissionRepository permissionRepository,
+                           JoinTableRepository joinTableRepository, RoleAuthorityCache roleAuthorityCache,
+                           PermissionBitsetRegistry permissionBitsetRegistry, ReferenceDataCache referenceDataCache) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
+        this.joinTableRepository = joinTableRepository;
+        this.roleAuthorityCache = roleAuthorityCache;
+        this.permissionBitsetRegistry = permissionBitsetRegistry;
+        this.referenceDataCache = referenceDataCache;
     }
 
 
@@ -75,6 +103,7 @@ public class RoleServiceImpl implements RoleService {
                 .isDeleted(false)
                 .build();
         roleRepository.save(newRole);
+        permissionBitsetRegistry.invalidate();
         CreateRoleResponse roleDtoMapping = RoleMapper.INSTANCE.toCreateRoleResponse(newRole);
         return ApiResponse.success(SUCCESS_MESSAGE_CREATE, HttpStatus.CREATED, roleDtoMapping);
     }
@@ -86,13 +115,26 @@ public class RoleServiceImpl implements RoleService {
      * @param pageSize Number of items per page
      * @param sortBy   Field to sort by
      * @param sortDir  Sort direction (asc/desc)
+     * @param after    Cursor of the previous page; when present, keyset pagination is used instead of pageNo
      * @return ApiResponse containing a list of roles and pagination metadata
      */
     @Transactional(readOnly = true)
     @Override
-    public ApiResponse<RoleListResponse> getAllRoles(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize, sortBy, sortDir);
-        Page<Role> roles = roleRepository.findAllWithPermissions(pageable);
+    public ApiResponse<RoleListResponse> getAllRoles(int pageNo, int pageSize, String sortBy, String sortDir,
+                                                     String after) {
+        if (after != null) {
+            Sort sort = KeysetPagination.buildSort(sortBy, sortDir, SORTABLE_FIELDS);
+            Window<Role> roles = KeysetPagination.scroll(roleRepository, KeysetPagination.all(), sort, after, pageSize);
+            List<String> roleIds = roles.stream().map(Role::getId).toList();
+            if (!roleIds.isEmpty()) {
+                // Initializes the permissions of the roles already in the persistence context.
+                roleRepository.findAllWithPermissionsByIdIn(roleIds);
+            }
+            return buildRoleListResponse(roles.getContent(), KeysetPagination.buildMetaData(roles, sort));
+        }
+        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize,
+                KeysetPagination.requireSortable(sortBy, SORTABLE_FIELDS), sortDir);
+        Page<Role> roles = fetchRolesWithPermissions(roleRepository.findRoleIds(pageable));
         return buildRoleListResponse(roles);
     }
 
@@ -112,7 +154,8 @@ public class RoleServiceImpl implements RoleService {
     }
 
     /**
-     * Updates a role by its ID with the provided details.
+     * Updates a role by its ID with the provided details. The permissions are diffed against the join table, so
+     * only the rows that change are written.
      *
      * @param roleId        Role ID
      * @param updateRoleDto Updated role details
@@ -126,14 +169,23 @@ public class RoleServiceImpl implements RoleService {
         Role role = findRoleById(roleId);
         Set<Permission> permissions = mapToPermissionSet(updateRoleDto.getPermissions());
         role.setName(updateRoleDto.getName());
-        role.setPermissions(permissions);
         roleRepository.save(role);
+        JoinTableRepository.Diff diff = joinTableRepository.replaceRolePermissions(roleId,
+                permissions.stream().map(Permission::getId).toList());
+        log.debug("Role {} permissions: {} added, {} removed", roleId, diff.inserted(), diff.deleted());
+        roleAuthorityCache.evict(roleId);
+        referenceDataCache.evictRoles(List.of(roleId));
+        permissionBitsetRegistry.invalidate();
         UpdateRoleResponse response = RoleMapper.INSTANCE.toUpdateRoleResponse(role);
+        response.setPermissions(permissions.stream()
+                .map(permission -> PermissionName.builder().name(permission.getName()).build())
+                .collect(Collectors.toSet()));
         return ApiResponse.success(SUCCESS_MESSAGE_UPDATE, HttpStatus.OK, response);
     }
 
     /**
-     * Deletes a role by its ID and removes it from associated users.
+     * Deletes a role by its ID and removes it from associated users with a single statement, without loading
+     * the users.
      *
      * @param roleId Role ID
      * @return ApiResponse containing deletion details
@@ -143,20 +195,44 @@ public class RoleServiceImpl implements RoleService {
     @Override
     public ApiResponse<DeleteRoleResponse> deleteRoleById(String roleId) {
         Role role = findRoleById(roleId);
-        role.getUser().forEach(user -> user.getRoles().remove(role));
+        int users = joinTableRepository.deleteRoleFromUsers(roleId);
         roleRepository.delete(role);
+        log.debug("Role {} removed from {} users", roleId, users);
+        roleAuthorityCache.evict(roleId);
+        referenceDataCache.evictRoles(List.of(roleId));
+        permissionBitsetRegistry.invalidate();
         DeleteRoleResponse response = DeleteRoleResponse.builder().id(role.getId()).build();
         return ApiResponse.success(SUCCESS_MESSAGE_DELETE, HttpStatus.OK, response);
     }
 
     /**
-     * Maps a page of roles to a list of RoleInfo DTOs.
+     * Loads the roles of a page of IDs together with their permissions. The page itself is limited in SQL on the
+     * roles table alone; the permissions are then fetched for just those IDs, keeping the order of the page.
+     *
+     * @param roleIds Page of role IDs
+     * @return Page of Role entities with their permissions initialized
+     */
+    private Page<Role> fetchRolesWithPermissions(Page<String> roleIds) {
+        if (roleIds.isEmpty()) {
+            return new PageImpl<>(List.of(), roleIds.getPageable(), roleIds.getTotalElements());
+        }
+        Map<String, Role> rolesById = roleRepository.findAllWithPermissionsByIdIn(roleIds.getContent()).stream()
+                .collect(Collectors.toMap(Role::getId, Function.identity()));
+        List<Role> roles = roleIds.getContent().stream()
+                .map(rolesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(roles, roleIds.getPageable(), roleIds.getTotalElements());
+    }
+
+    /**
+     * Maps roles to a list of RoleInfo DTOs.
      *
-     * @param roles Page of Role entities
+     * @param roles List of Role entities
      * @return List of RoleInfo DTOs
      */
-    private List<RoleInfo> mapToRoleInfoList(Page<Role> roles) {
-        return roles.getContent().stream()
+    private List<RoleInfo> mapToRoleInfoList(List<Role> roles) {
+        return roles.stream()
                 .map(RoleMapper.INSTANCE::toRoleInfo)
                 .collect(Collectors.toList());
     }
@@ -168,7 +244,6 @@ public class RoleServiceImpl implements RoleService {
      * @return ApiResponse object containing RoleListResponse data and pagination metadata
      */
     private ApiResponse<RoleListResponse> buildRoleListResponse(Page<Role> roles) {
-        List<RoleInfo> roleInfoList = mapToRoleInfoList(roles);
         MetaData metaData = MetaData.builder()
                 .pageNo(roles.getNumber())
                 .pageSize(roles.getSize())
@@ -176,6 +251,18 @@ public class RoleServiceImpl implements RoleService {
                 .totalElements(roles.getTotalElements())
                 .lastPage(roles.isLast())
                 .build();
+        return buildRoleListResponse(roles.getContent(), metaData);
+    }
+
+    /**
+     * Builds an ApiResponse containing a list of roles and the given metadata.
+     *
+     * @param roles    List of Role entities
+     * @param metaData Pagination metadata
+     * @return ApiResponse object containing RoleListResponse data and pagination metadata
+     */
+    private ApiResponse<RoleListResponse> buildRoleListResponse(List<Role> roles, MetaData metaData) {
+        List<RoleInfo> roleInfoList = mapToRoleInfoList(roles);
         RoleListResponse response = RoleListResponse.builder()
                 .meta(metaData)
                 .data(roleInfoList)
@@ -0,0 +1,45 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.email.OtpEmailMessage;
+import com.frankie.ecommerce_project.service.EmailService;
+import com.frankie.ecommerce_project.utils.VerificationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Local email provider that records OTP emails instead of sending them.
+ * Enabled with {@code app.email.provider=stub} for tests and local development.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "app.email.provider", havingValue = "stub")
+public class StubEmailServiceImpl implements EmailService {
+
+    private final List<OtpEmailMessage> sentEmails = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void sendOtpEmail(String to, String otp, VerificationType type) {
+        log.info("Stub email provider: {} OTP email to {}", type, to);
+        sentEmails.add(OtpEmailMessage.builder().to(to).otp(otp).type(type).build());
+    }
+
+    /**
+     * Returns the OTP emails recorded so far.
+     *
+     * @return Recorded emails in send order
+     */
+    public List<OtpEmailMessage> getSentEmails() {
+        return List.copyOf(sentEmails);
+    }
+
+    /**
+     * Clears the recorded emails.
+     */
+    public void clear() {
+        sentEmails.clear();
+    }
+}
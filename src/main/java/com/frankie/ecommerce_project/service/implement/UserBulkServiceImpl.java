@@ -0,0 +1,610 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.frankie.ecommerce_project.dto.role.common.RoleName;
+import com.frankie.ecommerce_project.dto.user.common.UserImportError;
+import com.frankie.ecommerce_project.dto.user.common.UserInfo;
+import com.frankie.ecommerce_project.dto.user.request.CreateUserDto;
+import com.frankie.ecommerce_project.dto.user.response.UserImportResponse;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import com.frankie.ecommerce_project.repository.RoleRepository;
+import com.frankie.ecommerce_project.repository.UserRepository;
+import com.frankie.ecommerce_project.search.UserSearchIndex;
+import com.frankie.ecommerce_project.security.SecurityUtil;
+import com.frankie.ecommerce_project.service.UserBulkService;
+import com.frankie.ecommerce_project.utils.BulkFormat;
+import com.frankie.ecommerce_project.utils.CsvReader;
+import com.frankie.ecommerce_project.utils.CsvWriter;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of UserBulkService, importing and exporting users as streams.
+ * <p>
+ * An import reads the body one row at a time and works in chunks of {@code batchSize} rows: roles are resolved
+ * once per distinct name for the whole import, the emails of a chunk are checked with one query, passwords are
+ * hashed in parallel on a dedicated pool and the users and their roles are written with JDBC batch inserts, one
+ * transaction per chunk. Invalid rows are reported with their row number and do not stop the import. On MySQL,
+ * add {@code rewriteBatchedStatements=true} to the JDBC URL so that batches are sent as multi-row inserts.
+ * <p>
+ * An export pages through the users table in ID order, so memory use does not depend on the number of users.
+ */
+@Service
+@Slf4j
+public class UserBulkServiceImpl implements UserBulkService {
+    private static final String SUCCESS_MESSAGE_IMPORT = "Import users successfully";
+    private static final String ERROR_EMAIL_REQUIRED = "Email is required";
+    private static final String ERROR_PASSWORD_REQUIRED = "Password is required";
+    private static final String ERROR_EMAIL_EXISTS = "Email already exists";
+    private static final String ERROR_EMAIL_DUPLICATED = "Email appears more than once in the import";
+    private static final String ERROR_ROLE_NOT_FOUND = "Role not found: ";
+    private static final String THREAD_NAME_PREFIX = "user-import-hash-";
+    private static final String ROLE_SEPARATOR = "|";
+    private static final String SYSTEM_USER = "system";
+    private static final List<String> REQUIRED_COLUMNS = List.of("email", "password");
+    private static final List<String> EXPORT_COLUMNS = List.of("id", "email", "fullName", "phoneNumber", "address",
+            "avatar", "dateOfBirth", "roles", "isActive", "isVerified", "isDeleted", "createdAt", "createdBy");
+
+    private static final String INSERT_USER = "INSERT INTO users (id, email, full_name, password, phone_number, "
+            + "address, avatar, date_of_birth, is_active, is_verified, is_deleted, created_at, created_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String SELECT_USERS_PAGE = "SELECT id, email, full_name, phone_number, address, avatar, "
+            + "date_of_birth, is_active, is_verified, is_deleted, created_at, created_by FROM users "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_USER_ROLES = "SELECT ur.user_id, r.name FROM user_roles ur "
+            + "JOIN roles r ON r.id = ur.role_id WHERE ur.user_id IN (:userIds)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserSearchIndex userSearchIndex;
+    private final ObjectReader userReader;
+    private final ObjectWriter userWriter;
+    private final ThreadPoolTaskExecutor hashExecutor;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    /**
+     * Constructs UserBulkServiceImpl with required dependencies and configuration.
+     *
+     * @param userRepository             Repository for the batched email checks
+     * @param roleRepository             Repository for role lookups
+     * @param passwordEncoder            Encoder for password hashing
+     * @param jdbcTemplate               JDBC template for the batch inserts and export pages
+     * @param namedParameterJdbcTemplate JDBC template for the role lookups of an export page
+     * @param transactionTemplate        Transaction template committing one chunk at a time
+     * @param userSearchIndex            Search index over user emails
+     * @param objectMapper               Mapper for NDJSON rows
+     * @param batchSize                  Number of rows checked, hashed and inserted together, and users per export page
+     * @param hashConcurrency            Number of passwords hashed in parallel, 0 for half the processors
+     * @param maxReportedErrors          Maximum number of row errors listed in the import response
+     */
+    public UserBulkServiceImpl(UserRepository userRepository,
+                               RoleRepository roleRepository,
+                               PasswordEncoder passwordEncoder,
+                               JdbcTemplate jdbcTemplate,
+                               NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               UserSearchIndex userSearchIndex,
+                               ObjectMapper objectMapper,
+                               @Value("${app.user.bulk.batchSize:500}") int batchSize,
+                               @Value("${app.user.bulk.hashConcurrency:0}") int hashConcurrency,
+                               @Value("${app.user.bulk.maxReportedErrors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userSearchIndex = userSearchIndex;
+        this.userReader = objectMapper.readerFor(CreateUserDto.class);
+        this.userWriter = objectMapper.writerFor(UserInfo.class);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.hashExecutor = createHashExecutor(hashConcurrency > 0
+                ? hashConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * Stops the hashing pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+
+    /**
+     * Imports users from a CSV or NDJSON stream. CSV input needs a header row naming the columns
+     * ({@code email}, {@code password}, {@code fullName}, {@code phoneNumber}, {@code address}, {@code avatar},
+     * {@code dateOfBirth}, {@code roles}, in any order; unknown columns are ignored) and separates role names
+     * with {@code |}. Each NDJSON line has the shape of a create-user request. Imported users are active and
+     * verified, like users created by an administrator.
+     *
+     * @param body   Request body
+     * @param format Format of the body
+     * @return ApiResponse containing the row counts and the errors of the rejected rows
+     * @throws IOException              if the body cannot be read
+     * @throws IllegalArgumentException if the CSV header lacks a required column
+     */
+    @Override
+    public ApiResponse<UserImportResponse> importUsers(InputStream body, BulkFormat format) throws IOException {
+        long startedAt = System.nanoTime();
+        String createdBy = SecurityUtil.getCurrentUserLogin().orElse(SYSTEM_USER);
+        ImportReport report = new ImportReport(maxReportedErrors);
+        Map<String, Optional<String>> roleIdsByName = new HashMap<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try (RowReader rows = format == BulkFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader)) {
+            while (true) {
+                CreateUserDto user;
+                try {
+                    user = rows.next();
+                } catch (IllegalArgumentException e) {
+                    report.total++;
+                    report.fail(rows.row, null, e.getMessage());
+                    continue;
+                }
+                if (user == null) break;
+                report.total++;
+
+                String error = validate(user, roleIdsByName, seenEmails);
+                if (error != null) {
+                    report.fail(rows.row, user.getEmail(), error);
+                    continue;
+                }
+                chunk.add(new ImportRow(rows.row, user, resolveRoleIds(user, roleIdsByName)));
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, createdBy, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) importChunk(chunk, createdBy, report);
+
+        log.info("Imported {} of {} users in {} ms", report.imported, report.total,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return ApiResponse.success(SUCCESS_MESSAGE_IMPORT, HttpStatus.OK, report.toResponse());
+    }
+
+    /**
+     * Writes all users to a stream, one page of {@code batchSize} users at a time. CSV output starts with a header
+     * row; to import it again, add a {@code password} column. NDJSON output has one user per line.
+     *
+     * @param output Response body
+     * @param format Format to write
+     * @throws IOException if the output cannot be written
+     */
+    @Override
+    public void exportUsers(OutputStream output, BulkFormat format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == BulkFormat.CSV) CsvWriter.writeRecord(writer, EXPORT_COLUMNS);
+
+        byte[] afterId = UuidBinaryJavaType.toBytes(UuidBinaryJavaType.MIN_ID);
+        List<UserInfo> page;
+        do {
+            page = readExportPage(afterId);
+            for (UserInfo user : page) {
+                if (format == BulkFormat.CSV) {
+                    CsvWriter.writeRecord(writer, toCsvRecord(user));
+                } else {
+                    writer.write(userWriter.writeValueAsString(user));
+                    writer.write('\n');
+                }
+            }
+            writer.flush();
+            if (!page.isEmpty()) afterId = UuidBinaryJavaType.toBytes(page.get(page.size() - 1).getId());
+        } while (page.size() == batchSize);
+    }
+
+    /**
+     * Checks a row before it joins a chunk.
+     *
+     * @param user          Parsed row
+     * @param roleIdsByName Roles resolved so far in this import
+     * @param seenEmails    Normalized emails of the rows accepted so far
+     * @return Error message, or null if the row is valid
+     */
+    private String validate(CreateUserDto user, Map<String, Optional<String>> roleIdsByName, Set<String> seenEmails) {
+        if (user.getEmail() == null || user.getEmail().isBlank()) return ERROR_EMAIL_REQUIRED;
+        if (user.getPassword() == null || user.getPassword().isEmpty()) return ERROR_PASSWORD_REQUIRED;
+        if (user.getRoles() != null) {
+            for (RoleName role : user.getRoles()) {
+                if (resolveRoleId(role.getName(), roleIdsByName).isEmpty()) return ERROR_ROLE_NOT_FOUND + role.getName();
+            }
+        }
+        user.setEmail(user.getEmail().trim());
+        if (!seenEmails.add(normalizeEmail(user.getEmail()))) return ERROR_EMAIL_DUPLICATED;
+        return null;
+    }
+
+    /**
+     * Looks a role up by name, at most once per name and import.
+     *
+     * @param name          Role name
+     * @param roleIdsByName Roles resolved so far in this import
+     * @return Role ID, or empty if there is no such role
+     */
+    private Optional<String> resolveRoleId(String name, Map<String, Optional<String>> roleIdsByName) {
+        return roleIdsByName.computeIfAbsent(name,
+                roleName -> roleRepository.findByNameWithPermissions(roleName).map(Role::getId));
+    }
+
+    private List<String> resolveRoleIds(CreateUserDto user, Map<String, Optional<String>> roleIdsByName) {
+        if (user.getRoles() == null) return List.of();
+        return user.getRoles().stream()
+                .map(role -> roleIdsByName.get(role.getName()).orElseThrow())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Imports one chunk: rejects the emails that are already taken, hashes the remaining passwords in parallel
+     * and inserts the users.
+     *
+     * @param chunk     Valid rows
+     * @param createdBy Login of the importing user
+     * @param report    Import report
+     */
+    private void importChunk(List<ImportRow> chunk, String createdBy, ImportReport report) {
+        Set<String> takenEmails = userRepository.findExistingEmails(chunk.stream()
+                        .map(row -> row.user().getEmail())
+                        .toList()).stream()
+                .map(UserBulkServiceImpl::normalizeEmail)
+                .collect(Collectors.toSet());
+        List<CompletableFuture<NewUser>> hashing = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (takenEmails.contains(normalizeEmail(row.user().getEmail()))) {
+                report.fail(row.row(), row.user().getEmail(), ERROR_EMAIL_EXISTS);
+                continue;
+            }
+            hashing.add(CompletableFuture.supplyAsync(() -> new NewUser(row, EntityIds.next(),
+                    passwordEncoder.encode(row.user().getPassword())), hashExecutor));
+        }
+        List<NewUser> users = hashing.stream().map(CompletableFuture::join).toList();
+        if (users.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertUsers(users, createdBy));
+            report.imported += users.size();
+        } catch (DataIntegrityViolationException e) {
+            // An email was taken after the check; retry one row at a time to find out which.
+            for (NewUser user : users) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertUsers(List.of(user), createdBy));
+                    report.imported++;
+                } catch (DataIntegrityViolationException duplicate) {
+                    report.fail(user.source().row(), user.source().user().getEmail(), ERROR_EMAIL_EXISTS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts users and their roles with two batch statements and indexes their emails once the transaction
+     * commits.
+     *
+     * @param users     Users to insert
+     * @param createdBy Login of the importing user
+     */
+    private void insertUsers(List<NewUser> users, String createdBy) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (ps, newUser) -> {
+            CreateUserDto user = newUser.source().user();
+            ps.setBytes(1, UuidBinaryJavaType.toBytes(newUser.id()));
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getFullName());
+            ps.setString(4, newUser.passwordHash());
+            ps.setString(5, user.getPhoneNumber());
+            ps.setString(6, user.getAddress());
+            ps.setString(7, user.getAvatar() != null && !user.getAvatar().isEmpty() ? user.getAvatar() : null);
+            ps.setObject(8, user.getDateOfBirth());
+            ps.setBoolean(9, true);
+            ps.setBoolean(10, true);
+            ps.setBoolean(11, false);
+            ps.setTimestamp(12, createdAt, utc);
+            ps.setString(13, createdBy);
+        });
+
+        List<Map.Entry<String, String>> userRoles = users.stream()
+                .flatMap(user -> user.source().roleIds().stream().map(roleId -> Map.entry(user.id(), roleId)))
+                .toList();
+        if (!userRoles.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles, userRoles.size(), (ps, userRole) -> {
+                ps.setBytes(1, UuidBinaryJavaType.toBytes(userRole.getKey()));
+                ps.setBytes(2, UuidBinaryJavaType.toBytes(userRole.getValue()));
+            });
+        }
+
+        for (NewUser user : users) {
+            userSearchIndex.index(User.builder().id(user.id()).email(user.source().user().getEmail()).build());
+        }
+    }
+
+    /**
+     * Reads one export page with its roles.
+     *
+     * @param afterId Binary ID of the last user of the previous page
+     * @return Up to {@code batchSize} users in ID order
+     */
+    private List<UserInfo> readExportPage(byte[] afterId) {
+        List<UserInfo> users = jdbcTemplate.query(SELECT_USERS_PAGE, UserBulkServiceImpl::mapUserInfo, afterId,
+                batchSize);
+        if (users.isEmpty()) return users;
+
+        Map<String, UserInfo> usersById = users.stream().collect(Collectors.toMap(UserInfo::getId, user -> user));
+        List<byte[]> userIds = users.stream().map(user -> UuidBinaryJavaType.toBytes(user.getId())).toList();
+        namedParameterJdbcTemplate.query(SELECT_USER_ROLES, Map.of("userIds", userIds), (RowCallbackHandler) rs ->
+                usersById.get(UuidBinaryJavaType.fromBytes(rs.getBytes(1))).getRoles()
+                        .add(RoleName.builder().name(rs.getString(2)).build()));
+        return users;
+    }
+
+    private static UserInfo mapUserInfo(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at", Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC)));
+        return UserInfo.builder()
+                .id(UuidBinaryJavaType.fromBytes(rs.getBytes("id")))
+                .email(rs.getString("email"))
+                .fullName(rs.getString("full_name"))
+                .phoneNumber(rs.getString("phone_number"))
+                .address(rs.getString("address"))
+                .avatar(rs.getString("avatar"))
+                .dateOfBirth(rs.getObject("date_of_birth", LocalDate.class))
+                .isActive(rs.getObject("is_active", Boolean.class))
+                .isVerified(rs.getObject("is_verified", Boolean.class))
+                .isDeleted(rs.getObject("is_deleted", Boolean.class))
+                .createdAt(createdAt != null ? createdAt.toInstant() : null)
+                .createdBy(rs.getString("created_by"))
+                .roles(new HashSet<>())
+                .build();
+    }
+
+    private static List<String> toCsvRecord(UserInfo user) {
+        return Arrays.asList(
+                user.getId(),
+                user.getEmail(),
+                user.getFullName(),
+                user.getPhoneNumber(),
+                user.getAddress(),
+                user.getAvatar(),
+                Objects.toString(user.getDateOfBirth(), null),
+                user.getRoles().stream().map(RoleName::getName).sorted().collect(Collectors.joining(ROLE_SEPARATOR)),
+                Objects.toString(user.getIsActive(), null),
+                Objects.toString(user.getIsVerified(), null),
+                Objects.toString(user.getIsDeleted(), null),
+                Objects.toString(user.getCreatedAt(), null),
+                user.getCreatedBy());
+    }
+
+    /**
+     * Normalizes an email for duplicate detection, matching the case-insensitive collation of the email column.
+     *
+     * @param email Email address
+     * @return Lower-case email
+     */
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static ThreadPoolTaskExecutor createHashExecutor(int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Valid row waiting in a chunk.
+     *
+     * @param row     Row number in the input, starting at 1 after any header
+     * @param user    Parsed row
+     * @param roleIds IDs of the roles to grant
+     */
+    private record ImportRow(long row, CreateUserDto user, List<String> roleIds) {
+    }
+
+    /**
+     * Row ready to be inserted.
+     *
+     * @param source       Row it was built from
+     * @param id           New user ID
+     * @param passwordHash Encoded password
+     */
+    private record NewUser(ImportRow source, String id, String passwordHash) {
+    }
+
+    /**
+     * Counts of an import and the first {@code maxErrors} row errors.
+     */
+    private static final class ImportReport {
+        private final int maxErrors;
+        private final List<UserImportError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long row, String email, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(UserImportError.builder().row(row).email(email).message(message).build());
+            }
+        }
+
+        private UserImportResponse toResponse() {
+            // Emails taken in the database are only found when their chunk is imported, after later rows were read.
+            errors.sort(Comparator.comparingLong(UserImportError::getRow));
+            return UserImportResponse.builder()
+                    .totalRows(total)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+
+    /**
+     * Source of import rows that skips blank lines and keeps the number of the row read last.
+     */
+    private abstract static class RowReader implements Closeable {
+        protected long row;
+
+        /**
+         * Reads the next row.
+         *
+         * @return Parsed row, or null at the end of the input
+         * @throws IOException              if the input cannot be read
+         * @throws IllegalArgumentException if the row is malformed; reading can continue with the next row
+         */
+        abstract CreateUserDto next() throws IOException;
+    }
+
+    private final class NdjsonRowReader extends RowReader {
+        private final BufferedReader reader;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        CreateUserDto next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+                row++;
+            } while (line.isBlank());
+            try {
+                return userReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class CsvRowReader extends RowReader {
+        private final CsvReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvRowReader(BufferedReader input) throws IOException {
+            this.reader = new CsvReader(input);
+            List<String> header = reader.readRecord();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+                }
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new IllegalArgumentException("CSV header must contain the columns " + REQUIRED_COLUMNS);
+                }
+            }
+        }
+
+        @Override
+        CreateUserDto next() throws IOException {
+            List<String> record;
+            do {
+                record = reader.readRecord();
+                if (record == null) return null;
+                row++;
+            } while (record.size() == 1 && record.get(0).isBlank());
+
+            return CreateUserDto.builder()
+                    .email(field(record, "email"))
+                    .password(field(record, "password"))
+                    .fullName(field(record, "fullName"))
+                    .phoneNumber(field(record, "phoneNumber"))
+                    .address(field(record, "address"))
+                    .avatar(field(record, "avatar"))
+                    .dateOfBirth(parseDate(field(record, "dateOfBirth")))
+                    .roles(parseRoles(field(record, "roles")))
+                    .build();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size() || record.get(index).isEmpty()) return null;
+            return record.get(index);
+        }
+
+        private static LocalDate parseDate(String value) {
+            if (value == null) return null;
+            try {
+                return LocalDate.parse(value.trim());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid dateOfBirth " + value + ", expected yyyy-MM-dd");
+            }
+        }
+
+        private static Set<RoleName> parseRoles(String value) {
+            Set<RoleName> roles = new HashSet<>();
+            if (value == null) return roles;
+            for (String name : value.split("\\" + ROLE_SEPARATOR)) {
+                if (!name.isBlank()) roles.add(RoleName.builder().name(name.trim()).build());
+            }
+            return roles;
+        }
+    }
+}
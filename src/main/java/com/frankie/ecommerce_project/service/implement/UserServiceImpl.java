@@ -13,12 +13,19 @@ import com.frankie.ecommerce_project.repository.DeviceRepository;
 import com.frankie.ecommerce_project.repository.RefreshTokenRepository;
 import com.frankie.ecommerce_project.repository.RoleRepository;
 import com.frankie.ecommerce_project.repository.UserRepository;
+import com.frankie.ecommerce_project.search.SearchResult;
+import com.frankie.ecommerce_project.search.UserSearchIndex;
 import com.frankie.ecommerce_project.service.UserService;
 import com.frankie.ecommerce_project.utils.BuildPageable;
+import com.frankie.ecommerce_project.utils.KeysetPagination;
 import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
 import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -26,6 +33,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -42,12 +50,17 @@ public class UserServiceImpl implements UserService {
     private static final String SUCCESS_MESSAGE_REACTIVATE = "Reactivate user account successfully";
     private static final String ERROR_EMAIL_EXISTS = "Email already exists";
     private static final String ERROR_USER_ALREADY_ACTIVE = "User is already active";
+    /**
+     * Fields a list may be sorted by: never null, and safe to carry in a cursor.
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "email", "createdAt");
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenRepository refreshTokenRepository;
     private final DeviceRepository deviceRepository;
+    private final UserSearchIndex userSearchIndex;
 
     /**
      * Constructs UserServiceImpl with required dependencies.
@@ -56,15 +69,17 @@ public class UserServiceImpl implements UserService {
      * @param passwordEncoder        Encoder for password hashing
      * @param roleRepository         Repository for role data access
      * @param refreshTokenRepository Repository for refresh token data access
+     * @param userSearchIndex        Search index over user emails
      */
     public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
                            RoleRepository roleRepository, RefreshTokenRepository refreshTokenRepository,
-                           DeviceRepository deviceRepository) {
+                           DeviceRepository deviceRepository, UserSearchIndex userSearchIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.deviceRepository = deviceRepository;
+        this.userSearchIndex = userSearchIndex;
     }
 
     /**
@@ -81,6 +96,7 @@ public class UserServiceImpl implements UserService {
         Set<Role> roles = buildRoleList(createUserDto.getRoles());
         User newUser = buildNewUser(createUserDto, roles);
         userRepository.save(newUser);
+        userSearchIndex.index(newUser);
         CreateUserResponse response = UserMapper.INSTANCE.toCreateUserResponse(newUser);
         return ApiResponse.success(SUCCESS_MESSAGE_CREATE, HttpStatus.CREATED, response);
     }
@@ -107,13 +123,19 @@ public class UserServiceImpl implements UserService {
      * @param pageSize Number of items per page
      * @param sortBy   Field to sort by
      * @param sortDir  Sort direction (asc/desc)
+     * @param after    Cursor of the previous page; when present, keyset pagination is used instead of pageNo
      * @return ApiResponse containing a list of users and pagination metadata
      */
     @Transactional(readOnly = true)
     @Override
-    public ApiResponse<UserListResponse> getAllUsers(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize, sortBy, sortDir);
-        Page<User> users = userRepository.findAllWithRoles(pageable);
+    public ApiResponse<UserListResponse> getAllUsers(int pageNo, int pageSize, String sortBy, String sortDir,
+                                                     String after) {
+        if (after != null) {
+            return scrollUsers(KeysetPagination.all(), pageSize, sortBy, sortDir, after, SUCCESS_MESSAGE_GET_ALL);
+        }
+        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize,
+                KeysetPagination.requireSortable(sortBy, SORTABLE_FIELDS), sortDir);
+        Page<User> users = fetchUsersWithRoles(userRepository.findUserIds(pageable));
         return buildUserListResponse(users, SUCCESS_MESSAGE_GET_ALL);
     }
 
@@ -148,6 +170,7 @@ public class UserServiceImpl implements UserService {
         Set<Role> roles = buildRoleList(updateUserDto.getRoles());
         updateUser(user, updateUserDto, roles);
         userRepository.save(user);
+        userSearchIndex.index(user);
         UpdateUserResponse response = UserMapper.INSTANCE.toUpdateUserResponse(user);
         return ApiResponse.success(SUCCESS_MESSAGE_UPDATE, HttpStatus.OK, response);
     }
@@ -180,14 +203,25 @@ public class UserServiceImpl implements UserService {
      * @param sortBy    Field to sort by
      * @param sortDir   Sort direction (asc/desc)
      * @param userEmail Email to search for
+     * @param after     Cursor of the previous page; when present, keyset pagination is used instead of pageNo
      * @return ApiResponse containing a list of matching users and pagination metadata
      */
     @Transactional(readOnly = true)
     @Override
-    public ApiResponse<UserListResponse> searchUserByEmail(int pageNo, int pageSize,
-                                                           String sortBy, String sortDir, String userEmail) {
-        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize, sortBy, sortDir);
-        Page<User> users = userRepository.findUserByEmailWithRoles(userEmail, pageable);
+    public ApiResponse<UserListResponse> searchUserByEmail(int pageNo, int pageSize, String sortBy, String sortDir,
+                                                           String userEmail, String after) {
+        if (after != null) {
+            return scrollUsers(KeysetPagination.contains("email", userEmail), pageSize, sortBy, sortDir, after,
+                    SUCCESS_MESSAGE_SEARCH);
+        }
+        Pageable pageable = BuildPageable.buildPageable(pageNo, pageSize,
+                KeysetPagination.requireSortable(sortBy, SORTABLE_FIELDS), sortDir);
+        Optional<SearchResult> hits = userSearchIndex.search(userEmail, pageable);
+        Page<User> users = hits.isPresent()
+                ? new PageImpl<>(hits.get().orderByRelevance(
+                        userRepository.findAllWithRolesByIdIn(hits.get().getIds()), User::getId),
+                        pageable, hits.get().getTotal())
+                : fetchUsersWithRoles(userRepository.findUserIdsByEmail(userEmail, pageable));
         return buildUserListResponse(users, SUCCESS_MESSAGE_SEARCH);
     }
 
@@ -218,9 +252,8 @@ public class UserServiceImpl implements UserService {
      * @param users Page of User entities
      * @return List of UserInfo DTOs
      */
-    private List<UserInfo> mapUsersToUserInfo(Page<User> users) {
-        return users.getContent().
-                stream()
+    private List<UserInfo> mapUsersToUserInfo(List<User> users) {
+        return users.stream()
                 .map(UserMapper.INSTANCE::toUserInfo)
                 .collect(Collectors.toList());
     }
@@ -233,7 +266,6 @@ public class UserServiceImpl implements UserService {
      * @return ApiResponse containing UserListResponse
      */
     private ApiResponse<UserListResponse> buildUserListResponse(Page<User> users, String message) {
-        List<UserInfo> userInfoList = mapUsersToUserInfo(users);
         MetaData metaData = MetaData.builder()
                 .pageNo(users.getNumber())
                 .pageSize(users.getSize())
@@ -241,13 +273,68 @@ public class UserServiceImpl implements UserService {
                 .totalPages(users.getTotalPages())
                 .lastPage(users.isLast())
                 .build();
+        return buildUserListResponse(users.getContent(), metaData, message);
+    }
+
+    /**
+     * Builds a UserListResponse from a list of users and its metadata.
+     *
+     * @param users    List of User entities
+     * @param metaData Pagination metadata
+     * @param message  Success message
+     * @return ApiResponse containing UserListResponse
+     */
+    private ApiResponse<UserListResponse> buildUserListResponse(List<User> users, MetaData metaData, String message) {
         UserListResponse response = UserListResponse.builder()
                 .meta(metaData)
-                .data(userInfoList)
+                .data(mapUsersToUserInfo(users))
                 .build();
         return ApiResponse.success(message, HttpStatus.OK, response);
     }
 
+    /**
+     * Loads the users of a page of IDs together with their roles. The page itself is limited in SQL on the
+     * users table alone; the roles are then fetched for just those IDs, keeping the order of the page.
+     *
+     * @param userIds Page of user IDs
+     * @return Page of User entities with their roles initialized
+     */
+    private Page<User> fetchUsersWithRoles(Page<String> userIds) {
+        if (userIds.isEmpty()) {
+            return new PageImpl<>(List.of(), userIds.getPageable(), userIds.getTotalElements());
+        }
+        Map<String, User> usersById = userRepository.findAllWithRolesByIdIn(userIds.getContent()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<User> users = userIds.getContent().stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(users, userIds.getPageable(), userIds.getTotalElements());
+    }
+
+    /**
+     * Reads a cursor page of users and loads their roles with one additional query.
+     *
+     * @param specification Filter applied to the page
+     * @param pageSize      Number of items per page
+     * @param sortBy        Field to sort by
+     * @param sortDir       Sort direction (asc/desc)
+     * @param after         Cursor of the previous page, or an empty string for the first page
+     * @param message       Success message
+     * @return ApiResponse containing UserListResponse with the next cursor
+     */
+    private ApiResponse<UserListResponse> scrollUsers(Specification<User> specification, int pageSize, String sortBy,
+                                                      String sortDir, String after, String message) {
+        Sort sort = KeysetPagination.buildSort(sortBy, sortDir, SORTABLE_FIELDS);
+        Window<User> users = KeysetPagination.scroll(userRepository, specification, sort, after, pageSize);
+        List<String> userIds = users.stream().map(User::getId).toList();
+        if (!userIds.isEmpty()) {
+            // Initializes the roles of the users already in the persistence context.
+            userRepository.findAllWithRolesByIdIn(userIds);
+        }
+        return buildUserListResponse(users.getContent(), KeysetPagination.buildMetaData(users, sort), message);
+    }
+
     /**
      * Validates that an email is not already in use.
      *
@@ -0,0 +1,77 @@
+package com.frankie.ecommerce_project.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template pre-split into alternating literal and placeholder segments, so rendering is a sequence of
+ * appends with no scanning or intermediate strings. Placeholders use the {@code ${name}} syntax.
+ */
+public final class CompiledTemplate {
+
+    private static final String PLACEHOLDER_START = "${";
+    private static final char PLACEHOLDER_END = '}';
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Splits a template source into literal and placeholder segments.
+     *
+     * @param source Template source
+     * @return Compiled template
+     * @throws IllegalArgumentException If a placeholder is not closed
+     */
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        int start;
+        while ((start = source.indexOf(PLACEHOLDER_START, position)) >= 0) {
+            int end = source.indexOf(PLACEHOLDER_END, start + PLACEHOLDER_START.length());
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + start);
+            }
+            literals.add(source.substring(position, start));
+            placeholders.add(source.substring(start + PLACEHOLDER_START.length(), end).trim());
+            position = end + 1;
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    /**
+     * Appends the rendered template to the given buffer. Unknown placeholders render as empty strings.
+     *
+     * @param values Placeholder values by name
+     * @param out    Buffer to append to
+     */
+    public void renderTo(Map<String, String> values, StringBuilder out) {
+        out.ensureCapacity(out.length() + literalLength + 16 * placeholders.length);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(placeholders[i]);
+            if (value != null) out.append(value);
+        }
+        out.append(literals[placeholders.length]);
+    }
+
+    /**
+     * Returns the length of the template without placeholder values.
+     *
+     * @return Total length of the literal segments
+     */
+    public int getLiteralLength() {
+        return literalLength;
+    }
+}
@@ -0,0 +1,82 @@
+package com.frankie.ecommerce_project.template;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads every {@code templates/*.html} resource once at startup and renders it from its compiled segments
+ * into a per-thread buffer that is reused across emails.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String TEMPLATE_LOCATION = "classpath:templates/*.html";
+    private static final String TEMPLATE_SUFFIX = ".html";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<String, CompiledTemplate> templates;
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(StringBuilder::new);
+
+    /**
+     * Constructs EmailTemplateEngine and compiles all templates found on the classpath.
+     *
+     * @throws UncheckedIOException If a template cannot be read
+     */
+    public EmailTemplateEngine() {
+        this.templates = loadTemplates();
+    }
+
+    /**
+     * Renders a template with the given placeholder values.
+     *
+     * @param name   Template name, i.e. the file name without the {@code .html} suffix
+     * @param values Placeholder values by name
+     * @return Rendered template
+     * @throws IllegalArgumentException If no template with that name exists
+     */
+    public String render(String name, Map<String, String> values) {
+        CompiledTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Email template not found: " + name);
+        }
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        template.renderTo(values, buffer);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+        return rendered;
+    }
+
+    /**
+     * Compiles all templates on the classpath.
+     *
+     * @return Compiled templates by name
+     */
+    private Map<String, CompiledTemplate> loadTemplates() {
+        Map<String, CompiledTemplate> compiled = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION)) {
+                String fileName = resource.getFilename();
+                if (fileName == null) continue;
+                try (InputStream inputStream = resource.getInputStream()) {
+                    String source = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+                    compiled.put(fileName.substring(0, fileName.length() - TEMPLATE_SUFFIX.length()),
+                            CompiledTemplate.compile(source));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load email templates", e);
+        }
+        return Map.copyOf(compiled);
+    }
+}
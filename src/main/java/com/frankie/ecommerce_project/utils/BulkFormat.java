@@ -0,0 +1,61 @@
+package com.frankie.ecommerce_project.utils;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Streaming formats of the bulk import and export endpoints.
+ */
+public enum BulkFormat {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    BulkFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves the format of a request body from its content type.
+     *
+     * @param contentType Content-Type header, parameters such as the charset are ignored
+     * @return Matching format
+     * @throws IllegalArgumentException if the content type is neither CSV nor NDJSON
+     */
+    public static BulkFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (BulkFormat format : values()) {
+                if (format.mediaType.equalsTypeAndSubtype(mediaType)) return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type " + contentType
+                + ", expected text/csv or application/x-ndjson");
+    }
+
+    /**
+     * Resolves a format from its name, as passed in the {@code format} request parameter.
+     *
+     * @param name Format name, case-insensitive
+     * @return Matching format
+     * @throws IllegalArgumentException if the name is neither csv nor ndjson
+     */
+    public static BulkFormat fromName(String name) {
+        for (BulkFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) return format;
+        }
+        throw new IllegalArgumentException("Unsupported format " + name + ", expected csv or ndjson");
+    }
+}
@@ -0,0 +1,8 @@
+package com.frankie.ecommerce_project.utils;
+
+public enum CatalogIngestionStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+}
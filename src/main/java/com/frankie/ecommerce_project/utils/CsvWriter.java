@@ -0,0 +1,40 @@
+package com.frankie.ecommerce_project.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes RFC 4180 CSV records, quoting only the fields that need it.
+ */
+public final class CsvWriter {
+
+    private CsvWriter() {
+    }
+
+    /**
+     * Writes one record followed by a line break.
+     *
+     * @param writer Destination
+     * @param fields Field values; null is written as an empty field
+     * @throws IOException if the record cannot be written
+     */
+    public static void writeRecord(Writer writer, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) writer.write(',');
+            writeField(writer, fields.get(i));
+        }
+        writer.write('\n');
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) return;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
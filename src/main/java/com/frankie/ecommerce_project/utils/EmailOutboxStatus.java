@@ -0,0 +1,7 @@
+package com.frankie.ecommerce_project.utils;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    FAILED,
+}
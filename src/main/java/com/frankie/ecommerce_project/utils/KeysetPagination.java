@@ -0,0 +1,217 @@
+package com.frankie.ecommerce_project.utils;
+
+import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cursor (keyset) pagination for list endpoints. Instead of an offset, the client passes the opaque
+ * {@code after} cursor returned as {@code nextCursor} by the previous page; the next page is read with a
+ * seek predicate on the sort key and {@code id}, so deep pages cost the same as the first and no
+ * {@code count(*)} query is issued.
+ * <p>
+ * The cursor carries the sort key values of the last row in readable form, and the seek predicate cannot
+ * compare nulls, so each caller passes the fields it allows sorting on: only fields that may be shown to the
+ * client and are never null.
+ */
+public class KeysetPagination {
+    private static final String ID_FIELD = "id";
+    private static final String SECTION_SEPARATOR = "|";
+    private static final String KEY_SEPARATOR = "&";
+
+    /**
+     * Builds the sort for a cursor page, adding {@code id} as a tiebreaker so the order is total.
+     *
+     * @param sortBy         Field to sort by
+     * @param sortDir        Sort direction (asc/desc)
+     * @param sortableFields Fields of the entity that may be sorted on
+     * @return Sort on the requested field followed by {@code id}
+     * @throws IllegalArgumentException If the field is not sortable
+     */
+    public static Sort buildSort(String sortBy, String sortDir, Set<String> sortableFields) {
+        requireSortable(sortBy, sortableFields);
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortBy);
+        return ID_FIELD.equals(sortBy) ? sort : sort.and(Sort.by(direction, ID_FIELD));
+    }
+
+    /**
+     * Checks that a requested sort field is in the allow-list of the entity.
+     *
+     * @param sortBy         Field to sort by
+     * @param sortableFields Fields of the entity that may be sorted on
+     * @return The field, for use in an offset page request
+     * @throws IllegalArgumentException If the field is not sortable
+     */
+    public static String requireSortable(String sortBy, Set<String> sortableFields) {
+        if (sortBy == null || !sortableFields.contains(sortBy)) {
+            throw new IllegalArgumentException("Sorting by '" + sortBy + "' is not supported");
+        }
+        return sortBy;
+    }
+
+    /**
+     * Reads the page following the given cursor.
+     *
+     * @param repository    Repository to read from
+     * @param specification Filter applied to the page
+     * @param sort          Sort built with {@link #buildSort(String, String, Set)}
+     * @param after         Cursor returned by the previous page, or an empty string for the first page
+     * @param pageSize      Number of items per page
+     * @param <T>           Entity type
+     * @return Window containing the page and the position of its last element
+     * @throws IllegalArgumentException If the cursor is malformed or was issued for a different sort
+     */
+    public static <T> Window<T> scroll(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                       Sort sort, String after, int pageSize) {
+        ScrollPosition position = decodeCursor(after, sort);
+        return repository.findBy(specification, query -> query.sortBy(sort).limit(pageSize).scroll(position));
+    }
+
+    /**
+     * Builds pagination metadata for a cursor page.
+     *
+     * @param window Page read with {@link #scroll}
+     * @param sort   Sort used to read the page
+     * @return MetaData carrying the next cursor instead of totals
+     */
+    public static MetaData buildMetaData(Window<?> window, Sort sort) {
+        return MetaData.builder()
+                .pageSize(window.size())
+                .lastPage(!window.hasNext())
+                .nextCursor(encodeCursor(window, sort))
+                .build();
+    }
+
+    /**
+     * Specification matching every row.
+     *
+     * @param <T> Entity type
+     * @return Specification without restrictions
+     */
+    public static <T> Specification<T> all() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+    }
+
+    /**
+     * Specification matching rows whose field contains the given value; matches every row for a null value.
+     *
+     * @param field Field to filter on
+     * @param value Value to search for
+     * @param <T>   Entity type
+     * @return Specification with a LIKE restriction
+     */
+    public static <T> Specification<T> contains(String field, String value) {
+        return (root, query, criteriaBuilder) -> value == null
+                ? criteriaBuilder.conjunction()
+                : criteriaBuilder.like(root.get(field), "%" + value + "%");
+    }
+
+    /**
+     * Encodes the position after the last element of a page.
+     *
+     * @param window Page read with {@link #scroll}
+     * @param sort   Sort used to read the page
+     * @return Opaque cursor, or null if this is the last page
+     * @throws IllegalStateException If a sort key of the last element is null
+     */
+    private static String encodeCursor(Window<?> window, Sort sort) {
+        if (!window.hasNext() || window.isEmpty()) return null;
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        String keys = position.getKeys().entrySet().stream()
+                .map(entry -> encode(entry.getKey()) + "=" + encodeValue(entry.getValue()))
+                .collect(Collectors.joining(KEY_SEPARATOR));
+        String cursor = sort.toString() + SECTION_SEPARATOR + keys;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into a keyset position.
+     *
+     * @param after Cursor, or an empty string for the first page
+     * @param sort  Sort of the requested page
+     * @return Keyset position to continue from
+     * @throws IllegalArgumentException If the cursor is malformed or was issued for a different sort
+     */
+    private static ScrollPosition decodeCursor(String after, Sort sort) {
+        if (after == null || after.isBlank()) return ScrollPosition.keyset();
+        String cursor;
+        try {
+            cursor = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int separator = cursor.indexOf(SECTION_SEPARATOR);
+        if (separator < 0 || !cursor.substring(0, separator).equals(sort.toString())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String key : cursor.substring(separator + 1).split(KEY_SEPARATOR)) {
+            int equals = key.indexOf('=');
+            if (equals < 0) throw new IllegalArgumentException("Invalid cursor");
+            keys.put(decode(key.substring(0, equals)), decodeValue(key.substring(equals + 1)));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            throw new IllegalStateException("Cursor pagination requires sort fields that are never null");
+        }
+        String tag;
+        if (value instanceof String) tag = "s";
+        else if (value instanceof Instant) tag = "t";
+        else if (value instanceof LocalDate) tag = "d";
+        else if (value instanceof Boolean) tag = "b";
+        else if (value instanceof Integer) tag = "i";
+        else if (value instanceof Long) tag = "l";
+        else if (value instanceof Double) tag = "f";
+        else throw new IllegalArgumentException("Unsupported sort field type: " + value.getClass().getSimpleName());
+        return tag + ":" + encode(value.toString());
+    }
+
+    private static Object decodeValue(String encoded) {
+        int colon = encoded.indexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("Invalid cursor");
+        String value = decode(encoded.substring(colon + 1));
+        try {
+            return switch (encoded.substring(0, colon)) {
+                case "s" -> value;
+                case "t" -> Instant.parse(value);
+                case "d" -> LocalDate.parse(value);
+                case "b" -> Boolean.valueOf(value);
+                case "i" -> Integer.valueOf(value);
+                case "l" -> Long.valueOf(value);
+                case "f" -> Double.valueOf(value);
+                default -> throw new IllegalArgumentException("Invalid cursor");
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
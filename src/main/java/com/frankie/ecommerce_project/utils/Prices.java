@@ -0,0 +1,43 @@
+package com.frankie.ecommerce_project.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between the two price representations of a SKU: the amount in currency units, as accepted by the
+ * API and stored in {@code sku_products.sku_price}, and the amount in minor units (cents), as stored in the
+ * integral {@code sku_attributes.sku_price} column and used by the search index.
+ */
+public final class Prices {
+    private static final int MINOR_UNIT_DIGITS = 2;
+
+    private Prices() {
+    }
+
+    /**
+     * Converts an amount in currency units to cents, rounding half up on the decimal value as written, so that
+     * 1.005 becomes 101 rather than the 100 its binary approximation would give.
+     *
+     * @param price Amount in currency units, or null
+     * @return Amount in cents, or null for a null price
+     * @throws IllegalArgumentException If the price is not a finite number
+     */
+    public static Long toCents(Double price) {
+        if (price == null) return null;
+        if (price.isNaN() || price.isInfinite()) {
+            throw new IllegalArgumentException("Invalid price: " + price);
+        }
+        return BigDecimal.valueOf(price).movePointRight(MINOR_UNIT_DIGITS)
+                .setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Converts an amount in cents to currency units.
+     *
+     * @param cents Amount in cents
+     * @return Amount in currency units
+     */
+    public static double fromCents(long cents) {
+        return BigDecimal.valueOf(cents).movePointLeft(MINOR_UNIT_DIGITS).doubleValue();
+    }
+}
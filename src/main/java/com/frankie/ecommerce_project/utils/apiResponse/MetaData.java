@@ -1,5 +1,6 @@
 package com.frankie.ecommerce_project.utils.apiResponse;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.io.Serializable;
@@ -9,10 +10,12 @@ import java.io.Serializable;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MetaData implements Serializable {
-    private int pageNo;
+    private Integer pageNo;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private Boolean lastPage;
+    private String nextCursor;
 }
@@ -0,0 +1,79 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankie.ecommerce_project.dto.role.common.RoleName;
+import com.frankie.ecommerce_project.dto.user.common.UserInfo;
+import com.frankie.ecommerce_project.dto.user.response.UserListResponse;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import com.frankie.ecommerce_project.utils.apiResponse.MetaData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of an {@link ApiResponse} page of users, with an object mapper configured like the one
+ * Spring Boot gives the MVC message converters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseJsonBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<UserListResponse> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<UserInfo> users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(UserInfo.builder()
+                    .id(UUID.randomUUID().toString())
+                    .fullName("User " + i)
+                    .email("user" + i + "@example.com")
+                    .phoneNumber("09" + String.format("%08d", i))
+                    .address(i + " Le Loi, District 1, Ho Chi Minh City")
+                    .dateOfBirth(LocalDate.of(1990, 1, 1).plusDays(i))
+                    .roles(Set.of(RoleName.builder().name("ROLE_USER").build()))
+                    .createdAt(Instant.now())
+                    .createdBy("system")
+                    .isDeleted(false)
+                    .isActive(true)
+                    .isVerified(true)
+                    .build());
+        }
+        MetaData meta = MetaData.builder().pageNo(1).pageSize(pageSize).totalElements(10_000L)
+                .totalPages(10_000 / pageSize).lastPage(false).build();
+        response = ApiResponse.success("Get all users successfully", HttpStatus.OK,
+                UserListResponse.builder().meta(meta).data(users).build());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ApiResponseJsonBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,56 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import com.frankie.ecommerce_project.template.EmailTemplateEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the OTP email the way EmailServiceImpl used to (read the classpath resource,
+ * decode it and {@code String.replace} per email) with the pre-compiled {@link EmailTemplateEngine}.
+ * Run with the GC profiler and compare {@code gc.alloc.rate.norm} (bytes allocated per email).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    private static final String OTP = "123456";
+
+    private EmailTemplateEngine emailTemplateEngine;
+
+    @Setup
+    public void setUp() {
+        emailTemplateEngine = new EmailTemplateEngine();
+    }
+
+    @Benchmark
+    public String readAndReplace() throws IOException {
+        ClassPathResource resource = new ClassPathResource("templates/otp-email.html");
+        String html = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        return html.replace("${otp}", OTP);
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return emailTemplateEngine.render("otp-email", Map.of("otp", OTP));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
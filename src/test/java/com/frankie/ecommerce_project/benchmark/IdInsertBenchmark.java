@@ -0,0 +1,117 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import com.frankie.ecommerce_project.model.id.IdGenerator;
+import com.frankie.ecommerce_project.model.id.RandomUuidGenerator;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import com.frankie.ecommerce_project.model.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares insert throughput of the original key layout ({@code VARCHAR(36)} random UUIDs) with
+ * {@code BINARY(16)} keys, random and time-ordered, on an H2 table that already holds {@value #EXISTING_ROWS}
+ * rows. Each operation inserts a batch of users with one row each in a {@code user_roles}-like join table,
+ * so both the primary key index and the join table's composite key grow.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdInsertBenchmark {
+
+    private static final int EXISTING_ROWS = 200_000;
+    private static final int BATCH_SIZE = 500;
+    private static final String ROLE_ID = "00000000-0000-7000-8000-000000000001";
+
+    public enum Layout {
+        VARCHAR_V4("VARCHAR(36)", new RandomUuidGenerator()),
+        BINARY_V4("BINARY(16)", new RandomUuidGenerator()),
+        BINARY_V7("BINARY(16)", new UuidV7Generator());
+
+        private final String columnType;
+        private final IdGenerator generator;
+
+        Layout(String columnType, IdGenerator generator) {
+            this.columnType = columnType;
+            this.generator = generator;
+        }
+
+        private boolean isBinary() {
+            return columnType.startsWith("BINARY");
+        }
+    }
+
+    @Param
+    private Layout layout;
+
+    private Connection connection;
+    private PreparedStatement insertUser;
+    private PreparedStatement insertUserRole;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + layout + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id " + layout.columnType + " PRIMARY KEY, email VARCHAR(255))");
+            statement.execute("CREATE TABLE user_roles (user_id " + layout.columnType + " NOT NULL, role_id "
+                    + layout.columnType + " NOT NULL, PRIMARY KEY (role_id, user_id), "
+                    + "FOREIGN KEY (user_id) REFERENCES users (id))");
+        }
+        connection.setAutoCommit(false);
+        insertUser = connection.prepareStatement("INSERT INTO users (id, email) VALUES (?, ?)");
+        insertUserRole = connection.prepareStatement("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)");
+        for (int i = 0; i < EXISTING_ROWS; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String id = layout.generator.generate();
+            bindId(insertUser, 1, id);
+            insertUser.setString(2, id + "@example.com");
+            insertUser.addBatch();
+            bindId(insertUserRole, 1, id);
+            bindId(insertUserRole, 2, ROLE_ID);
+            insertUserRole.addBatch();
+        }
+        insertUser.executeBatch();
+        insertUserRole.executeBatch();
+        connection.commit();
+    }
+
+    private void bindId(PreparedStatement statement, int index, String id) throws SQLException {
+        if (layout.isBinary()) {
+            statement.setBytes(index, UuidBinaryJavaType.toBytes(id));
+        } else {
+            statement.setString(index, id);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import com.frankie.ecommerce_project.dto.authentication.request.LoginDto;
+import com.frankie.ecommerce_project.dto.authentication.response.LoginResponse;
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.repository.*;
+import com.frankie.ecommerce_project.search.UserSearchIndex;
+import com.frankie.ecommerce_project.security.OtpHasher;
+import com.frankie.ecommerce_project.security.UserDetailsCustom;
+import com.frankie.ecommerce_project.service.EmailOutboxService;
+import com.frankie.ecommerce_project.service.implement.AuthenticationServiceImpl;
+import com.frankie.ecommerce_project.utils.apiResponse.ApiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Login cost with a real {@link BCryptPasswordEncoder} at its default strength, against stubbed repositories so the
+ * hash dominates. {@link #login()} is the current single-verify path; {@link #loginWithAuthenticationManager()}
+ * adds the {@link AuthenticationManager} round trip the old path made after its own password check, which
+ * reloaded the user through {@link UserDetailsCustom} and verified the password a second time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+    private static final String PASSWORD = "benchmark-password";
+
+    private AuthenticationServiceImpl authenticationService;
+    private AuthenticationManager authenticationManager;
+    private HttpServletRequest request;
+    private LoginDto loginDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SecurityFixture fixture = new SecurityFixture(false);
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        User user = User.builder()
+                .id(fixture.user.getId())
+                .email(fixture.user.getEmail())
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles(fixture.user.getRoles())
+                .isVerified(true)
+                .build();
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmailWithRoles(user.getEmail())).thenReturn(Optional.of(user));
+        DeviceRepository deviceRepository = mock(DeviceRepository.class);
+        when(deviceRepository.findByUserAndUserAgent(any(), anyString())).thenReturn(Optional.empty());
+
+        authenticationService = new AuthenticationServiceImpl(fixture.jwtTokenProvider, userRepository,
+                passwordEncoder, mock(OtpHasher.class), mock(EmailOutboxService.class),
+                mock(VerificationCodeRepository.class), mock(RoleRepository.class), deviceRepository,
+                mock(RefreshTokenRepository.class), mock(UserSearchIndex.class), new SimpleMeterRegistry());
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(new UserDetailsCustom(userRepository));
+        authenticationManager = new ProviderManager(provider);
+
+        request = mock(HttpServletRequest.class);
+        when(request.getHeader("User-Agent")).thenReturn("benchmark");
+        loginDto = new LoginDto(user.getEmail(), PASSWORD);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public ApiResponse<LoginResponse> login() {
+        return authenticationService.login(loginDto, request);
+    }
+
+    @Benchmark
+    public ApiResponse<LoginResponse> loginWithAuthenticationManager() {
+        authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(loginDto.getEmail(), loginDto.getPassword()));
+        return authenticationService.login(loginDto, request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
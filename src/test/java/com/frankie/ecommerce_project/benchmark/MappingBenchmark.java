@@ -0,0 +1,101 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import com.frankie.ecommerce_project.dto.category.common.CategoryInfo;
+import com.frankie.ecommerce_project.dto.role.common.RoleInfo;
+import com.frankie.ecommerce_project.dto.user.common.UserInfo;
+import com.frankie.ecommerce_project.mapper.CategoryMapper;
+import com.frankie.ecommerce_project.mapper.RoleMapper;
+import com.frankie.ecommerce_project.mapper.UserMapper;
+import com.frankie.ecommerce_project.model.Category;
+import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.utils.BuildPageable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work of the list and detail endpoints outside the database: building the {@link Pageable}
+ * and mapping entities to response DTOs with the MapStruct mappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private static final int PERMISSIONS_PER_ROLE = 40;
+
+    @Param({"asc", "desc"})
+    private String sortDir;
+
+    private User user;
+    private Role role;
+    private Category category;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Set<Permission> permissions = new HashSet<>();
+        for (int i = 0; i < PERMISSIONS_PER_ROLE; i++) {
+            permissions.add(Permission.builder().id(UUID.randomUUID().toString()).name("PERMISSION_" + i)
+                    .path("/api/v1/resource/" + i).method("GET").module("RESOURCE").build());
+        }
+        role = Role.builder().id(UUID.randomUUID().toString()).name("ROLE_ADMIN").permissions(permissions)
+                .createdAt(Instant.now()).createdBy("system").isDeleted(false).build();
+        user = User.builder()
+                .id(UUID.randomUUID().toString())
+                .fullName("Nguyen Van An")
+                .email("an.nguyen@example.com")
+                .phoneNumber("0901234567")
+                .address("1 Le Loi, District 1, Ho Chi Minh City")
+                .dateOfBirth(LocalDate.of(1995, 5, 17))
+                .roles(Set.of(role, Role.builder().id(UUID.randomUUID().toString()).name("ROLE_USER").build()))
+                .createdAt(Instant.now())
+                .createdBy("system")
+                .isDeleted(false)
+                .isActive(true)
+                .isVerified(true)
+                .build();
+        category = Category.builder().id(UUID.randomUUID().toString()).name("Laptops")
+                .description("Notebooks, ultrabooks and gaming laptops").createdAt(Instant.now())
+                .createdBy("system").isDeleted(false).build();
+    }
+
+    @Benchmark
+    public Pageable buildPageable() {
+        return BuildPageable.buildPageable(3, 20, "createdAt", sortDir);
+    }
+
+    @Benchmark
+    public UserInfo mapUser() {
+        return UserMapper.INSTANCE.toUserInfo(user);
+    }
+
+    @Benchmark
+    public RoleInfo mapRole() {
+        return RoleMapper.INSTANCE.toRoleInfo(role);
+    }
+
+    @Benchmark
+    public CategoryInfo mapCategory() {
+        return CategoryMapper.INSTANCE.toCategoryInfo(category);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
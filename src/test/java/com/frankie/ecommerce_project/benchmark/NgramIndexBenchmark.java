@@ -0,0 +1,79 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import com.frankie.ecommerce_project.search.NgramIndex;
+import com.frankie.ecommerce_project.search.SearchResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a search over 1M user emails through {@link NgramIndex} with a linear {@code contains} scan,
+ * which is what {@code LIKE '%query%'} does on every row (without the I/O of a real table scan).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class NgramIndexBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] FIRST_NAMES = {"an", "binh", "cuong", "dung", "giang", "hoa", "khanh", "linh",
+            "minh", "nam", "phuong", "quang", "son", "thao", "trang", "tuan", "vy", "yen"};
+    private static final String[] LAST_NAMES = {"nguyen", "tran", "le", "pham", "hoang", "phan", "vu", "dang",
+            "bui", "do", "ho", "ngo", "duong", "ly"};
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "shopdev.vn", "fpt.edu.vn"};
+
+    /**
+     * Selective query, prefix-like query and broad query.
+     */
+    @Param({"khanh.pham4821", "trang.", "outlook"})
+    private String query;
+
+    private NgramIndex index;
+    private List<String> emails;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new NgramIndex();
+        emails = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            String email = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "."
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + random.nextInt(10_000) + "@"
+                    + DOMAINS[random.nextInt(DOMAINS.length)];
+            emails.add(email);
+            index.put(UUID.randomUUID().toString(), email);
+        }
+    }
+
+    @Benchmark
+    public long likeScan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        long total = 0;
+        for (String email : emails) {
+            if (email.toLowerCase(Locale.ROOT).contains(needle)) total++;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public SearchResult ngramIndex() {
+        return index.search(query, 0, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NgramIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import com.frankie.ecommerce_project.search.FacetedProductIndex;
+import com.frankie.ecommerce_project.search.ProductSearchDocument;
+import com.frankie.ecommerce_project.search.ProductSearchQuery;
+import com.frankie.ecommerce_project.search.ProductSearchResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures faceted product searches over 1M SKUs (250k products with four SKUs each) through
+ * {@link FacetedProductIndex}, against a linear scan of the same documents computing the same matches and facet
+ * counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    private static final int PRODUCTS = 250_000;
+    private static final int SKUS_PER_PRODUCT = 4;
+    private static final List<String> FACET_KEYS = List.of("brand", "category", "color", "size");
+    private static final String[] ADJECTIVES = {"classic", "slim", "oversized", "vintage", "organic", "premium",
+            "sport", "everyday", "lightweight", "thermal"};
+    private static final String[] NOUNS = {"tee", "hoodie", "jacket", "jeans", "dress", "sneaker", "cap", "scarf",
+            "sock", "backpack", "mug", "bottle"};
+    private static final String[] CATEGORIES = {"tops", "outerwear", "bottoms", "dresses", "footwear",
+            "accessories", "kitchen"};
+    private static final String[] COLORS = {"black", "white", "red", "blue", "green", "grey", "beige", "navy"};
+    private static final String[] SIZES = {"xs", "s", "m", "l", "xl", "xxl"};
+
+    /**
+     * Browse with facets only, a text search, a selective filter combination, and everything with a price range.
+     */
+    @Param({"browse", "text", "filters", "combined"})
+    private String scenario;
+
+    private FacetedProductIndex index;
+    private List<ProductSearchDocument> documents;
+    private ProductSearchQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new FacetedProductIndex(20);
+        documents = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            Map<String, Set<String>> facets = new HashMap<>();
+            facets.put("brand", Set.of("brand" + random.nextInt(500)));
+            facets.put("category", Set.of(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+            Set<String> colors = new HashSet<>();
+            Set<String> sizes = new HashSet<>();
+            long[] prices = new long[SKUS_PER_PRODUCT];
+            long basePrice = 500 + random.nextInt(20_000);
+            for (int s = 0; s < SKUS_PER_PRODUCT; s++) {
+                colors.add(COLORS[random.nextInt(COLORS.length)]);
+                sizes.add(SIZES[random.nextInt(SIZES.length)]);
+                prices[s] = basePrice + random.nextInt(1_000);
+            }
+            facets.put("color", colors);
+            facets.put("size", sizes);
+            ProductSearchDocument document = new ProductSearchDocument(UUID.randomUUID().toString(),
+                    ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun + " " + i,
+                    "A " + noun + " made to last", facets, prices);
+            documents.add(document);
+            index.put(document);
+        }
+
+        ProductSearchQuery.ProductSearchQueryBuilder builder = ProductSearchQuery.builder()
+                .facetKeys(FACET_KEYS).offset(0).limit(20).filters(Map.of());
+        query = switch (scenario) {
+            case "browse" -> builder.build();
+            case "text" -> builder.text("vintage jack").build();
+            case "filters" -> builder.filters(Map.of("color", Set.of("red", "navy"), "size", Set.of("m"),
+                    "category", Set.of("outerwear"))).build();
+            default -> builder.text("hoodie").filters(Map.of("color", Set.of("black"), "size", Set.of("l", "xl")))
+                    .minPrice(2_000L).maxPrice(6_000L).build();
+        };
+    }
+
+    @Benchmark
+    public ProductSearchResult facetedIndex() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public long linearScan() {
+        List<String> words = query.getText() == null ? List.of() : List.of(query.getText().split(" "));
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        long total = 0;
+        for (ProductSearchDocument document : documents) {
+            String text = (document.getName() + " " + document.getDescription()).toLowerCase(Locale.ROOT);
+            boolean matches = words.stream().allMatch(text::contains)
+                    && (query.getMinPrice() == null || document.hasPriceBetween(query.getMinPrice(), query.getMaxPrice()));
+            if (!matches) continue;
+            // Each facet is counted over the products matching the filters of the other facets.
+            for (String key : FACET_KEYS) {
+                if (!matchesFilters(document, key)) continue;
+                for (String value : document.getFacets().getOrDefault(key, Set.of())) {
+                    counts.computeIfAbsent(key, k -> new HashMap<>()).merge(value, 1L, Long::sum);
+                }
+            }
+            if (matchesFilters(document, null)) total++;
+        }
+        return total + counts.size();
+    }
+
+    private boolean matchesFilters(ProductSearchDocument document, String exceptKey) {
+        for (Map.Entry<String, Set<String>> filter : query.getFilters().entrySet()) {
+            if (filter.getKey().equals(exceptKey)) continue;
+            Set<String> values = document.getFacets().getOrDefault(filter.getKey(), Set.of());
+            if (Collections.disjoint(values, filter.getValue())) return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request security work: issuing an access token at login, and decoding a bearer token plus converting
+ * its claims into authorities on every authenticated request. Authorities come either from the role ID claim
+ * through {@link com.frankie.ecommerce_project.security.authority.RoleAuthorityCache} or from the permission
+ * bitmap claim.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityBenchmark {
+
+    /**
+     * Whether access tokens carry the permission bitmap claim.
+     */
+    @Param({"false", "true"})
+    private boolean permissionBitmap;
+
+    private SecurityFixture fixture;
+    private String accessToken;
+    private Jwt decodedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new SecurityFixture(permissionBitmap);
+        accessToken = fixture.jwtTokenProvider.createAccessToken(fixture.user);
+        decodedToken = fixture.jwtDecoder.decode(accessToken);
+    }
+
+    @Benchmark
+    public String encodeAccessToken() {
+        return fixture.jwtTokenProvider.createAccessToken(fixture.user);
+    }
+
+    @Benchmark
+    public Jwt decodeAccessToken() {
+        return fixture.jwtDecoder.decode(accessToken);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convertAuthorities() {
+        return fixture.authenticationConverter.convert(decodedToken);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken decodeAndConvert() {
+        return fixture.authenticationConverter.convert(fixture.jwtDecoder.decode(accessToken));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.frankie.ecommerce_project.benchmark;
+
+import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.repository.PermissionRepository;
+import com.frankie.ecommerce_project.repository.RoleRepository;
+import com.frankie.ecommerce_project.security.authority.PermissionBitsetRegistry;
+import com.frankie.ecommerce_project.security.authority.RoleAuthorityCache;
+import com.frankie.ecommerce_project.security.config.SecurityConfig;
+import com.frankie.ecommerce_project.security.token.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Security beans wired the way {@link SecurityConfig} wires them, over in-memory roles and permissions:
+ * {@value #ROLES} roles of {@value #PERMISSIONS_PER_ROLE} permissions each, drawn from {@value #PERMISSIONS}.
+ */
+final class SecurityFixture {
+    static final int PERMISSIONS = 120;
+    static final int ROLES = 6;
+    static final int PERMISSIONS_PER_ROLE = 40;
+    static final int ROLES_PER_USER = 2;
+
+    final JwtTokenProvider jwtTokenProvider;
+    final JwtDecoder jwtDecoder;
+    final JwtAuthenticationConverter authenticationConverter;
+    final User user;
+
+    /**
+     * Builds the fixture.
+     *
+     * @param permissionBitmap Whether access tokens carry the permission bitmap claim
+     */
+    SecurityFixture(boolean permissionBitmap) {
+        Random random = new Random(42);
+        List<Permission> permissions = new ArrayList<>();
+        for (int i = 0; i < PERMISSIONS; i++) {
+            permissions.add(Permission.builder().id(UUID.randomUUID().toString()).name("PERMISSION_" + i).build());
+        }
+        List<Role> roles = new ArrayList<>();
+        for (int i = 0; i < ROLES; i++) {
+            Set<Permission> granted = new HashSet<>();
+            while (granted.size() < PERMISSIONS_PER_ROLE) granted.add(permissions.get(random.nextInt(PERMISSIONS)));
+            roles.add(Role.builder().id(UUID.randomUUID().toString()).name("ROLE_" + i).permissions(granted).build());
+        }
+
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(permissionRepository.findAll(any(Sort.class))).thenReturn(permissions);
+        when(roleRepository.findAllWithPermissions()).thenReturn(roles);
+        when(roleRepository.findByIdWithPermissions(anyString())).thenAnswer(invocation -> roles.stream()
+                .filter(role -> role.getId().equals(invocation.getArgument(0)))
+                .findFirst());
+
+        PermissionBitsetRegistry registry = new PermissionBitsetRegistry(permissionRepository, roleRepository,
+                permissionBitmap, 10);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RoleAuthorityCache roleAuthorityCache = new RoleAuthorityCache(roleRepository, meterRegistry, 1000, 10);
+
+        byte[] secret = new byte[64];
+        random.nextBytes(secret);
+        SecurityConfig securityConfig = new SecurityConfig();
+        ReflectionTestUtils.setField(securityConfig, "jwtSecret", Base64.getEncoder().encodeToString(secret));
+
+        jwtTokenProvider = new JwtTokenProvider(securityConfig.jwtEncoder(meterRegistry), registry, 30, 7);
+        jwtDecoder = securityConfig.jwtDecoder(meterRegistry);
+        authenticationConverter = securityConfig.jwtAuthenticationConverter(roleAuthorityCache, registry,
+                meterRegistry);
+        user = User.builder()
+                .id(UUID.randomUUID().toString())
+                .email("benchmark.user@example.com")
+                .roles(new HashSet<>(roles.subList(0, ROLES_PER_USER)))
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.frankie.ecommerce_project.cache;
+
+import com.frankie.ecommerce_project.config.HibernateCacheConfiguration;
+import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.repository.PermissionRepository;
+import com.frankie.ecommerce_project.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({HibernateCacheConfiguration.class, ReferenceDataCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    private static final String ROLE_NAME = "ROLE_USER";
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaction.executeWithoutResult(status -> {
+            List<Permission> permissions = permissionRepository.saveAll(List.of(
+                    Permission.builder().name("VIEW_PRODUCT").build(),
+                    Permission.builder().name("CREATE_ORDER").build()));
+            roleRepository.save(Role.builder().name(ROLE_NAME).permissions(new HashSet<>(permissions)).build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            roleRepository.deleteAll();
+            permissionRepository.deleteAll();
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void roleLookup_servedFromCacheAfterFirstLoad() {
+        roleRepository.findByNameWithPermissions(ROLE_NAME).orElseThrow();
+        statistics.clear();
+
+        Role role = roleRepository.findByNameWithPermissions(ROLE_NAME).orElseThrow();
+
+        assertEquals(Set.of("VIEW_PRODUCT", "CREATE_ORDER"), permissionNames(role));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(referenceDataCache.statistics().get(CacheRegions.REFERENCE_QUERIES).hits() > 0);
+        assertTrue(referenceDataCache.statistics().get(CacheRegions.ROLE).hits() > 0);
+    }
+
+    @Test
+    void roleUpdate_isVisibleToNextLookup() {
+        Role cached = roleRepository.findByNameWithPermissions(ROLE_NAME).orElseThrow();
+
+        transaction.executeWithoutResult(status -> {
+            Role role = roleRepository.findByIdWithPermissions(cached.getId()).orElseThrow();
+            role.setPermissions(new HashSet<>(permissionRepository.findByNameIn(List.of("VIEW_PRODUCT"))));
+            roleRepository.save(role);
+            referenceDataCache.evictRoles(List.of(role.getId()));
+        });
+
+        Role role = roleRepository.findByNameWithPermissions(ROLE_NAME).orElseThrow();
+        assertEquals(Set.of("VIEW_PRODUCT"), permissionNames(role));
+        assertEquals(Set.of("VIEW_PRODUCT"), permissionNames(roleRepository.findByIdWithPermissions(role.getId()).orElseThrow()));
+    }
+
+    private static Set<String> permissionNames(Role role) {
+        return role.getPermissions().stream().map(Permission::getName).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,220 @@
+package com.frankie.ecommerce_project.inventory;
+
+import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
+import com.frankie.ecommerce_project.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class StockLedgerTest {
+    private static final int STOCK = 100;
+    private static final String OWNER = "shopper@example.com";
+
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final Map<String, Long> written = new ConcurrentHashMap<>();
+    private StockWriteBehind stockWriteBehind;
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        when(inventoryRepository.findStock("HOT")).thenReturn(Optional.of(STOCK));
+        when(inventoryRepository.findStock("COLD")).thenReturn(Optional.of(1));
+        when(inventoryRepository.findStock("MISSING")).thenReturn(Optional.empty());
+        when(inventoryRepository.findStock("SPARE")).thenReturn(Optional.of(10));
+        doAnswer(invocation -> {
+            Map<String, Long> deltas = invocation.getArgument(0);
+            deltas.forEach((skuNo, delta) -> written.merge(skuNo, delta, Long::sum));
+            return null;
+        }).when(inventoryRepository).applyStockDeltas(anyMap());
+        stockWriteBehind = new StockWriteBehind(inventoryRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        stockLedger = new StockLedger(stockWriteBehind, Duration.ofMinutes(15), 2);
+    }
+
+    @Test
+    void reserve_underHighContention_neverOversells() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 500;
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        stockLedger.getStockLevel("HOT");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        int quantity = ThreadLocalRandom.current().nextInt(1, 4);
+                        Reservation reservation;
+                        try {
+                            reservation = stockLedger.reserve(Map.of("HOT", quantity), OWNER);
+                        } catch (IllegalStateException e) {
+                            rejected.incrementAndGet();
+                            continue;
+                        }
+                        assertTrue(stockLedger.getStockLevel("HOT").available() >= 0);
+                        // Abandon some checkouts and cancel others, so stock keeps coming back.
+                        int outcome = ThreadLocalRandom.current().nextInt(10);
+                        if (outcome < 3) {
+                            stockLedger.commit(reservation.id());
+                            committed.addAndGet(quantity);
+                        } else if (outcome < 9) {
+                            stockLedger.release(reservation.id());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) worker.get();
+        } finally {
+            executor.shutdown();
+        }
+        stockLedger.expireReservations(Instant.now().plus(Duration.ofHours(1)));
+        stockWriteBehind.flush();
+
+        StockLedger.StockLevel level = stockLedger.getStockLevel("HOT");
+        assertTrue(committed.get() <= STOCK, "Sold " + committed.get() + " of " + STOCK);
+        assertTrue(rejected.get() > 0, "The test must run out of stock to exercise contention");
+        assertEquals(0, level.reserved());
+        assertEquals(STOCK - committed.get(), level.available());
+        assertEquals(-committed.get(), written.get("HOT"));
+        verify(inventoryRepository, times(1)).findStock("HOT");
+    }
+
+    @Test
+    void reserve_isAllOrNothing() {
+        stockLedger.reserve(Map.of("COLD", 1), OWNER);
+
+        assertThrows(IllegalStateException.class, () -> stockLedger.reserve(Map.of("HOT", 5, "COLD", 1), OWNER));
+        assertThrows(ResourceNotFoundException.class,
+                () -> stockLedger.reserve(Map.of("HOT", 5, "MISSING", 1), OWNER));
+
+        assertEquals(STOCK, stockLedger.getStockLevel("HOT").available());
+        assertEquals(0, stockLedger.getStockLevel("HOT").reserved());
+    }
+
+    @Test
+    void reservation_endsExactlyOnce() {
+        Reservation reservation = stockLedger.reserve(Map.of("HOT", 10), OWNER);
+
+        stockLedger.commit(reservation.id());
+
+        assertThrows(ResourceNotFoundException.class, () -> stockLedger.release(reservation.id()));
+        assertThrows(ResourceNotFoundException.class, () -> stockLedger.commit(reservation.id()));
+        assertEquals(STOCK - 10, stockLedger.getStockLevel("HOT").available());
+        assertEquals(-10L, stockWriteBehind.pendingDelta("HOT"));
+    }
+
+    @Test
+    void expireReservations_returnsStockOfAbandonedReservationsOnly() {
+        Reservation abandoned = stockLedger.reserve(Map.of("HOT", 30), OWNER);
+
+        assertEquals(0, stockLedger.expireReservations(abandoned.expiresAt().minusSeconds(1)));
+        assertEquals(1, stockLedger.expireReservations(abandoned.expiresAt().plusSeconds(1)));
+
+        assertEquals(STOCK, stockLedger.getStockLevel("HOT").available());
+        assertThrows(ResourceNotFoundException.class, () -> stockLedger.commit(abandoned.id()));
+        assertEquals(0, stockWriteBehind.flush());
+    }
+
+    @Test
+    void flush_keepsDeltasWhenTheWriteFails() {
+        stockLedger.commit(stockLedger.reserve(Map.of("HOT", 4), OWNER).id());
+        doThrow(new IllegalStateException("Database down")).when(inventoryRepository).applyStockDeltas(anyMap());
+
+        assertEquals(0, stockWriteBehind.flush());
+        stockLedger.commit(stockLedger.reserve(Map.of("HOT", 1), OWNER).id());
+
+        assertEquals(-5L, stockWriteBehind.pendingDelta("HOT"));
+    }
+
+    @Test
+    void evict_reloadsStockAndKeepsOpenReservations() {
+        Reservation open = stockLedger.reserve(Map.of("HOT", 10), OWNER);
+        stockLedger.commit(stockLedger.reserve(Map.of("HOT", 5), OWNER).id());
+        stockLedger.getStockLevel("COLD");
+        when(inventoryRepository.findStock("HOT")).thenReturn(Optional.of(50));
+        when(inventoryRepository.findStock("COLD")).thenReturn(Optional.of(7));
+
+        stockLedger.evict(List.of("HOT", "COLD", "UNCACHED"));
+
+        // The unflushed sale still counts against the reloaded stock, and the open reservation keeps its share.
+        assertEquals(new StockLedger.StockLevel("HOT", 50 - 5 - 10, 10), stockLedger.getStockLevel("HOT"));
+        assertEquals(7, stockLedger.getStockLevel("COLD").available());
+        stockLedger.release(open.id());
+        assertEquals(50 - 5, stockLedger.getStockLevel("HOT").available());
+        verify(inventoryRepository, never()).findStock("UNCACHED");
+    }
+
+    @Test
+    void reload_duringAFlush_countsTheFlushedSalesOnce() throws Exception {
+        when(inventoryRepository.findStock("HOT"))
+                .thenAnswer(invocation -> Optional.of((int) (STOCK + written.getOrDefault("HOT", 0L))));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch commitWrite = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            commitWrite.await();
+            Map<String, Long> deltas = invocation.getArgument(0);
+            deltas.forEach((skuNo, delta) -> written.merge(skuNo, delta, Long::sum));
+            return null;
+        }).when(inventoryRepository).applyStockDeltas(anyMap());
+        StockLedger oneSku = new StockLedger(stockWriteBehind, Duration.ofMinutes(15), 1);
+        oneSku.commit(oneSku.reserve(Map.of("HOT", 5), OWNER).id());
+        // Loading COLD drops the idle HOT entry with its sale still buffered.
+        oneSku.getStockLevel("COLD");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> flush = executor.submit(stockWriteBehind::flush);
+            writing.await();
+            // HOT is loaded again while the flush has taken its sale out of the buffer but not yet written it.
+            Future<StockLedger.StockLevel> reload = executor.submit(() -> oneSku.getStockLevel("HOT"));
+            Thread.sleep(50);
+            commitWrite.countDown();
+
+            assertEquals(1, flush.get());
+            assertEquals(STOCK - 5, reload.get().available());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void stockOf_dropsIdleSkusBeyondTheLimit() {
+        Reservation hot = stockLedger.reserve(Map.of("HOT", 1), OWNER);
+        stockLedger.getStockLevel("COLD");
+        stockLedger.getStockLevel("SPARE");
+
+        // COLD was idle and made room for SPARE; HOT holds a reservation and stays.
+        stockLedger.getStockLevel("COLD");
+        stockLedger.commit(hot.id());
+
+        assertEquals(STOCK - 1, stockLedger.getStockLevel("HOT").available());
+        verify(inventoryRepository, times(1)).findStock("HOT");
+        verify(inventoryRepository, times(2)).findStock("COLD");
+        assertEquals(OWNER, hot.owner());
+    }
+}
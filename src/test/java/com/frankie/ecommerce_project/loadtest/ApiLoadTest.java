@@ -0,0 +1,300 @@
+package com.frankie.ecommerce_project.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankie.ecommerce_project.search.BrandSearchIndex;
+import com.frankie.ecommerce_project.search.CategorySearchIndex;
+import com.frankie.ecommerce_project.search.EntitySearchIndex;
+import com.frankie.ecommerce_project.search.UserSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the REST API. The application starts on a random port against an in-memory H2
+ * database in MySQL mode, seeded by {@link LoadTestDataSeeder}, and every client signs in as its own user and
+ * sends a weighted mix of login, refresh, list and search calls. The p50/p99 latency and throughput of every
+ * endpoint are printed at the end, followed by the server-side timers of the stages behind them (password
+ * hashing, JWT, email provider and repository calls) and the span breakdown of one traced request.
+ * <pre>
+ * mvn -Ploadtest test
+ * mvn -Ploadtest test -Dloadtest.users=100000 -Dloadtest.clients=200 -Dloadtest.durationSeconds=60
+ * </pre>
+ * H2 answers from memory, so absolute numbers are higher than against MySQL; the harness is meant for
+ * comparing changes to the application code on the same machine.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@AutoConfigureObservability
+@Import(LoadTestDataSeeder.class)
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+class ApiLoadTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    private static final String USER_AGENT = "load-test";
+    private static final Duration INDEX_LOAD_TIMEOUT = Duration.ofMinutes(2);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoadTestDataSeeder seeder;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private CategorySearchIndex categorySearchIndex;
+
+    @Autowired
+    private BrandSearchIndex brandSearchIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${loadtest.clients}")
+    private int clients;
+
+    @Value("${loadtest.warmupSeconds}")
+    private long warmupSeconds;
+
+    @Value("${loadtest.durationSeconds}")
+    private long durationSeconds;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        assertTrue(clients <= seeder.getUsers(), "Every client needs its own user");
+        awaitLoaded(userSearchIndex, categorySearchIndex, brandSearchIndex);
+
+        HttpLoadGenerator generator = new HttpLoadGenerator(clients, Duration.ofSeconds(warmupSeconds),
+                Duration.ofSeconds(durationSeconds));
+        Session[] sessions = new Session[clients];
+        for (int i = 0; i < clients; i++) {
+            sessions[i] = new Session(LoadTestDataSeeder.email(i));
+            sessions[i].update(generator.send(login(sessions[i])));
+        }
+
+        List<LoadResult> results = generator.run(workload(), i -> sessions[i]);
+
+        System.out.printf("%d clients, %d users, %d s warm-up, %d s measured%n", clients, seeder.getUsers(),
+                warmupSeconds, durationSeconds);
+        long errors = 0;
+        for (LoadResult result : results) {
+            System.out.println(result);
+            errors += result.getErrors();
+        }
+        printStageTimers();
+        assertEquals(0, errors, "Requests failed during the run");
+        assertTrue(generator.send(get(sessions[0], "/actuator/prometheus"))
+                .contains("app_password_hash_seconds_bucket"), "Percentile histograms are not exported");
+        assertEquals(200, status(get(sessions[0], "/api/v1/users/export?format=ndjson")));
+        if (clients > 1) {
+            assertEquals(403, status(get(sessions[1], "/actuator/prometheus")),
+                    "Metrics are readable without the authority");
+            assertEquals(403, status(get(sessions[1], "/api/v1/users/export")),
+                    "Users can be exported without the authority");
+            assertEquals(403, status(HttpRequest.newBuilder(uri("/api/v1/users/import"))
+                    .header("Authorization", "Bearer " + sessions[1].accessToken)
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString("email,password\nintruder@example.com,secret\n"))
+                    .build()), "Users can be imported without the authority");
+        }
+        assertTraced(sessions[0]);
+    }
+
+    /**
+     * Sends one request with tracing forced on and prints its stage breakdown from the trace endpoint.
+     */
+    private void assertTraced(Session session) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/users?pageSize=20&pageNo=0"))
+                .header("Authorization", "Bearer " + session.accessToken)
+                .header("X-Trace", "true")
+                .GET()
+                .build();
+        HttpResponse<Void> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+        String traceId = response.headers().firstValue("X-Trace-Id").orElse(null);
+        assertNotNull(traceId, "Forced request was not traced");
+
+        HttpResponse<String> trace = HTTP_CLIENT.send(get(session, "/api/v1/admin/traces/" + traceId),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, trace.statusCode());
+        Set<String> stages = new HashSet<>();
+        System.out.println("Trace " + traceId + ":");
+        for (JsonNode span : OBJECT_MAPPER.readTree(trace.body()).path("data").path("spans")) {
+            String name = span.path("name").asText();
+            stages.add(name.split(" ")[0]);
+            System.out.printf(Locale.ROOT, "%s%-80s %8.3f ms (self %8.3f ms)%n", "  ".repeat(span.path("depth").asInt()),
+                    name, span.path("durationMs").asDouble(), span.path("selfMs").asDouble());
+        }
+        assertTrue(stages.containsAll(List.of("security.jwt.decode", "mvc", "controller", "service", "repository",
+                "serialization")), "Missing stages in " + stages);
+    }
+
+    /**
+     * Prints the server-side timers, slowest total first, to show which stage of a request costs the most.
+     */
+    private void printStageTimers() {
+        System.out.println("Server-side stages:");
+        meterRegistry.getMeters().stream()
+                .filter(meter -> meter instanceof Timer)
+                .map(meter -> (Timer) meter)
+                .filter(timer -> timer.getId().getName().startsWith("app.")
+                        || timer.getId().getName().equals("spring.data.repository.invocations"))
+                .filter(timer -> timer.count() > 0)
+                .sorted(Comparator.comparingDouble((Timer timer) -> timer.totalTime(TimeUnit.SECONDS)).reversed())
+                .forEach(timer -> System.out.println(describe(timer)));
+    }
+
+    private static String describe(Timer timer) {
+        String label = timer.getId().getName() + timer.getId().getTags().stream()
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .reduce((left, right) -> left + "," + right)
+                .map(tags -> " {" + tags + "}")
+                .orElse("");
+        double p99 = 0;
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) p99 = percentile.value(TimeUnit.MILLISECONDS);
+        }
+        return String.format(Locale.ROOT, "%-120s %7d calls   mean %8.2f ms   p99 %8.2f ms",
+                label, timer.count(), timer.mean(TimeUnit.MILLISECONDS), p99);
+    }
+
+    /**
+     * Traffic mix, weighted towards the read endpoints: login and refresh together make up a tenth of the calls.
+     */
+    private Workload<Session> workload() {
+        return Workload.<Session>builder()
+                .step("POST /auth/login", 2, this::login, Session::update)
+                .step("POST /auth/refresh-token", 8, this::refresh, Session::update)
+                .step("GET /users", 15, session -> get(session, "/api/v1/users", "pageNo", page()))
+                .step("GET /users/search", 15, session -> get(session, "/api/v1/users/search",
+                        "email", "user" + ThreadLocalRandom.current().nextInt(seeder.getUsers())))
+                .step("GET /categories", 15, session -> get(session, "/api/v1/categories", "pageNo", page()))
+                .step("GET /categories/search", 15, session -> get(session, "/api/v1/categories/search",
+                        "name", LoadTestDataSeeder.searchTerm(ThreadLocalRandom.current())))
+                .step("GET /brands", 15, session -> get(session, "/api/v1/brands", "pageNo", page()))
+                .step("GET /brands/search", 15, session -> get(session, "/api/v1/brands/search",
+                        "name", LoadTestDataSeeder.searchTerm(ThreadLocalRandom.current())))
+                .build();
+    }
+
+    private HttpRequest login(Session session) {
+        String body;
+        try {
+            body = OBJECT_MAPPER.writeValueAsString(Map.of("email", session.email,
+                    "password", LoadTestDataSeeder.PASSWORD));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("User-Agent", USER_AGENT)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest refresh(Session session) {
+        return HttpRequest.newBuilder(uri("/api/v1/auth/refresh-token"))
+                .header("Cookie", "refreshToken=" + session.refreshToken)
+                .header("User-Agent", USER_AGENT)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    /**
+     * Builds a GET for one page of 20 rows.
+     */
+    private HttpRequest get(Session session, String pathAndQuery) {
+        return HttpRequest.newBuilder(uri(pathAndQuery))
+                .header("Authorization", "Bearer " + session.accessToken)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest get(Session session, String path, String parameter, Object value) {
+        String encoded = URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8);
+        return get(session, path + "?pageSize=20&" + parameter + "=" + encoded);
+    }
+
+    private static int status(HttpRequest request) throws IOException, InterruptedException {
+        return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + port + pathAndQuery);
+    }
+
+    /**
+     * Picks one of the first pages, where most list traffic goes.
+     */
+    private static int page() {
+        return ThreadLocalRandom.current().nextInt(10);
+    }
+
+    private static void awaitLoaded(EntitySearchIndex<?>... indexes) throws InterruptedException {
+        long deadline = System.nanoTime() + INDEX_LOAD_TIMEOUT.toNanos();
+        for (EntitySearchIndex<?> index : indexes) {
+            while (!index.isReady()) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(index.getClass().getSimpleName() + " did not load in time");
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    /**
+     * Tokens of one signed-in client. Refresh tokens are rotated on every use, so each client keeps its own
+     * user and only ever sends the token it received last.
+     */
+    private static final class Session {
+        private final String email;
+        private String accessToken;
+        private String refreshToken;
+
+        private Session(String email) {
+            this.email = email;
+        }
+
+        private void update(String responseBody) {
+            try {
+                JsonNode data = OBJECT_MAPPER.readTree(responseBody).path("data");
+                accessToken = data.path("accessToken").asText();
+                refreshToken = data.path("refreshToken").asText();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
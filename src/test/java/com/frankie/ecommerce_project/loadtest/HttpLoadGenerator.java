@@ -0,0 +1,197 @@
+package com.frankie.ecommerce_project.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator: a fixed number of client threads each send one request, wait for the
+ * response and immediately send the next, for a fixed duration after a warm-up. A client either repeats one
+ * request or picks each request from a weighted {@link Workload}. The client threads are platform threads on
+ * purpose, so the client behaves the same whichever thread mode the server uses.
+ */
+public class HttpLoadGenerator {
+    private final HttpClient httpClient;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+
+    /**
+     * Constructs HttpLoadGenerator.
+     *
+     * @param clients  Number of concurrent clients
+     * @param warmup   Time to run before measuring
+     * @param duration Measured time
+     */
+    public HttpLoadGenerator(int clients, Duration warmup, Duration duration) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.clients = clients;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /**
+     * Sends a single request, for example to log in before the run.
+     *
+     * @param request Request to send
+     * @return Response body
+     * @throws IllegalStateException If the request fails or returns an error status
+     */
+    public String send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new IllegalStateException("Request to " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    /**
+     * Runs one scenario.
+     *
+     * @param scenario Scenario name
+     * @param requests Supplier of the next request to send, called concurrently
+     * @return Latencies and throughput of the measured period
+     * @throws InterruptedException If interrupted while waiting for the clients
+     */
+    public LoadResult run(String scenario, Supplier<HttpRequest> requests) throws InterruptedException {
+        Workload<Void> workload = Workload.<Void>builder().step(scenario, 1, session -> requests.get()).build();
+        return run(workload, client -> null).get(0);
+    }
+
+    /**
+     * Runs a mix of requests, each client working on its own session.
+     *
+     * @param workload Weighted steps to pick requests from
+     * @param sessions Creates the session of each client from its index
+     * @param <S>      Session type
+     * @return Latencies and throughput of every step, in the order of the workload steps
+     * @throws InterruptedException If interrupted while waiting for the clients
+     */
+    public <S> List<LoadResult> run(Workload<S> workload, IntFunction<S> sessions) throws InterruptedException {
+        long startAt = System.nanoTime() + warmup.toNanos();
+        long endAt = startAt + duration.toNanos();
+        List<Client<S>> running = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Client<S> client = new Client<>(workload, sessions.apply(i), startAt, endAt);
+            client.thread = new Thread(client, "load-client-" + i);
+            client.thread.start();
+            running.add(client);
+        }
+        for (Client<S> client : running) {
+            client.thread.join();
+        }
+
+        List<Workload.Step<S>> steps = workload.getSteps();
+        List<LoadResult> results = new ArrayList<>(steps.size());
+        for (int step = 0; step < steps.size(); step++) {
+            long[] latencies = new long[0];
+            long errors = 0;
+            for (Client<S> client : running) {
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + client.counts[step]);
+                System.arraycopy(client.latencies[step], 0, latencies, offset, client.counts[step]);
+                errors += client.errors[step];
+            }
+            results.add(new LoadResult(steps.get(step).name(), latencies, errors, duration.toNanos() / 1e9));
+        }
+        return results;
+    }
+
+    /**
+     * Sends a request without throwing.
+     *
+     * @param request  Request to send
+     * @param readBody Whether the caller needs the response body
+     * @return Response body ({@code ""} if not read), or null if the request failed or returned an error status
+     */
+    private String sendQuietly(HttpRequest request, boolean readBody) {
+        try {
+            if (readBody) {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                return response.statusCode() < 400 ? response.body() : null;
+            }
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400 ? "" : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * One closed-loop client recording the latency of every request sent during the measured period, per step.
+     */
+    private final class Client<S> implements Runnable {
+        private final Workload<S> workload;
+        private final S session;
+        private final long startAt;
+        private final long endAt;
+        private final long[][] latencies;
+        private final int[] counts;
+        private final long[] errors;
+        private Thread thread;
+
+        private Client(Workload<S> workload, S session, long startAt, long endAt) {
+            int steps = workload.getSteps().size();
+            this.workload = workload;
+            this.session = session;
+            this.startAt = startAt;
+            this.endAt = endAt;
+            this.latencies = new long[steps][1024];
+            this.counts = new int[steps];
+            this.errors = new long[steps];
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long sentAt;
+            while ((sentAt = System.nanoTime()) < endAt) {
+                int index = workload.pick(random.nextInt(workload.getTotalWeight()));
+                Workload.Step<S> step = workload.getSteps().get(index);
+                boolean ok = execute(step);
+                long latency = System.nanoTime() - sentAt;
+                if (sentAt < startAt) continue;
+                if (!ok) {
+                    errors[index]++;
+                    continue;
+                }
+                if (counts[index] == latencies[index].length) {
+                    latencies[index] = Arrays.copyOf(latencies[index], counts[index] * 2);
+                }
+                latencies[index][counts[index]++] = latency;
+            }
+        }
+
+        private boolean execute(Workload.Step<S> step) {
+            try {
+                String body = sendQuietly(step.request().apply(session), step.onSuccess() != null);
+                if (body == null) return false;
+                if (step.onSuccess() != null) step.onSuccess().accept(session, body);
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.frankie.ecommerce_project.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Latency distribution and throughput of one load-test scenario.
+ */
+public final class LoadResult {
+    private final String scenario;
+    private final long[] latenciesNanos;
+    private final long errors;
+    private final double elapsedSeconds;
+
+    /**
+     * Constructs LoadResult from the raw latencies of a run.
+     *
+     * @param scenario       Scenario name
+     * @param latenciesNanos Latency of every successful request, in any order
+     * @param errors         Number of failed requests
+     * @param elapsedSeconds Measured duration of the run
+     */
+    public LoadResult(String scenario, long[] latenciesNanos, long errors, double elapsedSeconds) {
+        this.scenario = scenario;
+        this.latenciesNanos = latenciesNanos.clone();
+        Arrays.sort(this.latenciesNanos);
+        this.errors = errors;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public long getRequests() {
+        return latenciesNanos.length;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the number of successful requests per second.
+     *
+     * @return Throughput
+     */
+    public double getThroughput() {
+        return latenciesNanos.length / elapsedSeconds;
+    }
+
+    /**
+     * Returns a latency percentile (nearest rank).
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in milliseconds, or 0 without successful requests
+     */
+    public double percentileMillis(double percentile) {
+        if (latenciesNanos.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100 * latenciesNanos.length);
+        return latenciesNanos[Math.max(0, Math.min(rank, latenciesNanos.length) - 1)] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-28s %9d req %6d err %10.1f req/s   p50 %8.2f ms   p99 %8.2f ms   max %8.2f ms",
+                scenario, getRequests(), errors, getThroughput(),
+                percentileMillis(50), percentileMillis(99), percentileMillis(100));
+    }
+}
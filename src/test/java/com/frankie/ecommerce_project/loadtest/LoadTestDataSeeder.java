@@ -0,0 +1,196 @@
+package com.frankie.ecommerce_project.loadtest;
+
+import com.frankie.ecommerce_project.model.Brand;
+import com.frankie.ecommerce_project.model.Category;
+import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds permissions, roles, users, categories and brands before the application reports ready, so the search
+ * indexes load the seeded rows. The scale is configured with {@code loadtest.*} properties, which can be
+ * overridden on the command line. Every user is verified and shares {@link #PASSWORD}, hashed once.
+ */
+@Slf4j
+public class LoadTestDataSeeder implements ApplicationRunner {
+    public static final String PASSWORD = "LoadTest#2024";
+    private static final String[] MODULES = {"USER", "ROLE", "PERMISSION", "CATEGORY", "BRAND", "PRODUCT"};
+    private static final String[] METHODS = {"GET", "POST", "PATCH", "DELETE"};
+    private static final String[] WORDS = {"smart", "home", "audio", "sport", "kids", "office", "garden", "travel",
+            "beauty", "gaming", "kitchen", "outdoor", "pet", "fashion", "health", "auto"};
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final String adminAuthority;
+    private final int users;
+    private final int roles;
+    private final int permissions;
+    private final int permissionsPerRole;
+    private final int categories;
+    private final int brands;
+    private final int batchSize;
+
+    /**
+     * Constructs LoadTestDataSeeder with required dependencies and the data scale.
+     *
+     * @param entityManager       Entity manager used to persist the rows
+     * @param transactionTemplate Transaction template committing one batch at a time
+     * @param passwordEncoder     Encoder for the shared password
+     * @param adminAuthority      Authority of the operational endpoints, granted to the first user
+     * @param users               Number of users
+     * @param roles               Number of roles
+     * @param permissions         Number of permissions
+     * @param permissionsPerRole  Number of permissions granted to each role
+     * @param categories          Number of categories
+     * @param brands              Number of brands
+     * @param batchSize           Number of rows persisted per transaction
+     */
+    public LoadTestDataSeeder(EntityManager entityManager,
+                              TransactionTemplate transactionTemplate,
+                              PasswordEncoder passwordEncoder,
+                              @Value("${app.security.adminAuthority:ADMIN}") String adminAuthority,
+                              @Value("${loadtest.users:10000}") int users,
+                              @Value("${loadtest.roles:20}") int roles,
+                              @Value("${loadtest.permissions:200}") int permissions,
+                              @Value("${loadtest.permissionsPerRole:40}") int permissionsPerRole,
+                              @Value("${loadtest.categories:2000}") int categories,
+                              @Value("${loadtest.brands:1000}") int brands,
+                              @Value("${loadtest.batchSize:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.adminAuthority = adminAuthority;
+        this.users = users;
+        this.roles = roles;
+        this.permissions = permissions;
+        this.permissionsPerRole = Math.min(permissionsPerRole, permissions);
+        this.categories = categories;
+        this.brands = brands;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the email of a seeded user.
+     *
+     * @param index User index, from 0 to the number of users
+     * @return Email address
+     */
+    public static String email(int index) {
+        return "user" + index + "@loadtest.dev";
+    }
+
+    /**
+     * Returns a search term drawn from the words the category and brand names are built from.
+     *
+     * @param random Random source
+     * @return Search term that matches some of the seeded names
+     */
+    public static String searchTerm(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.nanoTime();
+        Random random = new Random(42);
+
+        List<String> permissionIds = persist(permissions, i -> Permission.builder()
+                .name("PERM_" + MODULES[i % MODULES.length] + "_" + i)
+                .module(MODULES[i % MODULES.length])
+                .method(METHODS[i % METHODS.length])
+                .path("/api/v1/" + MODULES[i % MODULES.length].toLowerCase() + "s/" + i)
+                .isDeleted(false)
+                .build());
+        List<String> roleIds = persist(roles, i -> {
+            Set<Permission> granted = new HashSet<>();
+            while (granted.size() < permissionsPerRole) {
+                granted.add(entityManager.getReference(Permission.class,
+                        permissionIds.get(random.nextInt(permissionIds.size()))));
+            }
+            return Role.builder().name("ROLE_LOADTEST_" + i).permissions(granted).isDeleted(false).build();
+        });
+        // The first user also reads the metrics and traces at the end of the run.
+        String adminPermissionId = persist(1, i -> Permission.builder().name(adminAuthority).module("ADMIN")
+                .isDeleted(false).build()).get(0);
+        String adminRoleId = persist(1, i -> Role.builder().name("ROLE_LOADTEST_ADMIN")
+                .permissions(Set.of(entityManager.getReference(Permission.class, adminPermissionId)))
+                .isDeleted(false).build()).get(0);
+
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        persist(users, i -> {
+            Set<Role> userRoles = new HashSet<>();
+            userRoles.add(entityManager.getReference(Role.class, roleIds.get(i % roleIds.size())));
+            if (i % 3 == 0) {
+                userRoles.add(entityManager.getReference(Role.class, roleIds.get(random.nextInt(roleIds.size()))));
+            }
+            if (i == 0) userRoles.add(entityManager.getReference(Role.class, adminRoleId));
+            return User.builder()
+                    .email(email(i))
+                    .fullName("Load Test User " + i)
+                    .password(passwordHash)
+                    .roles(userRoles)
+                    .isActive(true)
+                    .isVerified(true)
+                    .isDeleted(false)
+                    .build();
+        });
+        persist(categories, i -> Category.builder()
+                .name(name(random, i))
+                .description("Seeded category " + i)
+                .isDeleted(false)
+                .build());
+        persist(brands, i -> Brand.builder().name(name(random, i)).isDeleted(false).build());
+
+        log.info("Seeded {} users, {} roles, {} permissions, {} categories and {} brands in {} ms", users, roles,
+                permissions, categories, brands, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Persists {@code count} entities, one transaction per batch.
+     *
+     * @param count   Number of entities
+     * @param factory Builds the entity with the given index; called inside the batch transaction
+     * @return IDs of the persisted entities, in index order
+     */
+    private List<String> persist(int count, IntFunction<?> factory) {
+        List<String> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += batchSize) {
+            int to = Math.min(count, from + batchSize);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = first; i < to; i++) {
+                    Object entity = factory.apply(i);
+                    entityManager.persist(entity);
+                    ids.add((String) entityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+                            .getIdentifier(entity));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return ids;
+    }
+
+    private static String name(Random random, int index) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + index;
+    }
+}
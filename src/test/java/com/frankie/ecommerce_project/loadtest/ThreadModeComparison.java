@@ -0,0 +1,68 @@
+package com.frankie.ecommerce_project.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test of the login and list endpoints, for comparing platform and virtual request threads.
+ * <p>
+ * Run it once against each server mode, with the same database and data:
+ * <pre>
+ * mvn spring-boot:run                       # platform threads (Java 17+)
+ * mvn -Pjava21 spring-boot:run              # virtual threads (Java 21)
+ *
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *     com.frankie.ecommerce_project.loadtest.ThreadModeComparison \
+ *     http://localhost:8080 admin@example.com secret 200 30
+ * </pre>
+ * Arguments: base URL, login email, password, concurrent clients (default 200) and measured seconds
+ * (default 30). Login is dominated by BCrypt, so it shows the CPU ceiling and the effect of the hash
+ * concurrency limit; the list endpoints are dominated by MySQL round trips, so they show what happens once
+ * more requests wait than the Hikari pool has connections. Raise the client count above the Tomcat pool size
+ * (200) to see the difference between the modes.
+ */
+public class ThreadModeComparison {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String email = args.length > 1 ? args[1] : "admin@example.com";
+        String password = args.length > 2 ? args[2] : "admin";
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 4 ? Long.parseLong(args[4]) : 30);
+
+        HttpLoadGenerator generator = new HttpLoadGenerator(clients, WARMUP, duration);
+        String loginBody = OBJECT_MAPPER.writeValueAsString(Map.of("email", email, "password", password));
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("User-Agent", "load-test")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                .build();
+        JsonNode loginResponse = OBJECT_MAPPER.readTree(generator.send(login));
+        String accessToken = loginResponse.path("data").path("accessToken").asText();
+
+        Map<String, HttpRequest> scenarios = new LinkedHashMap<>();
+        scenarios.put("POST /auth/login", login);
+        for (String path : new String[]{"/api/v1/users", "/api/v1/roles", "/api/v1/permissions",
+                "/api/v1/categories", "/api/v1/brands"}) {
+            scenarios.put("GET " + path.substring("/api/v1".length()), HttpRequest.newBuilder(
+                            URI.create(baseUrl + path + "?pageNo=0&pageSize=20"))
+                    .header("Authorization", "Bearer " + accessToken)
+                    .GET()
+                    .build());
+        }
+
+        System.out.printf("%d clients, %d s warm-up, %d s measured against %s%n",
+                clients, WARMUP.toSeconds(), duration.toSeconds(), baseUrl);
+        for (Map.Entry<String, HttpRequest> scenario : scenarios.entrySet()) {
+            System.out.println(generator.run(scenario.getKey(), scenario::getValue));
+        }
+    }
+}
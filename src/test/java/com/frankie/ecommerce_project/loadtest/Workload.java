@@ -0,0 +1,91 @@
+package com.frankie.ecommerce_project.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Weighted mix of requests sent by {@link HttpLoadGenerator}. Every client picks the next step at random in
+ * proportion to the step weights and builds its request from its own session, so steps can depend on state
+ * such as the tokens returned by an earlier login or refresh.
+ *
+ * @param <S> Per-client session type
+ */
+public final class Workload<S> {
+    private final List<Step<S>> steps;
+    private final int[] cumulativeWeights;
+
+    private Workload(List<Step<S>> steps) {
+        if (steps.isEmpty()) throw new IllegalArgumentException("A workload needs at least one step");
+        this.steps = List.copyOf(steps);
+        this.cumulativeWeights = new int[steps.size()];
+        int total = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            total += steps.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static <S> Builder<S> builder() {
+        return new Builder<>();
+    }
+
+    public List<Step<S>> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Picks a step in proportion to the weights.
+     *
+     * @param random Uniform random number between 0 (inclusive) and the total weight (exclusive)
+     * @return Index of the picked step
+     */
+    int pick(int random) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (random < cumulativeWeights[i]) return i;
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    int getTotalWeight() {
+        return cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    /**
+     * One kind of request in the mix.
+     *
+     * @param name      Name the latencies are reported under, for example {@code GET /users}
+     * @param weight    Relative frequency of the step
+     * @param request   Builds the request from the client's session
+     * @param onSuccess Updates the session from a successful response body, or null if the body is not needed
+     * @param <S>       Per-client session type
+     */
+    public record Step<S>(String name, int weight, Function<S, HttpRequest> request, BiConsumer<S, String> onSuccess) {
+        public Step {
+            if (weight <= 0) throw new IllegalArgumentException("Weight of " + name + " must be positive");
+        }
+    }
+
+    public static final class Builder<S> {
+        private final List<Step<S>> steps = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<S> step(String name, int weight, Function<S, HttpRequest> request) {
+            return step(name, weight, request, null);
+        }
+
+        public Builder<S> step(String name, int weight, Function<S, HttpRequest> request,
+                               BiConsumer<S, String> onSuccess) {
+            steps.add(new Step<>(name, weight, request, onSuccess));
+            return this;
+        }
+
+        public Workload<S> build() {
+            return new Workload<>(steps);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.frankie.ecommerce_project.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The migration reads the MySQL information schema, so the metadata queries are answered by a mocked
+ * JdbcTemplate and the test checks the statements it plans and runs.
+ */
+class BinaryIdMigrationTest {
+    private static final List<String> EXPECTED_STATEMENTS = List.of(
+            "ALTER TABLE `user_roles` DROP FOREIGN KEY `fk_user_roles_user`",
+            "ALTER TABLE `users` MODIFY `id` VARBINARY(36) NOT NULL",
+            "UPDATE `users` SET `id` = UNHEX(REPLACE(`id`, '-', '')) WHERE LENGTH(`id`) = 36",
+            "ALTER TABLE `users` MODIFY `id` BINARY(16) NOT NULL",
+            "ALTER TABLE `user_roles` MODIFY `user_id` VARBINARY(36) NULL",
+            "UPDATE `user_roles` SET `user_id` = UNHEX(REPLACE(`user_id`, '-', '')) WHERE LENGTH(`user_id`) = 36",
+            "ALTER TABLE `user_roles` MODIFY `user_id` BINARY(16) NULL",
+            "ALTER TABLE `user_roles` ADD CONSTRAINT `fk_user_roles_user` FOREIGN KEY (`user_id`) "
+                    + "REFERENCES `users` (`id`) ON UPDATE RESTRICT ON DELETE CASCADE");
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        List<Map<String, Object>> keyColumns = List.of(
+                keyColumn("users", "id", "varchar", 36, "NO"),
+                keyColumn("user_roles", "user_id", "varchar", 36, "YES"),
+                // Already converted by an earlier, interrupted run.
+                keyColumn("roles", "id", "binary", 16, "NO"));
+        when(jdbcTemplate.query(contains("information_schema.COLUMNS"), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<?> rowMapper = invocation.getArgument(1);
+                    List<Object> rows = new ArrayList<>();
+                    for (Map<String, Object> row : keyColumns) rows.add(rowMapper.mapRow(resultSet(row), 0));
+                    return rows;
+                });
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet(Map.of("CONSTRAINT_NAME", "fk_user_roles_user", "TABLE_NAME", "user_roles",
+                    "COLUMN_NAME", "user_id", "REFERENCED_TABLE_NAME", "users", "UPDATE_RULE", "RESTRICT",
+                    "DELETE_RULE", "CASCADE")));
+            // References an integer key, which the column query does not return, so it is left in place.
+            handler.processRow(resultSet(Map.of("CONSTRAINT_NAME", "fk_audit_user", "TABLE_NAME", "audit_log",
+                    "COLUMN_NAME", "user_seq", "REFERENCED_TABLE_NAME", "legacy_users", "UPDATE_RULE", "RESTRICT",
+                    "DELETE_RULE", "RESTRICT")));
+            return null;
+        }).when(jdbcTemplate).query(contains("REFERENTIAL_CONSTRAINTS"), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void migrate_inDryRun_onlyPlansTheStatements() {
+        List<String> statements = new BinaryIdMigration(jdbcTemplate, true).migrate();
+
+        assertEquals(EXPECTED_STATEMENTS, statements);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void migrate_appliesTheStatementsInOrder() {
+        List<String> statements = new BinaryIdMigration(jdbcTemplate, false).migrate();
+
+        assertEquals(EXPECTED_STATEMENTS, statements);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        for (String statement : EXPECTED_STATEMENTS) {
+            inOrder.verify(jdbcTemplate).execute(statement);
+        }
+    }
+
+    @Test
+    void keyColumnQuery_selectsCharacterKeysOnly() {
+        new BinaryIdMigration(jdbcTemplate, true).migrate();
+
+        // Both halves of the UNION, so integer primary and foreign keys are never altered.
+        verify(jdbcTemplate).query(argThat((String sql) -> Arrays.stream(sql.split("UNION"))
+                .allMatch(half -> half.contains("c.DATA_TYPE IN ('char', 'varchar')"))), any(RowMapper.class));
+    }
+
+    @Test
+    void migrate_whenEveryColumnIsConverted_skipsTheForeignKeys() {
+        when(jdbcTemplate.query(contains("information_schema.COLUMNS"), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        assertTrue(new BinaryIdMigration(jdbcTemplate, false).migrate().isEmpty());
+        verify(jdbcTemplate, never()).query(contains("REFERENTIAL_CONSTRAINTS"), any(RowCallbackHandler.class));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private static Map<String, Object> keyColumn(String table, String column, String dataType, long length,
+                                                 String nullable) {
+        return Map.of("TABLE_NAME", table, "COLUMN_NAME", column, "DATA_TYPE", dataType,
+                "CHARACTER_MAXIMUM_LENGTH", length, "IS_NULLABLE", nullable);
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getString(anyString())).thenAnswer(invocation -> {
+            Object value = row.get(invocation.<String>getArgument(0));
+            return value == null ? null : value.toString();
+        });
+        when(resultSet.getLong(anyString())).thenAnswer(invocation ->
+                ((Number) row.get(invocation.<String>getArgument(0))).longValue());
+        return resultSet;
+    }
+}
@@ -0,0 +1,88 @@
+package com.frankie.ecommerce_project.migration;
+
+import com.frankie.ecommerce_project.model.id.EntityIds;
+import com.frankie.ecommerce_project.model.id.UuidBinaryJavaType;
+import com.frankie.ecommerce_project.security.token.TokenDigest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the migration against a refresh_tokens table with the legacy plain-text column added back. The DDL
+ * commits on its own, so the test methods run outside a transaction and restore the schema afterwards.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenDigestMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RefreshTokenDigestMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens ADD COLUMN token VARCHAR(512)");
+        migration = new RefreshTokenDigestMigration(jdbcTemplate, true, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP COLUMN IF EXISTS token");
+    }
+
+    @Test
+    void migrate_replacesPlainTextTokensWithDigests_andIsHarmlessToRepeat() {
+        String first = insertLegacyToken("token-1");
+        String second = insertLegacyToken("token-2");
+        String third = insertLegacyToken("token-3");
+
+        assertEquals(3, migration.migrate());
+
+        for (String[] row : new String[][]{{first, "token-1"}, {second, "token-2"}, {third, "token-3"}}) {
+            assertArrayEquals(TokenDigest.sha256(row[1]), tokenHash(row[0]));
+            assertNull(jdbcTemplate.queryForObject("SELECT token FROM refresh_tokens WHERE id = ?", String.class,
+                    (Object) UuidBinaryJavaType.toBytes(row[0])));
+        }
+        assertEquals(0, migration.migrate());
+        assertArrayEquals(TokenDigest.sha256("token-1"), tokenHash(first));
+    }
+
+    @Test
+    void migrate_deletesDuplicatesOfAnAlreadyMigratedToken() {
+        String kept = insertLegacyToken("shared-token");
+        migration.migrate();
+        insertLegacyToken("shared-token");
+
+        assertEquals(1, migration.migrate());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class));
+        assertArrayEquals(TokenDigest.sha256("shared-token"), tokenHash(kept));
+    }
+
+    @Test
+    void migrate_withoutTheLegacyColumn_doesNothing() {
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP COLUMN token");
+
+        assertEquals(0, migration.migrate());
+    }
+
+    private String insertLegacyToken(String token) {
+        String id = EntityIds.next();
+        jdbcTemplate.update("INSERT INTO refresh_tokens (id, token) VALUES (?, ?)", UuidBinaryJavaType.toBytes(id),
+                token);
+        return id;
+    }
+
+    private byte[] tokenHash(String id) {
+        return jdbcTemplate.queryForObject("SELECT token_hash FROM refresh_tokens WHERE id = ?", byte[].class,
+                (Object) UuidBinaryJavaType.toBytes(id));
+    }
+}
@@ -0,0 +1,56 @@
+package com.frankie.ecommerce_project.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidBinaryJavaTypeTest {
+
+    @Test
+    void toBytes_writesTheUuidBigEndian() {
+        byte[] bytes = UuidBinaryJavaType.toBytes("00112233-4455-6677-8899-aabbccddeeff");
+
+        assertEquals(16, bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals((byte) (i * 0x11), bytes[i]);
+        }
+    }
+
+    @Test
+    void toBytesAndFromBytes_roundTrip() {
+        UuidV7Generator generator = new UuidV7Generator();
+        for (String id : new String[]{UUID.randomUUID().toString(), generator.generate(),
+                "00000000-0000-0000-0000-000000000000", "ffffffff-ffff-ffff-ffff-ffffffffffff"}) {
+            assertEquals(id, UuidBinaryJavaType.fromBytes(UuidBinaryJavaType.toBytes(id)));
+        }
+        assertEquals("0a1b2c3d-4e5f-4a6b-8c7d-8e9fa0b1c2d3",
+                UuidBinaryJavaType.fromBytes(UuidBinaryJavaType.toBytes("0A1B2C3D-4E5F-4A6B-8C7D-8E9FA0B1C2D3")));
+    }
+
+    @Test
+    void toBytes_rejectsValuesThatAreNotUuids() {
+        assertThrows(IllegalArgumentException.class, () -> UuidBinaryJavaType.toBytes("not-a-uuid"));
+        assertThrows(IllegalArgumentException.class, () -> UuidBinaryJavaType.toBytes(""));
+    }
+
+    @Test
+    void fromBytes_rejectsValuesThatAreNot16Bytes() {
+        assertThrows(IllegalArgumentException.class, () -> UuidBinaryJavaType.fromBytes(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> UuidBinaryJavaType.fromBytes(new byte[36]));
+    }
+
+    @Test
+    void wrapAndUnwrap_convertBinaryColumnValues() {
+        UuidBinaryJavaType javaType = new UuidBinaryJavaType();
+        String id = UUID.randomUUID().toString();
+
+        byte[] bytes = javaType.unwrap(id, byte[].class, null);
+
+        assertArrayEquals(UuidBinaryJavaType.toBytes(id), bytes);
+        assertEquals(id, javaType.wrap(bytes, null));
+        assertEquals(id, javaType.unwrap(id, String.class, null));
+        assertNull(javaType.unwrap(null, byte[].class, null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.frankie.ecommerce_project.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Test
+    void generate_isStrictlyIncreasingWithinAndAcrossMilliseconds() {
+        long before = System.currentTimeMillis();
+        UUID previous = UUID.fromString(generator.generate());
+        int sameMillisecond = 0;
+        // Enough IDs to fill several milliseconds, and to overflow the counter when the loop is fast.
+        for (int i = 0; i < 200_000; i++) {
+            UUID current = UUID.fromString(generator.generate());
+            assertTrue(current.compareTo(previous) > 0, previous + " then " + current);
+            if (millis(current) == millis(previous)) {
+                sameMillisecond++;
+                assertTrue(counter(current) > counter(previous));
+            }
+            previous = current;
+        }
+
+        assertTrue(sameMillisecond > 0, "No two IDs shared a millisecond");
+        assertTrue(millis(previous) >= before);
+    }
+
+    @Test
+    void generate_setsVersionAndVariant() {
+        UUID id = UUID.fromString(generator.generate());
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void generate_isUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<String> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) ids.add(generator.generate());
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<String> all = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                List<String> ids = future.get(30, TimeUnit.SECONDS);
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(UUID.fromString(ids.get(i)).compareTo(UUID.fromString(ids.get(i - 1))) > 0);
+                }
+                all.addAll(ids);
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long millis(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static long counter(UUID id) {
+        return id.getMostSignificantBits() & 0xFFF;
+    }
+}
@@ -0,0 +1,105 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the outer tracing filter around the forced-trace authorization filter, with the security context set in
+ * between the way the Spring Security filter chain sets it.
+ */
+class RequestTracingFilterTest {
+    private static final String ADMIN = "ADMIN";
+
+    private TraceStore traceStore;
+
+    @BeforeEach
+    void setUp() {
+        traceStore = new TraceStore(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void forcedTrace_withoutAuthentication_isNotStored() throws Exception {
+        MockHttpServletResponse response = forcedRequest(null, "/api/v1/users");
+
+        assertNull(response.getHeader(RequestTracingFilter.TRACE_ID_HEADER));
+        assertTrue(traceStore.recent(10, 0).isEmpty());
+    }
+
+    @Test
+    void forcedTrace_withoutTheAdminAuthority_isNotStored() throws Exception {
+        MockHttpServletResponse response = forcedRequest(new TestingAuthenticationToken("user", null, "USER_READ"),
+                "/api/v1/users");
+
+        assertNull(response.getHeader(RequestTracingFilter.TRACE_ID_HEADER));
+        assertTrue(traceStore.recent(10, 0).isEmpty());
+    }
+
+    @Test
+    void forcedTrace_ofAnAdmin_isStored() throws Exception {
+        MockHttpServletResponse response = forcedRequest(new TestingAuthenticationToken("admin", null, ADMIN),
+                "/api/v1/users");
+
+        String traceId = response.getHeader(RequestTracingFilter.TRACE_ID_HEADER);
+        assertNotNull(traceId);
+        assertTrue(traceStore.find(traceId).isPresent());
+    }
+
+    @Test
+    void forcedTrace_ofAnExcludedPath_isIgnored() throws Exception {
+        forcedRequest(new TestingAuthenticationToken("admin", null, ADMIN), "/api/v1/admin/traces");
+
+        assertTrue(traceStore.recent(10, 0).isEmpty());
+    }
+
+    @Test
+    void sampledTrace_isStoredWithoutAuthentication() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(1.0).doFilter(request, response, securedChain(null));
+
+        assertNotNull(response.getHeader(RequestTracingFilter.TRACE_ID_HEADER));
+        assertEquals(1, traceStore.recent(10, 0).size());
+    }
+
+    private MockHttpServletResponse forcedRequest(Authentication authentication, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader(RequestTracingFilter.TRACE_REQUEST_HEADER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter(0).doFilter(request, response, securedChain(authentication));
+        return response;
+    }
+
+    private RequestTracingFilter filter(double sampleRate) {
+        return new RequestTracingFilter(traceStore, sampleRate, 16, List.of("/api/v1/admin/traces"));
+    }
+
+    private static MockFilterChain securedChain(Authentication authentication) {
+        return new MockFilterChain(new HttpServlet() {
+        }, (request, response, chain) -> {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }, new ForcedTraceAuthorizationFilter(ADMIN));
+    }
+}
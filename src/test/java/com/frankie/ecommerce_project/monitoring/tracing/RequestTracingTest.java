@@ -0,0 +1,77 @@
+package com.frankie.ecommerce_project.monitoring.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTracingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTracing.end("GET", "/", 200);
+    }
+
+    @Test
+    void span_withoutActiveTrace_isNoop() {
+        assertFalse(RequestTracing.isActive());
+        assertSame(Span.NOOP, RequestTracing.span("service"));
+        RequestTracing.recordCompleted("repository", 1_000);
+        assertNull(RequestTracing.end("GET", "/", 200));
+    }
+
+    @Test
+    void end_nestsSpansAndComputesSelfTime() throws InterruptedException {
+        RequestTracing.begin("trace-1", "request", 16);
+        try (Span service = RequestTracing.span("service")) {
+            RequestTracing.recordCompleted("repository", TimeUnit.MILLISECONDS.toNanos(2));
+            Thread.sleep(5);
+        }
+        try (Span serialization = RequestTracing.span("serialization")) {
+            Thread.sleep(1);
+        }
+
+        RequestTrace trace = RequestTracing.end("GET", "/api/v1/users", 200);
+
+        assertFalse(RequestTracing.isActive());
+        List<TraceSpan> spans = trace.spans();
+        assertEquals(List.of("request", "service", "repository", "serialization"),
+                spans.stream().map(TraceSpan::name).toList());
+        assertEquals(List.of(0, 1, 2, 1), spans.stream().map(TraceSpan::depth).toList());
+        TraceSpan service = spans.get(1);
+        assertEquals(2.0, spans.get(2).durationMs(), 0.5);
+        assertEquals(service.durationMs() - spans.get(2).durationMs(), service.selfMs(), 1e-6);
+        assertEquals(trace.durationMs(), spans.get(0).durationMs());
+        assertTrue(trace.durationMs() >= service.durationMs() + spans.get(3).durationMs());
+    }
+
+    @Test
+    void end_countsSpansBeyondLimit() {
+        RequestTracing.begin("trace-2", "request", 3);
+        for (int i = 0; i < 5; i++) {
+            RequestTracing.span("repository " + i).close();
+        }
+
+        RequestTrace trace = RequestTracing.end("GET", "/", 200);
+
+        assertEquals(3, trace.spans().size());
+        assertEquals(3, trace.droppedSpans());
+    }
+
+    @Test
+    void traceStore_keepsMostRecentTraces() {
+        TraceStore store = new TraceStore(3);
+        for (int i = 0; i < 5; i++) {
+            store.add(new RequestTrace("t" + i, "GET", "/", 200, null, i == 2 ? 50 : i, List.of(), 0));
+        }
+
+        assertEquals(List.of("t4", "t3", "t2"), store.recent(10, 0).stream().map(RequestTrace::id).toList());
+        assertEquals(List.of("t2"), store.recent(10, 10).stream().map(RequestTrace::id).toList());
+        assertEquals("t2", store.slowest(1).get(0).id());
+        assertTrue(store.find("t1").isEmpty());
+        assertTrue(store.find("t3").isPresent());
+    }
+}
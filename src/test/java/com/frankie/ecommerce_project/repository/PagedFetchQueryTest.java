@@ -0,0 +1,126 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards against paging a fetch join in memory (HHH90003004): the paged queries must select IDs only
+ * and carry the row limit in SQL.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.frankie.ecommerce_project.repository.PagedFetchQueryTest$SqlCapture")
+class PagedFetchQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private Role userRole;
+
+    @BeforeEach
+    void setUp() {
+        Permission permission = entityManager.persist(Permission.builder().name("READ_USER").build());
+        for (String name : List.of("ROLE_USER", "ROLE_ADMIN", "ROLE_STAFF")) {
+            Role role = entityManager.persist(Role.builder().name(name).permissions(Set.of(permission)).build());
+            if (userRole == null) userRole = role;
+        }
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(User.builder().email("user" + i + "@example.com").roles(Set.of(userRole)).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void findUserIds_limitsInSql() {
+        Page<String> userIds = userRepository.findUserIds(PageRequest.of(1, 2, Sort.by("email")));
+
+        assertEquals(2, userIds.getContent().size());
+        assertEquals(5, userIds.getTotalElements());
+        assertPagedInSql("users");
+    }
+
+    @Test
+    void findUserIdsByEmail_limitsInSql() {
+        Page<String> userIds = userRepository.findUserIdsByEmail("user", PageRequest.of(0, 3, Sort.by("email")));
+
+        assertEquals(3, userIds.getContent().size());
+        assertEquals(5, userIds.getTotalElements());
+        assertPagedInSql("users");
+    }
+
+    @Test
+    void findRoleIds_limitsInSql() {
+        Page<String> roleIds = roleRepository.findRoleIds(PageRequest.of(0, 2, Sort.by("name")));
+
+        assertEquals(2, roleIds.getContent().size());
+        assertEquals(3, roleIds.getTotalElements());
+        assertPagedInSql("roles");
+    }
+
+    @Test
+    void findAllWithRolesByIdIn_loadsRolesForPage() {
+        List<String> userIds = userRepository.findUserIds(PageRequest.of(0, 2, Sort.by("email"))).getContent();
+
+        List<User> users = userRepository.findAllWithRolesByIdIn(userIds);
+
+        assertEquals(2, users.size());
+        users.forEach(user -> assertEquals(Set.of(userRole.getId()),
+                user.getRoles().stream().map(Role::getId).collect(Collectors.toSet())));
+    }
+
+    /**
+     * Asserts that the page query against the given table selected IDs only and was limited by the database.
+     *
+     * @param table Table the page was read from
+     */
+    private void assertPagedInSql(String table) {
+        String pageQuery = SqlCapture.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains(" from " + table) && !sql.contains("count("))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No page query against " + table));
+        assertTrue(pageQuery.contains(" limit ") || pageQuery.contains(" fetch first "),
+                "Page query is not limited in SQL: " + pageQuery);
+        assertFalse(pageQuery.contains(" join "), "Page query joins a collection: " + pageQuery);
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
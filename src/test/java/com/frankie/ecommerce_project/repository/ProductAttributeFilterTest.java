@@ -0,0 +1,151 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.dto.product.request.CreateProductDto;
+import com.frankie.ecommerce_project.dto.product.request.CreateSkuDto;
+import com.frankie.ecommerce_project.model.Product;
+import com.frankie.ecommerce_project.search.ProductAttributeIndex;
+import com.frankie.ecommerce_project.search.ProductSearchIndex;
+import com.frankie.ecommerce_project.service.implement.ProductServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.frankie.ecommerce_project.repository.ProductAttributeSpecifications.hasAttribute;
+import static com.frankie.ecommerce_project.repository.ProductAttributeSpecifications.hasNumericAttributeBetween;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks the attribute filters of ProductRepository against products created through ProductServiceImpl, so the
+ * side table is filled the way product writes fill it.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductAttributeFilterTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SkuProductRepository skuProductRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private ProductAttributeIndex productAttributeIndex;
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        productAttributeIndex = new ProductAttributeIndex(
+                new ProductAttributeIndexRepository(jdbcTemplate, namedParameterJdbcTemplate), jdbcTemplate,
+                transaction, Jackson2ObjectMapperBuilder.json().build(), List.of("color", "size", "weight"), false, 2);
+        productService = new ProductServiceImpl(skuProductRepository,
+                new ProductBatchRepository(jdbcTemplate, namedParameterJdbcTemplate, 10), productAttributeIndex,
+                mock(ProductSearchIndex.class), Jackson2ObjectMapperBuilder.json().build());
+
+        create("Tee", Map.of("color", "Red", "weight", 0.2, "fabric", "cotton"),
+                sku("TEE-S", Map.of("size", "S")), sku("TEE-M", Map.of("size", "M")));
+        create("Hoodie", Map.of("color", List.of("Black", "RED"), "weight", 0.8),
+                sku("HOODIE-L", Map.of("size", "L")));
+        create("Mug", Map.of("color", "white", "weight", 0.35), sku("MUG-1", Map.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_attribute_values");
+        jdbcTemplate.update("DELETE FROM spu_to_sku");
+        jdbcTemplate.update("DELETE FROM sku_attributes");
+        jdbcTemplate.update("DELETE FROM sku_products");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+
+    @Test
+    void findByAttribute_matchesProductAndArrayValuesIgnoringCase() {
+        assertEquals(Set.of("Tee", "Hoodie"), names(productRepository.findByAttribute("Color", "red",
+                Pageable.unpaged()).getContent()));
+        assertEquals(Set.of("Mug"), names(productRepository.findByAttribute("color", " WHITE ",
+                Pageable.unpaged()).getContent()));
+    }
+
+    @Test
+    void findByAttribute_matchesProductOfSku() {
+        assertEquals(Set.of("Tee"), names(productRepository.findByAttributeValues("size", List.of("s", "m"),
+                Pageable.unpaged()).getContent()));
+        assertEquals(1, productRepository.findByAttributeValues("size", List.of("s", "m"), Pageable.unpaged())
+                .getTotalElements());
+    }
+
+    @Test
+    void findByNumericAttributeBetween_filtersByRange() {
+        assertEquals(Set.of("Tee", "Mug"), names(productRepository.findByNumericAttributeBetween("weight", 0.1, 0.5,
+                Pageable.unpaged()).getContent()));
+    }
+
+    @Test
+    void specifications_combineFilters() {
+        Specification<Product> redAndLight = hasAttribute("color", List.of("Red"))
+                .and(hasNumericAttributeBetween("weight", null, 0.5));
+
+        assertEquals(Set.of("Tee"), names(productRepository.findAll(redAndLight)));
+        assertEquals(Set.of("Hoodie"), names(productRepository.findAll(hasAttribute("size", List.of("L"))
+                .and(hasNumericAttributeBetween("weight", 0.5, null)))));
+    }
+
+    @Test
+    void undeclaredKeys_areNotIndexed() {
+        assertTrue(productRepository.findByAttribute("fabric", "cotton", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void rebuild_restoresTheSideTableFromTheJsonColumns() {
+        long before = count("SELECT COUNT(*) FROM product_attribute_values");
+        jdbcTemplate.update("DELETE FROM product_attribute_values");
+
+        assertEquals(before, productAttributeIndex.rebuild());
+        assertEquals(before, count("SELECT COUNT(*) FROM product_attribute_values"));
+        assertEquals(Set.of("Tee"), names(productRepository.findByAttribute("size", "m", Pageable.unpaged())
+                .getContent()));
+    }
+
+    private void create(String name, Map<String, Object> attributes, CreateSkuDto... skus) {
+        transaction.executeWithoutResult(status -> productService.createProduct(CreateProductDto.builder()
+                .productName(name).productStatus(1).productAttrs(attributes).skus(List.of(skus)).build()));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static Set<String> names(List<Product> products) {
+        return products.stream().map(Product::getProductName).collect(Collectors.toSet());
+    }
+
+    private static CreateSkuDto sku(String skuNo, Map<String, Object> attributes) {
+        return CreateSkuDto.builder().skuNo(skuNo).skuName(skuNo).skuStock(5).skuPrice(9.99)
+                .skuAttrs(attributes).build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.frankie.ecommerce_project.repository;
+
+import com.frankie.ecommerce_project.model.RefreshToken;
+import com.frankie.ecommerce_project.security.token.TokenDigest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RefreshTokenRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Test
+    void rotate_replacesTheTokenOnlyWhileItIsStillCurrent() {
+        byte[] oldHash = TokenDigest.sha256("old-token");
+        byte[] newHash = TokenDigest.sha256("new-token");
+        Instant expiredAt = Instant.now().plus(7, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+        String id = entityManager.persistAndFlush(RefreshToken.builder().tokenHash(oldHash)
+                .expiredAt(Instant.now()).build()).getId();
+        entityManager.clear();
+
+        assertEquals(1, refreshTokenRepository.rotate(id, oldHash, newHash, expiredAt, Instant.now()));
+        // A concurrent refresh presenting the same old token loses the race.
+        assertEquals(0, refreshTokenRepository.rotate(id, oldHash, TokenDigest.sha256("other-token"),
+                expiredAt, Instant.now()));
+
+        entityManager.clear();
+        assertTrue(refreshTokenRepository.findByTokenHash(oldHash).isEmpty());
+        RefreshToken rotated = refreshTokenRepository.findByTokenHash(newHash).orElseThrow();
+        assertEquals(id, rotated.getId());
+        assertEquals(expiredAt, rotated.getExpiredAt());
+    }
+}
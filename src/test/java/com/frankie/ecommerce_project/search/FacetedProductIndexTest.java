@@ -0,0 +1,114 @@
+package com.frankie.ecommerce_project.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetedProductIndexTest {
+    private static final List<String> FACET_KEYS = List.of("brand", "color");
+
+    private FacetedProductIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetedProductIndex(10);
+        index.put(document("tee", "Cotton Tee", "Soft everyday shirt", "acme", Set.of("red", "blue"), 999, 1299));
+        index.put(document("hoodie", "Fleece Hoodie", "Warm cotton hoodie", "acme", Set.of("black"), 4500));
+        index.put(document("mug", "Coffee Mug", "Ceramic, 350 ml", "globex", Set.of("red"), 750));
+        index.put(document("cap", "Baseball Cap", null, "globex", Set.of("blue"), 1500));
+    }
+
+    @Test
+    void search_matchesAllWordsWithThePrefixOfTheLast() {
+        assertEquals(Set.of("tee", "hoodie"), ids(search("cotton", Map.of(), null, null)));
+        assertEquals(Set.of("hoodie"), ids(search("COTTON hood", Map.of(), null, null)));
+        assertEquals(Set.of("mug"), ids(search("céramic", Map.of(), null, null)));
+        assertEquals(Set.of(), ids(search("cotton mug", Map.of(), null, null)));
+    }
+
+    @Test
+    void search_filtersByAnySkuPriceInRange() {
+        assertEquals(Set.of("tee", "mug"), ids(search(null, Map.of(), 700L, 1000L)));
+        assertEquals(Set.of("tee"), ids(search(null, Map.of(), 1299L, 1299L)));
+        assertEquals(Set.of("hoodie"), ids(search(null, Map.of(), 1501L, null)));
+        assertEquals(Set.of("mug"), ids(search(null, Map.of(), null, 750L)));
+    }
+
+    @Test
+    void search_countsFacetsIgnoringTheirOwnFilter() {
+        ProductSearchResult result = search(null, Map.of("brand", Set.of("acme"), "color", Set.of("red", "black")),
+                null, null);
+
+        assertEquals(Set.of("tee", "hoodie"), ids(result));
+        // Brand counts apply the colour filter only, colour counts the brand filter only.
+        assertEquals(Map.of("acme", 2L, "globex", 1L), result.getFacets().get("brand"));
+        assertEquals(Map.of("red", 1L, "blue", 1L, "black", 1L), result.getFacets().get("color"));
+        assertEquals(List.of("acme", "globex"), List.copyOf(result.getFacets().get("brand").keySet()));
+    }
+
+    @Test
+    void search_pagesInInsertionOrder() {
+        ProductSearchResult first = index.search(ProductSearchQuery.builder().offset(0).limit(3).build());
+        ProductSearchResult second = index.search(ProductSearchQuery.builder().offset(3).limit(3).build());
+
+        assertEquals(4, first.getTotal());
+        assertEquals(List.of("tee", "hoodie", "mug"), first.getDocuments().stream().map(ProductSearchDocument::getId)
+                .toList());
+        assertEquals(List.of("cap"), second.getDocuments().stream().map(ProductSearchDocument::getId).toList());
+    }
+
+    @Test
+    void putAndRemove_replaceDocumentsAndSurviveCompaction() {
+        index.put(document("tee", "Linen Tee", null, "initech", Set.of("white"), 2500));
+        index.remove("cap");
+
+        assertEquals(3, index.size());
+        assertEquals(Set.of(), ids(search("cotton tee", Map.of(), null, null)));
+        assertEquals(Set.of("tee"), ids(search("linen", Map.of("brand", Set.of("initech")), 2000L, 3000L)));
+        assertFalse(search(null, Map.of(), null, null).getFacets().get("color").containsKey("blue"));
+
+        // Enough updates to compact the index several times, and to turn posting lists into bitmaps.
+        for (int i = 0; i < 5000; i++) {
+            index.put(document("item" + (i % 1500), "Item " + i, null, i % 2 == 0 ? "acme" : "globex",
+                    Set.of("green"), 100 + i));
+        }
+        assertEquals(1503, index.size());
+        ProductSearchResult result = search(null, Map.of("color", Set.of("green")), null, null);
+        assertEquals(1500, result.getTotal());
+        assertEquals(Map.of("green", 1500L, "black", 1L, "red", 1L, "white", 1L), result.getFacets().get("color"));
+        assertEquals(Set.of("item499"), ids(search("item 4999", Map.of(), null, null)));
+        assertEquals(1, search(null, Map.of(), 5099L, 5099L).getTotal());
+    }
+
+    @Test
+    void priceBucket_growsWithThePrice() {
+        int previous = FacetedProductIndex.priceBucket(0);
+        for (long cents = 1; cents < 1_000_000; cents++) {
+            int bucket = FacetedProductIndex.priceBucket(cents);
+            assertTrue(bucket >= previous, "Bucket of " + cents);
+            previous = bucket;
+        }
+    }
+
+    private ProductSearchResult search(String text, Map<String, Set<String>> filters, Long minPrice, Long maxPrice) {
+        return index.search(ProductSearchQuery.builder().text(text).filters(filters).minPrice(minPrice)
+                .maxPrice(maxPrice).facetKeys(FACET_KEYS).offset(0).limit(100).build());
+    }
+
+    private static Set<String> ids(ProductSearchResult result) {
+        return result.getDocuments().stream().map(ProductSearchDocument::getId).collect(Collectors.toSet());
+    }
+
+    private static ProductSearchDocument document(String id, String name, String description, String brand,
+                                                  Set<String> colors, long... prices) {
+        return new ProductSearchDocument(id, name, description,
+                Map.of("brand", Set.of(brand), "color", new HashSet<>(colors)), prices);
+    }
+}
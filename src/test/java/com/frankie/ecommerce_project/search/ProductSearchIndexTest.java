@@ -0,0 +1,190 @@
+package com.frankie.ecommerce_project.search;
+
+import com.frankie.ecommerce_project.dto.product.common.FacetCount;
+import com.frankie.ecommerce_project.dto.product.common.ProductSummary;
+import com.frankie.ecommerce_project.dto.product.request.CreateProductDto;
+import com.frankie.ecommerce_project.dto.product.request.CreateSkuDto;
+import com.frankie.ecommerce_project.dto.product.response.ProductSearchResponse;
+import com.frankie.ecommerce_project.exception.ServiceUnavailableException;
+import com.frankie.ecommerce_project.repository.ProductAttributeIndexRepository;
+import com.frankie.ecommerce_project.repository.ProductBatchRepository;
+import com.frankie.ecommerce_project.repository.ProductSearchRepository;
+import com.frankie.ecommerce_project.repository.SkuProductRepository;
+import com.frankie.ecommerce_project.service.implement.ProductServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Loads the product search index from H2 and keeps it up to date through ProductServiceImpl. Products are created
+ * in their own transactions, so the test methods run outside one and clean up after themselves.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSearchIndexTest {
+
+    @Autowired
+    private SkuProductRepository skuProductRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private ProductSearchIndex productSearchIndex;
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        productSearchIndex = new ProductSearchIndex(
+                new ProductSearchRepository(jdbcTemplate, namedParameterJdbcTemplate),
+                Jackson2ObjectMapperBuilder.json().build(), true, List.of("Brand", "color", "size"), 20, 2,
+                Duration.ofMillis(10));
+        ProductAttributeIndex productAttributeIndex = new ProductAttributeIndex(
+                new ProductAttributeIndexRepository(jdbcTemplate, namedParameterJdbcTemplate), jdbcTemplate,
+                transaction, Jackson2ObjectMapperBuilder.json().build(), List.of("color"), false, 100);
+        productService = new ProductServiceImpl(skuProductRepository,
+                new ProductBatchRepository(jdbcTemplate, namedParameterJdbcTemplate, 10), productAttributeIndex,
+                productSearchIndex, Jackson2ObjectMapperBuilder.json().build());
+
+        create("Cotton Tee", Map.of("brand", "Acme", "color", "Red"),
+                sku("TEE-S", 9.99, Map.of("size", "S")), sku("TEE-M", 12.5, Map.of("size", "M")));
+        create("Fleece Hoodie", Map.of("brand", "Acme", "color", List.of("Black", "Red")),
+                sku("HOODIE-L", 45.0, Map.of("size", "L")));
+        create("Coffee Mug", Map.of("brand", "Globex", "color", "White"), sku("MUG-1", 7.5, Map.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productSearchIndex.shutdown();
+        jdbcTemplate.update("DELETE FROM product_attribute_values");
+        jdbcTemplate.update("DELETE FROM spu_to_sku");
+        jdbcTemplate.update("DELETE FROM sku_attributes");
+        jdbcTemplate.update("DELETE FROM sku_products");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+
+    @Test
+    void search_beforeTheIndexHasLoaded_isUnavailable() {
+        assertThrows(ServiceUnavailableException.class, () -> search(null, null, null, null));
+    }
+
+    @Test
+    void startLoading_retriesAFailedLoad() throws InterruptedException {
+        ProductSearchRepository failingOnce = mock(ProductSearchRepository.class);
+        when(failingOnce.findPage(anyString(), anyInt()))
+                .thenThrow(new IllegalStateException("Database down"))
+                .thenReturn(List.of());
+        ProductSearchIndex retrying = new ProductSearchIndex(failingOnce, Jackson2ObjectMapperBuilder.json().build(),
+                true, List.of("color"), 20, 2, Duration.ofMillis(10));
+        try {
+            retrying.startLoading();
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!retrying.isReady() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(retrying.isReady());
+            verify(failingOnce, times(2)).findPage(anyString(), anyInt());
+        } finally {
+            retrying.shutdown();
+        }
+    }
+
+    @Test
+    void load_indexesProductsWithTheirSkus() {
+        productSearchIndex.load();
+
+        ProductSearchResponse response = search("tee", null, null, null);
+        assertEquals(1, response.getMeta().getTotalElements());
+        ProductSummary tee = response.getData().get(0);
+        assertEquals("Cotton Tee", tee.getProductName());
+        assertEquals(9.99, tee.getMinPrice());
+        assertEquals(12.5, tee.getMaxPrice());
+        assertEquals(2, tee.getSkuCount());
+        assertEquals(Map.of("s", 1L, "m", 1L), counts(response, "size"));
+        assertEquals(Map.of("acme", 1L), counts(response, "brand"));
+    }
+
+    @Test
+    void search_appliesFiltersAndPriceRange() {
+        productSearchIndex.load();
+
+        ProductSearchResponse red = search(null, List.of("color:RED", "brand:acme"), null, null);
+        assertEquals(2, red.getMeta().getTotalElements());
+        assertEquals(Map.of("acme", 2L), counts(red, "brand"));
+        assertEquals(Map.of("red", 2L, "black", 1L), counts(red, "color"));
+
+        ProductSearchResponse cheap = search(null, List.of("size:s", "size:l"), 5.0, 10.0);
+        assertEquals(List.of("Cotton Tee"), cheap.getData().stream().map(ProductSummary::getProductName).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> search(null, List.of("material:wool"), null, null));
+        assertThrows(IllegalArgumentException.class, () -> search(null, List.of("color"), null, null));
+        assertThrows(IllegalArgumentException.class, () -> search(null, null, 10.0, 5.0));
+    }
+
+    @Test
+    void productWrites_updateTheIndexAfterCommit() {
+        productSearchIndex.load();
+
+        create("Tea Towel", Map.of("brand", "Globex"), sku("TOWEL-1", 4.0, Map.of("color", "Blue")));
+        assertEquals(List.of("Tea Towel"), search("towel", null, null, null).getData().stream()
+                .map(ProductSummary::getProductName).toList());
+        assertEquals(Map.of("globex", 2L, "acme", 2L), counts(search(null, null, null, null), "brand"));
+
+        // A rolled back write leaves the index as it was.
+        assertThrows(IllegalArgumentException.class, () -> transaction.executeWithoutResult(status -> {
+            productService.createProduct(CreateProductDto.builder().productName("Ghost").productStatus(1)
+                    .skus(List.of(sku("GHOST-1", 1.0, Map.of()))).build());
+            throw new IllegalArgumentException("Rolled back");
+        }));
+        assertEquals(0, search("ghost", null, null, null).getMeta().getTotalElements());
+
+        String mugId = search("mug", null, null, null).getData().get(0).getId();
+        jdbcTemplate.update("UPDATE products SET is_deleted = TRUE WHERE product_name = 'Coffee Mug'");
+        productSearchIndex.reindex(List.of(mugId));
+        assertEquals(0, search("mug", null, null, null).getMeta().getTotalElements());
+    }
+
+    private ProductSearchResponse search(String query, List<String> filters, Double minPrice, Double maxPrice) {
+        return productService.searchProducts(query, filters, minPrice, maxPrice, 1, 10).getData();
+    }
+
+    private void create(String name, Map<String, Object> attributes, CreateSkuDto... skus) {
+        transaction.executeWithoutResult(status -> productService.createProduct(CreateProductDto.builder()
+                .productName(name).productStatus(1).productAttrs(attributes).skus(List.of(skus)).build()));
+    }
+
+    private static Map<String, Long> counts(ProductSearchResponse response, String facet) {
+        return response.getFacets().get(facet).stream()
+                .collect(Collectors.toMap(FacetCount::getValue, FacetCount::getCount));
+    }
+
+    private static CreateSkuDto sku(String skuNo, double price, Map<String, Object> attributes) {
+        return CreateSkuDto.builder().skuNo(skuNo).skuName(skuNo).skuStock(5).skuPrice(price)
+                .skuAttrs(attributes).build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.frankie.ecommerce_project.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtpHasherTest {
+    private static final String PEPPER = pepper(1);
+
+    private BCryptPasswordEncoder legacyEncoder;
+    private OtpHasher otpHasher;
+
+    @BeforeEach
+    void setUp() {
+        legacyEncoder = new BCryptPasswordEncoder(4);
+        otpHasher = new OtpHasher(PEPPER, legacyEncoder);
+    }
+
+    @Test
+    void hash_isSaltedAndVerifiesOnlyTheSameOtp() {
+        String first = otpHasher.hash("123456");
+        String second = otpHasher.hash("123456");
+
+        assertTrue(first.startsWith("$hmac-sha256$"));
+        assertNotEquals(first, second);
+        assertTrue(otpHasher.matches("123456", first));
+        assertTrue(otpHasher.matches("123456", second));
+        assertFalse(otpHasher.matches("123457", first));
+    }
+
+    @Test
+    void matches_rejectsHashesOfAnotherPepperAndMalformedInput() {
+        String hash = new OtpHasher(pepper(2), legacyEncoder).hash("123456");
+
+        assertFalse(otpHasher.matches("123456", hash));
+        assertFalse(otpHasher.matches("123456", "$hmac-sha256$only-one-part"));
+        assertFalse(otpHasher.matches(null, otpHasher.hash("123456")));
+        assertFalse(otpHasher.matches("123456", null));
+    }
+
+    @Test
+    void matches_verifiesLegacyPasswordEncoderHashes() {
+        String legacyHash = legacyEncoder.encode("654321");
+
+        assertTrue(otpHasher.matches("654321", legacyHash));
+        assertFalse(otpHasher.matches("123456", legacyHash));
+    }
+
+    @Test
+    void constructor_requiresAPepperOfAtLeast32Bytes() {
+        assertThrows(IllegalStateException.class, () -> new OtpHasher("", legacyEncoder));
+        assertThrows(IllegalStateException.class, () -> new OtpHasher(null, legacyEncoder));
+        assertThrows(IllegalStateException.class,
+                () -> new OtpHasher(Base64.getEncoder().encodeToString(new byte[16]), legacyEncoder));
+    }
+
+    private static String pepper(int seed) {
+        byte[] bytes = new byte[48];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,102 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.authentication.response.DeviceInfoResponse;
+import com.frankie.ecommerce_project.model.Device;
+import com.frankie.ecommerce_project.model.RefreshToken;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.repository.*;
+import com.frankie.ecommerce_project.search.UserSearchIndex;
+import com.frankie.ecommerce_project.security.OtpHasher;
+import com.frankie.ecommerce_project.security.token.JwtTokenProvider;
+import com.frankie.ecommerce_project.security.token.TokenDigest;
+import com.frankie.ecommerce_project.service.EmailOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ActiveDevicesQueryCountTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final int DEVICES = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private AuthenticationServiceImpl authenticationService;
+    private Instant expiry;
+
+    @BeforeEach
+    void setUp() {
+        Role role = entityManager.persist(Role.builder().name("ROLE_USER").build());
+        User user = entityManager.persist(User.builder().email(EMAIL).roles(Set.of(role)).build());
+        expiry = Instant.now().plus(7, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < DEVICES; i++) {
+            Device device = entityManager.persist(Device.builder()
+                    .user(user)
+                    .userAgent("agent-" + i)
+                    .ip("10.0.0." + i)
+                    .lastActive(Instant.now())
+                    .isActive(true)
+                    .build());
+            // One device without a refresh token still has to be listed.
+            if (i > 0) {
+                entityManager.persist(RefreshToken.builder()
+                        .user(user)
+                        .device(device)
+                        .tokenHash(TokenDigest.sha256("token-" + i))
+                        .expiredAt(expiry)
+                        .build());
+            }
+        }
+        entityManager.persist(Device.builder().user(user).userAgent("inactive").isActive(false).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        authenticationService = new AuthenticationServiceImpl(mock(JwtTokenProvider.class), userRepository,
+                mock(PasswordEncoder.class), mock(OtpHasher.class), mock(EmailOutboxService.class),
+                mock(VerificationCodeRepository.class), mock(RoleRepository.class), deviceRepository,
+                refreshTokenRepository, mock(UserSearchIndex.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getActiveDevices_issuesSingleQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<DeviceInfoResponse> devices = authenticationService.getActiveDevices(EMAIL).getData();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(DEVICES, devices.size());
+        assertEquals(DEVICES - 1, devices.stream().filter(device -> expiry.equals(device.getTokenExpiry())).count());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
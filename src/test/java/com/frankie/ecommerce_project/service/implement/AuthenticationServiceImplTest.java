@@ -0,0 +1,102 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.authentication.request.LoginDto;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.repository.*;
+import com.frankie.ecommerce_project.search.UserSearchIndex;
+import com.frankie.ecommerce_project.security.OtpHasher;
+import com.frankie.ecommerce_project.security.token.JwtTokenProvider;
+import com.frankie.ecommerce_project.service.EmailOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuthenticationServiceImplTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String PASSWORD = "secret-password";
+
+    private PasswordEncoder passwordEncoder;
+    private UserRepository userRepository;
+    private JwtTokenProvider jwtTokenProvider;
+    private AuthenticationServiceImpl authenticationService;
+    private HttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        User user = User.builder()
+                .id("user-1")
+                .email(EMAIL)
+                .password(bcrypt.encode(PASSWORD))
+                .roles(Set.of(Role.builder().id("role-1").name("ROLE_USER").build()))
+                .isVerified(true)
+                .build();
+
+        passwordEncoder = spy(bcrypt);
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmailWithRoles(EMAIL)).thenReturn(Optional.of(user));
+        jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.createAccessToken(any(User.class))).thenReturn("access-token");
+        when(jwtTokenProvider.createRefreshToken(EMAIL)).thenReturn("refresh-token");
+        DeviceRepository deviceRepository = mock(DeviceRepository.class);
+        when(deviceRepository.findByUserAndUserAgent(any(), anyString())).thenReturn(Optional.empty());
+
+        authenticationService = new AuthenticationServiceImpl(jwtTokenProvider, userRepository, passwordEncoder,
+                mock(OtpHasher.class), mock(EmailOutboxService.class), mock(VerificationCodeRepository.class),
+                mock(RoleRepository.class), deviceRepository, mock(RefreshTokenRepository.class),
+                mock(UserSearchIndex.class), new SimpleMeterRegistry());
+        request = mock(HttpServletRequest.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loginVerifiesPasswordAndLoadsUserExactlyOnce() {
+        authenticationService.login(new LoginDto(EMAIL, PASSWORD), request);
+
+        verify(passwordEncoder, times(1)).matches(eq(PASSWORD), anyString());
+        verify(userRepository, times(1)).findByEmailWithRoles(EMAIL);
+        verify(jwtTokenProvider, times(1)).createAccessToken(any(User.class));
+        assertEquals(EMAIL, SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void repeatedLogins_verifyOnePasswordHashEach() {
+        LoginDto loginDto = new LoginDto(EMAIL, PASSWORD);
+        for (int i = 0; i < 3; i++) {
+            authenticationService.login(loginDto, request);
+        }
+
+        // The previous login path verified the password twice per login.
+        verify(passwordEncoder, times(3)).matches(eq(PASSWORD), anyString());
+        verify(passwordEncoder, never()).encode(any());
+        verify(passwordEncoder, never()).upgradeEncoding(any());
+    }
+
+    @Test
+    void loginWithWrongPassword_verifiesOnceAndIssuesNoToken() {
+        assertThrows(IllegalArgumentException.class,
+                () -> authenticationService.login(new LoginDto(EMAIL, "wrong-password"), request));
+
+        verify(passwordEncoder, times(1)).matches(eq("wrong-password"), anyString());
+        verify(jwtTokenProvider, never()).createAccessToken(any(User.class));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
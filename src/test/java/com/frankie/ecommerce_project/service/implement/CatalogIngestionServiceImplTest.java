@@ -0,0 +1,216 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.product.request.StartCatalogIngestionDto;
+import com.frankie.ecommerce_project.inventory.StockLedger;
+import com.frankie.ecommerce_project.model.CatalogIngestion;
+import com.frankie.ecommerce_project.repository.CatalogIngestionRepository;
+import com.frankie.ecommerce_project.repository.ProductAttributeIndexRepository;
+import com.frankie.ecommerce_project.repository.ProductBatchRepository;
+import com.frankie.ecommerce_project.search.ProductAttributeIndex;
+import com.frankie.ecommerce_project.search.ProductSearchIndex;
+import com.frankie.ecommerce_project.utils.BulkFormat;
+import com.frankie.ecommerce_project.utils.CatalogIngestionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs catalog ingestions against H2 on the test thread. Chunks commit on their own, so the test methods run
+ * outside a transaction and clean up after themselves.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogIngestionServiceImplTest {
+
+    @Autowired
+    private CatalogIngestionRepository catalogIngestionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path baseDir;
+
+    private final StockLedger stockLedger = mock(StockLedger.class);
+    private CatalogIngestionServiceImpl catalogIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ProductBatchRepository productBatchRepository = new ProductBatchRepository(jdbcTemplate,
+                namedParameterJdbcTemplate, 2);
+        ProductAttributeIndex productAttributeIndex = new ProductAttributeIndex(
+                new ProductAttributeIndexRepository(jdbcTemplate, namedParameterJdbcTemplate), jdbcTemplate,
+                transactionTemplate, Jackson2ObjectMapperBuilder.json().build(), List.of("brand", "size"), false, 100);
+        catalogIngestionService = new CatalogIngestionServiceImpl(catalogIngestionRepository, productBatchRepository,
+                productAttributeIndex, mock(ProductSearchIndex.class), stockLedger, transactionTemplate,
+                Jackson2ObjectMapperBuilder.json().build(), baseDir.toString(), 3, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogIngestionService.shutdown();
+        jdbcTemplate.update("DELETE FROM product_attribute_values");
+        jdbcTemplate.update("DELETE FROM spu_to_sku");
+        jdbcTemplate.update("DELETE FROM sku_attributes");
+        jdbcTemplate.update("DELETE FROM sku_products");
+        jdbcTemplate.update("DELETE FROM products");
+        catalogIngestionRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void run_ndjson_insertsSkusGroupedByProductAndCountsBadRecords() throws IOException {
+        String ndjson = """
+                {"productName":"Tee","productAttrs":{"brand":"Acme"},"skuNo":"TEE-S","skuPrice":9.5,"skuStock":3}
+                {"productName":"Tee","skuNo":"TEE-M","skuPrice":9.5,"skuAttrs":{"size":"M"}}
+
+                {"productName":"Mug","skuNo":"MUG-1","skuPrice":4}
+                {"productName":"Mug"}
+                {"productName":"Mug","skuNo":
+                {"productName":"Tee","skuNo":"TEE-L","skuPrice":11}
+                {"productName":"Tee","skuNo":"TEE-S","skuPrice":10,"skuStock":7}
+                """;
+        CatalogIngestion ingestion = ingest("catalog.ndjson", ndjson, BulkFormat.NDJSON);
+
+        assertEquals(CatalogIngestionStatus.COMPLETED, ingestion.getStatus());
+        assertEquals(8L, ingestion.getRecordsCommitted());
+        assertEquals(4L, ingestion.getSkusInserted());
+        assertEquals(1L, ingestion.getSkusUpdated());
+        assertEquals(2L, ingestion.getFailedRecords());
+        assertTrue(ingestion.getLastError().startsWith("Record 6: Malformed JSON"));
+        assertNotNull(ingestion.getFinishedAt());
+        assertNotNull(ingestion.getRowsPerSecond());
+
+        assertEquals(2, count("SELECT COUNT(*) FROM products"));
+        assertEquals(4, count("SELECT COUNT(*) FROM sku_products"));
+        assertEquals(4, count("SELECT COUNT(*) FROM sku_attributes"));
+        assertEquals(3, count("SELECT COUNT(*) FROM spu_to_sku j JOIN products p ON p.id = j.product_id "
+                + "WHERE p.product_name = 'Tee'"));
+        assertEquals(7, count("SELECT sku_stock FROM sku_products WHERE sku_no = 'TEE-S'"));
+        assertEquals(1000, count("SELECT sku_price FROM sku_attributes WHERE sku_no = 'TEE-S'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM product_attribute_values WHERE attr_key = 'brand' "
+                + "AND value_string = 'acme' AND sku_id IS NULL"));
+        assertEquals(1, count("SELECT COUNT(*) FROM product_attribute_values WHERE attr_key = 'size' "
+                + "AND value_string = 'm' AND sku_id IS NOT NULL"));
+    }
+
+    @Test
+    void run_csv_updatesExistingSkusInPlace() throws IOException {
+        ingest("first.csv", """
+                productName,skuNo,skuName,skuStock,skuPrice,skuAttrs
+                Tee,TEE-S,Small,1,9.5,"{""size"":""S""}"
+                Tee,TEE-M,Medium,1,9.5,
+                """, BulkFormat.CSV);
+
+        CatalogIngestion second = ingest("second.csv", """
+                skuNo,productName,skuStock,skuPrice
+                TEE-S,Tee,5,12.25
+                TEE-XL,Tee,2,14
+                TEE-M,Tee,not-a-number,1
+                """, BulkFormat.CSV);
+
+        assertEquals(CatalogIngestionStatus.COMPLETED, second.getStatus());
+        assertEquals(1L, second.getSkusInserted());
+        assertEquals(1L, second.getSkusUpdated());
+        assertEquals(1L, second.getFailedRecords());
+        assertEquals(1, count("SELECT COUNT(*) FROM products"));
+        assertEquals(3, count("SELECT COUNT(*) FROM spu_to_sku"));
+        assertEquals(5, count("SELECT sku_stock FROM sku_attributes WHERE sku_no = 'TEE-S'"));
+        assertEquals(1225, count("SELECT sku_price FROM sku_attributes WHERE sku_no = 'TEE-S'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sku_products WHERE sku_no = 'TEE-S' AND updated_at IS NOT NULL"));
+        // The second file has no skuAttrs column, so the stored attributes stay indexed.
+        assertEquals(1, count("SELECT COUNT(*) FROM product_attribute_values WHERE attr_key = 'size'"));
+        // Only the overwritten stock is reloaded; new SKUs are not in the ledger yet.
+        verify(stockLedger).evict(Set.of("TEE-S"));
+    }
+
+    @Test
+    void run_partialRecord_keepsStoredValuesOfAbsentFields() throws IOException {
+        ingest("first.csv", """
+                productName,skuNo,skuName,skuStock,skuPrice,skuAttrs
+                Tee,TEE-S,Small,7,9.5,"{""size"":""S""}"
+                """, BulkFormat.CSV);
+
+        CatalogIngestion second = ingest("second.csv", """
+                productName,skuNo,skuName,skuStock,skuPrice,skuAttrs
+                Tee,TEE-S,,,10,
+                """, BulkFormat.CSV);
+
+        assertEquals(1L, second.getSkusUpdated());
+        assertEquals(7, count("SELECT sku_stock FROM sku_products WHERE sku_no = 'TEE-S'"));
+        assertEquals(7, count("SELECT sku_stock FROM sku_attributes WHERE sku_no = 'TEE-S'"));
+        assertEquals(1000, count("SELECT sku_price FROM sku_attributes WHERE sku_no = 'TEE-S'"));
+        assertEquals("Small", jdbcTemplate.queryForObject(
+                "SELECT sku_name FROM sku_products WHERE sku_no = 'TEE-S'", String.class));
+        assertEquals(1, count("SELECT COUNT(*) FROM sku_attributes WHERE sku_no = 'TEE-S' AND sku_attrs IS NOT NULL"));
+        assertEquals(1, count("SELECT COUNT(*) FROM product_attribute_values WHERE attr_key = 'size'"));
+    }
+
+    @Test
+    void run_resumesAfterCheckpoint() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            ndjson.append("{\"productName\":\"Tee\",\"skuNo\":\"TEE-").append(i).append("\"}\n");
+        }
+        Files.writeString(baseDir.resolve("catalog.ndjson"), ndjson);
+        // As left by a run that stopped after committing the first four records.
+        CatalogIngestion interrupted = catalogIngestionRepository.save(CatalogIngestion.builder()
+                .sourcePath("catalog.ndjson").format(BulkFormat.NDJSON).status(CatalogIngestionStatus.RUNNING)
+                .recordsCommitted(4L).skusInserted(4L).skusUpdated(0L).failedRecords(0L).build());
+
+        catalogIngestionService.run(interrupted.getId());
+
+        CatalogIngestion resumed = catalogIngestionRepository.findById(interrupted.getId()).orElseThrow();
+        assertEquals(CatalogIngestionStatus.COMPLETED, resumed.getStatus());
+        assertEquals(10L, resumed.getRecordsCommitted());
+        assertEquals(10L, resumed.getSkusInserted());
+        assertEquals(Set.of("TEE-5", "TEE-6", "TEE-7", "TEE-8", "TEE-9", "TEE-10"),
+                Set.copyOf(jdbcTemplate.queryForList("SELECT sku_no FROM sku_products", String.class)));
+    }
+
+    @Test
+    void startIngestion_rejectsFilesOutsideTheIngestionDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> catalogIngestionService.startIngestion(
+                StartCatalogIngestionDto.builder().path("../outside.csv").build()));
+        assertThrows(IllegalArgumentException.class, () -> catalogIngestionService.startIngestion(
+                StartCatalogIngestionDto.builder().path("missing.csv").build()));
+        assertEquals(0, catalogIngestionRepository.count());
+    }
+
+    private CatalogIngestion ingest(String fileName, String content, BulkFormat format) throws IOException {
+        Files.writeString(baseDir.resolve(fileName), content);
+        CatalogIngestion ingestion = catalogIngestionRepository.save(CatalogIngestion.builder()
+                .sourcePath(fileName).format(format).status(CatalogIngestionStatus.QUEUED)
+                .recordsCommitted(0L).skusInserted(0L).skusUpdated(0L).failedRecords(0L).build());
+        catalogIngestionService.run(ingestion.getId());
+        return catalogIngestionRepository.findById(ingestion.getId()).orElseThrow();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.inventory.common.StockItem;
+import com.frankie.ecommerce_project.dto.inventory.request.ReserveStockDto;
+import com.frankie.ecommerce_project.exception.ResourceNotFoundException;
+import com.frankie.ecommerce_project.inventory.StockLedger;
+import com.frankie.ecommerce_project.inventory.StockWriteBehind;
+import com.frankie.ecommerce_project.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InventoryServiceImplTest {
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private StockLedger stockLedger;
+    private InventoryServiceImpl inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        when(inventoryRepository.findStock("TEE-S")).thenReturn(Optional.of(10));
+        stockLedger = new StockLedger(new StockWriteBehind(inventoryRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class))), Duration.ofMinutes(15), 100);
+        inventoryService = new InventoryServiceImpl(stockLedger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void reservations_canOnlyBeEndedByTheirOwner() {
+        signIn("alice@example.com");
+        String id = inventoryService.reserveStock(ReserveStockDto.builder()
+                .items(List.of(StockItem.builder().skuNo("TEE-S").quantity(3).build())).build()).getData().getId();
+
+        signIn("mallory@example.com");
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.commitReservation(id));
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.releaseReservation(id));
+        assertEquals(7, stockLedger.getStockLevel("TEE-S").available());
+
+        signIn("alice@example.com");
+        inventoryService.releaseReservation(id);
+        assertEquals(10, stockLedger.getStockLevel("TEE-S").available());
+    }
+
+    @Test
+    void reserveStock_withoutItems_isRejected() {
+        signIn("alice@example.com");
+
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.reserveStock(new ReserveStockDto()));
+        assertThrows(IllegalArgumentException.class,
+                () -> inventoryService.reserveStock(ReserveStockDto.builder().build()));
+    }
+
+    private static void signIn(String login) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(login, null, List.of()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.product.common.SkuInfo;
+import com.frankie.ecommerce_project.dto.product.request.CreateProductDto;
+import com.frankie.ecommerce_project.dto.product.request.CreateSkuDto;
+import com.frankie.ecommerce_project.dto.product.response.CreateProductResponse;
+import com.frankie.ecommerce_project.exception.ResourceExistingException;
+import com.frankie.ecommerce_project.repository.ProductBatchRepository;
+import com.frankie.ecommerce_project.repository.ProductAttributeIndexRepository;
+import com.frankie.ecommerce_project.repository.SkuProductRepository;
+import com.frankie.ecommerce_project.search.ProductAttributeIndex;
+import com.frankie.ecommerce_project.search.ProductSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Creates products against H2 through the batched inserts. The service runs in its own transactions, so the test
+ * methods run outside one and clean up after themselves.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServiceImplTest {
+
+    @Autowired
+    private SkuProductRepository skuProductRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        ProductAttributeIndex productAttributeIndex = new ProductAttributeIndex(
+                new ProductAttributeIndexRepository(jdbcTemplate, namedParameterJdbcTemplate), jdbcTemplate, transaction,
+                Jackson2ObjectMapperBuilder.json().build(), List.of("brand", "size"), false, 100);
+        productService = new ProductServiceImpl(skuProductRepository,
+                new ProductBatchRepository(jdbcTemplate, namedParameterJdbcTemplate, 4), productAttributeIndex,
+                mock(ProductSearchIndex.class), Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_attribute_values");
+        jdbcTemplate.update("DELETE FROM spu_to_sku");
+        jdbcTemplate.update("DELETE FROM sku_attributes");
+        jdbcTemplate.update("DELETE FROM sku_products");
+        jdbcTemplate.update("DELETE FROM products");
+    }
+
+    @Test
+    void createProduct_insertsProductSkusAttributesAndJoinRows() {
+        CreateProductResponse response = create(product("Tee", skus("TEE-", 10)));
+
+        assertNotNull(response.getId());
+        assertEquals("Tee", response.getProductName());
+        assertEquals(10, response.getSkus().size());
+        SkuInfo first = response.getSkus().get(0);
+        assertEquals("TEE-0", first.getSkuNo());
+        assertEquals("{\"size\":\"S0\"}", first.getSkuAttrs());
+
+        assertEquals(1, count("SELECT COUNT(*) FROM products"));
+        assertEquals(10, count("SELECT COUNT(*) FROM sku_products"));
+        assertEquals(10, count("SELECT COUNT(*) FROM sku_attributes"));
+        assertEquals(10, count("SELECT COUNT(*) FROM spu_to_sku"));
+        assertEquals(10, count("SELECT COUNT(*) FROM sku_attributes a JOIN sku_products s ON s.id = a.sku_id "
+                + "AND s.sku_no = a.sku_no"));
+        assertEquals(1999L, jdbcTemplate.queryForObject(
+                "SELECT sku_price FROM sku_attributes WHERE sku_no = 'TEE-0'", Long.class));
+        assertEquals(11, count("SELECT COUNT(*) FROM product_attribute_values"));
+    }
+
+    @Test
+    void createProduct_existingSkuNo_writesNothing() {
+        create(product("Tee", skus("TEE-", 2)));
+        List<CreateSkuDto> skus = skus("MUG-", 3);
+        skus.add(sku("TEE-1"));
+
+        ResourceExistingException e = assertThrows(ResourceExistingException.class,
+                () -> create(product("Mug", skus)));
+
+        assertEquals("TEE-1", e.getValue());
+        assertEquals(1, count("SELECT COUNT(*) FROM products"));
+        assertEquals(2, count("SELECT COUNT(*) FROM sku_products"));
+        assertEquals(3, count("SELECT COUNT(*) FROM product_attribute_values"));
+    }
+
+    @Test
+    void createProduct_duplicateSkuNoInRequest_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> create(product("Tee", List.of(sku("TEE-0"), sku("TEE-0")))));
+        assertThrows(IllegalArgumentException.class, () -> create(product("Tee", List.of())));
+        assertEquals(0, count("SELECT COUNT(*) FROM products"));
+    }
+
+    private CreateProductResponse create(CreateProductDto product) {
+        return transaction.execute(status -> productService.createProduct(product).getData());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static CreateProductDto product(String name, List<CreateSkuDto> skus) {
+        return CreateProductDto.builder().productName(name).productStatus(1)
+                .productAttrs(Map.of("brand", "Acme")).skus(skus).build();
+    }
+
+    private static List<CreateSkuDto> skus(String prefix, int count) {
+        List<CreateSkuDto> skus = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CreateSkuDto sku = sku(prefix + i);
+            sku.setSkuAttrs(Map.of("size", "S" + i));
+            skus.add(sku);
+        }
+        return skus;
+    }
+
+    private static CreateSkuDto sku(String skuNo) {
+        return CreateSkuDto.builder().skuNo(skuNo).skuName(skuNo).skuStock(5).skuPrice(19.99).build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.cache.ReferenceDataCache;
+import com.frankie.ecommerce_project.config.HibernateCacheConfiguration;
+import com.frankie.ecommerce_project.dto.permission.common.PermissionName;
+import com.frankie.ecommerce_project.dto.role.request.UpdateRoleDto;
+import com.frankie.ecommerce_project.dto.role.response.UpdateRoleResponse;
+import com.frankie.ecommerce_project.model.Permission;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.repository.JoinTableRepository;
+import com.frankie.ecommerce_project.repository.PermissionRepository;
+import com.frankie.ecommerce_project.repository.RoleRepository;
+import com.frankie.ecommerce_project.repository.UserRepository;
+import com.frankie.ecommerce_project.security.authority.PermissionBitsetRegistry;
+import com.frankie.ecommerce_project.security.authority.RoleAuthorityCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that role and permission changes write the join tables with set-based statements and leave no stale
+ * role permissions in the second-level cache.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({HibernateCacheConfiguration.class, ReferenceDataCache.class, JoinTableRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoleJoinTableUpdateTest {
+
+    private static final int USERS = 200;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JoinTableRepository joinTableRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RoleAuthorityCache roleAuthorityCache = mock(RoleAuthorityCache.class);
+    private TransactionTemplate transaction;
+    private RoleServiceImpl roleService;
+    private PermissionServiceImpl permissionService;
+    private Map<String, Permission> permissions;
+    private Role staff;
+    private Role admin;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        PermissionBitsetRegistry permissionBitsetRegistry = mock(PermissionBitsetRegistry.class);
+        roleService = new RoleServiceImpl(roleRepository, permissionRepository, joinTableRepository,
+                roleAuthorityCache, permissionBitsetRegistry, referenceDataCache);
+        permissionService = new PermissionServiceImpl(permissionRepository, joinTableRepository, roleAuthorityCache,
+                permissionBitsetRegistry, referenceDataCache);
+
+        transaction.executeWithoutResult(status -> {
+            permissions = permissionRepository.saveAll(List.of(
+                            Permission.builder().name("VIEW_PRODUCT").isDeleted(false).build(),
+                            Permission.builder().name("EDIT_PRODUCT").isDeleted(false).build(),
+                            Permission.builder().name("DELETE_PRODUCT").isDeleted(false).build())).stream()
+                    .collect(Collectors.toMap(Permission::getName, Function.identity()));
+            staff = roleRepository.save(Role.builder().name("ROLE_STAFF").isDeleted(false)
+                    .permissions(new HashSet<>(List.of(permissions.get("VIEW_PRODUCT"), permissions.get("EDIT_PRODUCT"))))
+                    .build());
+            admin = roleRepository.save(Role.builder().name("ROLE_ADMIN").isDeleted(false)
+                    .permissions(new HashSet<>(permissions.values()))
+                    .build());
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                users.add(User.builder().email("user" + i + "@example.com").roles(Set.of(staff))
+                        .isActive(true).isVerified(true).isDeleted(false).build());
+            }
+            userRepository.saveAll(users);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM role_permissions");
+        jdbcTemplate.update("DELETE FROM roles");
+        jdbcTemplate.update("DELETE FROM permissions");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void replaceRolePermissions_writesOnlyChangedRows() {
+        JoinTableRepository.Diff diff = transaction.execute(status -> joinTableRepository.replaceRolePermissions(
+                staff.getId(), List.of(permissions.get("EDIT_PRODUCT").getId(), permissions.get("DELETE_PRODUCT").getId())));
+
+        assertEquals(new JoinTableRepository.Diff(1, 1), diff);
+        assertEquals(Set.of("EDIT_PRODUCT", "DELETE_PRODUCT"), permissionNamesInDatabase(staff.getId()));
+    }
+
+    @Test
+    void updateRoleById_replacesPermissionsAndEvictsCachedRole() {
+        // Loads the role and its permissions into the second-level cache.
+        roleRepository.findByNameWithPermissions("ROLE_STAFF").orElseThrow();
+
+        UpdateRoleResponse response = transaction.execute(status -> roleService.updateRoleById(staff.getId(),
+                new UpdateRoleDto(null, "ROLE_STAFF",
+                        Set.of(permissionName("EDIT_PRODUCT"), permissionName("DELETE_PRODUCT")))).getData());
+
+        Set<String> expected = Set.of("EDIT_PRODUCT", "DELETE_PRODUCT");
+        assertEquals(expected, response.getPermissions().stream().map(PermissionName::getName).collect(Collectors.toSet()));
+        assertEquals(expected, permissionNamesInDatabase(staff.getId()));
+        assertEquals(expected, roleRepository.findByNameWithPermissions("ROLE_STAFF").orElseThrow()
+                .getPermissions().stream().map(Permission::getName).collect(Collectors.toSet()));
+        verify(roleAuthorityCache).evict(staff.getId());
+    }
+
+    @Test
+    void deleteRoleById_removesRoleFromUsersWithoutLoadingThem() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transaction.executeWithoutResult(status -> roleService.deleteRoleById(staff.getId()));
+
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertEquals(0, count("SELECT COUNT(*) FROM user_roles"));
+        assertEquals(USERS, userRepository.count());
+        assertTrue(roleRepository.findById(staff.getId()).isEmpty());
+        verify(roleAuthorityCache).evict(staff.getId());
+    }
+
+    @Test
+    void deletePermissionById_removesPermissionFromAllRoles() {
+        roleRepository.findByNameWithPermissions("ROLE_ADMIN").orElseThrow();
+
+        transaction.executeWithoutResult(status ->
+                permissionService.deletePermissionById(permissions.get("EDIT_PRODUCT").getId()));
+
+        assertEquals(Set.of("VIEW_PRODUCT"), permissionNamesInDatabase(staff.getId()));
+        assertEquals(Set.of("VIEW_PRODUCT", "DELETE_PRODUCT"), roleRepository.findByNameWithPermissions("ROLE_ADMIN")
+                .orElseThrow().getPermissions().stream().map(Permission::getName).collect(Collectors.toSet()));
+        ArgumentCaptor<Collection<String>> evicted = ArgumentCaptor.captor();
+        verify(roleAuthorityCache).evictAll(evicted.capture());
+        assertEquals(Set.of(staff.getId(), admin.getId()), new HashSet<>(evicted.getValue()));
+    }
+
+    private Set<String> permissionNamesInDatabase(String roleId) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT p.name FROM role_permissions rp "
+                + "JOIN permissions p ON p.id = rp.permission_id JOIN roles r ON r.id = rp.role_id WHERE r.name = ?",
+                String.class, roleRepository.findById(roleId).orElseThrow().getName()));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static PermissionName permissionName(String name) {
+        return PermissionName.builder().name(name).build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.frankie.ecommerce_project.service.implement;
+
+import com.frankie.ecommerce_project.dto.user.common.UserImportError;
+import com.frankie.ecommerce_project.dto.user.response.UserImportResponse;
+import com.frankie.ecommerce_project.model.Role;
+import com.frankie.ecommerce_project.model.User;
+import com.frankie.ecommerce_project.repository.RoleRepository;
+import com.frankie.ecommerce_project.repository.UserRepository;
+import com.frankie.ecommerce_project.search.UserSearchIndex;
+import com.frankie.ecommerce_project.utils.BulkFormat;
+import com.frankie.ecommerce_project.utils.CsvReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the bulk import and export against H2. Chunks commit on their own, so the test methods run outside a
+ * transaction and clean up after themselves.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserBulkServiceImplTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private JdbcTemplate jdbcTemplate;
+    private UserBulkServiceImpl userBulkService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        roleRepository.save(Role.builder().name("ROLE_USER").isDeleted(false).build());
+        roleRepository.save(Role.builder().name("ROLE_STAFF").isDeleted(false).build());
+        userRepository.save(User.builder().email("taken@example.com").isActive(true).isVerified(true)
+                .isDeleted(false).build());
+        userBulkService = new UserBulkServiceImpl(userRepository, roleRepository, passwordEncoder, jdbcTemplate,
+                new NamedParameterJdbcTemplate(dataSource), new TransactionTemplate(transactionManager),
+                mock(UserSearchIndex.class), Jackson2ObjectMapperBuilder.json().build(), 2, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userBulkService.shutdown();
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        roleRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importUsers_csv_insertsValidRowsAndReportsTheRest() throws IOException {
+        String csv = """
+                email,password,fullName,dateOfBirth,roles,ignored
+                alice@example.com,Secret#1,"Smith, Alice",1990-04-01,ROLE_USER|ROLE_STAFF,x
+                bob@example.com,Secret#2,Bob,,,
+
+                ALICE@example.com,Secret#3,Alice again,,,
+                carol@example.com,,Carol,,,
+                dave@example.com,Secret#4,Dave,,ROLE_MISSING,
+                taken@example.com,Secret#5,Taken,,,
+                erin@example.com,Secret#6,Erin,01/02/1990,,
+                frank@example.com,Secret#7,"Frank \"\"The Tank\"\"",,ROLE_STAFF,
+                """;
+
+        UserImportResponse response = userBulkService.importUsers(stream(csv), BulkFormat.CSV).getData();
+
+        assertEquals(8, response.getTotalRows());
+        assertEquals(3, response.getImported());
+        assertEquals(5, response.getFailed());
+        assertFalse(response.isErrorsTruncated());
+        assertEquals(List.of(4L, 5L, 6L, 7L, 8L), response.getErrors().stream().map(UserImportError::getRow).toList());
+        assertEquals("Email appears more than once in the import", response.getErrors().get(0).getMessage());
+        assertEquals("Password is required", response.getErrors().get(1).getMessage());
+        assertEquals("Role not found: ROLE_MISSING", response.getErrors().get(2).getMessage());
+        assertEquals("Email already exists", response.getErrors().get(3).getMessage());
+
+        User alice = userRepository.findByEmailWithRoles("alice@example.com").orElseThrow();
+        assertEquals("Smith, Alice", alice.getFullName());
+        assertEquals(LocalDate.of(1990, 4, 1), alice.getDateOfBirth());
+        assertTrue(passwordEncoder.matches("Secret#1", alice.getPassword()));
+        assertTrue(alice.getIsActive() && alice.getIsVerified() && !alice.getIsDeleted());
+        assertEquals(Set.of("ROLE_USER", "ROLE_STAFF"), roleNames(alice));
+        assertEquals("Frank \"The Tank\"", userRepository.findByEmailWithRoles("frank@example.com")
+                .orElseThrow().getFullName());
+        assertEquals(4, userRepository.count());
+    }
+
+    @Test
+    void importUsers_ndjson_reportsMalformedLines() throws IOException {
+        String ndjson = """
+                {"email":"alice@example.com","password":"Secret#1","roles":[{"name":"ROLE_USER"}]}
+                {"email":"bob@example.com",
+                {"email":"carol@example.com","password":"Secret#3","dateOfBirth":"1985-12-31"}
+                """;
+
+        UserImportResponse response = userBulkService.importUsers(stream(ndjson), BulkFormat.NDJSON).getData();
+
+        assertEquals(3, response.getTotalRows());
+        assertEquals(2, response.getImported());
+        assertEquals(2L, response.getErrors().get(0).getRow());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals(Set.of("ROLE_USER"),
+                roleNames(userRepository.findByEmailWithRoles("alice@example.com").orElseThrow()));
+        assertEquals(LocalDate.of(1985, 12, 31),
+                userRepository.findByEmailWithRoles("carol@example.com").orElseThrow().getDateOfBirth());
+    }
+
+    @Test
+    void importUsers_csvWithoutPasswordColumn_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userBulkService.importUsers(stream("email,fullName\nalice@example.com,Alice\n"), BulkFormat.CSV));
+    }
+
+    @Test
+    void exportUsers_csv_pagesThroughAllUsers() throws IOException {
+        StringBuilder csv = new StringBuilder("email,password,roles\n");
+        for (int i = 0; i < 5; i++) {
+            csv.append("user").append(i).append("@example.com,Secret#").append(i).append(",ROLE_STAFF|ROLE_USER\n");
+        }
+        userBulkService.importUsers(stream(csv.toString()), BulkFormat.CSV);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userBulkService.exportUsers(output, BulkFormat.CSV);
+
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(output.toString(StandardCharsets.UTF_8)))) {
+            for (List<String> record = reader.readRecord(); record != null; record = reader.readRecord()) {
+                records.add(record);
+            }
+        }
+        assertEquals("id", records.get(0).get(0));
+        assertEquals(7, records.size());
+        List<List<String>> users = records.subList(1, records.size());
+        assertEquals(users.stream().map(record -> record.get(0)).sorted().toList(),
+                users.stream().map(record -> record.get(0)).toList(), "Users are exported in ID order");
+        assertTrue(users.stream().filter(record -> record.get(1).startsWith("user"))
+                .allMatch(record -> record.get(7).equals("ROLE_STAFF|ROLE_USER")));
+    }
+
+    @Test
+    void exportUsers_ndjson_writesOneUserPerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userBulkService.exportUsers(output, BulkFormat.NDJSON);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"email\":\"taken@example.com\""));
+        assertFalse(lines[0].contains("password"));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<String> roleNames(User user) {
+        return user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,66 @@
+package com.frankie.ecommerce_project.utils;
+
+import com.frankie.ecommerce_project.model.Brand;
+import com.frankie.ecommerce_project.repository.BrandRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class KeysetPaginationTest {
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "createdAt");
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Test
+    void buildSort_rejectsFieldsOutsideTheAllowList() {
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetPagination.buildSort("password", "asc", SORTABLE_FIELDS));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetPagination.requireSortable(null, SORTABLE_FIELDS));
+        assertEquals(Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id")),
+                KeysetPagination.buildSort("name", "desc", SORTABLE_FIELDS));
+    }
+
+    @Test
+    void scroll_followsCursorsThroughEveryRowOnce() {
+        for (String name : List.of("delta", "alpha", "echo", "charlie", "bravo")) {
+            brandRepository.save(Brand.builder().name(name).isDeleted(false).build());
+        }
+        Sort sort = KeysetPagination.buildSort("name", "asc", SORTABLE_FIELDS);
+
+        List<String> names = new ArrayList<>();
+        String after = "";
+        do {
+            Window<Brand> page = KeysetPagination.scroll(brandRepository, KeysetPagination.all(), sort, after, 2);
+            page.forEach(brand -> names.add(brand.getName()));
+            after = KeysetPagination.buildMetaData(page, sort).getNextCursor();
+        } while (after != null);
+
+        assertEquals(List.of("alpha", "bravo", "charlie", "delta", "echo"), names);
+        Sort byId = KeysetPagination.buildSort("id", "asc", SORTABLE_FIELDS);
+        assertThrows(IllegalArgumentException.class, () -> KeysetPagination.scroll(brandRepository,
+                KeysetPagination.all(), byId, "bm90LWEtY3Vyc29y", 2));
+    }
+
+    @Test
+    void buildMetaData_refusesACursorAfterANullSortKey() {
+        brandRepository.save(Brand.builder().isDeleted(false).build());
+        brandRepository.save(Brand.builder().name("alpha").isDeleted(false).build());
+        Sort sort = KeysetPagination.buildSort("name", "asc", SORTABLE_FIELDS);
+
+        Window<Brand> page = KeysetPagination.scroll(brandRepository, KeysetPagination.all(), sort, "", 1);
+
+        assertNull(page.getContent().get(0).getName());
+        assertThrows(IllegalStateException.class, () -> KeysetPagination.buildMetaData(page, sort));
+    }
+}
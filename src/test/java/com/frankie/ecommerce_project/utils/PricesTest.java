@@ -0,0 +1,31 @@
+package com.frankie.ecommerce_project.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricesTest {
+
+    @Test
+    void toCents_roundsTheDecimalValueHalfUp() {
+        assertEquals(999L, Prices.toCents(9.99));
+        assertEquals(29L, Prices.toCents(0.29));
+        assertEquals(101L, Prices.toCents(1.005));
+        assertEquals(1250L, Prices.toCents(12.5));
+        assertEquals(0L, Prices.toCents(0.0));
+        assertNull(Prices.toCents(null));
+    }
+
+    @Test
+    void toCents_rejectsNonFinitePrices() {
+        assertThrows(IllegalArgumentException.class, () -> Prices.toCents(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Prices.toCents(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void fromCents_isTheInverseOfToCents() {
+        for (double price : new double[]{0.01, 0.29, 7.5, 9.99, 12.5, 45.0, 19_999.99}) {
+            assertEquals(price, Prices.fromCents(Prices.toCents(price)));
+        }
+    }
+}